@@ -0,0 +1,89 @@
+package com.fantasyfightleague.benchmark;
+
+import com.fantasyfightleague.dto.FightResultDTO;
+import com.fantasyfightleague.dto.FighterPriceDTO;
+
+import java.util.Random;
+
+/**
+ * Generador de corpus deterministas para los benchmarks.
+ * Usa una semilla fija para que los resultados sean comparables entre ejecuciones y con la línea base.
+ */
+public final class BenchmarkCorpus {
+
+    public static final long SEED = 20240601L;
+
+    // Métodos tal y como llegan en los JSON de resultados (mezcla de formatos y de idiomas)
+    private static final String[] METHODS = {
+        "KO/TKO", "TKO (Punches)", "KO (Head Kick)", "Technical Knockout",
+        "Submission (Rear-Naked Choke)", "Sumisión (Guillotina)", "Submission",
+        "Decision", "Decisión", "Decision - Unanimous", "DQ", "No Contest"
+    };
+
+    private static final String[] DECISION_TYPES = { "Unanimous", "Majority", "Split", null };
+
+    private static final String[] POSITIONS = { "MAIN_EVENT", "CO_MAIN", "MAIN_CARD", "PRELIMS", "EARLY_PRELIMS", "prelims", "UNKNOWN" };
+
+    private static final String[] RANKINGS = {
+        "C", "1", "2", "3", "4", "5", "6", "7", "8", "9", "10", "11", "12", "13", "14", "15", "16", "", " ", "NR", null
+    };
+
+    private BenchmarkCorpus() {
+    }
+
+    /**
+     * Genera resultados de pelea simulados (ganadores y perdedores, finishes y decisiones)
+     */
+    public static FightResultDTO[] fightResults(int size) {
+        Random random = new Random(SEED);
+        FightResultDTO[] results = new FightResultDTO[size];
+
+        for (int i = 0; i < size; i++) {
+            FightResultDTO result = new FightResultDTO();
+            result.setNombre("Fighter " + i);
+            result.setResultado(random.nextBoolean() ? "Win" : "Loss");
+
+            String method = METHODS[random.nextInt(METHODS.length)];
+            result.setMetodo(method);
+            if (method.toLowerCase().contains("decisi")) {
+                result.setTipoDecision(DECISION_TYPES[random.nextInt(DECISION_TYPES.length)]);
+                result.setRound(3 + (random.nextInt(4) == 0 ? 2 : 0));
+            } else {
+                result.setRound(1 + random.nextInt(5));
+            }
+
+            int totalStrikes = random.nextInt(200);
+            result.setGolpesTotales(totalStrikes);
+            result.setGolpesAcertados(totalStrikes == 0 ? 0 : random.nextInt(totalStrikes + 1));
+            result.setGolpesSignificantes(random.nextInt(120));
+            int takedowns = random.nextInt(10);
+            result.setTakedowns(takedowns);
+            result.setTakedownsAcertados(takedowns == 0 ? 0 : random.nextInt(takedowns + 1));
+            result.setIntentosDeSumision(random.nextInt(4));
+            result.setKnockdowns(random.nextInt(10) < 8 ? 0 : 1 + random.nextInt(3));
+
+            results[i] = result;
+        }
+
+        return results;
+    }
+
+    /**
+     * Genera peticiones de precio simuladas (posiciones, rankings y favoritos variados)
+     */
+    public static FighterPriceDTO[] fighterPrices(int size) {
+        Random random = new Random(SEED);
+        FighterPriceDTO[] prices = new FighterPriceDTO[size];
+
+        for (int i = 0; i < size; i++) {
+            FighterPriceDTO dto = new FighterPriceDTO();
+            dto.setFighterId((long) i);
+            dto.setPosition(POSITIONS[random.nextInt(POSITIONS.length)]);
+            dto.setRanking(RANKINGS[random.nextInt(RANKINGS.length)]);
+            dto.setIsFavorite(random.nextInt(3) == 0 ? null : random.nextBoolean());
+            prices[i] = dto;
+        }
+
+        return prices;
+    }
+}
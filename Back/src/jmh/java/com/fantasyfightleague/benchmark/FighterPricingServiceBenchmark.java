@@ -0,0 +1,40 @@
+package com.fantasyfightleague.benchmark;
+
+import com.fantasyfightleague.dto.FighterPriceDTO;
+import com.fantasyfightleague.service.FighterPricingService;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmark de FighterPricingService sobre un corpus de peticiones de precio generado.
+ * Los tiempos se expresan por precio calculado (ns/op).
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class FighterPricingServiceBenchmark {
+
+    private static final int CORPUS_SIZE = 10_000;
+
+    private FighterPricingService pricingService;
+    private FighterPriceDTO[] requests;
+
+    @Setup
+    public void setUp() {
+        pricingService = new FighterPricingService();
+        requests = BenchmarkCorpus.fighterPrices(CORPUS_SIZE);
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(CORPUS_SIZE)
+    public void calculatePriceFromDTO(Blackhole blackhole) {
+        for (FighterPriceDTO request : requests) {
+            blackhole.consume(pricingService.calculatePriceFromDTO(request));
+        }
+    }
+}
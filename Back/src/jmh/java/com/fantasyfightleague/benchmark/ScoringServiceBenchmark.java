@@ -0,0 +1,50 @@
+package com.fantasyfightleague.benchmark;
+
+import com.fantasyfightleague.dto.FightResultDTO;
+import com.fantasyfightleague.dto.PointsBreakdownDTO;
+import com.fantasyfightleague.service.ScoringService;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmark de ScoringService sobre un corpus de resultados generado.
+ * Los tiempos se expresan por luchador puntuado (ns/op).
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ScoringServiceBenchmark {
+
+    private static final int CORPUS_SIZE = 10_000;
+
+    private ScoringService scoringService;
+    private FightResultDTO[] results;
+
+    @Setup
+    public void setUp() {
+        scoringService = new ScoringService();
+        results = BenchmarkCorpus.fightResults(CORPUS_SIZE);
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(CORPUS_SIZE)
+    public void calculateFantasyPoints(Blackhole blackhole) {
+        for (FightResultDTO result : results) {
+            blackhole.consume(scoringService.calculateFantasyPoints(result));
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(CORPUS_SIZE)
+    public void calculateWithBreakdown(Blackhole blackhole) {
+        for (FightResultDTO result : results) {
+            PointsBreakdownDTO breakdown = scoringService.score(result);
+            blackhole.consume(scoringService.formatBreakdown(result, breakdown));
+        }
+    }
+}
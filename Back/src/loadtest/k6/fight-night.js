@@ -0,0 +1,63 @@
+// Carga de una noche de evento: muchos managers consultando clasificaciones mientras
+// otros piden recuperar la contraseña (envío SMTP). Mide cuántas peticiones concurrentes
+// atiende el backend antes de que empeore la latencia.
+//
+// Uso:
+//   k6 run -e BASE_URL=http://localhost:8080 -e USERNAME=demo -e PASSWORD=secret \
+//          -e LEAGUE_ID=1 -e EMAIL=demo@example.com src/loadtest/k6/fight-night.js
+import http from 'k6/http';
+import { check, sleep } from 'k6';
+
+const BASE_URL = __ENV.BASE_URL || 'http://localhost:8080';
+const LEAGUE_ID = __ENV.LEAGUE_ID || '1';
+const MAX_VUS = parseInt(__ENV.MAX_VUS || '2000', 10);
+
+export const options = {
+  scenarios: {
+    leaderboard: {
+      executor: 'ramping-vus',
+      exec: 'leaderboard',
+      startVUs: 0,
+      stages: [
+        { duration: '30s', target: Math.floor(MAX_VUS / 4) },
+        { duration: '1m', target: Math.floor(MAX_VUS / 2) },
+        { duration: '1m', target: MAX_VUS },
+        { duration: '30s', target: 0 },
+      ],
+    },
+    passwordReset: {
+      executor: 'constant-arrival-rate',
+      exec: 'passwordReset',
+      rate: 5,
+      timeUnit: '1s',
+      duration: '3m',
+      preAllocatedVUs: 50,
+    },
+  },
+  thresholds: {
+    'http_req_failed{scenario:leaderboard}': ['rate<0.01'],
+    'http_req_duration{scenario:leaderboard}': ['p(95)<500'],
+  },
+};
+
+export function setup() {
+  const res = http.post(`${BASE_URL}/api/auth/signin`,
+    JSON.stringify({ username: __ENV.USERNAME, password: __ENV.PASSWORD }),
+    { headers: { 'Content-Type': 'application/json' } });
+  check(res, { 'login 200': (r) => r.status === 200 });
+  return { token: res.json('token') };
+}
+
+export function leaderboard(data) {
+  const params = { headers: { Authorization: `Bearer ${data.token}` } };
+  const res = http.get(`${BASE_URL}/api/leaderboard/global/${LEAGUE_ID}`, params);
+  check(res, { 'clasificación 200': (r) => r.status === 200 });
+  sleep(1);
+}
+
+export function passwordReset() {
+  const res = http.post(`${BASE_URL}/api/auth/forgot-password`,
+    JSON.stringify({ email: __ENV.EMAIL || 'demo@example.com' }),
+    { headers: { 'Content-Type': 'application/json' } });
+  check(res, { 'recuperación 200': (r) => r.status === 200 });
+}
@@ -0,0 +1,145 @@
+package com.fantasyfightleague.config;
+
+import org.springframework.core.io.DefaultResourceLoader;
+import org.springframework.core.io.Resource;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Properties;
+
+/**
+ * Tabla de precios de luchadores en una matriz inmutable de primitivos
+ * indexada por [posición en la cartelera][categoría de ranking][favorito].
+ */
+public final class PricingTable {
+    
+    public static final String[] POSITIONS = { "MAIN_EVENT", "CO_MAIN", "MAIN_CARD", "PRELIMS", "EARLY_PRELIMS" };
+    public static final String[] RANK_BUCKETS = { "C", "1-3", "4-5", "6-10", "11-15", "NONE" };
+    
+    private static final int DEFAULT_POSITION = 3; // PRELIMS
+    private static final int BUCKET_CHAMPION = 0;
+    private static final int BUCKET_NONE = 5;
+    private static final int FAVORITE = 0;
+    private static final int UNDERDOG = 1;
+    
+    // Categoría de cada ranking numérico (posiciones 1 a 15)
+    private static final int[] BUCKET_BY_RANK = { BUCKET_NONE, 1, 1, 1, 2, 2, 3, 3, 3, 3, 3, 4, 4, 4, 4, 4 };
+    
+    private static final Map<String, Integer> POSITION_INDEX = new HashMap<>();
+    static {
+        for (int i = 0; i < POSITIONS.length; i++) {
+            POSITION_INDEX.put(POSITIONS[i], i);
+        }
+    }
+    
+    private final int[][][] prices;
+    private final String source;
+    
+    private PricingTable(int[][][] prices, String source) {
+        this.prices = prices;
+        this.source = source;
+    }
+    
+    /**
+     * Carga la tabla desde un fichero de propiedades (classpath:..., file:...)
+     * @param location Ubicación del fichero
+     * @return Tabla cargada
+     */
+    public static PricingTable load(String location) {
+        Resource resource = new DefaultResourceLoader().getResource(location);
+        Properties properties = new Properties();
+        
+        try (InputStream in = resource.getInputStream()) {
+            properties.load(new InputStreamReader(in, StandardCharsets.UTF_8));
+        } catch (IOException e) {
+            throw new RuntimeException("No se pudo leer la tabla de precios " + location + ": " + e.getMessage(), e);
+        }
+        
+        int[][][] prices = new int[POSITIONS.length][RANK_BUCKETS.length][2];
+        for (int p = 0; p < POSITIONS.length; p++) {
+            for (int b = 0; b < RANK_BUCKETS.length; b++) {
+                String key = POSITIONS[p] + "." + RANK_BUCKETS[b];
+                String value = properties.getProperty(key);
+                if (value == null) {
+                    throw new RuntimeException("Falta la entrada " + key + " en la tabla de precios " + location);
+                }
+                
+                String[] parts = value.split(",");
+                if (parts.length != 2) {
+                    throw new RuntimeException("Entrada inválida " + key + "=" + value + " (formato: favorito,underdog)");
+                }
+                try {
+                    prices[p][b][FAVORITE] = Integer.parseInt(parts[0].trim());
+                    prices[p][b][UNDERDOG] = Integer.parseInt(parts[1].trim());
+                } catch (NumberFormatException e) {
+                    throw new RuntimeException("Entrada inválida " + key + "=" + value + " (los precios deben ser enteros)");
+                }
+            }
+        }
+        
+        return new PricingTable(prices, location);
+    }
+    
+    /**
+     * Precio de la tabla para una posición, ranking y condición de favorito
+     */
+    public int price(String position, String ranking, boolean isFavorite) {
+        return prices[positionIndex(position)][rankBucket(ranking)][isFavorite ? FAVORITE : UNDERDOG];
+    }
+    
+    /**
+     * Índice de la posición en la cartelera (las desconocidas usan PRELIMS)
+     */
+    static int positionIndex(String position) {
+        if (position == null) {
+            return DEFAULT_POSITION;
+        }
+        Integer index = POSITION_INDEX.get(position);
+        if (index == null) {
+            index = POSITION_INDEX.get(position.toUpperCase());
+        }
+        return index != null ? index : DEFAULT_POSITION;
+    }
+    
+    /**
+     * Categoría del ranking: "C" para campeón, 1-15 agrupados, y NONE para el resto
+     */
+    static int rankBucket(String ranking) {
+        if (ranking == null) {
+            return BUCKET_NONE;
+        }
+        
+        String value = ranking.trim();
+        if (value.length() == 1 && (value.charAt(0) == 'C' || value.charAt(0) == 'c')) {
+            return BUCKET_CHAMPION;
+        }
+        
+        // Rankings numéricos (mismas reglas que Integer.parseInt) sin crear excepciones para valores no numéricos
+        int start = !value.isEmpty() && (value.charAt(0) == '+' || value.charAt(0) == '-') ? 1 : 0;
+        if (value.length() == start) {
+            return BUCKET_NONE;
+        }
+        int rank = 0;
+        for (int i = start; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c < '0' || c > '9') {
+                return BUCKET_NONE;
+            }
+            // Se satura en valores grandes: cualquier ranking mayor que 15 queda sin categoría
+            rank = rank < 100 ? rank * 10 + (c - '0') : rank;
+        }
+        if (start == 1 && value.charAt(0) == '-') {
+            return BUCKET_NONE;
+        }
+        
+        return rank >= 1 && rank < BUCKET_BY_RANK.length ? BUCKET_BY_RANK[rank] : BUCKET_NONE;
+    }
+    
+    public String getSource() {
+        return source;
+    }
+}
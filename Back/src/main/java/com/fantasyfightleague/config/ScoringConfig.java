@@ -0,0 +1,84 @@
+package com.fantasyfightleague.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Carga las reglas de puntuación desde la configuración (ffl.scoring.*).
+ * Los valores por defecto coinciden con ScoringRules.defaults().
+ */
+@Configuration
+public class ScoringConfig {
+    
+    @Value("${ffl.scoring.points-win:20}")
+    private int pointsWin;
+    
+    @Value("${ffl.scoring.points-loss:0}")
+    private int pointsLoss;
+    
+    @Value("${ffl.scoring.bonus-ko-tko:15}")
+    private int bonusKoTko;
+    
+    @Value("${ffl.scoring.bonus-submission:12}")
+    private int bonusSubmission;
+    
+    @Value("${ffl.scoring.bonus-decision-unanimous:5}")
+    private int bonusDecisionUnanimous;
+    
+    @Value("${ffl.scoring.bonus-decision-majority:4}")
+    private int bonusDecisionMajority;
+    
+    @Value("${ffl.scoring.bonus-decision-split:3}")
+    private int bonusDecisionSplit;
+    
+    // Bonificación por finish en los rounds 1, 2, 3...
+    @Value("${ffl.scoring.round-finish-bonus:10,7,5}")
+    private int[] roundFinishBonus;
+    
+    @Value("${ffl.scoring.points-per-significant-strike:0.3}")
+    private double pointsPerSignificantStrike;
+    
+    @Value("${ffl.scoring.points-per-takedown:3}")
+    private int pointsPerTakedown;
+    
+    @Value("${ffl.scoring.points-per-knockdown:8}")
+    private int pointsPerKnockdown;
+    
+    @Value("${ffl.scoring.points-per-submission-attempt:2}")
+    private int pointsPerSubmissionAttempt;
+    
+    @Value("${ffl.scoring.accuracy-threshold:0.7}")
+    private double accuracyThreshold;
+    
+    @Value("${ffl.scoring.accuracy-min-landed:20}")
+    private int accuracyMinLanded;
+    
+    @Value("${ffl.scoring.accuracy-bonus:5}")
+    private int accuracyBonus;
+    
+    @Value("${ffl.scoring.takedown-bonus-threshold:5}")
+    private int takedownBonusThreshold;
+    
+    @Value("${ffl.scoring.takedown-bonus:5}")
+    private int takedownBonus;
+    
+    @Value("${ffl.scoring.knockdown-bonus-threshold:2}")
+    private int knockdownBonusThreshold;
+    
+    @Value("${ffl.scoring.knockdown-bonus:10}")
+    private int knockdownBonus;
+    
+    @Bean
+    public ScoringRules scoringRules() {
+        return new ScoringRules(pointsWin, pointsLoss,
+                bonusKoTko, bonusSubmission,
+                bonusDecisionUnanimous, bonusDecisionMajority, bonusDecisionSplit,
+                roundFinishBonus,
+                pointsPerSignificantStrike, pointsPerTakedown,
+                pointsPerKnockdown, pointsPerSubmissionAttempt,
+                accuracyThreshold, accuracyMinLanded, accuracyBonus,
+                takedownBonusThreshold, takedownBonus,
+                knockdownBonusThreshold, knockdownBonus);
+    }
+}
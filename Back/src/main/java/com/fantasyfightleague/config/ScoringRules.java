@@ -0,0 +1,149 @@
+package com.fantasyfightleague.config;
+
+import com.fantasyfightleague.model.DecisionType;
+import com.fantasyfightleague.model.ResultMethod;
+
+/**
+ * Reglas de puntuación compiladas en tablas de primitivos.
+ * Es inmutable: para cambiar las reglas se crea una instancia nueva (ver ScoringConfig).
+ */
+public final class ScoringRules {
+    
+    // Puntos base por resultado
+    private final int pointsWin;
+    private final int pointsLoss;
+    
+    // Bonificación por método, indexada por ResultMethod.ordinal() (DECISION usa decisionBonus)
+    private final int[] methodBonus;
+    
+    // Bonificación por decisión, indexada por DecisionType.ordinal()
+    private final int[] decisionBonus;
+    
+    // Bonificación por finish en cada round, indexada por número de round (la posición 0 no se usa)
+    private final int[] roundFinishBonus;
+    
+    // Puntos por estadísticas
+    private final double pointsPerSignificantStrike;
+    private final int pointsPerTakedown;
+    private final int pointsPerKnockdown;
+    private final int pointsPerSubmissionAttempt;
+    
+    // Bonificaciones especiales
+    private final double accuracyThreshold;
+    private final int accuracyMinLanded;
+    private final int accuracyBonus;
+    private final int takedownBonusThreshold;
+    private final int takedownBonus;
+    private final int knockdownBonusThreshold;
+    private final int knockdownBonus;
+    
+    public ScoringRules(int pointsWin, int pointsLoss,
+                        int bonusKoTko, int bonusSubmission,
+                        int bonusDecisionUnanimous, int bonusDecisionMajority, int bonusDecisionSplit,
+                        int[] roundFinishBonus,
+                        double pointsPerSignificantStrike, int pointsPerTakedown,
+                        int pointsPerKnockdown, int pointsPerSubmissionAttempt,
+                        double accuracyThreshold, int accuracyMinLanded, int accuracyBonus,
+                        int takedownBonusThreshold, int takedownBonus,
+                        int knockdownBonusThreshold, int knockdownBonus) {
+        this.pointsWin = pointsWin;
+        this.pointsLoss = pointsLoss;
+        
+        this.methodBonus = new int[ResultMethod.values().length];
+        this.methodBonus[ResultMethod.KO_TKO.ordinal()] = bonusKoTko;
+        this.methodBonus[ResultMethod.SUBMISSION.ordinal()] = bonusSubmission;
+        
+        this.decisionBonus = new int[DecisionType.values().length];
+        this.decisionBonus[DecisionType.UNANIMOUS.ordinal()] = bonusDecisionUnanimous;
+        this.decisionBonus[DecisionType.MAJORITY.ordinal()] = bonusDecisionMajority;
+        this.decisionBonus[DecisionType.SPLIT.ordinal()] = bonusDecisionSplit;
+        
+        this.roundFinishBonus = new int[roundFinishBonus.length + 1];
+        System.arraycopy(roundFinishBonus, 0, this.roundFinishBonus, 1, roundFinishBonus.length);
+        
+        this.pointsPerSignificantStrike = pointsPerSignificantStrike;
+        this.pointsPerTakedown = pointsPerTakedown;
+        this.pointsPerKnockdown = pointsPerKnockdown;
+        this.pointsPerSubmissionAttempt = pointsPerSubmissionAttempt;
+        
+        this.accuracyThreshold = accuracyThreshold;
+        this.accuracyMinLanded = accuracyMinLanded;
+        this.accuracyBonus = accuracyBonus;
+        this.takedownBonusThreshold = takedownBonusThreshold;
+        this.takedownBonus = takedownBonus;
+        this.knockdownBonusThreshold = knockdownBonusThreshold;
+        this.knockdownBonus = knockdownBonus;
+    }
+    
+    /**
+     * Reglas por defecto de la temporada actual
+     */
+    public static ScoringRules defaults() {
+        return new ScoringRules(20, 0,
+                15, 12,
+                5, 4, 3,
+                new int[] { 10, 7, 5 },
+                0.3, 3, 8, 2,
+                0.7, 20, 5,
+                5, 5,
+                2, 10);
+    }
+    
+    /**
+     * Puntos base por resultado
+     */
+    public int resultPoints(boolean winner) {
+        return winner ? pointsWin : pointsLoss;
+    }
+    
+    /**
+     * Bonificación por método de victoria
+     */
+    public int methodBonus(ResultMethod method, DecisionType decisionType) {
+        if (method == ResultMethod.DECISION) {
+            return decisionBonus[decisionType.ordinal()];
+        }
+        return methodBonus[method.ordinal()];
+    }
+    
+    /**
+     * Bonificación por finish en un round (0 si el round no tiene bonificación)
+     */
+    public int roundFinishBonus(int round) {
+        return round > 0 && round < roundFinishBonus.length ? roundFinishBonus[round] : 0;
+    }
+    
+    /**
+     * Puntos por estadísticas de combate (valores nulos cuentan como 0)
+     */
+    public int statisticsPoints(int significantStrikes, int takedownsLanded, int knockdowns, int submissionAttempts) {
+        return (int) (significantStrikes * pointsPerSignificantStrike)
+                + takedownsLanded * pointsPerTakedown
+                + knockdowns * pointsPerKnockdown
+                + submissionAttempts * pointsPerSubmissionAttempt;
+    }
+    
+    /**
+     * Bonificaciones especiales por precisión, dominio en el grappling y dominio en el striking
+     */
+    public int specialBonus(Integer totalStrikes, Integer landedStrikes, int takedownsLanded, int knockdowns) {
+        int bonusPoints = 0;
+        
+        if (totalStrikes != null && landedStrikes != null && totalStrikes > 0) {
+            double precision = (double) landedStrikes / totalStrikes;
+            if (precision >= accuracyThreshold && landedStrikes >= accuracyMinLanded) {
+                bonusPoints += accuracyBonus;
+            }
+        }
+        
+        if (takedownsLanded >= takedownBonusThreshold) {
+            bonusPoints += takedownBonus;
+        }
+        
+        if (knockdowns >= knockdownBonusThreshold) {
+            bonusPoints += knockdownBonus;
+        }
+        
+        return bonusPoints;
+    }
+}
@@ -26,6 +26,7 @@ import com.fantasyfightleague.security.jwt.AuthTokenFilter;
 import com.fantasyfightleague.security.services.UserDetailsServiceImpl;
 import com.fantasyfightleague.service.UserService;
 
+import jakarta.servlet.DispatcherType;
 import java.util.Arrays;
 
 @Configuration
@@ -91,6 +92,9 @@ public class SecurityConfig {
             .exceptionHandling(exception -> exception.authenticationEntryPoint(unauthorizedHandler))
             .sessionManagement(session -> session.sessionCreationPolicy(SessionCreationPolicy.STATELESS))
             .authorizeHttpRequests(authz -> authz
+                // Despachos asíncronos de peticiones ya autorizadas (streams SSE)
+                .dispatcherTypeMatchers(DispatcherType.ASYNC, DispatcherType.ERROR).permitAll()
+                
                 // Endpoints públicos
                 .requestMatchers("/api/auth/**").permitAll()
                 .requestMatchers("/api/public/**").permitAll()
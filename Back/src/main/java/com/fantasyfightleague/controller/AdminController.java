@@ -11,8 +11,20 @@ import com.fantasyfightleague.service.FighterService;
 import com.fantasyfightleague.service.SportradarService;
 import com.fantasyfightleague.service.FightResultsService;
 import com.fantasyfightleague.dto.EventResultsDTO;
+import com.fantasyfightleague.dto.FightResultDTO;
+import com.fantasyfightleague.dto.LiveFightScoringDTO;
+import com.fantasyfightleague.model.RescoreJob;
+import com.fantasyfightleague.service.RescoreService;
+import com.fantasyfightleague.service.FighterImportService;
+import com.fantasyfightleague.service.PickOwnershipService;
+import com.fantasyfightleague.dto.FighterImportResultDTO;
+import com.fantasyfightleague.dto.EmailOutboxStatsDTO;
+import com.fantasyfightleague.service.EmailOutboxService;
+import com.fantasyfightleague.dto.BulkEmailDTO;
+import com.fantasyfightleague.service.BulkEmailService;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
@@ -25,7 +37,13 @@ import org.springframework.web.bind.annotation.RestController;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 @RestController
@@ -39,67 +57,47 @@ public class AdminController {
     private final SportradarService sportradarService;
     private final FighterPricingService fighterPricingService;
     private final FightResultsService fightResultsService;
+    private final RescoreService rescoreService;
+    private final FighterImportService fighterImportService;
+    private final PickOwnershipService pickOwnershipService;
+    private final EmailOutboxService emailOutboxService;
+    private final BulkEmailService bulkEmailService;
     
     @Autowired
     public AdminController(UFCSyncScheduler ufcSyncScheduler, 
                           FighterService fighterService,
                           SportradarService sportradarService,
                           FighterPricingService fighterPricingService,
-                          FightResultsService fightResultsService) {
+                          FightResultsService fightResultsService,
+                          RescoreService rescoreService,
+                          FighterImportService fighterImportService,
+                          PickOwnershipService pickOwnershipService,
+                          EmailOutboxService emailOutboxService,
+                          BulkEmailService bulkEmailService) {
         this.ufcSyncScheduler = ufcSyncScheduler;
         this.fighterService = fighterService;
         this.sportradarService = sportradarService;
         this.fighterPricingService = fighterPricingService;
         this.fightResultsService = fightResultsService;
+        this.rescoreService = rescoreService;
+        this.fighterImportService = fighterImportService;
+        this.pickOwnershipService = pickOwnershipService;
+        this.emailOutboxService = emailOutboxService;
+        this.bulkEmailService = bulkEmailService;
     }
     /**
-     * Endpoint para importar luchadores manualmente mediante un JSON
+     * Endpoint para importar luchadores manualmente mediante un JSON.
+     * El cuerpo se procesa en streaming (array JSON de FighterDTO) sin cargar la lista completa en memoria.
      */
     @PostMapping("/import-fighters")
-    public ResponseEntity<String> importFighters(@RequestBody List<FighterDTO> fighterDTOs) {
+    public ResponseEntity<String> importFighters(InputStream body) {
         try {
-            logger.info("Iniciando importación manual de {} luchadores", fighterDTOs.size());
+            logger.info("Iniciando importación manual de luchadores");
             
-            // 1. Desactivar todos los luchadores actuales
-            int deactivatedCount = sportradarService.deactivateAllFighters();
-            logger.info("Desactivados {} luchadores anteriores", deactivatedCount);
+            FighterImportResultDTO result = fighterImportService.importFighters(body);
             
-            // 2. Procesar e importar los nuevos luchadores
-            int importedCount = 0;
-            
-            for (FighterDTO dto : fighterDTOs) {
-                // Buscar si ya existe un luchador con ese nombre
-                List<Fighter> existingFighters = fighterService.findByName(dto.getName());
-                
-                if (!existingFighters.isEmpty()) {
-                    // Actualizar luchador existente
-                    Fighter existingFighter = existingFighters.get(0);
-                    existingFighter.setRecord(dto.getRecord());
-                    existingFighter.setNationality(dto.getNationality());
-                    existingFighter.setWeightClass(dto.getWeightClass());
-                    existingFighter.setActive(true);
-                    
-                    fighterService.saveFighter(existingFighter);
-                    logger.info("Actualizado luchador existente: {}", dto.getName());
-                } else {
-                    // Crear nuevo luchador
-                    Fighter fighter = new Fighter();
-                    fighter.setName(dto.getName());
-                    fighter.setRecord(dto.getRecord());
-                    fighter.setNationality(dto.getNationality());
-                    fighter.setWeightClass(dto.getWeightClass());
-                    fighter.setActive(true);
-                    fighter.setPrice(60); // Precio por defecto
-                    
-                    fighterService.saveFighter(fighter);
-                    logger.info("Creado nuevo luchador: {}", dto.getName());
-                }
-                
-                importedCount++;
-            }
-            
-            return ResponseEntity.ok("Proceso completado. Luchadores desactivados: " + deactivatedCount + 
-                                    ", Luchadores importados/actualizados: " + importedCount);
+            return ResponseEntity.ok("Proceso completado. Luchadores desactivados: " + result.getDeactivated() + 
+                                    ", Luchadores importados/actualizados: " + result.getImported());
         } catch (Exception e) {
             logger.error("Error al importar luchadores: {}", e.getMessage(), e);
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
@@ -263,20 +261,26 @@ public class AdminController {
     @PostMapping("/update-event-prices")
     public ResponseEntity<String> updateEventPrices(@RequestBody List<FighterPriceDTO> pricesList) {
         try {
-            int updatedCount = 0;
             StringBuilder results = new StringBuilder("Resultados de la actualización de precios:\n");
             
+            // Cargar todos los luchadores en una sola consulta
+            List<Long> fighterIds = new ArrayList<>();
+            for (FighterPriceDTO priceDTO : pricesList) {
+                fighterIds.add(priceDTO.getFighterId());
+            }
+            Map<Long, Fighter> fightersById = new HashMap<>();
+            for (Fighter fighter : fighterService.findAllByIds(fighterIds)) {
+                fightersById.put(fighter.getId(), fighter);
+            }
+            
+            Map<Long, Integer> newPrices = new LinkedHashMap<>();
             for (FighterPriceDTO priceDTO : pricesList) {
-                Optional<Fighter> fighterOpt = fighterService.findById(priceDTO.getFighterId());
+                Fighter fighter = fightersById.get(priceDTO.getFighterId());
                 
-                if (fighterOpt.isPresent()) {
-                    Fighter fighter = fighterOpt.get();
-                    
+                if (fighter != null) {
                     // Calcular el precio basado en el DTO
                     int newPrice = fighterPricingService.calculatePriceFromDTO(priceDTO);
-                    fighter.setPrice(newPrice);
-                    
-                    fighterService.saveFighter(fighter);
+                    newPrices.put(fighter.getId(), newPrice);
                     
                     results.append("- ")
                            .append(fighter.getName())
@@ -296,8 +300,6 @@ public class AdminController {
                            .append(", ")
                            .append(priceDTO.getIsFavorite() != null && priceDTO.getIsFavorite() ? "Favorito" : "Underdog")
                            .append(")\n");
-                    
-                    updatedCount++;
                 } else {
                     results.append("- Error: No se encontró el luchador con ID: ")
                            .append(priceDTO.getFighterId())
@@ -305,6 +307,10 @@ public class AdminController {
                 }
             }
             
+            // Guardar todos los precios en una sola actualización en lote
+            fighterPricingService.savePrices(newPrices);
+            int updatedCount = newPrices.size();
+            
             logger.info("Actualización masiva de precios completada. {} luchadores actualizados", updatedCount);
             
             return ResponseEntity.ok("Se actualizaron " + updatedCount + " luchadores\n" + results.toString());
@@ -315,93 +321,56 @@ public class AdminController {
         }
     }
     
+    /**
+     * Endpoint para importar luchadores con imagen y datos de precio.
+     * El cuerpo se procesa en streaming (array JSON de CompleteFighterDTO).
+     */
     @PostMapping("/import-complete-fighters")
-    public ResponseEntity<String> importCompleteFighters(@RequestBody List<CompleteFighterDTO> fighterDTOs) {
+    public ResponseEntity<String> importCompleteFighters(InputStream body) {
         try {
-            logger.info("Iniciando importación completa de {} luchadores", fighterDTOs.size());
-            
-            // 1. Desactivar todos los luchadores actuales si se está haciendo una importación completa
-            int deactivatedCount = sportradarService.deactivateAllFighters();
-            logger.info("Desactivados {} luchadores anteriores", deactivatedCount);
+            logger.info("Iniciando importación completa de luchadores");
             
-            // 2. Procesar e importar los nuevos luchadores
-            int importedCount = 0;
-            StringBuilder results = new StringBuilder("Resultados de la importación:\n");
+            FighterImportResultDTO result = fighterImportService.importCompleteFighters(body);
             
-            for (CompleteFighterDTO dto : fighterDTOs) {
-                // Buscar si ya existe un luchador con ese nombre
-                List<Fighter> existingFighters = fighterService.findByName(dto.getName());
-                Fighter fighter;
-                boolean isNewFighter = existingFighters.isEmpty();
-                
-                if (!isNewFighter) {
-                    // Actualizar luchador existente
-                    fighter = existingFighters.get(0);
-                    fighter.setRecord(dto.getRecord());
-                    fighter.setNationality(dto.getNationality());
-                    fighter.setWeightClass(dto.getWeightClass());
-                    fighter.setActive(true);
-                    
-                    results.append("- Actualizado: ").append(dto.getName()).append("\n");
-                } else {
-                    // Crear nuevo luchador
-                    fighter = new Fighter();
-                    fighter.setName(dto.getName());
-                    fighter.setRecord(dto.getRecord());
-                    fighter.setNationality(dto.getNationality());
-                    fighter.setWeightClass(dto.getWeightClass());
-                    fighter.setActive(true);
-                    
-                    results.append("- Creado: ").append(dto.getName()).append("\n");
-                }
-                
-                // Establecer la imagen si se proporciona
-                if (dto.getImageUrl() != null && !dto.getImageUrl().isEmpty()) {
-                    fighter.setImageUrl(dto.getImageUrl());
-                    results.append("   Imagen: ").append(dto.getImageUrl()).append("\n");
-                }
-                
-                // Calcular y establecer el precio
-                int price;
-                if (dto.getPrice() != null) {
-                    // Si se proporciona un precio explícito, lo usamos
-                    price = dto.getPrice();
-                    results.append("   Precio explícito: ").append(price).append("\n");
-                } else if (dto.getPosition() != null) {
-                    // Si no hay precio pero sí datos para calcularlo, usamos el servicio de cálculo
-                    FighterPriceDTO priceDTO = new FighterPriceDTO();
-                    priceDTO.setPosition(dto.getPosition());
-                    priceDTO.setIsFavorite(dto.getIsFavorite());
-                    priceDTO.setRanking(dto.getRanking());
-                    
-                    price = fighterPricingService.calculatePriceFromDTO(priceDTO);
-                    results.append("   Precio calculado: ").append(price)
-                           .append(" (Posición: ").append(dto.getPosition())
-                           .append(", Favorito: ").append(dto.getIsFavorite())
-                           .append(", Ranking: ").append(dto.getRanking()).append(")\n");
-                } else if (isNewFighter) {
-                    // Si es un nuevo luchador y no hay datos de precio, usamos un valor por defecto
-                    price = 60; // Precio por defecto para nuevos luchadores
-                    results.append("   Precio por defecto: ").append(price).append("\n");
-                } else {
-                    // Si es un luchador existente y no hay datos de precio, mantenemos el actual
-                    price = fighter.getPrice() != null ? fighter.getPrice() : 60;
-                    results.append("   Precio mantenido: ").append(price).append("\n");
-                }
-                
-                fighter.setPrice(price);
-                
-                // Guardar el luchador
-                fighterService.saveFighter(fighter);
-                importedCount++;
-            }
+            return ResponseEntity.ok("Proceso completado. Luchadores desactivados: " + result.getDeactivated() + 
+                                    ", Luchadores importados/actualizados: " + result.getImported() + "\n" + result.getDetails());
+        } catch (Exception e) {
+            logger.error("Error al importar luchadores completos: {}", e.getMessage(), e);
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                    .body("Error: " + e.getMessage());
+        }
+    }
+    
+    /**
+     * Endpoint para recalcular los precios de los luchadores de un evento en una sola transacción
+     */
+    @PostMapping("/events/{eventId}/reprice")
+    public ResponseEntity<?> repriceEvent(@PathVariable Long eventId, @RequestBody List<FighterPriceDTO> pricesList) {
+        try {
+            Map<Long, Integer> prices = fighterPricingService.repriceEventFighters(eventId, pricesList);
             
-            logger.info("Importación completa finalizada. {} luchadores importados/actualizados", importedCount);
+            Map<String, Object> response = new HashMap<>();
+            response.put("eventId", eventId);
+            response.put("updatedFighters", prices.size());
+            response.put("prices", prices);
             
-            return ResponseEntity.ok("Proceso completado. Luchadores desactivados: " + deactivatedCount + 
-                                    ", Luchadores importados/actualizados: " + importedCount + "\n" + results.toString());
+            return ResponseEntity.ok(response);
         } catch (Exception e) {
-            logger.error("Error al importar luchadores completos: {}", e.getMessage(), e);
+            logger.error("Error al recalcular los precios del evento {}: {}", eventId, e.getMessage(), e);
+            return ResponseEntity.badRequest().body("Error: " + e.getMessage());
+        }
+    }
+    
+    /**
+     * Endpoint para recargar la tabla de precios desde su fichero de configuración
+     */
+    @PostMapping("/pricing/reload")
+    public ResponseEntity<String> reloadPricingTable() {
+        try {
+            String location = fighterPricingService.reloadTable();
+            return ResponseEntity.ok("Tabla de precios recargada desde " + location);
+        } catch (Exception e) {
+            logger.error("Error al recargar la tabla de precios: {}", e.getMessage(), e);
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
                     .body("Error: " + e.getMessage());
         }
@@ -428,6 +397,99 @@ public class AdminController {
         }
     }
 
+    /**
+     * Endpoint para procesar en directo los resultados de una pelea de un evento LIVE.
+     * Solo se actualizan los picks que contienen a los luchadores de la pelea.
+     */
+    @PostMapping("/events/{eventId}/fight-results")
+    public ResponseEntity<?> processLiveFightResults(@PathVariable Long eventId,
+                                                     @RequestBody List<FightResultDTO> results) {
+        try {
+            LiveFightScoringDTO summary = fightResultsService.processLiveFightResults(eventId, results);
+            return ResponseEntity.ok(summary);
+        } catch (Exception e) {
+            logger.error("Error al procesar la pelea en directo del evento {}: {}", eventId, e.getMessage(), e);
+            return ResponseEntity.badRequest().body("Error: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Endpoint para recalcular desde los picks la popularidad de los luchadores de un evento
+     */
+    @PostMapping("/events/{eventId}/ownership/rebuild")
+    public ResponseEntity<String> rebuildOwnership(@PathVariable Long eventId) {
+        try {
+            int rows = pickOwnershipService.rebuild(eventId);
+            return ResponseEntity.ok("Popularidad recalculada para el evento " + eventId + ": " + rows + " filas");
+        } catch (Exception e) {
+            logger.error("Error al recalcular la popularidad del evento {}: {}", eventId, e.getMessage(), e);
+            return ResponseEntity.badRequest().body("Error: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Endpoint para consultar las transiciones pendientes del ciclo de vida de los eventos
+     */
+    @GetMapping("/lifecycle/transitions")
+    public ResponseEntity<?> getLifecycleTransitions() {
+        try {
+            Map<String, Object> response = new HashMap<>();
+            response.put("leader", ufcSyncScheduler.isLeader());
+            response.put("transitions", ufcSyncScheduler.getPendingTransitions());
+            return ResponseEntity.ok(response);
+        } catch (Exception e) {
+            logger.error("Error al obtener las transiciones del ciclo de vida: {}", e.getMessage(), e);
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                    .body("Error: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Endpoint para consultar el tamaño de la cola de emails salientes
+     */
+    @GetMapping("/email-outbox/stats")
+    public ResponseEntity<?> getEmailOutboxStats() {
+        try {
+            EmailOutboxStatsDTO stats = emailOutboxService.getStats();
+            return ResponseEntity.ok(stats);
+        } catch (Exception e) {
+            logger.error("Error al obtener el estado de la cola de emails: {}", e.getMessage(), e);
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                    .body("Error: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Endpoint para volver a encolar los emails que agotaron los reintentos
+     */
+    @PostMapping("/email-outbox/retry-failed")
+    public ResponseEntity<String> retryFailedEmails() {
+        try {
+            int requeued = emailOutboxService.requeueFailed();
+            return ResponseEntity.ok("Emails encolados de nuevo: " + requeued);
+        } catch (Exception e) {
+            logger.error("Error al volver a encolar los emails fallidos: {}", e.getMessage(), e);
+            return ResponseEntity.badRequest().body("Error: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Endpoint para encolar una plantilla de email para los miembros de una liga (o todos los usuarios).
+     * Ej.: {"template": "event-results", "leagueId": 1, "values": {"eventName": "UFC 300"}}
+     */
+    @PostMapping("/emails/bulk")
+    public ResponseEntity<String> sendBulkEmail(@RequestBody BulkEmailDTO request) {
+        try {
+            int enqueued = request.leagueId() != null
+                    ? bulkEmailService.sendToLeagueMembers(request.leagueId(), request.template(), request.values())
+                    : bulkEmailService.sendToAllUsers(request.template(), request.values());
+            return ResponseEntity.ok("Emails encolados: " + enqueued);
+        } catch (Exception e) {
+            logger.error("Error en el envío masivo de la plantilla {}: {}", request.template(), e.getMessage(), e);
+            return ResponseEntity.badRequest().body("Error: " + e.getMessage());
+        }
+    }
+
     /**
      * Endpoint para obtener resumen de puntuaciones de un evento
      */
@@ -442,4 +504,69 @@ public class AdminController {
                     .body("Error: " + e.getMessage());
         }
     }
-}
\ No newline at end of file
+    
+    /**
+     * Endpoint para iniciar la re-puntuación de los eventos completados en un rango de fechas.
+     * El trabajo se ejecuta en segundo plano; su progreso se consulta con /rescore-jobs/{id}
+     */
+    @PostMapping("/rescore-jobs")
+    public ResponseEntity<?> startRescoreJob(
+            @RequestParam(value = "from", required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) Date from,
+            @RequestParam(value = "to", required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) Date to) {
+        try {
+            RescoreJob job = rescoreService.startJob(from, to);
+            return ResponseEntity.status(HttpStatus.ACCEPTED).body(createJobStatus(job));
+        } catch (Exception e) {
+            logger.error("Error al iniciar la re-puntuación: {}", e.getMessage(), e);
+            return ResponseEntity.badRequest().body("Error: " + e.getMessage());
+        }
+    }
+    
+    /**
+     * Endpoint para consultar el progreso de un trabajo de re-puntuación
+     */
+    @GetMapping("/rescore-jobs/{id}")
+    public ResponseEntity<?> getRescoreJob(@PathVariable Long id) {
+        Optional<RescoreJob> jobOpt = rescoreService.findJob(id);
+        if (!jobOpt.isPresent()) {
+            return ResponseEntity.status(HttpStatus.NOT_FOUND)
+                    .body("No se encontró el trabajo de re-puntuación con ID: " + id);
+        }
+        return ResponseEntity.ok(createJobStatus(jobOpt.get()));
+    }
+    
+    /**
+     * Endpoint para reanudar un trabajo de re-puntuación interrumpido o fallido
+     */
+    @PostMapping("/rescore-jobs/{id}/resume")
+    public ResponseEntity<?> resumeRescoreJob(@PathVariable Long id) {
+        try {
+            RescoreJob job = rescoreService.resumeJob(id);
+            return ResponseEntity.status(HttpStatus.ACCEPTED).body(createJobStatus(job));
+        } catch (Exception e) {
+            logger.error("Error al reanudar la re-puntuación {}: {}", id, e.getMessage(), e);
+            return ResponseEntity.badRequest().body("Error: " + e.getMessage());
+        }
+    }
+    
+    private Map<String, Object> createJobStatus(RescoreJob job) {
+        Map<String, Object> status = new HashMap<>();
+        status.put("id", job.getId());
+        status.put("status", job.getStatus());
+        status.put("fromDate", job.getFromDate());
+        status.put("toDate", job.getToDate());
+        status.put("totalEvents", job.getTotalEvents());
+        status.put("completedEvents", job.getCompletedEvents());
+        status.put("failedEvents", job.getFailedEvents());
+        status.put("progress", job.getTotalEvents() > 0 ? job.getCompletedEvents() * 100 / job.getTotalEvents() : 0);
+        status.put("statsRescored", job.getStatsRescored());
+        status.put("statsSkipped", job.getStatsSkipped());
+        status.put("picksRescored", job.getPicksRescored());
+        status.put("lastError", job.getLastError());
+        status.put("ownerNode", job.getOwnerNode());
+        status.put("heartbeatAt", job.getHeartbeatAt());
+        status.put("startedAt", job.getStartedAt());
+        status.put("finishedAt", job.getFinishedAt());
+        return status;
+    }
+}
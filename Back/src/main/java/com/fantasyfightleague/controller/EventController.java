@@ -2,11 +2,12 @@
 package com.fantasyfightleague.controller;
 
 import com.fantasyfightleague.dto.CreateEventDTO;
+import com.fantasyfightleague.dto.CreateFightDTO;
 import com.fantasyfightleague.dto.MessageResponseDTO;
 import com.fantasyfightleague.model.Event;
-import com.fantasyfightleague.model.Fighter;
+import com.fantasyfightleague.model.Fight;
 import com.fantasyfightleague.service.EventService;
-import com.fantasyfightleague.service.FighterService;
+import com.fantasyfightleague.service.EventCardService;
 
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.ResponseEntity;
@@ -28,10 +29,10 @@ public class EventController {
     private EventService eventService;
     
     @Autowired
-    private FighterService fighterService;
+    private EventCardService eventCardService;
     
     /**
-     * SOLO ADMINS - Crear evento CON luchadores activos automáticamente
+     * SOLO ADMINS - Crear evento con su cartelera (peleas)
      */
     @PostMapping("/admin/events")
     @PreAuthorize("hasRole('ADMIN')")
@@ -46,18 +47,18 @@ public class EventController {
             event.setStartDate(eventDTO.getStartDate());
             event.setEndDate(eventDTO.getEndDate());
             
-            // Guardar el evento primero
+            // Validar la cartelera antes de crear el evento
+            List<Fight> card = eventDTO.getFights() != null
+                    ? eventCardService.buildCard(eventDTO.getFights())
+                    : new ArrayList<>();
+            
             Event savedEvent = eventService.saveEvent(event);
             
-            // Obtener todos los luchadores activos y agregarlos al evento
-            List<Fighter> activeFighters = fighterService.findAllActiveFighters();
-            for (Fighter fighter : activeFighters) {
-                savedEvent.addFighter(fighter);
+            // Los luchadores del evento son los de sus peleas
+            if (!card.isEmpty()) {
+                eventCardService.addFights(savedEvent, card);
             }
             
-            // Guardar el evento actualizado con los luchadores
-            savedEvent = eventService.saveEvent(savedEvent);
-            
             return ResponseEntity.ok(savedEvent);
         } catch (Exception e) {
             return ResponseEntity.badRequest().body(new MessageResponseDTO("Error: " + e.getMessage()));
@@ -98,10 +99,35 @@ public class EventController {
     @GetMapping("/events/{id}/fighters")
     public ResponseEntity<?> getEventFighters(@PathVariable Long id) {
         return eventService.findById(id)
-                .map(event -> ResponseEntity.ok(event.getFighters()))
+                .map(event -> ResponseEntity.ok(eventCardService.getFighters(event.getId())))
                 .orElse(ResponseEntity.notFound().build());
     }
     
+    /**
+     * PÚBLICO - Obtener la cartelera (peleas) de un evento
+     */
+    @GetMapping("/events/{id}/fights")
+    public ResponseEntity<?> getEventFights(@PathVariable Long id) {
+        return eventService.findById(id)
+                .map(event -> ResponseEntity.ok(eventCardService.getCard(event.getId())))
+                .orElse(ResponseEntity.notFound().build());
+    }
+    
+    /**
+     * SOLO ADMINS - Añadir peleas a la cartelera de un evento
+     */
+    @PostMapping("/admin/events/{id}/fights")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<?> addEventFights(@PathVariable Long id, @RequestBody List<CreateFightDTO> fights) {
+        try {
+            Event event = eventService.findById(id)
+                    .orElseThrow(() -> new RuntimeException("Evento no encontrado"));
+            return ResponseEntity.ok(eventCardService.addFights(event, eventCardService.buildCard(fights)));
+        } catch (Exception e) {
+            return ResponseEntity.badRequest().body(new MessageResponseDTO("Error: " + e.getMessage()));
+        }
+    }
+    
     /**
      * SOLO ADMINS - Actualizar estado del evento
      */
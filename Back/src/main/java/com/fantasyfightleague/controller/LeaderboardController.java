@@ -1,10 +1,12 @@
 // Back/src/main/java/com/fantasyfightleague/controller/LeaderboardController.java
 package com.fantasyfightleague.controller;
 
+import com.fantasyfightleague.dto.LeaderboardEntryDTO;
+import com.fantasyfightleague.dto.UserRankDTO;
 import com.fantasyfightleague.model.*;
-import com.fantasyfightleague.repository.FighterStatsRepository;
 import com.fantasyfightleague.service.*;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.security.core.context.SecurityContextHolder;
@@ -31,15 +33,32 @@ public class LeaderboardController {
     private PickService pickService;
     
     @Autowired
-    private FighterStatsRepository fighterStatsRepository;
+    private FightResultsService fightResultsService;
+    
+    @Autowired
+    private LeagueStandingService leagueStandingService;
+    
+    @Autowired
+    private LeaderboardService leaderboardService;
+    
+    @Autowired
+    private RankService rankService;
+    
+    @Autowired
+    private LeaderboardStreamService leaderboardStreamService;
     
     /**
-     * Obtener clasificación global de una liga (suma de todos los eventos)
-     * MEJORADO: Incluye toda la información necesaria para la UI
+     * Obtener clasificación global de una liga (suma de todos los eventos), paginada
+     * @param page Página (desde 0)
+     * @param size Entradas por página
+     * @param aroundUser Devolver la página en la que está el usuario
      */
     @GetMapping("/global/{leagueId}")
     @PreAuthorize("isAuthenticated()")
-    public ResponseEntity<?> getGlobalLeaderboard(@PathVariable Long leagueId) {
+    public ResponseEntity<?> getGlobalLeaderboard(@PathVariable Long leagueId,
+                                                  @RequestParam(defaultValue = "0") int page,
+                                                  @RequestParam(defaultValue = "" + LeaderboardService.DEFAULT_PAGE_SIZE) int size,
+                                                  @RequestParam(defaultValue = "false") boolean aroundUser) {
         try {
             UserDetails userDetails = (UserDetails) SecurityContextHolder.getContext().getAuthentication().getPrincipal();
             User user = userService.findByUsername(userDetails.getUsername())
@@ -53,15 +72,7 @@ public class LeaderboardController {
                 return ResponseEntity.badRequest().body("No eres miembro de esta liga");
             }
             
-            // 🔥 MEJORADO: Obtener clasificación global con datos completos
-            List<Map<String, Object>> leaderboard = getEnhancedGlobalLeaderboard(league);
-            
-            Map<String, Object> response = new HashMap<>();
-            response.put("league", league);
-            response.put("leaderboard", leaderboard);
-            response.put("totalParticipants", leaderboard.size());
-            
-            return ResponseEntity.ok(response);
+            return ResponseEntity.ok(leaderboardService.getGlobalLeaderboard(league, user, page, size, aroundUser));
             
         } catch (Exception e) {
             return ResponseEntity.badRequest().body("Error: " + e.getMessage());
@@ -69,113 +80,43 @@ public class LeaderboardController {
     }
     
     /**
-     * 🆕 NUEVO MÉTODO: Obtener clasificación global enriquecida con todos los datos necesarios
+     * Stream SSE con los cambios de la clasificación de una liga durante los eventos en directo
      */
-    private List<Map<String, Object>> getEnhancedGlobalLeaderboard(League league) {
-        // Obtener la clasificación base
-        List<Map<String, Object>> baseLeaderboard = pickService.getGlobalLeaderboard(league);
-        
-        // Obtener todos los miembros de la liga (incluso los que no han participado)
-        Set<User> allMembers = league.getMembers();
-        Map<Long, Map<String, Object>> leaderboardMap = new HashMap<>();
-        
-        // Procesar miembros que ya están en la clasificación
-        for (Map<String, Object> entry : baseLeaderboard) {
-            User entryUser = (User) entry.get("user");
-            Long totalPoints = (Long) entry.get("totalPoints");
-            
-            Map<String, Object> enrichedEntry = createEnrichedEntry(entryUser, league, totalPoints != null ? totalPoints.intValue() : 0);
-            leaderboardMap.put(entryUser.getId(), enrichedEntry);
-        }
-        
-        // Agregar miembros que no han participado aún
-        for (User member : allMembers) {
-            if (!leaderboardMap.containsKey(member.getId())) {
-                Map<String, Object> enrichedEntry = createEnrichedEntry(member, league, 0);
-                leaderboardMap.put(member.getId(), enrichedEntry);
+    @GetMapping(value = "/stream/{leagueId}", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    @PreAuthorize("isAuthenticated()")
+    public ResponseEntity<?> streamLeaderboard(@PathVariable Long leagueId) {
+        try {
+            UserDetails userDetails = (UserDetails) SecurityContextHolder.getContext().getAuthentication().getPrincipal();
+            User user = userService.findByUsername(userDetails.getUsername())
+                    .orElseThrow(() -> new RuntimeException("Usuario no encontrado"));
+            
+            League league = leagueService.findById(leagueId)
+                    .orElseThrow(() -> new RuntimeException("Liga no encontrada"));
+            
+            // Verificar que el usuario es miembro de la liga
+            if (!leagueService.isUserInLeague(league, user)) {
+                return ResponseEntity.badRequest().body("No eres miembro de esta liga");
             }
+            
+            return ResponseEntity.ok(leaderboardStreamService.subscribe(league, user.getId()));
+            
+        } catch (Exception e) {
+            return ResponseEntity.badRequest().body("Error: " + e.getMessage());
         }
-        
-        // Convertir a lista y ordenar por puntos (descendente)
-        List<Map<String, Object>> finalLeaderboard = new ArrayList<>(leaderboardMap.values());
-        finalLeaderboard.sort((a, b) -> {
-            Integer pointsA = (Integer) a.get("totalPoints");
-            Integer pointsB = (Integer) b.get("totalPoints");
-            return pointsB.compareTo(pointsA);
-        });
-        
-        // Asignar posiciones
-        for (int i = 0; i < finalLeaderboard.size(); i++) {
-            finalLeaderboard.get(i).put("position", i + 1);
-        }
-        
-        return finalLeaderboard;
-    }
-    
-    /**
-     * 🆕 NUEVO MÉTODO: Crear entrada enriquecida con todos los datos necesarios
-     */
-    private Map<String, Object> createEnrichedEntry(User user, League league, int totalPoints) {
-        Map<String, Object> entry = new HashMap<>();
-        
-        // 📊 Información básica del usuario
-        entry.put("userId", user.getId());
-        entry.put("username", user.getUsername());
-        entry.put("firstName", user.getFirstName() != null ? user.getFirstName() : "");
-        entry.put("lastName", user.getLastName() != null ? user.getLastName() : "");
-        entry.put("profileImageUrl", user.getProfileImageUrl());
-        
-        // 🏆 Estadísticas de puntos
-        entry.put("totalPoints", totalPoints);
-        
-        // 📈 Obtener información de participación
-        List<Pick> userPicks = pickService.findByUserAndLeague(user, league);
-        entry.put("eventsParticipated", userPicks.size());
-        
-        // 🎯 Calcular promedio de puntos por evento
-        if (userPicks.size() > 0) {
-            double avgPoints = (double) totalPoints / userPicks.size();
-            entry.put("averagePointsPerEvent", Math.round(avgPoints * 100.0) / 100.0);
-        } else {
-            entry.put("averagePointsPerEvent", 0.0);
-        }
-        
-        // ⚡ Puntos del último evento
-        int lastEventPoints = getLastEventPoints(user, league, userPicks);
-        entry.put("lastEventPoints", lastEventPoints);
-        
-        // 🎮 Información adicional
-        entry.put("isCurrentUser", false); // Se establecerá en el frontend
-        
-        return entry;
-    }
-    
-    /**
-     * 🆕 NUEVO MÉTODO: Obtener puntos del último evento para un usuario
-     */
-    private int getLastEventPoints(User user, League league, List<Pick> userPicks) {
-        if (userPicks.isEmpty()) {
-            return 0;
-        }
-        
-        // Ordenar picks por fecha del evento (más reciente primero)
-        userPicks.sort((a, b) -> {
-            Date dateA = a.getEvent().getStartDate() != null ? a.getEvent().getStartDate() : a.getEvent().getDate();
-            Date dateB = b.getEvent().getStartDate() != null ? b.getEvent().getStartDate() : b.getEvent().getDate();
-            return dateB.compareTo(dateA);
-        });
-        
-        // Devolver los puntos del evento más reciente
-        return userPicks.get(0).getEventPoints();
     }
     
     /**
-     * Obtener clasificación de un evento específico en una liga
-     * MEJORADO para incluir información completa del usuario
+     * Obtener clasificación de un evento específico en una liga, paginada
+     * @param page Página (desde 0)
+     * @param size Entradas por página
+     * @param aroundUser Devolver la página en la que está el pick del usuario
      */
     @GetMapping("/event/{leagueId}/{eventId}")
     @PreAuthorize("isAuthenticated()")
-    public ResponseEntity<?> getEventLeaderboard(@PathVariable Long leagueId, @PathVariable Long eventId) {
+    public ResponseEntity<?> getEventLeaderboard(@PathVariable Long leagueId, @PathVariable Long eventId,
+                                                 @RequestParam(defaultValue = "0") int page,
+                                                 @RequestParam(defaultValue = "" + LeaderboardService.DEFAULT_PAGE_SIZE) int size,
+                                                 @RequestParam(defaultValue = "false") boolean aroundUser) {
         try {
             UserDetails userDetails = (UserDetails) SecurityContextHolder.getContext().getAuthentication().getPrincipal();
             User user = userService.findByUsername(userDetails.getUsername())
@@ -192,76 +133,7 @@ public class LeaderboardController {
                 return ResponseEntity.badRequest().body("No eres miembro de esta liga");
             }
             
-            List<Pick> eventPicks = pickService.getEventLeaderboard(league, event);
-            
-            // 🔥 MEJORADO: Crear respuesta detallada con información completa del usuario
-            List<Map<String, Object>> leaderboard = new ArrayList<>();
-            int position = 1;
-            
-            for (Pick pick : eventPicks) {
-                Map<String, Object> entry = new HashMap<>();
-                User pickUser = pick.getUser();
-                
-                // Información de posición
-                entry.put("position", position);
-                
-                // Información básica del usuario
-                entry.put("userId", pickUser.getId());
-                entry.put("username", pickUser.getUsername());
-                entry.put("firstName", pickUser.getFirstName() != null ? pickUser.getFirstName() : "");
-                entry.put("lastName", pickUser.getLastName() != null ? pickUser.getLastName() : "");
-                entry.put("profileImageUrl", pickUser.getProfileImageUrl());
-                
-                // Estadísticas del evento
-                entry.put("eventPoints", pick.getEventPoints());
-                entry.put("totalCost", pick.getTotalCost());
-                entry.put("remainingBudget", pick.getRemainingBudget());
-                
-                // Detalles de los luchadores seleccionados
-                List<Map<String, Object>> fighterDetails = new ArrayList<>();
-                for (Fighter fighter : pick.getSelectedFighters()) {
-                    Map<String, Object> fighterInfo = new HashMap<>();
-                    fighterInfo.put("fighterId", fighter.getId());
-                    fighterInfo.put("name", fighter.getName());
-                    fighterInfo.put("imageUrl", fighter.getImageUrl());
-                    fighterInfo.put("price", fighter.getPrice());
-                    
-                    // Buscar puntos obtenidos por este luchador en este evento
-                    Optional<FighterStats> statsOpt = fighterStatsRepository
-                        .findByFighter(fighter)
-                        .stream()
-                        .filter(stats -> {
-                            Date eventStart = event.getStartDate() != null ? event.getStartDate() : event.getDate();
-                            return stats.getCreatedAt().after(eventStart);
-                        })
-                        .findFirst();
-                    
-                    if (statsOpt.isPresent()) {
-                        fighterInfo.put("pointsEarned", statsOpt.get().getPoints());
-                        fighterInfo.put("hasStats", true);
-                    } else {
-                        fighterInfo.put("pointsEarned", 0);
-                        fighterInfo.put("hasStats", false);
-                    }
-                    
-                    fighterDetails.add(fighterInfo);
-                }
-                
-                entry.put("selectedFighters", fighterDetails);
-                entry.put("fightersSelected", pick.getSelectedFighters().size());
-                
-                leaderboard.add(entry);
-                position++;
-            }
-            
-            Map<String, Object> response = new HashMap<>();
-            response.put("league", league);
-            response.put("event", event);
-            response.put("leaderboard", leaderboard);
-            response.put("totalParticipants", leaderboard.size());
-            response.put("isEventCompleted", "COMPLETED".equals(event.getStatus()));
-            
-            return ResponseEntity.ok(response);
+            return ResponseEntity.ok(leaderboardService.getEventLeaderboard(league, event, user, page, size, aroundUser));
             
         } catch (Exception e) {
             return ResponseEntity.badRequest().body("Error: " + e.getMessage());
@@ -287,30 +159,23 @@ public class LeaderboardController {
                 return ResponseEntity.badRequest().body("No eres miembro de esta liga");
             }
             
-            List<Map<String, Object>> leaderboard = getEnhancedGlobalLeaderboard(league);
-            
-            // Buscar la posición del usuario
-            Map<String, Object> userPosition = null;
-            
-            for (Map<String, Object> entry : leaderboard) {
-                Long userId = (Long) entry.get("userId");
-                if (userId.equals(user.getId())) {
-                    userPosition = new HashMap<>();
-                    userPosition.put("position", entry.get("position"));
-                    userPosition.put("totalPoints", entry.get("totalPoints"));
-                    userPosition.put("totalParticipants", leaderboard.size());
-                    userPosition.put("eventsParticipated", entry.get("eventsParticipated"));
-                    userPosition.put("averagePointsPerEvent", entry.get("averagePointsPerEvent"));
-                    userPosition.put("lastEventPoints", entry.get("lastEventPoints"));
-                    break;
-                }
-            }
+            // Posición del usuario (clasificación en memoria o fila de la clasificación materializada)
+            Optional<UserRankDTO> rankOpt = rankService.getRankAround(league, user, 0);
             
-            if (userPosition == null) {
-                userPosition = new HashMap<>();
+            Map<String, Object> userPosition = new HashMap<>();
+            
+            if (rankOpt.isPresent() && rankOpt.get().entry() != null) {
+                LeaderboardEntryDTO entry = rankOpt.get().entry();
+                userPosition.put("totalParticipants", rankOpt.get().totalParticipants());
+                userPosition.put("position", entry.position());
+                userPosition.put("totalPoints", entry.totalPoints());
+                userPosition.put("eventsParticipated", entry.eventsParticipated());
+                userPosition.put("averagePointsPerEvent", entry.averagePointsPerEvent());
+                userPosition.put("lastEventPoints", entry.lastEventPoints());
+            } else {
+                userPosition.put("totalParticipants", leagueStandingService.countParticipants(league));
                 userPosition.put("position", null);
                 userPosition.put("totalPoints", 0);
-                userPosition.put("totalParticipants", leaderboard.size());
                 userPosition.put("eventsParticipated", 0);
                 userPosition.put("averagePointsPerEvent", 0.0);
                 userPosition.put("lastEventPoints", 0);
@@ -324,6 +189,42 @@ public class LeaderboardController {
         }
     }
     
+    /**
+     * Obtener la posición del usuario en la clasificación global junto con sus vecinos
+     * @param neighbours Número de participantes por encima y por debajo
+     */
+    @GetMapping("/around-me/{leagueId}")
+    @PreAuthorize("isAuthenticated()")
+    public ResponseEntity<?> getAroundMe(@PathVariable Long leagueId,
+                                         @RequestParam(defaultValue = "" + RankService.DEFAULT_NEIGHBOURS) int neighbours) {
+        try {
+            UserDetails userDetails = (UserDetails) SecurityContextHolder.getContext().getAuthentication().getPrincipal();
+            User user = userService.findByUsername(userDetails.getUsername())
+                    .orElseThrow(() -> new RuntimeException("Usuario no encontrado"));
+            
+            League league = leagueService.findById(leagueId)
+                    .orElseThrow(() -> new RuntimeException("Liga no encontrada"));
+            
+            // Verificar que el usuario es miembro de la liga
+            if (!leagueService.isUserInLeague(league, user)) {
+                return ResponseEntity.badRequest().body("No eres miembro de esta liga");
+            }
+            
+            Optional<UserRankDTO> rank = rankService.getRankAround(league, user, neighbours);
+            if (!rank.isPresent()) {
+                Map<String, Object> response = new HashMap<>();
+                response.put("rank", null);
+                response.put("message", "No has participado en ningún evento de esta liga");
+                return ResponseEntity.ok(response);
+            }
+            
+            return ResponseEntity.ok(rank.get());
+            
+        } catch (Exception e) {
+            return ResponseEntity.badRequest().body("Error: " + e.getMessage());
+        }
+    }
+    
     /**
      * Obtener historial completo de picks de un usuario en una liga
      */
@@ -383,7 +284,7 @@ public class LeaderboardController {
             }
             
             Map<String, Object> response = new HashMap<>();
-            response.put("league", league);
+            response.put("league", leagueService.findSummaryById(league.getId()).orElse(null));
             response.put("totalEvents", userPicks.size());
             response.put("totalPoints", totalPoints);
             response.put("history", history);
@@ -432,6 +333,9 @@ public class LeaderboardController {
             List<Map<String, Object>> detailedHistory = new ArrayList<>();
             int totalPoints = 0;
             
+            // Estadísticas de los luchadores de todos los picks del historial (una sola consulta)
+            Map<Long, Map<Long, FighterStats>> statsByEvent = fightResultsService.getFighterStatsForPicks(userPicks);
+            
             for (Pick pick : userPicks) {
                 Map<String, Object> pickInfo = new HashMap<>();
                 pickInfo.put("pickId", pick.getId());
@@ -451,6 +355,8 @@ public class LeaderboardController {
                 
                 // 🔥 NUEVO: Lista detallada de luchadores con todos sus datos
                 List<Map<String, Object>> detailedFighters = new ArrayList<>();
+                Map<Long, FighterStats> statsByFighter = statsByEvent
+                    .getOrDefault(pick.getEvent().getId(), Collections.emptyMap());
                 for (Fighter fighter : pick.getSelectedFighters()) {
                     Map<String, Object> fighterInfo = new HashMap<>();
                     fighterInfo.put("id", fighter.getId());
@@ -461,16 +367,8 @@ public class LeaderboardController {
                     fighterInfo.put("imageUrl", fighter.getImageUrl());
                     fighterInfo.put("price", fighter.getPrice() != null ? fighter.getPrice() : 0);
                     
-                    // Buscar puntos obtenidos por este luchador en este evento
-                    Optional<FighterStats> statsOpt = fighterStatsRepository
-                        .findByFighter(fighter)
-                        .stream()
-                        .filter(stats -> {
-                            Date eventStart = pick.getEvent().getStartDate() != null ? 
-                                pick.getEvent().getStartDate() : pick.getEvent().getDate();
-                            return stats.getCreatedAt().after(eventStart);
-                        })
-                        .findFirst();
+                    // Puntos obtenidos por este luchador en este evento
+                    Optional<FighterStats> statsOpt = Optional.ofNullable(statsByFighter.get(fighter.getId()));
                     
                     if (statsOpt.isPresent()) {
                         FighterStats stats = statsOpt.get();
@@ -503,7 +401,7 @@ public class LeaderboardController {
             }
             
             Map<String, Object> response = new HashMap<>();
-            response.put("league", league);
+            response.put("league", leagueService.findSummaryById(league.getId()).orElse(null));
             response.put("totalEvents", userPicks.size());
             response.put("totalPoints", totalPoints);
             response.put("history", detailedHistory);
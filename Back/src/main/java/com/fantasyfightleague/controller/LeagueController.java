@@ -9,6 +9,7 @@ import com.fantasyfightleague.model.Event;
 import com.fantasyfightleague.model.League;
 import com.fantasyfightleague.model.User;
 import com.fantasyfightleague.service.EventService;
+import com.fantasyfightleague.service.LeagueMembershipService;
 import com.fantasyfightleague.service.LeagueService;
 import com.fantasyfightleague.service.UserService;
 
@@ -43,6 +44,9 @@ public class LeagueController {
     @Autowired
     private EventService eventService;
     
+    @Autowired
+    private LeagueMembershipService leagueMembershipService;
+    
     /**
      * SOLO ADMINS - Crear liga pública (asociada a un evento específico)
      */
@@ -304,7 +308,7 @@ public class LeagueController {
             response.put("maxFightersEvent", league.getMaxFightersEvent());
             response.put("minFightersEvent", league.getMinFightersEvent());
             response.put("invitationCode", league.getInvitationCode()); // Solo para privadas
-            response.put("memberCount", league.getMembers().size());
+            response.put("memberCount", leagueMembershipService.countMembers(league.getId()));
             
             // Para ligas públicas, incluir el evento asociado
             if ("PUBLIC".equals(league.getType()) && league.getEvent() != null) {
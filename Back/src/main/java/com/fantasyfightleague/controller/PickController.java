@@ -37,6 +37,9 @@ public class PickController {
     @Autowired
     private FighterService fighterService;
     
+    @Autowired
+    private PickOwnershipService pickOwnershipService;
+    
     /**
      * Crear o actualizar pick de un usuario
      */
@@ -130,6 +133,33 @@ public class PickController {
         }
     }
     
+    /**
+     * Popularidad de los luchadores de un evento en una liga (porcentaje de picks que los llevan)
+     */
+    @GetMapping("/ownership/{leagueId}/{eventId}")
+    @PreAuthorize("isAuthenticated()")
+    public ResponseEntity<?> getOwnership(@PathVariable Long leagueId, @PathVariable Long eventId) {
+        try {
+            UserDetails userDetails = (UserDetails) SecurityContextHolder.getContext().getAuthentication().getPrincipal();
+            User user = userService.findByUsername(userDetails.getUsername())
+                    .orElseThrow(() -> new RuntimeException("Usuario no encontrado"));
+            
+            League league = leagueService.findById(leagueId)
+                    .orElseThrow(() -> new RuntimeException("Liga no encontrada"));
+            
+            Event event = eventService.findById(eventId)
+                    .orElseThrow(() -> new RuntimeException("Evento no encontrado"));
+            
+            if (!leagueService.isUserInLeague(league, user)) {
+                return ResponseEntity.badRequest().body(new MessageResponseDTO("No eres miembro de esta liga"));
+            }
+            
+            return ResponseEntity.ok(pickOwnershipService.getOwnership(league, event));
+        } catch (Exception e) {
+            return ResponseEntity.badRequest().body(new MessageResponseDTO("Error: " + e.getMessage()));
+        }
+    }
+    
     /**
      * Obtener clasificación por evento en una liga
      */
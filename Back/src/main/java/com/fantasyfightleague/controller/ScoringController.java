@@ -2,7 +2,6 @@
 package com.fantasyfightleague.controller;
 
 import com.fantasyfightleague.model.*;
-import com.fantasyfightleague.repository.FighterStatsRepository;
 import com.fantasyfightleague.service.*;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.ResponseEntity;
@@ -25,7 +24,10 @@ public class ScoringController {
     private PickService pickService;
     
     @Autowired
-    private FighterStatsRepository fighterStatsRepository;
+    private LeagueService leagueService;
+    
+    @Autowired
+    private FightResultsService fightResultsService;
     
     /**
      * Obtener puntuaciones detalladas de un pick específico
@@ -38,7 +40,7 @@ public class ScoringController {
             User user = userService.findByUsername(userDetails.getUsername())
                     .orElseThrow(() -> new RuntimeException("Usuario no encontrado"));
             
-            Optional<Pick> pickOpt = pickService.findById(pickId);
+            Optional<Pick> pickOpt = pickService.findByIdWithFighters(pickId);
             if (!pickOpt.isPresent()) {
                 return ResponseEntity.notFound().build();
             }
@@ -54,21 +56,22 @@ public class ScoringController {
             Map<String, Object> response = new HashMap<>();
             response.put("pick", pick);
             response.put("event", pick.getEvent());
-            response.put("league", pick.getLeague());
+            // Datos básicos de la liga con el número de miembros, sin serializar la lista de miembros
+            response.put("league", leagueService.findSummaryById(pick.getLeague().getId()).orElse(null));
             response.put("totalEventPoints", pick.getEventPoints());
             
             List<Map<String, Object>> fighterDetails = new ArrayList<>();
             
+            // Estadísticas de todos los luchadores del pick en este evento (una sola consulta)
+            Map<Long, FighterStats> statsByFighter = fightResultsService
+                .getEventFighterStats(pick.getEvent(), pick.getSelectedFighters());
+            
             for (Fighter fighter : pick.getSelectedFighters()) {
                 Map<String, Object> fighterDetail = new HashMap<>();
                 fighterDetail.put("fighter", fighter);
                 
-                // Buscar las estadísticas del luchador para este evento
-                Optional<FighterStats> statsOpt = fighterStatsRepository
-                    .findByFighter(fighter)
-                    .stream()
-                    .filter(stats -> stats.getCreatedAt().after(pick.getEvent().getStartDate()))
-                    .findFirst();
+                // Estadísticas del luchador para este evento
+                Optional<FighterStats> statsOpt = Optional.ofNullable(statsByFighter.get(fighter.getId()));
                 
                 if (statsOpt.isPresent()) {
                     FighterStats stats = statsOpt.get();
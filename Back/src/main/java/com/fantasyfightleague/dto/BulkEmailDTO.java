@@ -0,0 +1,15 @@
+package com.fantasyfightleague.dto;
+
+import java.util.Map;
+
+/**
+ * Petición de envío masivo de una plantilla de email
+ * @param template Nombre de la plantilla (fichero de templates/email sin extensión)
+ * @param leagueId Liga cuyos miembros reciben el email (null = todos los usuarios con email confirmado)
+ * @param values Valores comunes a todos los destinatarios; username y email se añaden por destinatario
+ */
+public record BulkEmailDTO(
+        String template,
+        Long leagueId,
+        Map<String, String> values) {
+}
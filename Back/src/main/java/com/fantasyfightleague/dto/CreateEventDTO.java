@@ -2,6 +2,7 @@
 package com.fantasyfightleague.dto;
 
 import java.util.Date;
+import java.util.List;
 
 public class CreateEventDTO {
     private String name;
@@ -10,6 +11,7 @@ public class CreateEventDTO {
     private String imageUrl;
     private Date startDate;
     private Date endDate;
+    private List<CreateFightDTO> fights; // Cartelera (opcional, se puede completar después)
     
     // Constructores
     public CreateEventDTO() {
@@ -63,4 +65,12 @@ public class CreateEventDTO {
     public void setEndDate(Date endDate) {
         this.endDate = endDate;
     }
+    
+    public List<CreateFightDTO> getFights() {
+        return fights;
+    }
+    
+    public void setFights(List<CreateFightDTO> fights) {
+        this.fights = fights;
+    }
 }
\ No newline at end of file
@@ -0,0 +1,64 @@
+// CreateFightDTO.java
+package com.fantasyfightleague.dto;
+
+public class CreateFightDTO {
+    private Long fighter1Id;
+    private Long fighter2Id;
+    private boolean mainEvent;
+    private boolean titleFight;
+    private String weightClass; // Por defecto, la del primer luchador
+    private Integer numberOfRounds; // Por defecto 5 en main event o pelea por el título, 3 en el resto
+    
+    // Constructores
+    public CreateFightDTO() {
+    }
+    
+    // Getters y setters
+    public Long getFighter1Id() {
+        return fighter1Id;
+    }
+    
+    public void setFighter1Id(Long fighter1Id) {
+        this.fighter1Id = fighter1Id;
+    }
+    
+    public Long getFighter2Id() {
+        return fighter2Id;
+    }
+    
+    public void setFighter2Id(Long fighter2Id) {
+        this.fighter2Id = fighter2Id;
+    }
+    
+    public boolean isMainEvent() {
+        return mainEvent;
+    }
+    
+    public void setMainEvent(boolean mainEvent) {
+        this.mainEvent = mainEvent;
+    }
+    
+    public boolean isTitleFight() {
+        return titleFight;
+    }
+    
+    public void setTitleFight(boolean titleFight) {
+        this.titleFight = titleFight;
+    }
+    
+    public String getWeightClass() {
+        return weightClass;
+    }
+    
+    public void setWeightClass(String weightClass) {
+        this.weightClass = weightClass;
+    }
+    
+    public Integer getNumberOfRounds() {
+        return numberOfRounds;
+    }
+    
+    public void setNumberOfRounds(Integer numberOfRounds) {
+        this.numberOfRounds = numberOfRounds;
+    }
+}
@@ -0,0 +1,22 @@
+package com.fantasyfightleague.dto;
+
+import java.util.Date;
+
+/**
+ * Estado de la cola de emails salientes
+ * @param pending Emails esperando envío (incluidos los que esperan un reintento)
+ * @param sending Emails reservados por un envío en curso
+ * @param failed Emails descartados tras agotar los reintentos
+ * @param oldestPendingAt Fecha del email pendiente más antiguo (null si no hay ninguno)
+ * @param sentSinceStartup Emails enviados por esta instancia desde el arranque
+ * @param failedAttemptsSinceStartup Intentos fallidos de esta instancia desde el arranque
+ */
+public record EmailOutboxStatsDTO(
+        long pending,
+        long sending,
+        long sent,
+        long failed,
+        Date oldestPendingAt,
+        long sentSinceStartup,
+        long failedAttemptsSinceStartup) {
+}
@@ -0,0 +1,10 @@
+package com.fantasyfightleague.dto;
+
+/**
+ * Destinatario de un envío masivo (sin cargar la entidad User)
+ */
+public record EmailRecipientDTO(
+        Long userId,
+        String username,
+        String email) {
+}
@@ -0,0 +1,35 @@
+package com.fantasyfightleague.dto;
+
+import java.util.List;
+
+/**
+ * Entrada de la clasificación de un evento en una liga.
+ * La consulta JPQL rellena los datos del pick y del usuario; la posición y los luchadores
+ * se añaden después con {@link #withRanking(int, List)}.
+ */
+public record EventLeaderboardEntryDTO(
+        Integer position,
+        Long pickId,
+        Long userId,
+        String username,
+        String firstName,
+        String lastName,
+        String profileImageUrl,
+        Integer eventPoints,
+        Integer totalCost,
+        Integer remainingBudget,
+        List<PickFighterDTO> selectedFighters,
+        int fightersSelected) {
+
+    // Constructor usado por la proyección JPQL
+    public EventLeaderboardEntryDTO(Long pickId, Long userId, String username, String firstName, String lastName,
+                                    String profileImageUrl, Integer eventPoints, Integer totalCost, Integer remainingBudget) {
+        this(null, pickId, userId, username, firstName, lastName, profileImageUrl,
+             eventPoints, totalCost, remainingBudget, List.of(), 0);
+    }
+
+    public EventLeaderboardEntryDTO withRanking(int position, List<PickFighterDTO> fighters) {
+        return new EventLeaderboardEntryDTO(position, pickId, userId, username, firstName, lastName, profileImageUrl,
+                eventPoints, totalCost, remainingBudget, fighters, fighters.size());
+    }
+}
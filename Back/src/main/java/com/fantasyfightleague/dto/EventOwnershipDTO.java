@@ -0,0 +1,15 @@
+package com.fantasyfightleague.dto;
+
+import java.util.List;
+
+/**
+ * Popularidad de todos los luchadores de un evento en una liga
+ * @param totalPicks Número de picks de la liga en el evento
+ * @param fighters Luchadores del evento, de más a menos elegido
+ */
+public record EventOwnershipDTO(
+        Long leagueId,
+        Long eventId,
+        long totalPicks,
+        List<FighterOwnershipDTO> fighters) {
+}
@@ -0,0 +1,22 @@
+package com.fantasyfightleague.dto;
+
+import com.fantasyfightleague.model.Event;
+
+import java.util.Date;
+
+/**
+ * Datos básicos de un evento para las respuestas de clasificación (sin la lista de luchadores)
+ */
+public record EventSummaryDTO(
+        Long id,
+        String name,
+        String status,
+        Date date,
+        Date startDate,
+        Date picksDeadline) {
+
+    public static EventSummaryDTO from(Event event) {
+        return new EventSummaryDTO(event.getId(), event.getName(), event.getStatus(),
+                event.getDate(), event.getStartDate(), event.getPicksDeadline());
+    }
+}
@@ -1,6 +1,10 @@
 // Crear: src/main/java/com/fantasyfightleague/dto/FightResultDTO.java
 package com.fantasyfightleague.dto;
 
+import com.fantasyfightleague.model.DecisionType;
+import com.fantasyfightleague.model.ResultMethod;
+import com.fasterxml.jackson.annotation.JsonIgnore;
+
 /**
  * DTO para recibir los resultados de una pelea individual
  */
@@ -19,6 +23,11 @@ public class FightResultDTO {
     private Integer intentosDeSumision;
     private Integer knockdowns;
     
+    // Valores interpretados al recibir el resultado (no forman parte del JSON)
+    private boolean winner;
+    private ResultMethod resultMethod;
+    private DecisionType decisionType = DecisionType.UNANIMOUS;
+    
     // Constructores
     public FightResultDTO() {
     }
@@ -38,6 +47,7 @@ public class FightResultDTO {
     
     public void setResultado(String resultado) {
         this.resultado = resultado;
+        this.winner = "Win".equalsIgnoreCase(resultado);
     }
     
     public Integer getRound() {
@@ -54,6 +64,7 @@ public class FightResultDTO {
     
     public void setMetodo(String metodo) {
         this.metodo = metodo;
+        this.resultMethod = ResultMethod.fromString(metodo);
     }
     
     public String getTipoDecision() {
@@ -62,6 +73,7 @@ public class FightResultDTO {
     
     public void setTipoDecision(String tipoDecision) {
         this.tipoDecision = tipoDecision;
+        this.decisionType = DecisionType.fromString(tipoDecision);
     }
     
     public Integer getGolpesTotales() {
@@ -119,4 +131,20 @@ public class FightResultDTO {
     public void setKnockdowns(Integer knockdowns) {
         this.knockdowns = knockdowns;
     }
-}
\ No newline at end of file
+    
+    // Valores interpretados
+    @JsonIgnore
+    public boolean isWinner() {
+        return winner;
+    }
+    
+    @JsonIgnore
+    public ResultMethod getResultMethod() {
+        return resultMethod;
+    }
+    
+    @JsonIgnore
+    public DecisionType getDecisionType() {
+        return decisionType;
+    }
+}
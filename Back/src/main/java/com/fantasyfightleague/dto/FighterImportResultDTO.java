@@ -0,0 +1,67 @@
+package com.fantasyfightleague.dto;
+
+/**
+ * Resumen de una importación de luchadores
+ */
+public class FighterImportResultDTO {
+    
+    private int imported;
+    private int created;
+    private int updated;
+    private int skipped;
+    private int deactivated;
+    private String details;
+    
+    // Constructores
+    public FighterImportResultDTO() {
+    }
+    
+    // Getters y setters
+    public int getImported() {
+        return imported;
+    }
+    
+    public void setImported(int imported) {
+        this.imported = imported;
+    }
+    
+    public int getCreated() {
+        return created;
+    }
+    
+    public void setCreated(int created) {
+        this.created = created;
+    }
+    
+    public int getUpdated() {
+        return updated;
+    }
+    
+    public void setUpdated(int updated) {
+        this.updated = updated;
+    }
+    
+    public int getSkipped() {
+        return skipped;
+    }
+    
+    public void setSkipped(int skipped) {
+        this.skipped = skipped;
+    }
+    
+    public int getDeactivated() {
+        return deactivated;
+    }
+    
+    public void setDeactivated(int deactivated) {
+        this.deactivated = deactivated;
+    }
+    
+    public String getDetails() {
+        return details;
+    }
+    
+    public void setDetails(String details) {
+        this.details = details;
+    }
+}
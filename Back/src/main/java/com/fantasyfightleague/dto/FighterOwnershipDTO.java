@@ -0,0 +1,12 @@
+package com.fantasyfightleague.dto;
+
+/**
+ * Porcentaje de picks de una liga que llevan a un luchador
+ */
+public record FighterOwnershipDTO(
+        Long fighterId,
+        String name,
+        String imageUrl,
+        long picks,
+        double percentage) {
+}
@@ -0,0 +1,19 @@
+package com.fantasyfightleague.dto;
+
+/**
+ * Entrada de la clasificación global de una liga.
+ * Se construye directamente en la consulta JPQL sobre league_standings.
+ */
+public record LeaderboardEntryDTO(
+        Integer position,
+        Long userId,
+        String username,
+        String firstName,
+        String lastName,
+        String profileImageUrl,
+        Integer totalPoints,
+        Integer eventsParticipated,
+        Double averagePointsPerEvent,
+        Integer lastEventPoints,
+        boolean isCurrentUser) {
+}
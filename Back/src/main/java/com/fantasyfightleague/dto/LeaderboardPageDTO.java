@@ -0,0 +1,21 @@
+package com.fantasyfightleague.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+import java.util.List;
+
+/**
+ * Página de una clasificación (global o de un evento)
+ * @param <T> Tipo de las entradas
+ */
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public record LeaderboardPageDTO<T>(
+        LeagueSummaryDTO league,
+        EventSummaryDTO event,
+        List<T> leaderboard,
+        long totalParticipants,
+        int page,
+        int size,
+        int totalPages,
+        Boolean isEventCompleted) {
+}
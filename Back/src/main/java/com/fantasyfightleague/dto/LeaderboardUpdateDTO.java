@@ -0,0 +1,23 @@
+package com.fantasyfightleague.dto;
+
+import java.util.List;
+
+/**
+ * Actualización de la clasificación de una liga enviada por el stream SSE.
+ * Agrupa todos los cambios acumulados desde el envío anterior.
+ *
+ * @param eventId Último evento que ha producido cambios
+ * @param sequence Número de actualización dentro del stream de la liga
+ * @param changes Participantes cuyos puntos han cambiado, con su nueva posición
+ * @param truncated Indica que había más cambios de los enviados
+ * @param top Primeras posiciones de la clasificación después de los cambios
+ */
+public record LeaderboardUpdateDTO(
+        Long leagueId,
+        Long eventId,
+        long sequence,
+        int participants,
+        List<LiveStandingDTO> changes,
+        boolean truncated,
+        List<LiveStandingDTO> top) {
+}
@@ -0,0 +1,16 @@
+package com.fantasyfightleague.dto;
+
+/**
+ * Datos básicos de una liga para las respuestas de clasificación (sin la lista de miembros)
+ */
+public record LeagueSummaryDTO(
+        Long id,
+        String name,
+        String description,
+        String type,
+        boolean active,
+        Integer initialBudget,
+        Integer maxFightersEvent,
+        Integer minFightersEvent,
+        int memberCount) {
+}
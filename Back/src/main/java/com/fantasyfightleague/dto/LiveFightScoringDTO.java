@@ -0,0 +1,12 @@
+package com.fantasyfightleague.dto;
+
+/**
+ * Resumen del procesamiento en directo de una pelea
+ */
+public record LiveFightScoringDTO(
+        Long eventId,
+        int fightersProcessed,
+        int picksUpdated,
+        int leaguesUpdated,
+        String details) {
+}
@@ -0,0 +1,11 @@
+package com.fantasyfightleague.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+/**
+ * Participante de una clasificación en directo
+ * @param delta Puntos sumados desde la última actualización (null en el top)
+ */
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public record LiveStandingDTO(long userId, int points, int position, Integer delta) {
+}
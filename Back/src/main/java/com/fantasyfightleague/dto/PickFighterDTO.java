@@ -0,0 +1,13 @@
+package com.fantasyfightleague.dto;
+
+/**
+ * Luchador elegido en un pick, con los puntos obtenidos en el evento
+ */
+public record PickFighterDTO(
+        Long fighterId,
+        String name,
+        String imageUrl,
+        Integer price,
+        Integer pointsEarned,
+        boolean hasStats) {
+}
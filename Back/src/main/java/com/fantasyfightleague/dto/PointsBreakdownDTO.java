@@ -0,0 +1,49 @@
+package com.fantasyfightleague.dto;
+
+/**
+ * Desglose de los puntos fantasy de un luchador, calculado en una sola pasada junto con el total
+ */
+public class PointsBreakdownDTO {
+    
+    private final int resultPoints;
+    private final int methodBonus;
+    private final int roundBonus;
+    private final int statisticsPoints;
+    private final int specialBonus;
+    private final int totalPoints;
+    
+    public PointsBreakdownDTO(int resultPoints, int methodBonus, int roundBonus, int statisticsPoints, int specialBonus) {
+        this.resultPoints = resultPoints;
+        this.methodBonus = methodBonus;
+        this.roundBonus = roundBonus;
+        this.statisticsPoints = statisticsPoints;
+        this.specialBonus = specialBonus;
+        // No se permiten puntos negativos
+        this.totalPoints = Math.max(0, resultPoints + methodBonus + roundBonus + statisticsPoints + specialBonus);
+    }
+    
+    // Getters
+    public int getResultPoints() {
+        return resultPoints;
+    }
+    
+    public int getMethodBonus() {
+        return methodBonus;
+    }
+    
+    public int getRoundBonus() {
+        return roundBonus;
+    }
+    
+    public int getStatisticsPoints() {
+        return statisticsPoints;
+    }
+    
+    public int getSpecialBonus() {
+        return specialBonus;
+    }
+    
+    public int getTotalPoints() {
+        return totalPoints;
+    }
+}
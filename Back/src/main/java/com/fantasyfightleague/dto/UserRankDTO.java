@@ -0,0 +1,17 @@
+package com.fantasyfightleague.dto;
+
+import java.util.List;
+
+/**
+ * Posición de un usuario en la clasificación de una liga junto con sus vecinos.
+ * rank es la posición con empates (1 + participantes con más puntos) y position la posición
+ * en la clasificación ordenada (sin empates).
+ */
+public record UserRankDTO(
+        int rank,
+        int position,
+        long totalParticipants,
+        LeaderboardEntryDTO entry,
+        List<LeaderboardEntryDTO> above,
+        List<LeaderboardEntryDTO> below) {
+}
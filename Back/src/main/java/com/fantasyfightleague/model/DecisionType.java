@@ -0,0 +1,33 @@
+package com.fantasyfightleague.model;
+
+/**
+ * Tipo de decisión de los jueces, interpretado una sola vez a partir del texto del resultado
+ */
+public enum DecisionType {
+    UNANIMOUS,
+    MAJORITY,
+    SPLIT;
+    
+    /**
+     * Interpreta el texto del tipo de decisión ("Unanimous", "Mayoría", "Split", ...)
+     * @param tipoDecision Texto del tipo de decisión
+     * @return Tipo reconocido; UNANIMOUS por defecto si no se indica o no se reconoce
+     */
+    public static DecisionType fromString(String tipoDecision) {
+        if (tipoDecision == null) {
+            return UNANIMOUS;
+        }
+        
+        String tipoDecisionBajo = tipoDecision.toLowerCase();
+        
+        if (tipoDecisionBajo.contains("unanimous") || tipoDecisionBajo.contains("unánime")) {
+            return UNANIMOUS;
+        } else if (tipoDecisionBajo.contains("majority") || tipoDecisionBajo.contains("mayoría")) {
+            return MAJORITY;
+        } else if (tipoDecisionBajo.contains("split") || tipoDecisionBajo.contains("dividida")) {
+            return SPLIT;
+        }
+        
+        return UNANIMOUS;
+    }
+}
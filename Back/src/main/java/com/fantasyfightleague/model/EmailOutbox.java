@@ -0,0 +1,187 @@
+package com.fantasyfightleague.model;
+
+import java.util.Date;
+import jakarta.persistence.*;
+
+/**
+ * Email pendiente de envío (outbox).
+ * Los servicios solo insertan la fila, en la misma transacción que el cambio que lo origina;
+ * el envío por SMTP lo hace en segundo plano EmailOutboxService, con reintentos espaciados.
+ */
+@Entity
+@Table(name = "email_outbox",
+       indexes = @Index(name = "idx_email_outbox_status_next_attempt", columnList = "status, next_attempt_at"))
+public class EmailOutbox {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(nullable = false)
+    private String recipient;
+
+    @Column(name = "reply_to")
+    private String replyTo;
+
+    @Column(nullable = false, length = 500)
+    private String subject;
+
+    @Column(nullable = false, columnDefinition = "TEXT")
+    private String body;
+
+    @Column(nullable = false)
+    private boolean html;
+
+    @Column(nullable = false, length = 20)
+    private String status; // "PENDING", "SENDING", "SENT", "FAILED"
+
+    @Column(nullable = false)
+    private int attempts = 0;
+
+    // Primer momento en que puede (re)intentarse el envío
+    @Column(name = "next_attempt_at", nullable = false)
+    @Temporal(TemporalType.TIMESTAMP)
+    private Date nextAttemptAt;
+
+    // Fin de la reserva de un envío en curso; pasado este momento vuelve a PENDING
+    @Column(name = "locked_until")
+    @Temporal(TemporalType.TIMESTAMP)
+    private Date lockedUntil;
+
+    @Column(name = "last_error", length = 1000)
+    private String lastError;
+
+    @Column(name = "created_at", nullable = false)
+    @Temporal(TemporalType.TIMESTAMP)
+    private Date createdAt;
+
+    @Column(name = "sent_at")
+    @Temporal(TemporalType.TIMESTAMP)
+    private Date sentAt;
+
+    @PrePersist
+    protected void onCreate() {
+        createdAt = new Date();
+        if (nextAttemptAt == null) {
+            nextAttemptAt = createdAt;
+        }
+        if (status == null) {
+            status = "PENDING";
+        }
+    }
+
+    public EmailOutbox() {
+    }
+
+    public EmailOutbox(String recipient, String replyTo, String subject, String body, boolean html) {
+        this.recipient = recipient;
+        this.replyTo = replyTo;
+        this.subject = subject;
+        this.body = body;
+        this.html = html;
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public String getRecipient() {
+        return recipient;
+    }
+
+    public void setRecipient(String recipient) {
+        this.recipient = recipient;
+    }
+
+    public String getReplyTo() {
+        return replyTo;
+    }
+
+    public void setReplyTo(String replyTo) {
+        this.replyTo = replyTo;
+    }
+
+    public String getSubject() {
+        return subject;
+    }
+
+    public void setSubject(String subject) {
+        this.subject = subject;
+    }
+
+    public String getBody() {
+        return body;
+    }
+
+    public void setBody(String body) {
+        this.body = body;
+    }
+
+    public boolean isHtml() {
+        return html;
+    }
+
+    public void setHtml(boolean html) {
+        this.html = html;
+    }
+
+    public String getStatus() {
+        return status;
+    }
+
+    public void setStatus(String status) {
+        this.status = status;
+    }
+
+    public int getAttempts() {
+        return attempts;
+    }
+
+    public void setAttempts(int attempts) {
+        this.attempts = attempts;
+    }
+
+    public Date getNextAttemptAt() {
+        return nextAttemptAt;
+    }
+
+    public void setNextAttemptAt(Date nextAttemptAt) {
+        this.nextAttemptAt = nextAttemptAt;
+    }
+
+    public Date getLockedUntil() {
+        return lockedUntil;
+    }
+
+    public void setLockedUntil(Date lockedUntil) {
+        this.lockedUntil = lockedUntil;
+    }
+
+    public String getLastError() {
+        return lastError;
+    }
+
+    public void setLastError(String lastError) {
+        this.lastError = lastError;
+    }
+
+    public Date getCreatedAt() {
+        return createdAt;
+    }
+
+    public void setCreatedAt(Date createdAt) {
+        this.createdAt = createdAt;
+    }
+
+    public Date getSentAt() {
+        return sentAt;
+    }
+
+    public void setSentAt(Date sentAt) {
+        this.sentAt = sentAt;
+    }
+}
@@ -3,6 +3,7 @@ package com.fantasyfightleague.model;
 import java.util.Date;
 import java.util.HashSet;
 import java.util.Set;
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import jakarta.persistence.*;
 
 @Entity
@@ -33,6 +34,9 @@ public class Event {
     @Temporal(TemporalType.TIMESTAMP)
     private Date picksDeadline; // 24h antes del inicio (calculado automáticamente)
     
+    @Column(name = "picks_locked")
+    private boolean picksLocked = false; // Lo marca el ciclo de vida al llegar el deadline
+    
     private String location;
     
     private String status; // "UPCOMING", "LIVE", "COMPLETED", "CANCELLED"
@@ -42,7 +46,9 @@ public class Event {
     @Column(name = "image_url")
     private String imageUrl;
     
-    // NUEVA RELACIÓN: Luchadores que participan en este evento
+    // Luchadores de los eventos anteriores a la cartelera (fights); los eventos nuevos no la usan.
+    // No se serializa: los luchadores de un evento se obtienen de /events/{id}/fighters
+    @JsonIgnore
     @ManyToMany
     @JoinTable(
         name = "event_fighters",
@@ -104,7 +110,7 @@ public class Event {
     // Métodos de utilidad
     public boolean isPicksOpen() {
         Date now = new Date();
-        return picksDeadline != null && now.before(picksDeadline) && "UPCOMING".equals(status);
+        return !picksLocked && picksDeadline != null && now.before(picksDeadline) && "UPCOMING".equals(status);
     }
     
     public boolean isLive() {
@@ -181,6 +187,14 @@ public class Event {
         this.picksDeadline = picksDeadline;
     }
     
+    public boolean isPicksLocked() {
+        return picksLocked;
+    }
+    
+    public void setPicksLocked(boolean picksLocked) {
+        this.picksLocked = picksLocked;
+    }
+    
     public String getLocation() {
         return location;
     }
@@ -4,7 +4,8 @@ import java.util.Date;
 import jakarta.persistence.*;
 
 @Entity
-@Table(name = "fights")
+@Table(name = "fights",
+       indexes = @Index(name = "idx_fights_event", columnList = "event_id"))
 public class Fight {
     
     @Id
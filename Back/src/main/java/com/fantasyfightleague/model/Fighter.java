@@ -29,6 +29,11 @@ public class Fighter {
     @Column(name = "active")
     private boolean active = true;
     
+    // Última importación que incluyó al luchador. Solo la escribe la importación (FighterJdbcRepository),
+    // de forma que guardar la entidad u otras actualizaciones de updated_at no la alteran
+    @Column(name = "import_batch", length = 36, insertable = false, updatable = false)
+    private String importBatch;
+    
     @Column(name = "created_at")
     @Temporal(TemporalType.TIMESTAMP)
     private Date createdAt;
@@ -59,6 +64,10 @@ public class Fighter {
     
     // Getters y setters
     
+    public String getImportBatch() {
+        return importBatch;
+    }
+    
     public Long getId() {
         return id;
     }
@@ -4,7 +4,8 @@ import java.util.Date;
 import jakarta.persistence.*;
 
 @Entity
-@Table(name = "fighter_stats")
+@Table(name = "fighter_stats",
+       indexes = @Index(name = "idx_fighter_stats_event_fighter", columnList = "event_id, fighter_id"))
 public class FighterStats {
     
     @Id
@@ -15,10 +16,27 @@ public class FighterStats {
     @JoinColumn(name = "fighter_id", nullable = false)
     private Fighter fighter;
     
+    // Pelea concreta (opcional: los resultados importados solo identifican el evento)
     @ManyToOne
-    @JoinColumn(name = "fight_id", nullable = false)
+    @JoinColumn(name = "fight_id")
     private Fight fight;
     
+    // Evento al que pertenecen las estadísticas (nulo en registros anteriores a esta columna)
+    @ManyToOne
+    @JoinColumn(name = "event_id")
+    private Event event;
+    
+    // Datos brutos del resultado, necesarios para volver a puntuar si cambian las reglas
+    private String result; // "Win" o "Loss"
+    
+    private String method;
+    
+    @Column(name = "decision_type")
+    private String decisionType;
+    
+    @Column(name = "end_round")
+    private Integer endRound;
+    
     @Column(name = "minutes_fought")
     private Integer minutesFought;
     
@@ -34,6 +52,9 @@ public class FighterStats {
     @Column(name = "total_strikes")
     private Integer totalStrikes;
     
+    @Column(name = "landed_strikes")
+    private Integer landedStrikes;
+    
     private Integer points;
     
     @Column(name = "created_at")
@@ -81,6 +102,46 @@ public class FighterStats {
         this.fight = fight;
     }
     
+    public Event getEvent() {
+        return event;
+    }
+    
+    public void setEvent(Event event) {
+        this.event = event;
+    }
+    
+    public String getResult() {
+        return result;
+    }
+    
+    public void setResult(String result) {
+        this.result = result;
+    }
+    
+    public String getMethod() {
+        return method;
+    }
+    
+    public void setMethod(String method) {
+        this.method = method;
+    }
+    
+    public String getDecisionType() {
+        return decisionType;
+    }
+    
+    public void setDecisionType(String decisionType) {
+        this.decisionType = decisionType;
+    }
+    
+    public Integer getEndRound() {
+        return endRound;
+    }
+    
+    public void setEndRound(Integer endRound) {
+        this.endRound = endRound;
+    }
+    
     public Integer getMinutesFought() {
         return minutesFought;
     }
@@ -129,6 +190,14 @@ public class FighterStats {
         this.totalStrikes = totalStrikes;
     }
     
+    public Integer getLandedStrikes() {
+        return landedStrikes;
+    }
+    
+    public void setLandedStrikes(Integer landedStrikes) {
+        this.landedStrikes = landedStrikes;
+    }
+    
     public Integer getPoints() {
         return points;
     }
@@ -0,0 +1,133 @@
+package com.fantasyfightleague.model;
+
+import java.util.Date;
+import jakarta.persistence.*;
+
+/**
+ * Proyección materializada de la clasificación global de una liga.
+ * Se recalcula después de puntuar un evento, de forma que las lecturas
+ * de la clasificación son una simple lectura por rango sobre el índice (liga, posición).
+ */
+@Entity
+@Table(name = "league_standings",
+       uniqueConstraints = @UniqueConstraint(name = "uk_league_standings_league_user", columnNames = {"league_id", "user_id"}),
+       indexes = {
+           @Index(name = "idx_league_standings_league_position", columnList = "league_id, position"),
+           @Index(name = "idx_league_standings_league_points", columnList = "league_id, total_points")
+       })
+public class LeagueStanding {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "league_id", nullable = false)
+    private League league;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "user_id", nullable = false)
+    private User user;
+
+    @Column(name = "position", nullable = false)
+    private Integer position;
+
+    @Column(name = "total_points", nullable = false)
+    private Integer totalPoints = 0;
+
+    @Column(name = "events_participated", nullable = false)
+    private Integer eventsParticipated = 0;
+
+    @Column(name = "average_points_per_event", nullable = false)
+    private Double averagePointsPerEvent = 0.0;
+
+    @Column(name = "last_event_points", nullable = false)
+    private Integer lastEventPoints = 0;
+
+    @Column(name = "updated_at")
+    @Temporal(TemporalType.TIMESTAMP)
+    private Date updatedAt;
+
+    @PrePersist
+    @PreUpdate
+    protected void onSave() {
+        updatedAt = new Date();
+    }
+
+    // Constructores
+    public LeagueStanding() {
+    }
+
+    // Getters y setters
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public League getLeague() {
+        return league;
+    }
+
+    public void setLeague(League league) {
+        this.league = league;
+    }
+
+    public User getUser() {
+        return user;
+    }
+
+    public void setUser(User user) {
+        this.user = user;
+    }
+
+    public Integer getPosition() {
+        return position;
+    }
+
+    public void setPosition(Integer position) {
+        this.position = position;
+    }
+
+    public Integer getTotalPoints() {
+        return totalPoints;
+    }
+
+    public void setTotalPoints(Integer totalPoints) {
+        this.totalPoints = totalPoints;
+    }
+
+    public Integer getEventsParticipated() {
+        return eventsParticipated;
+    }
+
+    public void setEventsParticipated(Integer eventsParticipated) {
+        this.eventsParticipated = eventsParticipated;
+    }
+
+    public Double getAveragePointsPerEvent() {
+        return averagePointsPerEvent;
+    }
+
+    public void setAveragePointsPerEvent(Double averagePointsPerEvent) {
+        this.averagePointsPerEvent = averagePointsPerEvent;
+    }
+
+    public Integer getLastEventPoints() {
+        return lastEventPoints;
+    }
+
+    public void setLastEventPoints(Integer lastEventPoints) {
+        this.lastEventPoints = lastEventPoints;
+    }
+
+    public Date getUpdatedAt() {
+        return updatedAt;
+    }
+
+    public void setUpdatedAt(Date updatedAt) {
+        this.updatedAt = updatedAt;
+    }
+}
@@ -3,12 +3,26 @@ package com.fantasyfightleague.model;
 import java.util.Date;
 import java.util.HashSet;
 import java.util.Set;
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
 import jakarta.persistence.*;
 
 @Entity
-@Table(name = "picks")
+@Table(name = "picks",
+       indexes = @Index(name = "idx_picks_event_locked", columnList = "event_id, is_locked"))
+@NamedEntityGraph(
+    name = Pick.GRAPH_WITH_FIGHTERS,
+    attributeNodes = {
+        @NamedAttributeNode("user"),
+        @NamedAttributeNode("league"),
+        @NamedAttributeNode("event"),
+        @NamedAttributeNode("selectedFighters")
+    }
+)
 public class Pick {
     
+    // Plan de carga: pick con usuario, liga, evento y luchadores elegidos en una sola consulta
+    public static final String GRAPH_WITH_FIGHTERS = "Pick.withFighters";
+    
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     private Long id;
@@ -17,8 +31,10 @@ public class Pick {
     @JoinColumn(name = "user_id", nullable = false)
     private User user;
     
+    // La liga de un pick se serializa sin la lista de miembros (memberCount sigue incluido)
     @ManyToOne
     @JoinColumn(name = "league_id", nullable = false)
+    @JsonIgnoreProperties("members")
     private League league;
     
     @ManyToOne
@@ -30,7 +46,8 @@ public class Pick {
     @JoinTable(
         name = "pick_fighters",
         joinColumns = @JoinColumn(name = "pick_id"),
-        inverseJoinColumns = @JoinColumn(name = "fighter_id")
+        inverseJoinColumns = @JoinColumn(name = "fighter_id"),
+        indexes = @Index(name = "idx_pick_fighters_fighter_pick", columnList = "fighter_id, pick_id")
     )
     private Set<Fighter> selectedFighters = new HashSet<>();
     
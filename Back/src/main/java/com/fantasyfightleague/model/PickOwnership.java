@@ -0,0 +1,87 @@
+package com.fantasyfightleague.model;
+
+import java.util.Date;
+import jakarta.persistence.*;
+
+/**
+ * Número de picks de una liga que llevan a un luchador en un evento.
+ * Se mantiene de forma incremental a partir de las altas, cambios y borrados de picks,
+ * y sirve para calcular el porcentaje de managers que han elegido a cada luchador.
+ */
+@Entity
+@Table(name = "pick_ownership",
+       uniqueConstraints = @UniqueConstraint(name = "uk_pick_ownership_event_league_fighter",
+                                             columnNames = {"event_id", "league_id", "fighter_id"}))
+public class PickOwnership {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "event_id", nullable = false)
+    private Long eventId;
+
+    @Column(name = "league_id", nullable = false)
+    private Long leagueId;
+
+    @Column(name = "fighter_id", nullable = false)
+    private Long fighterId;
+
+    @Column(name = "pick_count", nullable = false)
+    private Long pickCount = 0L;
+
+    @Column(name = "updated_at")
+    @Temporal(TemporalType.TIMESTAMP)
+    private Date updatedAt;
+
+    public PickOwnership() {
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public Long getEventId() {
+        return eventId;
+    }
+
+    public void setEventId(Long eventId) {
+        this.eventId = eventId;
+    }
+
+    public Long getLeagueId() {
+        return leagueId;
+    }
+
+    public void setLeagueId(Long leagueId) {
+        this.leagueId = leagueId;
+    }
+
+    public Long getFighterId() {
+        return fighterId;
+    }
+
+    public void setFighterId(Long fighterId) {
+        this.fighterId = fighterId;
+    }
+
+    public Long getPickCount() {
+        return pickCount;
+    }
+
+    public void setPickCount(Long pickCount) {
+        this.pickCount = pickCount;
+    }
+
+    public Date getUpdatedAt() {
+        return updatedAt;
+    }
+
+    public void setUpdatedAt(Date updatedAt) {
+        this.updatedAt = updatedAt;
+    }
+}
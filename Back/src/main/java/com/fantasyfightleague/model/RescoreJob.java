@@ -0,0 +1,244 @@
+package com.fantasyfightleague.model;
+
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import jakarta.persistence.*;
+
+/**
+ * Trabajo de re-puntuación de eventos ya disputados.
+ * Guarda los eventos incluidos y los ya completados, de modo que un trabajo
+ * interrumpido o fallido puede reanudarse procesando solo los eventos pendientes.
+ * El nodo que lo ejecuta actualiza heartbeatAt periódicamente; un trabajo RUNNING cuyo latido ha
+ * caducado se da por interrumpido (su nodo se ha caído) y puede reanudarse desde cualquier nodo.
+ */
+@Entity
+@Table(name = "rescore_jobs")
+public class RescoreJob {
+    
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+    
+    @Column(nullable = false)
+    private String status; // "RUNNING", "COMPLETED", "FAILED", "INTERRUPTED"
+    
+    @Column(name = "from_date")
+    @Temporal(TemporalType.TIMESTAMP)
+    private Date fromDate;
+    
+    @Column(name = "to_date")
+    @Temporal(TemporalType.TIMESTAMP)
+    private Date toDate;
+    
+    // Eventos incluidos en el trabajo, en orden cronológico
+    @ElementCollection
+    @CollectionTable(name = "rescore_job_events", joinColumns = @JoinColumn(name = "job_id"))
+    @Column(name = "event_id")
+    @OrderColumn(name = "event_order")
+    private List<Long> eventIds = new ArrayList<>();
+    
+    // Eventos ya re-puntuados (se insertan en la misma transacción que las puntuaciones)
+    @ElementCollection
+    @CollectionTable(name = "rescore_job_completed_events", joinColumns = @JoinColumn(name = "job_id"))
+    @Column(name = "event_id")
+    private Set<Long> completedEventIds = new HashSet<>();
+    
+    @Column(name = "total_events")
+    private Integer totalEvents = 0;
+    
+    @Column(name = "completed_events")
+    private Integer completedEvents = 0;
+    
+    @Column(name = "failed_events")
+    private Integer failedEvents = 0;
+    
+    @Column(name = "stats_rescored")
+    private Integer statsRescored = 0;
+    
+    @Column(name = "stats_skipped")
+    private Integer statsSkipped = 0;
+    
+    @Column(name = "picks_rescored")
+    private Integer picksRescored = 0;
+    
+    // Nodo que ejecuta (o ejecutó por última vez) el trabajo
+    @Column(name = "owner_node")
+    private String ownerNode;
+    
+    // Último latido del nodo que lo ejecuta
+    @Column(name = "heartbeat_at")
+    @Temporal(TemporalType.TIMESTAMP)
+    private Date heartbeatAt;
+    
+    @Column(name = "last_error", length = 1000)
+    private String lastError;
+    
+    @Column(name = "started_at")
+    @Temporal(TemporalType.TIMESTAMP)
+    private Date startedAt;
+    
+    @Column(name = "finished_at")
+    @Temporal(TemporalType.TIMESTAMP)
+    private Date finishedAt;
+    
+    @Column(name = "created_at")
+    @Temporal(TemporalType.TIMESTAMP)
+    private Date createdAt;
+    
+    @PrePersist
+    protected void onCreate() {
+        createdAt = new Date();
+    }
+    
+    // Constructores
+    public RescoreJob() {
+    }
+    
+    // Getters y setters
+    public Long getId() {
+        return id;
+    }
+    
+    public void setId(Long id) {
+        this.id = id;
+    }
+    
+    public String getStatus() {
+        return status;
+    }
+    
+    public void setStatus(String status) {
+        this.status = status;
+    }
+    
+    public Date getFromDate() {
+        return fromDate;
+    }
+    
+    public void setFromDate(Date fromDate) {
+        this.fromDate = fromDate;
+    }
+    
+    public Date getToDate() {
+        return toDate;
+    }
+    
+    public void setToDate(Date toDate) {
+        this.toDate = toDate;
+    }
+    
+    public List<Long> getEventIds() {
+        return eventIds;
+    }
+    
+    public void setEventIds(List<Long> eventIds) {
+        this.eventIds = eventIds;
+    }
+    
+    public Set<Long> getCompletedEventIds() {
+        return completedEventIds;
+    }
+    
+    public void setCompletedEventIds(Set<Long> completedEventIds) {
+        this.completedEventIds = completedEventIds;
+    }
+    
+    public Integer getTotalEvents() {
+        return totalEvents;
+    }
+    
+    public void setTotalEvents(Integer totalEvents) {
+        this.totalEvents = totalEvents;
+    }
+    
+    public Integer getCompletedEvents() {
+        return completedEvents;
+    }
+    
+    public void setCompletedEvents(Integer completedEvents) {
+        this.completedEvents = completedEvents;
+    }
+    
+    public Integer getFailedEvents() {
+        return failedEvents;
+    }
+    
+    public void setFailedEvents(Integer failedEvents) {
+        this.failedEvents = failedEvents;
+    }
+    
+    public Integer getStatsRescored() {
+        return statsRescored;
+    }
+    
+    public void setStatsRescored(Integer statsRescored) {
+        this.statsRescored = statsRescored;
+    }
+    
+    public Integer getStatsSkipped() {
+        return statsSkipped;
+    }
+    
+    public void setStatsSkipped(Integer statsSkipped) {
+        this.statsSkipped = statsSkipped;
+    }
+    
+    public Integer getPicksRescored() {
+        return picksRescored;
+    }
+    
+    public void setPicksRescored(Integer picksRescored) {
+        this.picksRescored = picksRescored;
+    }
+    
+    public String getOwnerNode() {
+        return ownerNode;
+    }
+    
+    public void setOwnerNode(String ownerNode) {
+        this.ownerNode = ownerNode;
+    }
+    
+    public Date getHeartbeatAt() {
+        return heartbeatAt;
+    }
+    
+    public void setHeartbeatAt(Date heartbeatAt) {
+        this.heartbeatAt = heartbeatAt;
+    }
+    
+    public String getLastError() {
+        return lastError;
+    }
+    
+    public void setLastError(String lastError) {
+        this.lastError = lastError;
+    }
+    
+    public Date getStartedAt() {
+        return startedAt;
+    }
+    
+    public void setStartedAt(Date startedAt) {
+        this.startedAt = startedAt;
+    }
+    
+    public Date getFinishedAt() {
+        return finishedAt;
+    }
+    
+    public void setFinishedAt(Date finishedAt) {
+        this.finishedAt = finishedAt;
+    }
+    
+    public Date getCreatedAt() {
+        return createdAt;
+    }
+    
+    public void setCreatedAt(Date createdAt) {
+        this.createdAt = createdAt;
+    }
+}
@@ -0,0 +1,42 @@
+package com.fantasyfightleague.model;
+
+/**
+ * Método de resolución de una pelea, interpretado una sola vez a partir del texto del resultado
+ */
+public enum ResultMethod {
+    KO_TKO,
+    SUBMISSION,
+    DECISION,
+    OTHER;
+    
+    /**
+     * Interpreta el texto del método ("KO/TKO", "Submission (RNC)", "Decisión", ...)
+     * @param metodo Texto del método tal y como llega en los resultados
+     * @return Método reconocido, OTHER si no se reconoce o null si no se indica
+     */
+    public static ResultMethod fromString(String metodo) {
+        if (metodo == null) {
+            return null;
+        }
+        
+        String metodoBajo = metodo.toLowerCase();
+        
+        // "ko" también cubre "tko", "knockout" y "technical knockout"
+        if (metodoBajo.contains("ko")) {
+            return KO_TKO;
+        } else if (metodoBajo.contains("submission") || metodoBajo.contains("sumisión")) {
+            return SUBMISSION;
+        } else if (metodoBajo.contains("decision") || metodoBajo.contains("decisión")) {
+            return DECISION;
+        }
+        
+        return OTHER;
+    }
+    
+    /**
+     * Indica si el método es un finish (KO/TKO o sumisión)
+     */
+    public boolean isFinish() {
+        return this == KO_TKO || this == SUBMISSION;
+    }
+}
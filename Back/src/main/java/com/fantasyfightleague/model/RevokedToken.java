@@ -0,0 +1,63 @@
+package com.fantasyfightleague.model;
+
+import java.util.Date;
+import jakarta.persistence.*;
+
+/**
+ * Token JWT revocado (logout o nuevo login) antes de su expiración.
+ * Se guarda el hash SHA-256 del token, no el token completo, y la fila solo es necesaria
+ * hasta la expiración del propio token.
+ */
+@Entity
+@Table(name = "revoked_tokens",
+       indexes = {
+           @Index(name = "idx_revoked_tokens_revoked_at", columnList = "revoked_at"),
+           @Index(name = "idx_revoked_tokens_expires_at", columnList = "expires_at")
+       })
+public class RevokedToken {
+
+    @Id
+    @Column(name = "token_hash", length = 64)
+    private String tokenHash;
+
+    @Column(name = "expires_at", nullable = false)
+    @Temporal(TemporalType.TIMESTAMP)
+    private Date expiresAt;
+
+    @Column(name = "revoked_at", nullable = false)
+    @Temporal(TemporalType.TIMESTAMP)
+    private Date revokedAt;
+
+    public RevokedToken() {
+    }
+
+    public RevokedToken(String tokenHash, Date expiresAt, Date revokedAt) {
+        this.tokenHash = tokenHash;
+        this.expiresAt = expiresAt;
+        this.revokedAt = revokedAt;
+    }
+
+    public String getTokenHash() {
+        return tokenHash;
+    }
+
+    public void setTokenHash(String tokenHash) {
+        this.tokenHash = tokenHash;
+    }
+
+    public Date getExpiresAt() {
+        return expiresAt;
+    }
+
+    public void setExpiresAt(Date expiresAt) {
+        this.expiresAt = expiresAt;
+    }
+
+    public Date getRevokedAt() {
+        return revokedAt;
+    }
+
+    public void setRevokedAt(Date revokedAt) {
+        this.revokedAt = revokedAt;
+    }
+}
@@ -0,0 +1,72 @@
+package com.fantasyfightleague.model;
+
+import java.net.InetAddress;
+import java.util.Date;
+import java.util.UUID;
+import jakarta.persistence.*;
+
+/**
+ * Bloqueo con caducidad (lease) para que una tarea programada solo se ejecute en una instancia.
+ * La instancia que lo posee lo renueva periódicamente; si deja de hacerlo, otra lo toma al caducar.
+ */
+@Entity
+@Table(name = "scheduler_locks")
+public class SchedulerLock {
+
+    @Id
+    @Column(length = 100)
+    private String name;
+
+    @Column(name = "locked_by", nullable = false)
+    private String lockedBy;
+
+    @Column(name = "locked_until", nullable = false)
+    @Temporal(TemporalType.TIMESTAMP)
+    private Date lockedUntil;
+
+    public SchedulerLock() {
+    }
+
+    public SchedulerLock(String name, String lockedBy, Date lockedUntil) {
+        this.name = name;
+        this.lockedBy = lockedBy;
+        this.lockedUntil = lockedUntil;
+    }
+
+    /**
+     * Identificador único de esta instancia para lockedBy (nombre del host y un sufijo aleatorio)
+     */
+    public static String newOwnerId() {
+        String host;
+        try {
+            host = InetAddress.getLocalHost().getHostName();
+        } catch (Exception e) {
+            host = "node";
+        }
+        return host + "-" + UUID.randomUUID().toString().substring(0, 8);
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public void setName(String name) {
+        this.name = name;
+    }
+
+    public String getLockedBy() {
+        return lockedBy;
+    }
+
+    public void setLockedBy(String lockedBy) {
+        this.lockedBy = lockedBy;
+    }
+
+    public Date getLockedUntil() {
+        return lockedUntil;
+    }
+
+    public void setLockedUntil(Date lockedUntil) {
+        this.lockedUntil = lockedUntil;
+    }
+}
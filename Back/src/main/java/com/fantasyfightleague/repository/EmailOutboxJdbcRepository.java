@@ -0,0 +1,34 @@
+package com.fantasyfightleague.repository;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+/**
+ * Inserción en lote de emails en email_outbox mediante JDBC (envíos masivos)
+ */
+@Repository
+public class EmailOutboxJdbcRepository {
+
+    private static final String INSERT_PENDING =
+            "INSERT INTO email_outbox (recipient, reply_to, subject, body, html, status, attempts, next_attempt_at, created_at) " +
+            "VALUES (?, ?, ?, ?, ?, 'PENDING', 0, NOW(), NOW())";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public EmailOutboxJdbcRepository(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    /**
+     * Encola varios emails en un solo batch
+     *
+     * @param rows Filas (destinatario, responder a, asunto, cuerpo, html)
+     */
+    public void insertPending(List<Object[]> rows) {
+        if (!rows.isEmpty()) {
+            jdbcTemplate.batchUpdate(INSERT_PENDING, rows);
+        }
+    }
+}
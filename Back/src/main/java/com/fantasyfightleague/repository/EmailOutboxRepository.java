@@ -0,0 +1,64 @@
+package com.fantasyfightleague.repository;
+
+import com.fantasyfightleague.model.EmailOutbox;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.Collection;
+import java.util.Date;
+import java.util.List;
+
+@Repository
+public interface EmailOutboxRepository extends JpaRepository<EmailOutbox, Long> {
+    
+    // Emails listos para enviar, bloqueando sus filas; las ya bloqueadas por otra instancia se saltan
+    @Query(value = "SELECT id FROM email_outbox WHERE status = 'PENDING' AND next_attempt_at <= :now " +
+                   "ORDER BY id LIMIT :limit FOR UPDATE SKIP LOCKED", nativeQuery = true)
+    List<Long> lockDispatchableIds(@Param("now") Date now, @Param("limit") int limit);
+    
+    // Reservar los emails para su envío hasta lockedUntil
+    @Modifying
+    @Query("UPDATE EmailOutbox e SET e.status = 'SENDING', e.lockedUntil = :lockedUntil WHERE e.id IN :ids")
+    int markSending(@Param("ids") Collection<Long> ids, @Param("lockedUntil") Date lockedUntil);
+    
+    // Registrar los emails enviados
+    @Modifying
+    @Query("UPDATE EmailOutbox e SET e.status = 'SENT', e.attempts = e.attempts + 1, e.sentAt = :sentAt, " +
+           "e.lockedUntil = NULL, e.lastError = NULL WHERE e.id IN :ids")
+    int markSent(@Param("ids") Collection<Long> ids, @Param("sentAt") Date sentAt);
+    
+    // Registrar un intento fallido: vuelve a PENDING con el siguiente intento o queda en FAILED
+    @Modifying
+    @Query("UPDATE EmailOutbox e SET e.status = :status, e.attempts = e.attempts + 1, " +
+           "e.nextAttemptAt = :nextAttemptAt, e.lockedUntil = NULL, e.lastError = :error WHERE e.id = :id")
+    int markAttemptFailed(@Param("id") Long id, @Param("status") String status,
+                          @Param("nextAttemptAt") Date nextAttemptAt, @Param("error") String error);
+    
+    // Devolver a PENDING los envíos cuya reserva ha caducado (p. ej. tras caerse la instancia que los enviaba)
+    @Modifying
+    @Query("UPDATE EmailOutbox e SET e.status = 'PENDING', e.lockedUntil = NULL " +
+           "WHERE e.status = 'SENDING' AND e.lockedUntil < :now")
+    int releaseExpiredLocks(@Param("now") Date now);
+    
+    // Volver a encolar los emails fallidos definitivamente
+    @Modifying
+    @Query("UPDATE EmailOutbox e SET e.status = 'PENDING', e.attempts = 0, e.nextAttemptAt = :now " +
+           "WHERE e.status = 'FAILED'")
+    int requeueFailed(@Param("now") Date now);
+    
+    // Borrar los emails enviados antes de una fecha
+    @Modifying
+    @Query("DELETE FROM EmailOutbox e WHERE e.status = 'SENT' AND e.sentAt < :before")
+    int deleteSentBefore(@Param("before") Date before);
+    
+    // Número de emails por estado
+    @Query("SELECT e.status, COUNT(e) FROM EmailOutbox e GROUP BY e.status")
+    List<Object[]> countByStatus();
+    
+    // Fecha del email pendiente más antiguo
+    @Query("SELECT MIN(e.createdAt) FROM EmailOutbox e WHERE e.status = 'PENDING'")
+    Date findOldestPendingCreatedAt();
+}
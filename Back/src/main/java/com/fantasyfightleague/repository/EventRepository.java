@@ -5,9 +5,12 @@ package com.fantasyfightleague.repository;
 
 import com.fantasyfightleague.model.Event;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.Date;
 import java.util.List;
 
@@ -44,4 +47,33 @@ public interface EventRepository extends JpaRepository<Event, Long> {
     // 🆕 NUEVO: Buscar eventos por estado ordenados por fecha
     @Query("SELECT e FROM Event e WHERE e.status = :status AND e.startDate IS NOT NULL ORDER BY e.startDate DESC")
     List<Event> findByStatusOrderByStartDateDesc(String status);
-}
\ No newline at end of file
+    
+    // Bloquear la fila del evento: serializa el procesamiento de sus resultados
+    @Query(value = "SELECT id FROM events WHERE id = :eventId FOR UPDATE", nativeQuery = true)
+    Long lockById(@Param("eventId") Long eventId);
+    
+    // IDs de los luchadores asociados a un evento
+    @Query("SELECT f.id FROM Event e JOIN e.fighters f WHERE e.id = :eventId")
+    List<Long> findFighterIdsByEventId(@Param("eventId") Long eventId);
+    
+    // IDs de los eventos completados en un rango de fechas, en orden cronológico (re-puntuación)
+    @Query("SELECT e.id FROM Event e WHERE e.status = 'COMPLETED' " +
+           "AND COALESCE(e.startDate, e.date) BETWEEN :from AND :to ORDER BY COALESCE(e.startDate, e.date) ASC")
+    List<Long> findCompletedEventIdsBetween(@Param("from") Date from, @Param("to") Date to);
+    
+    // Eventos en alguno de los estados indicados (para programar su ciclo de vida)
+    List<Event> findByStatusIn(Collection<String> statuses);
+    
+    // Iniciar un evento solo si sigue UPCOMING y su hora de inicio ha llegado (1 = transición aplicada)
+    @Modifying
+    @Query("UPDATE Event e SET e.status = 'LIVE', e.updatedAt = CURRENT_TIMESTAMP " +
+           "WHERE e.id = :id AND e.status = 'UPCOMING' AND e.startDate <= CURRENT_TIMESTAMP")
+    int startIfDue(@Param("id") Long id);
+    
+    // Cerrar los picks de un evento si su deadline ha llegado o ya ha empezado
+    // (1 = se acaban de cerrar, 0 = ya estaban cerrados o el deadline se ha movido)
+    @Modifying
+    @Query("UPDATE Event e SET e.picksLocked = true WHERE e.id = :id AND e.picksLocked = false " +
+           "AND (e.picksDeadline <= CURRENT_TIMESTAMP OR e.status <> 'UPCOMING')")
+    int markPicksLocked(@Param("id") Long id);
+}
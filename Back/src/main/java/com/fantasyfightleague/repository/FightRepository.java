@@ -4,6 +4,9 @@ import com.fantasyfightleague.model.Event;
 import com.fantasyfightleague.model.Fight;
 import com.fantasyfightleague.model.Fighter;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
@@ -28,4 +31,19 @@ public interface FightRepository extends JpaRepository<Fight, Long> {
     
     // Buscar peleas de un evento por estado
     List<Fight> findByEventAndStatus(Event event, String status);
+    
+    // Cartelera de un evento con los dos luchadores de cada pelea
+    @Query("SELECT f FROM Fight f JOIN FETCH f.fighter1 JOIN FETCH f.fighter2 WHERE f.event.id = :eventId ORDER BY f.id")
+    List<Fight> findCardByEventId(@Param("eventId") Long eventId);
+    
+    // IDs de los luchadores de la cartelera de un evento (sin las peleas canceladas)
+    @Query("SELECT f.fighter1.id FROM Fight f WHERE f.event.id = :eventId AND (f.status IS NULL OR f.status <> 'CANCELLED') " +
+           "UNION " +
+           "SELECT f.fighter2.id FROM Fight f WHERE f.event.id = :eventId AND (f.status IS NULL OR f.status <> 'CANCELLED')")
+    List<Long> findCardFighterIds(@Param("eventId") Long eventId);
+    
+    // Borrar la cartelera de un evento
+    @Modifying
+    @Query("DELETE FROM Fight f WHERE f.event.id = :eventId")
+    int deleteByEventId(@Param("eventId") Long eventId);
 }
\ No newline at end of file
@@ -0,0 +1,215 @@
+package com.fantasyfightleague.repository;
+
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.support.GeneratedKeyHolder;
+import org.springframework.jdbc.support.KeyHolder;
+import org.springframework.stereotype.Repository;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Operaciones masivas sobre luchadores mediante JDBC (actualizaciones en lote)
+ */
+@Repository
+public class FighterJdbcRepository {
+
+    private static final String UPDATE_PRICE =
+            "UPDATE fighters SET price = ?, updated_at = NOW() WHERE id = ?";
+
+    private static final String SELECT_IDS_NAMES_PRICES =
+            "SELECT id, name, price FROM fighters ORDER BY id ASC";
+
+    private static final String UPDATE_IMPORTED =
+            "UPDATE fighters SET record = ?, nationality = ?, weight_class = ?, " +
+            "image_url = COALESCE(?, image_url), price = COALESCE(?, price, ?), active = 1, import_batch = ?, updated_at = ? " +
+            "WHERE id = ?";
+
+    private static final String INSERT_IMPORTED =
+            "INSERT INTO fighters (name, record, nationality, weight_class, image_url, price, active, import_batch, created_at, updated_at) " +
+            "VALUES (?, ?, ?, ?, ?, ?, 1, ?, ?, ?)";
+
+    private static final String DEACTIVATE_NOT_IMPORTED =
+            "UPDATE fighters SET active = 0, updated_at = NOW() WHERE active = 1 AND (import_batch IS NULL OR import_batch <> ?)";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public FighterJdbcRepository(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    /**
+     * Actualiza el precio de varios luchadores en un solo batch
+     * @param pricesByFighter Precio nuevo de cada luchador
+     * @return Número de luchadores actualizados
+     */
+    public int updatePrices(Map<Long, Integer> pricesByFighter) {
+        if (pricesByFighter.isEmpty()) {
+            return 0;
+        }
+
+        List<Object[]> batchArgs = new ArrayList<>(pricesByFighter.size());
+        for (Map.Entry<Long, Integer> entry : pricesByFighter.entrySet()) {
+            batchArgs.add(new Object[] { entry.getValue(), entry.getKey() });
+        }
+
+        int updated = 0;
+        for (int count : jdbcTemplate.batchUpdate(UPDATE_PRICE, batchArgs)) {
+            // Con rewriteBatchedStatements el driver puede devolver SUCCESS_NO_INFO (-2)
+            updated += count > 0 || count == Statement.SUCCESS_NO_INFO ? 1 : 0;
+        }
+        return updated;
+    }
+
+    /**
+     * Recorre todos los luchadores (id, nombre, precio) en una sola consulta
+     * @param consumer Receptor de cada fila
+     */
+    public void forEachIdNameAndPrice(FighterRowConsumer consumer) {
+        jdbcTemplate.query(SELECT_IDS_NAMES_PRICES, rs -> {
+            int price = rs.getInt(3);
+            consumer.accept(rs.getLong(1), rs.getString(2), rs.wasNull() ? null : price);
+        });
+    }
+
+    /**
+     * Actualiza en lote los luchadores existentes de una importación y los marca como activos
+     * @param rowsById Filas importadas indexadas por ID del luchador existente
+     * @param importBatch Identificador de la importación (se guarda en import_batch)
+     * @param importMarker Instante de la importación (se guarda en updated_at)
+     * @param defaultPrice Precio para luchadores existentes sin precio
+     */
+    public void batchUpdateImported(Map<Long, ImportRow> rowsById, String importBatch, Timestamp importMarker, int defaultPrice) {
+        if (rowsById.isEmpty()) {
+            return;
+        }
+
+        List<Object[]> batchArgs = new ArrayList<>(rowsById.size());
+        for (Map.Entry<Long, ImportRow> entry : rowsById.entrySet()) {
+            ImportRow row = entry.getValue();
+            batchArgs.add(new Object[] { row.getRecord(), row.getNationality(), row.getWeightClass(),
+                    row.getImageUrl(), row.getPrice(), defaultPrice, importBatch, importMarker, entry.getKey() });
+        }
+        jdbcTemplate.batchUpdate(UPDATE_IMPORTED, batchArgs,
+                new int[] { Types.VARCHAR, Types.VARCHAR, Types.VARCHAR, Types.VARCHAR,
+                            Types.INTEGER, Types.INTEGER, Types.VARCHAR, Types.TIMESTAMP, Types.BIGINT });
+    }
+
+    /**
+     * Inserta en lote los luchadores nuevos de una importación
+     * @param rows Filas nuevas
+     * @param importBatch Identificador de la importación (se guarda en import_batch)
+     * @param importMarker Instante de la importación (se guarda en created_at y updated_at)
+     * @param defaultPrice Precio para luchadores nuevos sin precio
+     * @return IDs generados, en el mismo orden que las filas
+     */
+    public List<Long> batchInsertImported(List<ImportRow> rows, String importBatch, Timestamp importMarker, int defaultPrice) {
+        List<Long> ids = new ArrayList<>(rows.size());
+        if (rows.isEmpty()) {
+            return ids;
+        }
+
+        KeyHolder keyHolder = new GeneratedKeyHolder();
+        jdbcTemplate.batchUpdate(
+                connection -> connection.prepareStatement(INSERT_IMPORTED, Statement.RETURN_GENERATED_KEYS),
+                new BatchPreparedStatementSetter() {
+                    @Override
+                    public void setValues(PreparedStatement ps, int i) throws SQLException {
+                        ImportRow row = rows.get(i);
+                        ps.setString(1, row.getName());
+                        ps.setString(2, row.getRecord());
+                        ps.setString(3, row.getNationality());
+                        ps.setString(4, row.getWeightClass());
+                        ps.setString(5, row.getImageUrl());
+                        ps.setInt(6, row.getPrice() != null ? row.getPrice() : defaultPrice);
+                        ps.setString(7, importBatch);
+                        ps.setTimestamp(8, importMarker);
+                        ps.setTimestamp(9, importMarker);
+                    }
+
+                    @Override
+                    public int getBatchSize() {
+                        return rows.size();
+                    }
+                },
+                keyHolder);
+
+        for (Map<String, Object> keys : keyHolder.getKeyList()) {
+            ids.add(((Number) keys.values().iterator().next()).longValue());
+        }
+        return ids;
+    }
+
+    /**
+     * Desactiva en una sola sentencia los luchadores activos que no forman parte de la importación.
+     * Se identifican por import_batch y no por updated_at, que también cambian otras escrituras
+     * (precios, puntuación en directo) mientras dura la importación.
+     * @param importBatch Identificador de la importación guardado en los luchadores importados
+     * @return Número de luchadores desactivados
+     */
+    public int deactivateNotImported(String importBatch) {
+        return jdbcTemplate.update(DEACTIVATE_NOT_IMPORTED, importBatch);
+    }
+
+    /**
+     * Receptor de filas (id, nombre, precio) de luchadores
+     */
+    @FunctionalInterface
+    public interface FighterRowConsumer {
+        void accept(Long id, String name, Integer price);
+    }
+
+    /**
+     * Datos de un luchador importado.
+     * Un imageUrl o precio nulos conservan el valor actual de los luchadores existentes.
+     */
+    public static class ImportRow {
+        private final String name;
+        private final String record;
+        private final String nationality;
+        private final String weightClass;
+        private final String imageUrl;
+        private final Integer price;
+
+        public ImportRow(String name, String record, String nationality, String weightClass,
+                         String imageUrl, Integer price) {
+            this.name = name;
+            this.record = record;
+            this.nationality = nationality;
+            this.weightClass = weightClass;
+            this.imageUrl = imageUrl;
+            this.price = price;
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        public String getRecord() {
+            return record;
+        }
+
+        public String getNationality() {
+            return nationality;
+        }
+
+        public String getWeightClass() {
+            return weightClass;
+        }
+
+        public String getImageUrl() {
+            return imageUrl;
+        }
+
+        public Integer getPrice() {
+            return price;
+        }
+    }
+}
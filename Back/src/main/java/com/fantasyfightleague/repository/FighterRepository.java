@@ -2,6 +2,7 @@ package com.fantasyfightleague.repository;
 
 import com.fantasyfightleague.model.Fighter;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
@@ -21,4 +22,9 @@ public interface FighterRepository extends JpaRepository<Fighter, Long> {
     
     // Buscar luchadores activos
     List<Fighter> findByActiveTrue();
+    
+    // Desactivar todos los luchadores activos en una sola sentencia
+    @Modifying
+    @Query("UPDATE Fighter f SET f.active = false, f.updatedAt = CURRENT_TIMESTAMP WHERE f.active = true")
+    int deactivateAllActive();
 }
\ No newline at end of file
@@ -1,12 +1,18 @@
 package com.fantasyfightleague.repository;
 
+import com.fantasyfightleague.model.Event;
 import com.fantasyfightleague.model.Fight;
 import com.fantasyfightleague.model.Fighter;
 import com.fantasyfightleague.model.FighterStats;
+import jakarta.persistence.LockModeType;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
+import java.util.Date;
 import java.util.List;
 import java.util.Optional;
 
@@ -28,4 +34,35 @@ public interface FighterStatsRepository extends JpaRepository<FighterStats, Long
     // Obtener la suma de puntos de un luchador
     @Query("SELECT SUM(fs.points) FROM FighterStats fs WHERE fs.fighter.id = :fighterId")
     Integer getTotalPointsByFighterId(Long fighterId);
+    
+    // Estadísticas de todos los luchadores de un evento
+    List<FighterStats> findByEventId(Long eventId);
+    
+    // Estadísticas de un luchador en un evento
+    Optional<FighterStats> findByEventAndFighter(Event event, Fighter fighter);
+    
+    // Estadísticas de un luchador en un evento con lectura bloqueante (lee la última versión confirmada)
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT fs FROM FighterStats fs WHERE fs.event = :event AND fs.fighter = :fighter")
+    Optional<FighterStats> findForUpdateByEventAndFighter(@Param("event") Event event, @Param("fighter") Fighter fighter);
+    
+    // Estadísticas de varios luchadores en un evento (una sola consulta sobre el índice evento-luchador)
+    List<FighterStats> findByEventAndFighterIn(Event event, Collection<Fighter> fighters);
+    
+    // Estadísticas de varios luchadores en varios eventos (historial de picks en una sola consulta)
+    List<FighterStats> findByEventInAndFighterIn(Collection<Event> events, Collection<Fighter> fighters);
+    
+    // Puntos totales de cada luchador en un evento: filas (fighterId, puntos)
+    @Query("SELECT fs.fighter.id, SUM(fs.points) FROM FighterStats fs WHERE fs.event = :event GROUP BY fs.fighter.id")
+    List<Object[]> sumPointsByEventGroupByFighter(@Param("event") Event event);
+    
+    // Registros antiguos sin evento: estadísticas creadas después de una fecha, en orden de creación
+    @Query("SELECT fs FROM FighterStats fs WHERE fs.event IS NULL AND fs.fighter IN :fighters " +
+           "AND fs.createdAt > :since ORDER BY fs.id ASC")
+    List<FighterStats> findLegacyByFightersCreatedAfter(@Param("fighters") Collection<Fighter> fighters,
+                                                        @Param("since") Date since);
+    
+    // Registros antiguos sin evento: filas (fighterId, puntos) creadas después de una fecha, en orden de creación
+    @Query("SELECT fs.fighter.id, fs.points FROM FighterStats fs WHERE fs.event IS NULL AND fs.createdAt > :since ORDER BY fs.id ASC")
+    List<Object[]> findLegacyFighterPointsCreatedAfter(@Param("since") Date since);
 }
\ No newline at end of file
@@ -1,18 +1,57 @@
 // Actualizar: src/main/java/com/fantasyfightleague/repository/LeagueRepository.java
 package com.fantasyfightleague.repository;
 
+import com.fantasyfightleague.dto.LeagueSummaryDTO;
 import com.fantasyfightleague.model.League;
 import com.fantasyfightleague.model.User;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.util.Date;
 import java.util.List;
+import java.util.Optional;
 
 @Repository
 public interface LeagueRepository extends JpaRepository<League, Long> {
     
+    // Datos básicos de una liga con el número de miembros, sin cargar la lista de miembros
+    @Query("SELECT new com.fantasyfightleague.dto.LeagueSummaryDTO(l.id, l.name, l.description, l.type, l.active, " +
+           "l.initialBudget, l.maxFightersEvent, l.minFightersEvent, SIZE(l.members)) " +
+           "FROM League l WHERE l.id = :id")
+    Optional<LeagueSummaryDTO> findSummaryById(@Param("id") Long id);
+    
+    // Verificar si un usuario es miembro de una liga sin cargar la lista de miembros
+    boolean existsByIdAndMembersId(Long id, Long memberId);
+    
+    // Miembros de las ligas activas: filas (leagueId, userId)
+    @Query("SELECT l.id, m.id FROM League l JOIN l.members m WHERE l.active = true")
+    List<Object[]> findActiveLeagueMemberIds();
+    
+    // IDs de los miembros de una liga
+    @Query("SELECT m.id FROM League l JOIN l.members m WHERE l.id = :leagueId")
+    List<Long> findMemberIds(@Param("leagueId") Long leagueId);
+    
+    // Número de miembros de una liga sin cargar la colección
+    @Query("SELECT COUNT(m) FROM League l JOIN l.members m WHERE l.id = :leagueId")
+    long countMembers(@Param("leagueId") Long leagueId);
+    
+    // Bloquear la fila de la liga: serializa altas, bajas y recálculos de su clasificación
+    @Query(value = "SELECT id FROM leagues WHERE id = :leagueId FOR UPDATE", nativeQuery = true)
+    Long lockById(@Param("leagueId") Long leagueId);
+    
+    // Alta de un miembro sin cargar la colección (no hace nada si ya es miembro)
+    @Modifying
+    @Query(value = "INSERT IGNORE INTO league_members (league_id, user_id) VALUES (:leagueId, :userId)", nativeQuery = true)
+    int addMember(@Param("leagueId") Long leagueId, @Param("userId") Long userId);
+    
+    // Baja de un miembro sin cargar la colección
+    @Modifying
+    @Query(value = "DELETE FROM league_members WHERE league_id = :leagueId AND user_id = :userId", nativeQuery = true)
+    int removeMember(@Param("leagueId") Long leagueId, @Param("userId") Long userId);
+    
     // Buscar ligas por tipo
     List<League> findByType(String type);
     List<League> findByTypeAndActiveTrue(String type);
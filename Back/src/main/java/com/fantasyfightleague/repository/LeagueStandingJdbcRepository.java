@@ -0,0 +1,45 @@
+package com.fantasyfightleague.repository;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Actualizaciones en lote de la tabla league_standings mediante JDBC
+ */
+@Repository
+public class LeagueStandingJdbcRepository {
+
+    private static final String ADD_TOTAL_POINTS =
+            "UPDATE league_standings SET total_points = total_points + ?, updated_at = NOW() " +
+            "WHERE league_id = ? AND user_id = ?";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public LeagueStandingJdbcRepository(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    /**
+     * Suma puntos al total de varios participantes con un batch update aditivo.
+     * Las posiciones no se tocan: se recalculan al recalcular la clasificación de la liga.
+     *
+     * @param deltas Puntos a sumar, por ID de liga y de usuario
+     * @return Número de filas enviadas en el batch
+     */
+    public int addTotalPoints(Map<Long, Map<Long, Integer>> deltas) {
+        List<Object[]> batchArgs = new ArrayList<>();
+        for (Map.Entry<Long, Map<Long, Integer>> league : deltas.entrySet()) {
+            for (Map.Entry<Long, Integer> user : league.getValue().entrySet()) {
+                batchArgs.add(new Object[] { user.getValue(), league.getKey(), user.getKey() });
+            }
+        }
+        if (!batchArgs.isEmpty()) {
+            jdbcTemplate.batchUpdate(ADD_TOTAL_POINTS, batchArgs);
+        }
+        return batchArgs.size();
+    }
+}
@@ -0,0 +1,111 @@
+package com.fantasyfightleague.repository;
+
+import com.fantasyfightleague.dto.LeaderboardEntryDTO;
+import com.fantasyfightleague.model.LeagueStanding;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface LeagueStandingRepository extends JpaRepository<LeagueStanding, Long> {
+
+    // Clasificación completa de una liga ordenada por posición (lectura por rango del índice)
+    @Query("SELECT s FROM LeagueStanding s JOIN FETCH s.user WHERE s.league.id = :leagueId ORDER BY s.position ASC")
+    List<LeagueStanding> findByLeagueIdOrderByPosition(@Param("leagueId") Long leagueId);
+
+    // Página de la clasificación por rango de posiciones, proyectada directamente al DTO de la respuesta
+    @Query("SELECT new com.fantasyfightleague.dto.LeaderboardEntryDTO(s.position, u.id, u.username, " +
+           "COALESCE(u.firstName, ''), COALESCE(u.lastName, ''), u.profileImageUrl, s.totalPoints, " +
+           "s.eventsParticipated, s.averagePointsPerEvent, s.lastEventPoints, " +
+           "CASE WHEN u.id = :currentUserId THEN true ELSE false END) " +
+           "FROM LeagueStanding s JOIN s.user u " +
+           "WHERE s.league.id = :leagueId AND s.position BETWEEN :fromPosition AND :toPosition " +
+           "ORDER BY s.position ASC")
+    List<LeaderboardEntryDTO> findEntriesByPositionRange(@Param("leagueId") Long leagueId,
+                                                         @Param("currentUserId") Long currentUserId,
+                                                         @Param("fromPosition") int fromPosition,
+                                                         @Param("toPosition") int toPosition);
+
+    // Entradas de la clasificación de varios usuarios, proyectadas al DTO de la respuesta
+    @Query("SELECT new com.fantasyfightleague.dto.LeaderboardEntryDTO(s.position, u.id, u.username, " +
+           "COALESCE(u.firstName, ''), COALESCE(u.lastName, ''), u.profileImageUrl, s.totalPoints, " +
+           "s.eventsParticipated, s.averagePointsPerEvent, s.lastEventPoints, " +
+           "CASE WHEN u.id = :currentUserId THEN true ELSE false END) " +
+           "FROM LeagueStanding s JOIN s.user u " +
+           "WHERE s.league.id = :leagueId AND u.id IN :userIds")
+    List<LeaderboardEntryDTO> findEntriesByUserIds(@Param("leagueId") Long leagueId,
+                                                   @Param("currentUserId") Long currentUserId,
+                                                   @Param("userIds") Collection<Long> userIds);
+
+    // Posición de un usuario en la clasificación de una liga
+    @Query("SELECT s.position FROM LeagueStanding s WHERE s.league.id = :leagueId AND s.user.id = :userId")
+    Optional<Integer> findPositionByLeagueIdAndUserId(@Param("leagueId") Long leagueId, @Param("userId") Long userId);
+
+    // Participantes con más puntos que un valor dado (lectura por rango del índice liga-puntos)
+    long countByLeagueIdAndTotalPointsGreaterThan(Long leagueId, Integer totalPoints);
+
+    // Entrada de un usuario concreto en la clasificación de una liga
+    Optional<LeagueStanding> findByLeagueIdAndUserId(Long leagueId, Long userId);
+
+    // Número de participantes en la clasificación de una liga
+    long countByLeagueId(Long leagueId);
+
+    // Verificar si la clasificación de una liga ya ha sido materializada
+    boolean existsByLeagueId(Long leagueId);
+
+    // Ligas con miembros y sin clasificación materializada (creadas antes de materializarla al crear la liga)
+    @Query(value = "SELECT l.id FROM leagues l " +
+                   "WHERE EXISTS (SELECT 1 FROM league_members m WHERE m.league_id = l.id) " +
+                   "AND NOT EXISTS (SELECT 1 FROM league_standings s WHERE s.league_id = l.id) " +
+                   "ORDER BY l.id",
+           nativeQuery = true)
+    List<Long> findLeagueIdsWithoutStandings();
+
+    // Eliminar la clasificación de una liga antes de recalcularla
+    @Modifying
+    @Query("DELETE FROM LeagueStanding s WHERE s.league.id = :leagueId")
+    int deleteByLeagueId(@Param("leagueId") Long leagueId);
+
+    /**
+     * Recalcula la clasificación de una liga en una sola sentencia: agrega los picks de
+     * miembros y antiguos participantes, calcula la media y los puntos del último evento,
+     * y asigna la posición con ROW_NUMBER().
+     */
+    @Modifying
+    @Query(value = "INSERT INTO league_standings (league_id, user_id, position, total_points, events_participated, " +
+                   "average_points_per_event, last_event_points, updated_at) " +
+                   "SELECT agg.league_id, agg.user_id, " +
+                   "ROW_NUMBER() OVER (ORDER BY agg.total_points DESC, agg.user_id ASC), " +
+                   "agg.total_points, agg.events_participated, " +
+                   "CASE WHEN agg.events_participated > 0 THEN ROUND(agg.total_points / agg.events_participated, 2) ELSE 0 END, " +
+                   "COALESCE((SELECT lp.event_points FROM picks lp JOIN events le ON le.id = lp.event_id " +
+                   "          WHERE lp.league_id = agg.league_id AND lp.user_id = agg.user_id " +
+                   "          ORDER BY COALESCE(le.start_date, le.date) DESC LIMIT 1), 0), " +
+                   "NOW() " +
+                   "FROM (SELECT u.league_id, u.user_id, COALESCE(SUM(p.event_points), 0) AS total_points, " +
+                   "             COUNT(p.id) AS events_participated " +
+                   "      FROM (SELECT league_id, user_id FROM league_members WHERE league_id = :leagueId " +
+                   "            UNION SELECT league_id, user_id FROM picks WHERE league_id = :leagueId) u " +
+                   "      LEFT JOIN picks p ON p.league_id = u.league_id AND p.user_id = u.user_id " +
+                   "      GROUP BY u.league_id, u.user_id) agg",
+           nativeQuery = true)
+    int insertComputedStandings(@Param("leagueId") Long leagueId);
+
+    /**
+     * Añade un nuevo miembro al final de una clasificación ya materializada.
+     * No hace nada si la liga todavía no tiene clasificación (el llamante la construye completa).
+     */
+    @Modifying
+    @Query(value = "INSERT IGNORE INTO league_standings (league_id, user_id, position, total_points, events_participated, " +
+                   "average_points_per_event, last_event_points, updated_at) " +
+                   "SELECT :leagueId, :userId, MAX(s.position) + 1, 0, 0, 0, 0, NOW() " +
+                   "FROM league_standings s WHERE s.league_id = :leagueId HAVING COUNT(*) > 0",
+           nativeQuery = true)
+    int appendMember(@Param("leagueId") Long leagueId, @Param("userId") Long userId);
+}
@@ -0,0 +1,134 @@
+package com.fantasyfightleague.repository;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Operaciones masivas sobre picks mediante JDBC.
+ * Se usa para los procesos que tocan todos los picks de un evento (puntuación),
+ * donde cargar cada Pick como entidad y guardarlo de uno en uno es demasiado lento.
+ */
+@Repository
+public class PickJdbcRepository {
+
+    private static final String SELECT_PICK_IDS_PAGE =
+            "SELECT id FROM picks WHERE event_id = ? AND id > ? ORDER BY id ASC LIMIT ?";
+
+    private static final String SELECT_PICK_FIGHTERS_RANGE =
+            "SELECT pf.pick_id, pf.fighter_id FROM pick_fighters pf " +
+            "JOIN picks p ON p.id = pf.pick_id " +
+            "WHERE p.event_id = ? AND pf.pick_id BETWEEN ? AND ?";
+
+    private static final String UPDATE_EVENT_POINTS =
+            "UPDATE picks SET event_points = ?, updated_at = NOW() WHERE id = ?";
+
+    private static final String SELECT_EVENT_PICK_FIGHTERS =
+            "SELECT p.id, p.league_id, p.user_id, pf.fighter_id FROM picks p " +
+            "JOIN pick_fighters pf ON pf.pick_id = p.id " +
+            "WHERE p.event_id = ? ORDER BY p.id ASC";
+
+    private static final String ADD_EVENT_POINTS =
+            "UPDATE picks SET event_points = event_points + ?, updated_at = NOW() WHERE id = ?";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public PickJdbcRepository(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    /**
+     * Recalcula event_points de todos los picks de un evento.
+     * Recorre los picks por páginas (paginación por clave sobre el id), calcula los puntos
+     * de cada pick con el mapa luchador -> puntos y escribe cada página con un batch update.
+     *
+     * @param eventId ID del evento
+     * @param pointsByFighter Puntos fantasy de cada luchador en el evento
+     * @param pageSize Número de picks por página
+     * @return Número de picks actualizados
+     */
+    public int updateEventPoints(Long eventId, Map<Long, Integer> pointsByFighter, int pageSize) {
+        long lastId = 0L;
+        int updated = 0;
+
+        while (true) {
+            List<Long> pickIds = jdbcTemplate.queryForList(SELECT_PICK_IDS_PAGE, Long.class, eventId, lastId, pageSize);
+            if (pickIds.isEmpty()) {
+                break;
+            }
+
+            long firstId = pickIds.get(0);
+            lastId = pickIds.get(pickIds.size() - 1);
+
+            // Puntos de cada pick de la página (los picks sin luchadores quedan a 0)
+            Map<Long, Integer> pointsByPick = new HashMap<>(pickIds.size() * 2);
+            for (Long pickId : pickIds) {
+                pointsByPick.put(pickId, 0);
+            }
+
+            jdbcTemplate.query(SELECT_PICK_FIGHTERS_RANGE, rs -> {
+                long pickId = rs.getLong(1);
+                Integer fighterPoints = pointsByFighter.get(rs.getLong(2));
+                if (fighterPoints != null) {
+                    pointsByPick.merge(pickId, fighterPoints, Integer::sum);
+                }
+            }, eventId, firstId, lastId);
+
+            List<Object[]> batchArgs = new ArrayList<>(pickIds.size());
+            for (Long pickId : pickIds) {
+                batchArgs.add(new Object[] { pointsByPick.get(pickId), pickId });
+            }
+            jdbcTemplate.batchUpdate(UPDATE_EVENT_POINTS, batchArgs);
+
+            updated += pickIds.size();
+            if (pickIds.size() < pageSize) {
+                break;
+            }
+        }
+
+        return updated;
+    }
+
+    /**
+     * Recorre todas las filas (pick, luchador) de un evento, ordenadas por pick
+     *
+     * @param eventId ID del evento
+     * @param handler Recibe pick, liga, usuario y luchador de cada fila
+     */
+    public void forEachPickFighter(Long eventId, PickFighterHandler handler) {
+        jdbcTemplate.query(SELECT_EVENT_PICK_FIGHTERS, rs -> {
+            handler.handle(rs.getLong(1), rs.getLong(2), rs.getLong(3), rs.getLong(4));
+        }, eventId);
+    }
+
+    /**
+     * Suma puntos a event_points de varios picks con un batch update aditivo,
+     * de forma que no se pisan actualizaciones concurrentes del mismo pick
+     *
+     * @param deltaByPick Puntos a sumar a cada pick
+     * @return Número de picks actualizados
+     */
+    public int addEventPoints(Map<Long, Integer> deltaByPick) {
+        if (deltaByPick.isEmpty()) {
+            return 0;
+        }
+        List<Object[]> batchArgs = new ArrayList<>(deltaByPick.size());
+        for (Map.Entry<Long, Integer> entry : deltaByPick.entrySet()) {
+            batchArgs.add(new Object[] { entry.getValue(), entry.getKey() });
+        }
+        jdbcTemplate.batchUpdate(ADD_EVENT_POINTS, batchArgs);
+        return batchArgs.size();
+    }
+
+    /**
+     * Recibe cada fila (pick, luchador) encontrada
+     */
+    @FunctionalInterface
+    public interface PickFighterHandler {
+        void handle(long pickId, long leagueId, long userId, long fighterId);
+    }
+}
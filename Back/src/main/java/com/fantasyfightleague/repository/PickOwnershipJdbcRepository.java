@@ -0,0 +1,44 @@
+package com.fantasyfightleague.repository;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+/**
+ * Escritura en lote de los contadores de pick_ownership mediante JDBC
+ */
+@Repository
+public class PickOwnershipJdbcRepository {
+
+    // Solo para eventos con los picks abiertos: al cerrarlos, la popularidad se recalcula desde los picks y
+    // las variaciones pendientes (de cualquier nodo) ya están incluidas. El INSERT ... SELECT lee la fila del
+    // evento con un bloqueo compartido, así que espera al commit de la transacción que cierra los picks.
+    private static final String UPSERT_PICK_COUNT =
+            "INSERT INTO pick_ownership (event_id, league_id, fighter_id, pick_count, updated_at) " +
+            "SELECT e.id, ?, ?, ?, NOW() FROM events e WHERE e.id = ? AND e.picks_locked = false " +
+            "ON DUPLICATE KEY UPDATE pick_count = pick_count + VALUES(pick_count), updated_at = NOW()";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public PickOwnershipJdbcRepository(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    /**
+     * Suma a cada contador su variación, creando la fila si no existe.
+     * Las variaciones de eventos con los picks cerrados se descartan.
+     *
+     * @param rows Filas (eventId, leagueId, fighterId, variación)
+     */
+    public void addPickCounts(List<Object[]> rows) {
+        if (!rows.isEmpty()) {
+            jdbcTemplate.batchUpdate(UPSERT_PICK_COUNT, rows, rows.size(), (ps, row) -> {
+                ps.setObject(1, row[1]);
+                ps.setObject(2, row[2]);
+                ps.setObject(3, row[3]);
+                ps.setObject(4, row[0]);
+            });
+        }
+    }
+}
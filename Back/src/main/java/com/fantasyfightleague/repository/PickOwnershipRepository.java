@@ -0,0 +1,33 @@
+package com.fantasyfightleague.repository;
+
+import com.fantasyfightleague.model.PickOwnership;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+@Repository
+public interface PickOwnershipRepository extends JpaRepository<PickOwnership, Long> {
+
+    // Filas de una liga en un evento (por la clave única event_id, league_id, fighter_id)
+    List<PickOwnership> findByEventIdAndLeagueId(Long eventId, Long leagueId);
+
+    @Modifying
+    @Query("DELETE FROM PickOwnership o WHERE o.eventId = :eventId")
+    int deleteByEventId(@Param("eventId") Long eventId);
+
+    /**
+     * Recalcula desde los picks el número de picks por liga y luchador de un evento
+     */
+    @Modifying
+    @Query(value = "INSERT INTO pick_ownership (event_id, league_id, fighter_id, pick_count, updated_at) " +
+                   "SELECT p.event_id, p.league_id, pf.fighter_id, COUNT(*), NOW() " +
+                   "FROM picks p JOIN pick_fighters pf ON pf.pick_id = p.id " +
+                   "WHERE p.event_id = :eventId " +
+                   "GROUP BY p.event_id, p.league_id, pf.fighter_id",
+           nativeQuery = true)
+    int insertComputedOwnership(@Param("eventId") Long eventId);
+}
@@ -1,13 +1,19 @@
 package com.fantasyfightleague.repository;
 
+import com.fantasyfightleague.dto.EventLeaderboardEntryDTO;
 import com.fantasyfightleague.model.Event;
 import com.fantasyfightleague.model.League;
 import com.fantasyfightleague.model.Pick;
 import com.fantasyfightleague.model.User;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -29,6 +35,57 @@ public interface PickRepository extends JpaRepository<Pick, Long> {
     // Buscar picks de un usuario en una liga (todos los eventos)
     List<Pick> findByUserAndLeague(User user, League league);
     
+    // Clasificación de un evento con usuario, evento y luchadores de cada pick cargados en la misma consulta
+    @EntityGraph(Pick.GRAPH_WITH_FIGHTERS)
+    List<Pick> findWithFightersByLeagueAndEventOrderByEventPointsDesc(League league, Event event);
+    
+    // Historial de un usuario en una liga con evento y luchadores de cada pick cargados en la misma consulta
+    @EntityGraph(Pick.GRAPH_WITH_FIGHTERS)
+    List<Pick> findWithFightersByUserAndLeague(User user, League league);
+    
+    // Pick con usuario, liga, evento y luchadores
+    @EntityGraph(Pick.GRAPH_WITH_FIGHTERS)
+    Optional<Pick> findWithFightersById(Long id);
+    
+    // Página de la clasificación de un evento, proyectada directamente al DTO de la respuesta
+    @Query("SELECT new com.fantasyfightleague.dto.EventLeaderboardEntryDTO(p.id, u.id, u.username, " +
+           "COALESCE(u.firstName, ''), COALESCE(u.lastName, ''), u.profileImageUrl, " +
+           "p.eventPoints, p.totalCost, p.remainingBudget) " +
+           "FROM Pick p JOIN p.user u " +
+           "WHERE p.league.id = :leagueId AND p.event.id = :eventId " +
+           "ORDER BY p.eventPoints DESC, p.id ASC")
+    List<EventLeaderboardEntryDTO> findEventLeaderboardEntries(@Param("leagueId") Long leagueId,
+                                                               @Param("eventId") Long eventId,
+                                                               Pageable pageable);
+    
+    // Luchadores de varios picks: filas (pickId, fighterId, nombre, imagen, precio)
+    @Query("SELECT p.id, f.id, f.name, f.imageUrl, f.price FROM Pick p JOIN p.selectedFighters f WHERE p.id IN :pickIds")
+    List<Object[]> findFighterRowsByPickIds(@Param("pickIds") Collection<Long> pickIds);
+    
+    // Pick de un usuario en un evento de una liga: filas (pickId, puntos)
+    @Query("SELECT p.id, p.eventPoints FROM Pick p " +
+           "WHERE p.league.id = :leagueId AND p.event.id = :eventId AND p.user.id = :userId")
+    List<Object[]> findPickScore(@Param("leagueId") Long leagueId, @Param("eventId") Long eventId,
+                                 @Param("userId") Long userId);
+    
+    // Picks que van por delante de uno dado en la clasificación de un evento (mismo orden que la clasificación)
+    @Query("SELECT COUNT(p) FROM Pick p WHERE p.league.id = :leagueId AND p.event.id = :eventId " +
+           "AND (p.eventPoints > :points OR (p.eventPoints = :points AND p.id < :pickId))")
+    long countPicksAhead(@Param("leagueId") Long leagueId, @Param("eventId") Long eventId,
+                         @Param("points") Integer points, @Param("pickId") Long pickId);
+    
+    // Número de picks de un evento en una liga
+    long countByLeagueIdAndEventId(Long leagueId, Long eventId);
+    
+    // Puntos totales por liga y usuario en las ligas activas: filas (leagueId, userId, puntos)
+    @Query("SELECT p.league.id, p.user.id, SUM(p.eventPoints) FROM Pick p WHERE p.league.active = true " +
+           "GROUP BY p.league.id, p.user.id")
+    List<Object[]> sumPointsByActiveLeagueAndUser();
+    
+    // Puntos totales por usuario en una liga: filas (userId, puntos)
+    @Query("SELECT p.user.id, SUM(p.eventPoints) FROM Pick p WHERE p.league.id = :leagueId GROUP BY p.user.id")
+    List<Object[]> sumPointsByUserInLeague(@Param("leagueId") Long leagueId);
+    
     // Clasificación global por liga (suma de puntos de todos los eventos)
     @Query("SELECT p.user, SUM(p.eventPoints) as totalPoints FROM Pick p " +
            "WHERE p.league = ?1 " +
@@ -36,13 +93,27 @@ public interface PickRepository extends JpaRepository<Pick, Long> {
            "ORDER BY totalPoints DESC")
     List<Object[]> findGlobalLeaderboard(League league);
     
+    // Ligas que tienen picks para un evento (para recalcular sus clasificaciones)
+    @Query("SELECT DISTINCT p.league.id FROM Pick p WHERE p.event = ?1")
+    List<Long> findLeagueIdsByEvent(Event event);
+    
+    // Ligas que tienen picks en alguno de los eventos indicados
+    @Query("SELECT DISTINCT p.league.id FROM Pick p WHERE p.event.id IN ?1")
+    List<Long> findLeagueIdsByEventIds(Collection<Long> eventIds);
+    
     // Verificar si un usuario ya tiene pick en un evento de una liga
     boolean existsByUserAndLeagueAndEvent(User user, League league, Event event);
     
     // Contar picks en una liga para un evento
     long countByLeagueAndEvent(League league, Event event);
     
-    // Buscar picks que deben ser bloqueados (pasó el deadline)
-    @Query("SELECT p FROM Pick p WHERE p.isLocked = false AND p.event.picksDeadline < CURRENT_TIMESTAMP")
-    List<Pick> findPicksToLock();
+    // Eventos con picks sin bloquear cuyo deadline ya ha pasado
+    @Query("SELECT DISTINCT p.event.id FROM Pick p WHERE p.isLocked = false AND p.event.picksDeadline <= CURRENT_TIMESTAMP")
+    List<Long> findEventIdsWithPicksToLock();
+    
+    // Bloquear en una sola sentencia todos los picks sin bloquear de un evento
+    // (vacía el contexto de persistencia para no dejar picks cargados con el valor anterior)
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE Pick p SET p.isLocked = true WHERE p.event.id = :eventId AND p.isLocked = false")
+    int lockByEventId(@Param("eventId") Long eventId);
 }
\ No newline at end of file
@@ -0,0 +1,64 @@
+package com.fantasyfightleague.repository;
+
+import com.fantasyfightleague.model.RescoreJob;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.Date;
+import java.util.List;
+
+@Repository
+public interface RescoreJobRepository extends JpaRepository<RescoreJob, Long> {
+    
+    // Eventos incluidos en un trabajo, en orden cronológico
+    @Query(value = "SELECT event_id FROM rescore_job_events WHERE job_id = :jobId ORDER BY event_order", nativeQuery = true)
+    List<Long> findEventIds(@Param("jobId") Long jobId);
+    
+    // Eventos ya completados de un trabajo (para reanudarlo)
+    @Query(value = "SELECT event_id FROM rescore_job_completed_events WHERE job_id = :jobId", nativeQuery = true)
+    List<Long> findCompletedEventIds(@Param("jobId") Long jobId);
+    
+    // Registrar un evento completado (en la misma transacción que sus puntuaciones)
+    @Modifying
+    @Query(value = "INSERT IGNORE INTO rescore_job_completed_events (job_id, event_id) VALUES (:jobId, :eventId)", nativeQuery = true)
+    int markEventCompleted(@Param("jobId") Long jobId, @Param("eventId") Long eventId);
+    
+    // Sumar el progreso de un evento a los contadores del trabajo
+    @Modifying
+    @Query("UPDATE RescoreJob j SET j.completedEvents = j.completedEvents + 1, " +
+           "j.statsRescored = j.statsRescored + :stats, j.statsSkipped = j.statsSkipped + :skipped, " +
+           "j.picksRescored = j.picksRescored + :picks WHERE j.id = :jobId")
+    int addProgress(@Param("jobId") Long jobId, @Param("stats") int stats,
+                    @Param("skipped") int skipped, @Param("picks") int picks);
+    
+    // Registrar el fallo de un evento
+    @Modifying
+    @Query("UPDATE RescoreJob j SET j.failedEvents = j.failedEvents + 1, j.lastError = :error WHERE j.id = :jobId")
+    int addFailure(@Param("jobId") Long jobId, @Param("error") String error);
+    
+    // Cambiar el estado de un trabajo
+    @Modifying
+    @Query("UPDATE RescoreJob j SET j.status = :status, j.finishedAt = :finishedAt WHERE j.id = :jobId")
+    int updateStatus(@Param("jobId") Long jobId, @Param("status") String status, @Param("finishedAt") Date finishedAt);
+    
+    // Reiniciar un trabajo para reanudarlo en este nodo
+    @Modifying
+    @Query("UPDATE RescoreJob j SET j.status = 'RUNNING', j.failedEvents = 0, j.lastError = NULL, " +
+           "j.startedAt = :startedAt, j.finishedAt = NULL, j.ownerNode = :owner, j.heartbeatAt = :startedAt " +
+           "WHERE j.id = :jobId AND j.status <> 'RUNNING'")
+    int restart(@Param("jobId") Long jobId, @Param("startedAt") Date startedAt, @Param("owner") String owner);
+    
+    // Latido del nodo que ejecuta el trabajo
+    @Modifying
+    @Query("UPDATE RescoreJob j SET j.heartbeatAt = :now WHERE j.id = :jobId AND j.ownerNode = :owner AND j.status = 'RUNNING'")
+    int heartbeat(@Param("jobId") Long jobId, @Param("owner") String owner, @Param("now") Date now);
+    
+    // Marcar como interrumpidos los trabajos en ejecución cuyo nodo ha dejado de dar señales
+    @Modifying
+    @Query("UPDATE RescoreJob j SET j.status = 'INTERRUPTED' " +
+           "WHERE j.status = 'RUNNING' AND (j.heartbeatAt IS NULL OR j.heartbeatAt < :expiredBefore)")
+    int markExpiredAsInterrupted(@Param("expiredBefore") Date expiredBefore);
+}
@@ -0,0 +1,38 @@
+package com.fantasyfightleague.repository;
+
+import com.fantasyfightleague.model.RevokedToken;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Date;
+import java.util.List;
+
+@Repository
+public interface RevokedTokenRepository extends JpaRepository<RevokedToken, String> {
+
+    // Registrar una revocación (revocar dos veces el mismo token no hace nada)
+    @Modifying
+    @Transactional
+    @Query(value = "INSERT IGNORE INTO revoked_tokens (token_hash, expires_at, revoked_at) " +
+                   "VALUES (:tokenHash, :expiresAt, :revokedAt)",
+           nativeQuery = true)
+    int insertIgnore(@Param("tokenHash") String tokenHash,
+                     @Param("expiresAt") Date expiresAt,
+                     @Param("revokedAt") Date revokedAt);
+
+    // Revocaciones todavía vigentes
+    List<RevokedToken> findByExpiresAtAfter(Date now);
+
+    // Revocaciones vigentes registradas desde un instante (sincronización entre nodos)
+    List<RevokedToken> findByRevokedAtAfterAndExpiresAtAfter(Date since, Date now);
+
+    // Eliminar revocaciones de tokens ya expirados
+    @Modifying
+    @Transactional
+    @Query("DELETE FROM RevokedToken rt WHERE rt.expiresAt <= :now")
+    int deleteExpired(@Param("now") Date now);
+}
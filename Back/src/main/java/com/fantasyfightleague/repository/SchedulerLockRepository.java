@@ -0,0 +1,26 @@
+package com.fantasyfightleague.repository;
+
+import com.fantasyfightleague.model.SchedulerLock;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.Date;
+
+@Repository
+public interface SchedulerLockRepository extends JpaRepository<SchedulerLock, String> {
+    
+    // Tomar o renovar el bloqueo si es nuestro o ha caducado (1 = lo tenemos)
+    @Modifying
+    @Query("UPDATE SchedulerLock l SET l.lockedBy = :owner, l.lockedUntil = :until " +
+           "WHERE l.name = :name AND (l.lockedBy = :owner OR l.lockedUntil < :now)")
+    int acquire(@Param("name") String name, @Param("owner") String owner,
+                @Param("now") Date now, @Param("until") Date until);
+    
+    // Liberar el bloqueo (solo si es nuestro)
+    @Modifying
+    @Query("UPDATE SchedulerLock l SET l.lockedUntil = :now WHERE l.name = :name AND l.lockedBy = :owner")
+    int release(@Param("name") String name, @Param("owner") String owner, @Param("now") Date now);
+}
@@ -1,9 +1,14 @@
 package com.fantasyfightleague.repository;
 
+import com.fantasyfightleague.dto.EmailRecipientDTO;
 import com.fantasyfightleague.model.User;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.List;
 import java.util.Optional;
 
 @Repository
@@ -20,4 +25,16 @@ public interface UserRepository extends JpaRepository<User, Long> {
     
     // Verificar si existe un usuario con un email específico
     boolean existsByEmail(String email);
-}
\ No newline at end of file
+    
+    // Destinatarios con email confirmado a partir de un ID (paginación por clave para envíos masivos)
+    @Query("SELECT new com.fantasyfightleague.dto.EmailRecipientDTO(u.id, u.username, u.email) FROM User u " +
+           "WHERE u.emailConfirmed = true AND u.id > :afterId ORDER BY u.id")
+    List<EmailRecipientDTO> findEmailRecipients(@Param("afterId") Long afterId, Pageable pageable);
+    
+    // Miembros de una liga con email confirmado a partir de un ID
+    @Query("SELECT new com.fantasyfightleague.dto.EmailRecipientDTO(u.id, u.username, u.email) " +
+           "FROM League l JOIN l.members u " +
+           "WHERE l.id = :leagueId AND u.emailConfirmed = true AND u.id > :afterId ORDER BY u.id")
+    List<EmailRecipientDTO> findLeagueEmailRecipients(@Param("leagueId") Long leagueId, @Param("afterId") Long afterId,
+                                                      Pageable pageable);
+}
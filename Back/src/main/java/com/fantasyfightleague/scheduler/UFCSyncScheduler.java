@@ -1,31 +1,357 @@
 package com.fantasyfightleague.scheduler;
 
+import com.fantasyfightleague.model.Event;
+import com.fantasyfightleague.model.SchedulerLock;
+import com.fantasyfightleague.repository.EventRepository;
+import com.fantasyfightleague.repository.SchedulerLockRepository;
+import com.fantasyfightleague.service.EventStatusChangedEvent;
+import com.fantasyfightleague.service.PickService;
+import com.fantasyfightleague.service.PicksDeadlineReachedEvent;
+import jakarta.annotation.PreDestroy;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.scheduling.TaskScheduler;
+import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.concurrent.ScheduledFuture;
 
 /**
- * Clase simplificada, mantiene solo la estructura básica del componente
- * sin funcionalidad de sincronización automatizada
+ * Ciclo de vida de los eventos UFC.
+ * Mantiene una cola ordenada con los próximos instantes de cada evento abierto (deadline de picks
+ * e inicio) y un único temporizador armado en el primero de ellos. Al vencer, aplica la transición
+ * con un UPDATE condicionado al estado y a las fechas guardadas (UPCOMING -> LIVE, y el cierre de picks), de
+ * forma que repetirla no tiene efecto y una transición con fechas ya modificadas en otro nodo no se aplica
+ * (el evento se vuelve a leer y se reprograma), y publica EventStatusChangedEvent / PicksDeadlineReachedEvent para que
+ * los servicios bloqueen picks e invaliden sus cachés.
+ * El paso a COMPLETED no depende de la hora de fin: lo hace FightResultsService al procesar los
+ * resultados, para que un evento no se dé por terminado (ni se liberen sus cachés) mientras sigue
+ * puntuando en directo o sin resultados.
+ * Con varias instancias, solo la que posee el bloqueo "event-lifecycle" de scheduler_locks ejecuta las
+ * transiciones; el resto toma el relevo cuando el bloqueo caduca.
  */
 @Component
 public class UFCSyncScheduler {
 
     private static final Logger logger = LoggerFactory.getLogger(UFCSyncScheduler.class);
-    
+
+    private static final String LEADER_LOCK = "event-lifecycle";
+
+    private final PriorityQueue<Transition> queue = new PriorityQueue<>(
+            Comparator.comparing(Transition::at).thenComparing(Transition::type).thenComparing(Transition::eventId));
+    private ScheduledFuture<?> timer;
+    private Instant timerAt;
+    private volatile boolean leader;
+
+    private final String nodeId;
+    private final long leaseMs;
+    private final TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private TaskScheduler taskScheduler;
+
+    @Autowired
+    private EventRepository eventRepository;
+
+    @Autowired
+    private SchedulerLockRepository schedulerLockRepository;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    @Autowired
+    private PickService pickService;
+
+    public UFCSyncScheduler(PlatformTransactionManager transactionManager,
+                            @Value("${ffl.lifecycle.lease-ms:30000}") long leaseMs) {
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.leaseMs = leaseMs;
+        this.nodeId = SchedulerLock.newOwnerId();
+        logger.info("UFCSyncScheduler inicializado (nodo {})", nodeId);
+    }
+
+    /**
+     * Al arrancar, intenta tomar el liderazgo y, si lo consigue, carga la cola de transiciones
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        renewLeadership();
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        synchronized (this) {
+            if (timer != null) {
+                timer.cancel(false);
+            }
+        }
+        if (leader) {
+            try {
+                transactionTemplate.executeWithoutResult(status ->
+                        schedulerLockRepository.release(LEADER_LOCK, nodeId, new Date()));
+            } catch (Exception e) {
+                logger.warn("No se pudo liberar el bloqueo del ciclo de vida: {}", e.getMessage());
+            }
+        }
+    }
+
     /**
-     * Constructor vacío
+     * Renueva el bloqueo de líder. Al obtenerlo, recarga la cola desde la base de datos
+     * (las transiciones vencidas mientras no había líder se aplican en ese momento).
      */
-    public UFCSyncScheduler() {
-        logger.info("UFCSyncScheduler inicializado en modo manual");
+    @Scheduled(fixedDelayString = "${ffl.lifecycle.lease-renew-ms:10000}", initialDelayString = "${ffl.lifecycle.lease-renew-ms:10000}")
+    public void renewLeadership() {
+        boolean acquired;
+        try {
+            acquired = tryAcquireLeadership();
+        } catch (Exception e) {
+            logger.error("Error al renovar el bloqueo del ciclo de vida: {}", e.getMessage());
+            acquired = false;
+        }
+
+        if (acquired && !leader) {
+            leader = true;
+            logger.info("Nodo {} es ahora el líder del ciclo de vida de eventos", nodeId);
+            reload();
+        } else if (!acquired && leader) {
+            leader = false;
+            logger.warn("Nodo {} ha perdido el liderazgo del ciclo de vida de eventos", nodeId);
+        }
     }
-    
+
     /**
-     * Método para posible sincronización manual
-     * Ahora simplemente registra que se ha solicitado sin realizar acciones
+     * Recarga periódica de la cola (recoge eventos creados o modificados en otras instancias)
+     * y barrido de picks con el deadline vencido
+     */
+    @Scheduled(fixedDelayString = "${ffl.lifecycle.refresh-interval-ms:60000}", initialDelayString = "${ffl.lifecycle.refresh-interval-ms:60000}")
+    public void refresh() {
+        if (!leader) {
+            return;
+        }
+        reload();
+        try {
+            pickService.lockExpiredPicks();
+        } catch (Exception e) {
+            logger.error("Error al bloquear los picks con deadline vencido: {}", e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Sincronización manual: recarga la cola de transiciones desde la base de datos
      */
     public void manualSync() {
-        logger.info("Solicitud de sincronización manual recibida - Deshabilitada");
+        logger.info("Solicitud de sincronización manual recibida: recargando el ciclo de vida de eventos");
+        reload();
         logger.info("Utilice el endpoint /api/admin/import-fighters para importar luchadores manualmente");
     }
-}
\ No newline at end of file
+
+    /**
+     * Programa (o reprograma) las transiciones de un evento tras crearlo o modificarlo
+     */
+    public void schedule(Event event) {
+        if (event.getId() == null) {
+            return;
+        }
+        synchronized (this) {
+            queue.removeIf(transition -> transition.eventId().equals(event.getId()));
+            queue.addAll(transitionsOf(event));
+        }
+        arm();
+    }
+
+    /**
+     * Quita de la cola las transiciones de un evento (p. ej. al borrarlo)
+     */
+    public void cancel(Long eventId) {
+        synchronized (this) {
+            queue.removeIf(transition -> transition.eventId().equals(eventId));
+        }
+        arm();
+    }
+
+    public boolean isLeader() {
+        return leader;
+    }
+
+    /**
+     * Transiciones pendientes, en orden
+     */
+    public List<Map<String, Object>> getPendingTransitions() {
+        List<Transition> pending;
+        synchronized (this) {
+            pending = new ArrayList<>(queue);
+        }
+        pending.sort(queue.comparator());
+
+        List<Map<String, Object>> result = new ArrayList<>();
+        for (Transition transition : pending) {
+            Map<String, Object> entry = new HashMap<>();
+            entry.put("eventId", transition.eventId());
+            entry.put("type", transition.type().name());
+            entry.put("at", Date.from(transition.at()));
+            result.add(entry);
+        }
+        return result;
+    }
+
+    private void reload() {
+        List<Event> events = eventRepository.findByStatusIn(List.of("UPCOMING", "LIVE"));
+        synchronized (this) {
+            queue.clear();
+            events.forEach(event -> queue.addAll(transitionsOf(event)));
+        }
+        arm();
+        logger.debug("Ciclo de vida: {} eventos abiertos, {} transiciones en cola", events.size(), queue.size());
+    }
+
+    private static List<Transition> transitionsOf(Event event) {
+        List<Transition> transitions = new ArrayList<>();
+        Instant now = Instant.now();
+
+        if ("UPCOMING".equals(event.getStatus())) {
+            if (!event.isPicksLocked() && event.getPicksDeadline() != null) {
+                transitions.add(new Transition(event.getId(), TransitionType.PICKS_DEADLINE, event.getPicksDeadline().toInstant()));
+            }
+            if (event.getStartDate() != null) {
+                transitions.add(new Transition(event.getId(), TransitionType.START, event.getStartDate().toInstant()));
+            }
+        } else if ("LIVE".equals(event.getStatus()) && !event.isPicksLocked()) {
+            transitions.add(new Transition(event.getId(), TransitionType.PICKS_DEADLINE, now));
+        }
+        return transitions;
+    }
+
+    /**
+     * Arma el temporizador en la primera transición de la cola (un instante pasado se ejecuta ya)
+     */
+    private synchronized void arm() {
+        Transition next = queue.peek();
+        if (next == null) {
+            if (timer != null) {
+                timer.cancel(false);
+                timer = null;
+                timerAt = null;
+            }
+            return;
+        }
+        if (timer != null && next.at().equals(timerAt)) {
+            return;
+        }
+        if (timer != null) {
+            timer.cancel(false);
+        }
+        timerAt = next.at();
+        timer = taskScheduler.schedule(this::fire, next.at());
+    }
+
+    private void fire() {
+        List<Transition> due = new ArrayList<>();
+        synchronized (this) {
+            timer = null;
+            timerAt = null;
+            Instant now = Instant.now();
+            while (!queue.isEmpty() && !queue.peek().at().isAfter(now)) {
+                due.add(queue.poll());
+            }
+        }
+
+        // Sin liderazgo las transiciones se descartan: el líder tiene las suyas y, si esta instancia
+        // lo toma más adelante, recarga la cola desde la base de datos
+        if (leader) {
+            due.forEach(this::execute);
+        }
+        arm();
+    }
+
+    private void execute(Transition transition) {
+        try {
+            Boolean applied = transactionTemplate.execute(status -> switch (transition.type()) {
+                case PICKS_DEADLINE -> lockPicks(transition.eventId());
+                case START -> start(transition.eventId());
+            });
+            if (!Boolean.TRUE.equals(applied)) {
+                // Las fechas pueden haber cambiado en otro nodo: reprogramar con el evento guardado
+                eventRepository.findById(transition.eventId()).ifPresent(event -> reschedule(event, transition));
+            }
+        } catch (Exception e) {
+            logger.error("Error en la transición {} del evento {}: {}", transition.type(), transition.eventId(), e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Reprograma un evento sin volver a encolar la transición que no se ha podido aplicar
+     * (con fechas sin cambios solo puede ser un desfase de reloj con la base de datos: la recoge el refresco periódico)
+     */
+    private void reschedule(Event event, Transition failed) {
+        synchronized (this) {
+            queue.removeIf(transition -> transition.eventId().equals(event.getId()));
+            transitionsOf(event).stream().filter(transition -> !transition.equals(failed)).forEach(queue::add);
+        }
+        arm();
+    }
+
+    /**
+     * @return false si el deadline guardado todavía no ha llegado (los picks ya cerrados cuentan como aplicada)
+     */
+    private boolean lockPicks(Long eventId) {
+        if (eventRepository.markPicksLocked(eventId) == 1) {
+            logger.info("Deadline de picks del evento {} alcanzado", eventId);
+            eventPublisher.publishEvent(new PicksDeadlineReachedEvent(eventId));
+            return true;
+        }
+        return eventRepository.findById(eventId).map(Event::isPicksLocked).orElse(true);
+    }
+
+    /**
+     * @return false si el evento sigue UPCOMING con una hora de inicio futura
+     */
+    private boolean start(Long eventId) {
+        if (eventRepository.startIfDue(eventId) == 0) {
+            return eventRepository.findById(eventId).map(event -> !"UPCOMING".equals(event.getStatus())).orElse(true);
+        }
+        logger.info("Evento {}: UPCOMING -> LIVE", eventId);
+        eventPublisher.publishEvent(new EventStatusChangedEvent(eventId, "UPCOMING", "LIVE"));
+        lockPicks(eventId);
+        return true;
+    }
+
+    private boolean tryAcquireLeadership() {
+        Date now = new Date();
+        Date until = new Date(now.getTime() + leaseMs);
+
+        if (!schedulerLockRepository.existsById(LEADER_LOCK)) {
+            try {
+                transactionTemplate.executeWithoutResult(status ->
+                        schedulerLockRepository.saveAndFlush(new SchedulerLock(LEADER_LOCK, nodeId, until)));
+                return true;
+            } catch (DataIntegrityViolationException e) {
+                // Otra instancia lo ha creado a la vez: se compite por él con el UPDATE
+            }
+        }
+        Integer acquired = transactionTemplate.execute(status -> schedulerLockRepository.acquire(LEADER_LOCK, nodeId, now, until));
+        return acquired != null && acquired == 1;
+    }
+
+    private enum TransitionType {
+        PICKS_DEADLINE, START
+    }
+
+    private record Transition(Long eventId, TransitionType type, Instant at) {
+    }
+}
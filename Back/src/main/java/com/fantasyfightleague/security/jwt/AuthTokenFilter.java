@@ -8,16 +8,18 @@ import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 
+import io.jsonwebtoken.Claims;
+
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.context.SecurityContextHolder;
-import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.web.authentication.WebAuthenticationDetailsSource;
 import org.springframework.util.StringUtils;
 import org.springframework.web.filter.OncePerRequestFilter;
 
+import com.fantasyfightleague.security.services.UserDetailsImpl;
 import com.fantasyfightleague.security.services.UserDetailsServiceImpl;
 import com.fantasyfightleague.service.TokenBlacklistService; // ✅ IMPORTAR
 
@@ -28,6 +30,9 @@ public class AuthTokenFilter extends OncePerRequestFilter {
     @Autowired
     private UserDetailsServiceImpl userDetailsService;
     
+    @Autowired
+    private AuthenticationCache authenticationCache;
+    
     // ✅ INYECTAR TokenBlacklistService
     @Autowired
     private TokenBlacklistService tokenBlacklistService;
@@ -39,26 +44,38 @@ public class AuthTokenFilter extends OncePerRequestFilter {
             throws ServletException, IOException {
         try {
             String jwt = parseJwt(request);
-            if (jwt != null && jwtUtils.validateJwtToken(jwt)) {
+            if (jwt != null) {
+                String tokenHash = JwtUtils.hashToken(jwt);
                 
                 // ✅ VERIFICAR BLACKLIST
-                if (tokenBlacklistService.isTokenBlacklisted(jwt)) {
+                if (tokenBlacklistService.isHashBlacklisted(tokenHash)) {
                     logger.warn("Token blacklisted detectado: {}", jwt.substring(0, Math.min(10, jwt.length())) + "...");
                     filterChain.doFilter(request, response);
                     return;
                 }
                 
-                String username = jwtUtils.getUserNameFromJwtToken(jwt);
-
-                UserDetails userDetails = userDetailsService.loadUserByUsername(username);
-                UsernamePasswordAuthenticationToken authentication =
-                        new UsernamePasswordAuthenticationToken(
-                                userDetails,
-                                null,
-                                userDetails.getAuthorities());
-                authentication.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
+                // Token ya verificado: basta con la búsqueda en la caché
+                UserDetailsImpl userDetails = authenticationCache.get(tokenHash);
+                
+                if (userDetails == null) {
+                    // Verificar el token una sola vez y cargar el usuario
+                    Claims claims = jwtUtils.parseValidClaims(jwt);
+                    if (claims != null) {
+                        userDetails = (UserDetailsImpl) userDetailsService.loadUserByUsername(claims.getSubject());
+                        authenticationCache.put(tokenHash, userDetails, claims.getExpiration());
+                    }
+                }
+                
+                if (userDetails != null) {
+                    UsernamePasswordAuthenticationToken authentication =
+                            new UsernamePasswordAuthenticationToken(
+                                    userDetails,
+                                    null,
+                                    userDetails.getAuthorities());
+                    authentication.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
 
-                SecurityContextHolder.getContext().setAuthentication(authentication);
+                    SecurityContextHolder.getContext().setAuthentication(authentication);
+                }
             }
         } catch (Exception e) {
             logger.error("Cannot set user authentication: {}", e);
@@ -0,0 +1,125 @@
+package com.fantasyfightleague.security.jwt;
+
+import java.util.Date;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import com.fantasyfightleague.security.services.UserDetailsImpl;
+
+/**
+ * Caché de tokens ya verificados.
+ * Guarda, indexado por el hash SHA-256 del token, el usuario cargado para ese token, de forma que
+ * una petición autenticada solo necesita calcular el hash y hacer una búsqueda en memoria.
+ * Cada entrada caduca con el propio token o al cumplir el TTL configurado (lo que ocurra antes),
+ * y la caché tiene un tamaño máximo. Las entradas se invalidan al revocar el token y al modificar el usuario.
+ */
+@Component
+public class AuthenticationCache {
+
+    private static final Logger logger = LoggerFactory.getLogger(AuthenticationCache.class);
+
+    private final Map<String, Entry> entries = new ConcurrentHashMap<>();
+
+    private final int maxSize;
+    private final long ttlMs;
+
+    public AuthenticationCache(@Value("${ffl.security.auth-cache.max-size:10000}") int maxSize,
+                               @Value("${ffl.security.auth-cache.ttl-seconds:300}") long ttlSeconds) {
+        this.maxSize = maxSize;
+        this.ttlMs = ttlSeconds * 1000;
+    }
+
+    /**
+     * Obtiene el usuario asociado a un token verificado previamente
+     * @param tokenHash Hash del token (JwtUtils.hashToken)
+     * @return El usuario, o null si el token no está en caché o su entrada ha caducado
+     */
+    public UserDetailsImpl get(String tokenHash) {
+        Entry entry = entries.get(tokenHash);
+        if (entry == null) {
+            return null;
+        }
+        if (entry.expiresAt <= System.currentTimeMillis()) {
+            entries.remove(tokenHash, entry);
+            return null;
+        }
+        return entry.userDetails;
+    }
+
+    /**
+     * Guarda el usuario de un token recién verificado
+     * @param tokenHash Hash del token (JwtUtils.hashToken)
+     * @param expiration Expiración del token (claim exp)
+     */
+    public void put(String tokenHash, UserDetailsImpl userDetails, Date expiration) {
+        long now = System.currentTimeMillis();
+        long expiresAt = now + ttlMs;
+        if (expiration != null) {
+            expiresAt = Math.min(expiresAt, expiration.getTime());
+        }
+        if (expiresAt <= now) {
+            return;
+        }
+
+        if (entries.size() >= maxSize) {
+            evict(now);
+        }
+        entries.put(tokenHash, new Entry(userDetails, expiresAt));
+    }
+
+    /**
+     * Elimina la entrada de un token (logout o revocación)
+     */
+    public void invalidate(String tokenHash) {
+        entries.remove(tokenHash);
+    }
+
+    /**
+     * Elimina las entradas de un usuario (cambio de roles, contraseña o email verificado)
+     */
+    public void invalidateUser(Long userId) {
+        if (userId == null) {
+            return;
+        }
+        entries.values().removeIf(entry -> userId.equals(entry.userDetails.getId()));
+    }
+
+    /**
+     * Vacía la caché completa
+     */
+    public void clear() {
+        entries.clear();
+    }
+
+    /**
+     * Libera espacio cuando la caché está llena: primero elimina las entradas caducadas y,
+     * si sigue llena, descarta entradas hasta dejar un 10% libre (se volverán a verificar al usarse).
+     */
+    private void evict(long now) {
+        entries.values().removeIf(entry -> entry.expiresAt <= now);
+
+        int target = maxSize - Math.max(1, maxSize / 10);
+        Iterator<String> iterator = entries.keySet().iterator();
+        while (entries.size() > target && iterator.hasNext()) {
+            iterator.next();
+            iterator.remove();
+        }
+        logger.debug("Caché de autenticación compactada: {} entradas", entries.size());
+    }
+
+    private static final class Entry {
+        private final UserDetailsImpl userDetails;
+        private final long expiresAt;
+
+        private Entry(UserDetailsImpl userDetails, long expiresAt) {
+            this.userDetails = userDetails;
+            this.expiresAt = expiresAt;
+        }
+    }
+}
@@ -1,6 +1,7 @@
 package com.fantasyfightleague.security.jwt;
 
 import java.util.Date;
+import java.util.HexFormat;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -12,8 +13,12 @@ import io.jsonwebtoken.*;
 import io.jsonwebtoken.security.Keys;
 import io.jsonwebtoken.security.SignatureException;
 
+import jakarta.annotation.PostConstruct;
+
 import javax.crypto.SecretKey;
 import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
 
 import com.fantasyfightleague.security.services.UserDetailsImpl;
 
@@ -27,10 +32,20 @@ public class JwtUtils {
     @Value("${ffl.app.jwtExpirationMs}")
     private int jwtExpirationMs;
 
+    // Clave y parser construidos una sola vez (son inmutables y thread-safe)
+    private SecretKey key;
+    private JwtParser parser;
+
+    @PostConstruct
+    public void init() {
+        key = Keys.hmacShaKeyFor(jwtSecret.getBytes(StandardCharsets.UTF_8));
+        parser = Jwts.parserBuilder()
+                .setSigningKey(key)
+                .build();
+    }
+
     public String generateJwtToken(Authentication authentication) {
         UserDetailsImpl userPrincipal = (UserDetailsImpl) authentication.getPrincipal();
-        
-        SecretKey key = Keys.hmacShaKeyFor(jwtSecret.getBytes(StandardCharsets.UTF_8));
 
         return Jwts.builder()
                 .setSubject((userPrincipal.getUsername()))
@@ -41,26 +56,23 @@ public class JwtUtils {
     }
 
     public String getUserNameFromJwtToken(String token) {
-        SecretKey key = Keys.hmacShaKeyFor(jwtSecret.getBytes(StandardCharsets.UTF_8));
-        
-        return Jwts.parserBuilder()
-                .setSigningKey(key)
-                .build()
-                .parseClaimsJws(token)
+        return parser.parseClaimsJws(token)
                 .getBody()
                 .getSubject();
     }
 
     public boolean validateJwtToken(String authToken) {
+        return parseValidClaims(authToken) != null;
+    }
+
+    /**
+     * Verifica el token y devuelve sus claims en una sola pasada
+     * @param authToken Token JWT
+     * @return Claims del token, o null si el token no es válido
+     */
+    public Claims parseValidClaims(String authToken) {
         try {
-            SecretKey key = Keys.hmacShaKeyFor(jwtSecret.getBytes(StandardCharsets.UTF_8));
-            
-            Jwts.parserBuilder()
-                .setSigningKey(key)
-                .build()
-                .parseClaimsJws(authToken);
-                
-            return true;
+            return parser.parseClaimsJws(authToken).getBody();
         } catch (SignatureException e) {
             logger.error("Invalid JWT signature: {}", e.getMessage());
         } catch (MalformedJwtException e) {
@@ -73,6 +85,31 @@ public class JwtUtils {
             logger.error("JWT claims string is empty: {}", e.getMessage());
         }
 
-        return false;
+        return null;
+    }
+
+    /**
+     * Expiración de un token válido, sin registrar errores (se usa al revocar tokens)
+     * @return Fecha de expiración, o null si el token no es válido o ya ha expirado
+     */
+    public Date getExpirationDate(String token) {
+        try {
+            return parser.parseClaimsJws(token).getBody().getExpiration();
+        } catch (JwtException | IllegalArgumentException e) {
+            logger.debug("Token no revocable: {}", e.getMessage());
+            return null;
+        }
+    }
+
+    /**
+     * Hash SHA-256 (hexadecimal) de un token, para indexarlo sin guardar el token completo
+     */
+    public static String hashToken(String token) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(digest.digest(token.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 no disponible", e);
+        }
     }
-}
\ No newline at end of file
+}
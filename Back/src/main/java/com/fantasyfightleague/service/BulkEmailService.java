@@ -0,0 +1,147 @@
+package com.fantasyfightleague.service;
+
+import com.fantasyfightleague.dto.EmailRecipientDTO;
+import com.fantasyfightleague.model.League;
+import com.fantasyfightleague.repository.EmailOutboxJdbcRepository;
+import com.fantasyfightleague.repository.LeagueRepository;
+import com.fantasyfightleague.repository.UserRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+
+/**
+ * Envíos masivos de una plantilla de email (p. ej. avisar a los miembros de una liga de que hay resultados).
+ * Los destinatarios se leen por páginas (paginación por ID, solo ID, usuario y email), cada página se
+ * renderiza con la plantilla ya compilada y se encola en email_outbox con un único batch; el envío real
+ * lo hace EmailOutboxService en segundo plano.
+ */
+@Service
+public class BulkEmailService {
+
+    private static final Logger logger = LoggerFactory.getLogger(BulkEmailService.class);
+
+    // Claves que se rellenan por destinatario
+    private static final Set<String> RECIPIENT_KEYS = Set.of("username", "email");
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private LeagueRepository leagueRepository;
+
+    @Autowired
+    private EmailTemplateService emailTemplateService;
+
+    @Autowired
+    private EmailOutboxJdbcRepository emailOutboxJdbcRepository;
+
+    @Value("${ffl.email.bulk.page-size:1000}")
+    private int pageSize;
+
+    @Value("${app.baseUrlMessage}")
+    private String baseUrl;
+
+    /**
+     * Encola una plantilla para todos los miembros de una liga con email confirmado
+     * @param values Valores comunes; leagueId, leagueName y appUrl se añaden automáticamente
+     * @return Número de emails encolados
+     */
+    public int sendToLeagueMembers(Long leagueId, String template, Map<String, String> values) {
+        League league = leagueRepository.findById(leagueId)
+                .orElseThrow(() -> new RuntimeException("Liga no encontrada"));
+
+        Map<String, String> common = commonValues(values);
+        common.put("leagueId", String.valueOf(league.getId()));
+        common.put("leagueName", league.getName());
+
+        return send(template, common, (afterId, page) -> userRepository.findLeagueEmailRecipients(leagueId, afterId, page),
+                    "liga " + leagueId);
+    }
+
+    /**
+     * Encola una plantilla para todos los usuarios con email confirmado
+     * @param values Valores comunes; appUrl se añade automáticamente
+     * @return Número de emails encolados
+     */
+    public int sendToAllUsers(String template, Map<String, String> values) {
+        return send(template, commonValues(values), userRepository::findEmailRecipients, "todos los usuarios");
+    }
+
+    private int send(String template, Map<String, String> common, RecipientPager pager, String audience) {
+        checkValues(template, common);
+        long start = System.currentTimeMillis();
+
+        // Un solo mapa por envío: los valores comunes no cambian y los del destinatario se sobrescriben
+        Map<String, String> values = new HashMap<>(common);
+        List<Object[]> rows = new ArrayList<>(pageSize);
+        Long afterId = 0L;
+        int total = 0;
+
+        while (true) {
+            List<EmailRecipientDTO> recipients = pager.next(afterId, PageRequest.of(0, pageSize));
+            if (recipients.isEmpty()) {
+                break;
+            }
+            for (EmailRecipientDTO recipient : recipients) {
+                values.put("username", recipient.username());
+                values.put("email", recipient.email());
+                RenderedEmail email = emailTemplateService.render(template, values);
+                rows.add(new Object[] { recipient.email(), null, email.subject(), email.body(), email.html() });
+            }
+            emailOutboxJdbcRepository.insertPending(rows);
+            total += rows.size();
+            rows.clear();
+
+            afterId = recipients.get(recipients.size() - 1).userId();
+            if (recipients.size() < pageSize) {
+                break;
+            }
+        }
+
+        logger.info("Envío masivo de la plantilla {} a {}: {} emails encolados en {} ms",
+                   template, audience, total, System.currentTimeMillis() - start);
+        return total;
+    }
+
+    private Map<String, String> commonValues(Map<String, String> values) {
+        Map<String, String> common = new HashMap<>();
+        if (values != null) {
+            common.putAll(values);
+        }
+        common.put("appUrl", baseUrl);
+        return common;
+    }
+
+    /**
+     * Comprueba antes de encolar nada que la plantilla existe y que se han indicado todos sus valores
+     */
+    private void checkValues(String template, Map<String, String> common) {
+        if (template == null || !emailTemplateService.exists(template)) {
+            throw new RuntimeException("Plantilla de email no encontrada: " + template);
+        }
+        Set<String> missing = new TreeSet<>(emailTemplateService.getKeys(template));
+        missing.removeAll(common.keySet());
+        missing.removeAll(RECIPIENT_KEYS);
+        if (!missing.isEmpty()) {
+            throw new RuntimeException("Faltan valores para la plantilla " + template + ": " + String.join(", ", missing));
+        }
+    }
+
+    /**
+     * Siguiente página de destinatarios con ID mayor que afterId
+     */
+    @FunctionalInterface
+    private interface RecipientPager {
+        List<EmailRecipientDTO> next(Long afterId, PageRequest page);
+    }
+}
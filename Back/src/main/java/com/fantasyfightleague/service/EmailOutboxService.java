@@ -0,0 +1,296 @@
+package com.fantasyfightleague.service;
+
+import com.fantasyfightleague.dto.EmailOutboxStatsDTO;
+import com.fantasyfightleague.model.EmailOutbox;
+import com.fantasyfightleague.repository.EmailOutboxRepository;
+import jakarta.mail.MessagingException;
+import jakarta.mail.internet.MimeMessage;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.mail.MailException;
+import org.springframework.mail.MailSendException;
+import org.springframework.mail.javamail.JavaMailSender;
+import org.springframework.mail.javamail.MimeMessageHelper;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Cola persistente de emails salientes (tabla email_outbox).
+ * Los servicios llaman a enqueue, que solo inserta la fila (en la transacción del llamante, si la hay),
+ * y la petición responde sin esperar al servidor SMTP. Un proceso programado reserva lotes de emails
+ * con SELECT ... FOR UPDATE SKIP LOCKED (varias instancias no se reparten el mismo email), los envía
+ * por una sola conexión SMTP por lote y reintenta los fallidos con espera exponencial.
+ */
+@Service
+public class EmailOutboxService {
+    
+    private static final Logger logger = LoggerFactory.getLogger(EmailOutboxService.class);
+    
+    // Longitud máxima del error guardado en last_error
+    private static final int MAX_ERROR_LENGTH = 1000;
+    
+    @Autowired
+    private EmailOutboxRepository outboxRepository;
+    
+    @Autowired
+    private JavaMailSender mailSender;
+    
+    private final TransactionTemplate transactionTemplate;
+    private final int batchSize;
+    private final int maxAttempts;
+    private final long initialBackoffMs;
+    private final long maxBackoffMs;
+    private final long lockMs;
+    private final int retentionDays;
+    
+    private final LongAdder sentSinceStartup = new LongAdder();
+    private final LongAdder failedAttemptsSinceStartup = new LongAdder();
+    
+    public EmailOutboxService(PlatformTransactionManager transactionManager,
+                              @Value("${ffl.email.outbox.batch-size:50}") int batchSize,
+                              @Value("${ffl.email.outbox.max-attempts:8}") int maxAttempts,
+                              @Value("${ffl.email.outbox.initial-backoff-ms:30000}") long initialBackoffMs,
+                              @Value("${ffl.email.outbox.max-backoff-ms:3600000}") long maxBackoffMs,
+                              @Value("${ffl.email.outbox.lock-ms:300000}") long lockMs,
+                              @Value("${ffl.email.outbox.retention-days:7}") int retentionDays) {
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.batchSize = Math.max(1, batchSize);
+        this.maxAttempts = Math.max(1, maxAttempts);
+        this.initialBackoffMs = initialBackoffMs;
+        this.maxBackoffMs = maxBackoffMs;
+        this.lockMs = lockMs;
+        this.retentionDays = retentionDays;
+    }
+    
+    /**
+     * Encola un email de texto plano o HTML
+     * @return Email encolado
+     */
+    public EmailOutbox enqueue(String to, String subject, String body, boolean html) {
+        return enqueue(to, null, subject, body, html);
+    }
+    
+    /**
+     * Encola un email con dirección de respuesta
+     * @return Email encolado
+     */
+    public EmailOutbox enqueue(String to, String replyTo, String subject, String body, boolean html) {
+        if (to == null || to.trim().isEmpty()) {
+            throw new RuntimeException("El email de destino es obligatorio");
+        }
+        EmailOutbox email = outboxRepository.save(new EmailOutbox(to, replyTo, subject, body, html));
+        logger.debug("Email {} encolado para {}", email.getId(), to);
+        return email;
+    }
+    
+    /**
+     * Encola un email renderizado desde una plantilla
+     * @return Email encolado
+     */
+    public EmailOutbox enqueue(String to, RenderedEmail email) {
+        return enqueue(to, null, email);
+    }
+    
+    /**
+     * Encola un email renderizado desde una plantilla, con dirección de respuesta
+     * @return Email encolado
+     */
+    public EmailOutbox enqueue(String to, String replyTo, RenderedEmail email) {
+        return enqueue(to, replyTo, email.subject(), email.body(), email.html());
+    }
+    
+    /**
+     * Envía los emails pendientes, lote a lote, hasta vaciar la cola de los que ya pueden enviarse
+     */
+    @Scheduled(fixedDelayString = "${ffl.email.outbox.dispatch-interval-ms:2000}")
+    public void dispatch() {
+        transactionTemplate.executeWithoutResult(status -> {
+            int released = outboxRepository.releaseExpiredLocks(new Date());
+            if (released > 0) {
+                logger.warn("{} emails con envío interrumpido devueltos a la cola", released);
+            }
+        });
+        
+        int dispatched;
+        do {
+            dispatched = dispatchBatch();
+        } while (dispatched == batchSize);
+    }
+    
+    /**
+     * Reserva y envía un lote de emails
+     * @return Número de emails reservados en el lote
+     */
+    public int dispatchBatch() {
+        List<EmailOutbox> batch = transactionTemplate.execute(status -> claimBatch());
+        if (batch == null || batch.isEmpty()) {
+            return 0;
+        }
+        
+        Map<Long, String> failures = send(batch);
+        List<Long> sentIds = new ArrayList<>();
+        for (EmailOutbox email : batch) {
+            if (!failures.containsKey(email.getId())) {
+                sentIds.add(email.getId());
+            }
+        }
+        
+        Date now = new Date();
+        transactionTemplate.executeWithoutResult(status -> {
+            if (!sentIds.isEmpty()) {
+                outboxRepository.markSent(sentIds, now);
+            }
+            for (EmailOutbox email : batch) {
+                String error = failures.get(email.getId());
+                if (error != null) {
+                    recordFailure(email, error, now);
+                }
+            }
+        });
+        
+        sentSinceStartup.add(sentIds.size());
+        failedAttemptsSinceStartup.add(failures.size());
+        if (failures.isEmpty()) {
+            logger.debug("Lote de emails enviado: {}", sentIds.size());
+        } else {
+            logger.warn("Lote de emails: {} enviados, {} fallidos", sentIds.size(), failures.size());
+        }
+        return batch.size();
+    }
+    
+    /**
+     * Borra los emails enviados hace más de los días de retención
+     */
+    @Scheduled(cron = "${ffl.email.outbox.cleanup-cron:0 30 4 * * *}")
+    public void purgeSent() {
+        Date before = new Date(System.currentTimeMillis() - TimeUnit.DAYS.toMillis(retentionDays));
+        Integer deleted = transactionTemplate.execute(status -> outboxRepository.deleteSentBefore(before));
+        if (deleted != null && deleted > 0) {
+            logger.info("{} emails enviados eliminados de la cola", deleted);
+        }
+    }
+    
+    /**
+     * Vuelve a encolar los emails que agotaron los reintentos
+     * @return Número de emails encolados de nuevo
+     */
+    public int requeueFailed() {
+        Integer requeued = transactionTemplate.execute(status -> outboxRepository.requeueFailed(new Date()));
+        return requeued != null ? requeued : 0;
+    }
+    
+    /**
+     * Tamaño de la cola por estado y contadores de esta instancia
+     */
+    public EmailOutboxStatsDTO getStats() {
+        Map<String, Long> byStatus = new HashMap<>();
+        for (Object[] row : outboxRepository.countByStatus()) {
+            byStatus.put((String) row[0], ((Number) row[1]).longValue());
+        }
+        return new EmailOutboxStatsDTO(
+                byStatus.getOrDefault("PENDING", 0L),
+                byStatus.getOrDefault("SENDING", 0L),
+                byStatus.getOrDefault("SENT", 0L),
+                byStatus.getOrDefault("FAILED", 0L),
+                outboxRepository.findOldestPendingCreatedAt(),
+                sentSinceStartup.sum(),
+                failedAttemptsSinceStartup.sum());
+    }
+    
+    private List<EmailOutbox> claimBatch() {
+        List<Long> ids = outboxRepository.lockDispatchableIds(new Date(), batchSize);
+        if (ids.isEmpty()) {
+            return List.of();
+        }
+        outboxRepository.markSending(ids, new Date(System.currentTimeMillis() + lockMs));
+        return outboxRepository.findAllById(ids);
+    }
+    
+    /**
+     * Envía el lote por una sola conexión SMTP
+     * @return Error de cada email que no se pudo enviar, por ID
+     */
+    private Map<Long, String> send(List<EmailOutbox> batch) {
+        Map<Long, String> failures = new HashMap<>();
+        Map<MimeMessage, Long> idsByMessage = new IdentityHashMap<>();
+        List<MimeMessage> messages = new ArrayList<>(batch.size());
+        
+        for (EmailOutbox email : batch) {
+            try {
+                MimeMessage message = toMimeMessage(email);
+                idsByMessage.put(message, email.getId());
+                messages.add(message);
+            } catch (MessagingException e) {
+                failures.put(email.getId(), "Email mal formado: " + e.getMessage());
+            }
+        }
+        if (messages.isEmpty()) {
+            return failures;
+        }
+        
+        try {
+            mailSender.send(messages.toArray(new MimeMessage[0]));
+        } catch (MailSendException e) {
+            // Solo fallan los mensajes indicados; si no se indica ninguno, falla el lote completo
+            Map<Object, Exception> failedMessages = e.getFailedMessages();
+            if (failedMessages.isEmpty()) {
+                idsByMessage.values().forEach(id -> failures.put(id, e.getMessage()));
+            }
+            failedMessages.forEach((message, cause) -> {
+                Long id = idsByMessage.get(message);
+                if (id != null) {
+                    failures.put(id, cause.getMessage());
+                }
+            });
+        } catch (MailException e) {
+            idsByMessage.values().forEach(id -> failures.put(id, e.getMessage()));
+        }
+        return failures;
+    }
+    
+    private MimeMessage toMimeMessage(EmailOutbox email) throws MessagingException {
+        MimeMessage message = mailSender.createMimeMessage();
+        MimeMessageHelper helper = new MimeMessageHelper(message, email.isHtml(), "UTF-8");
+        helper.setTo(email.getRecipient());
+        if (email.getReplyTo() != null) {
+            helper.setReplyTo(email.getReplyTo());
+        }
+        helper.setSubject(email.getSubject());
+        helper.setText(email.getBody(), email.isHtml());
+        return message;
+    }
+    
+    private void recordFailure(EmailOutbox email, String error, Date now) {
+        int attempts = email.getAttempts() + 1;
+        String message = error != null && error.length() > MAX_ERROR_LENGTH ? error.substring(0, MAX_ERROR_LENGTH) : error;
+        
+        if (attempts >= maxAttempts) {
+            outboxRepository.markAttemptFailed(email.getId(), "FAILED", now, message);
+            logger.error("Email {} para {} descartado tras {} intentos: {}", email.getId(), email.getRecipient(), attempts, error);
+        } else {
+            Date nextAttemptAt = new Date(now.getTime() + backoff(attempts));
+            outboxRepository.markAttemptFailed(email.getId(), "PENDING", nextAttemptAt, message);
+        }
+    }
+    
+    /**
+     * Espera antes del siguiente intento: se duplica en cada fallo hasta el máximo configurado
+     */
+    private long backoff(int attempts) {
+        long delay = initialBackoffMs << Math.min(attempts - 1, 20);
+        return Math.min(delay, maxBackoffMs);
+    }
+}
@@ -0,0 +1,136 @@
+package com.fantasyfightleague.service;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Plantilla de email compilada.
+ * El texto se trocea una sola vez en fragmentos estáticos y huecos {{clave}}; renderizar solo copia los
+ * fragmentos y los valores de cada destinatario en un StringBuilder reutilizado por hilo, sin volver a
+ * analizar la plantilla. En las plantillas HTML los valores se escapan.
+ */
+public final class EmailTemplate {
+
+    // Por encima de esta capacidad el buffer no se reutiliza, para no retener memoria tras un email grande
+    private static final int MAX_POOLED_CAPACITY = 64 * 1024;
+
+    private static final ThreadLocal<StringBuilder> BUFFERS = ThreadLocal.withInitial(() -> new StringBuilder(4096));
+
+    private final String name;
+    private final boolean html;
+    // fragments[i] va antes de keys[i]; el último fragmento cierra la plantilla
+    private final String[] fragments;
+    private final String[] keys;
+    private final int staticLength;
+
+    private EmailTemplate(String name, boolean html, String[] fragments, String[] keys) {
+        this.name = name;
+        this.html = html;
+        this.fragments = fragments;
+        this.keys = keys;
+        int length = 0;
+        for (String fragment : fragments) {
+            length += fragment.length();
+        }
+        this.staticLength = length;
+    }
+
+    /**
+     * Compila el texto de una plantilla
+     * @param name Nombre (para los mensajes de error)
+     * @param source Texto con huecos {{clave}}
+     * @param html Si los valores deben escaparse como HTML
+     */
+    public static EmailTemplate compile(String name, String source, boolean html) {
+        List<String> fragments = new ArrayList<>();
+        List<String> keys = new ArrayList<>();
+        int from = 0;
+
+        while (true) {
+            int open = source.indexOf("{{", from);
+            if (open < 0) {
+                fragments.add(source.substring(from));
+                break;
+            }
+            int close = source.indexOf("}}", open + 2);
+            if (close < 0) {
+                throw new RuntimeException("Plantilla de email " + name + ": '{{' sin cerrar en la posición " + open);
+            }
+            String key = source.substring(open + 2, close).trim();
+            if (!key.matches("[A-Za-z][A-Za-z0-9_]*")) {
+                throw new RuntimeException("Plantilla de email " + name + ": clave no válida '" + key + "'");
+            }
+            fragments.add(source.substring(from, open));
+            keys.add(key);
+            from = close + 2;
+        }
+
+        return new EmailTemplate(name, html, fragments.toArray(new String[0]), keys.toArray(new String[0]));
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public boolean isHtml() {
+        return html;
+    }
+
+    /**
+     * Claves que usa la plantilla
+     */
+    public Set<String> getKeys() {
+        Set<String> result = new LinkedHashSet<>();
+        Collections.addAll(result, keys);
+        return result;
+    }
+
+    /**
+     * Renderiza la plantilla con los valores de un destinatario
+     * @param values Valor de cada clave (todas obligatorias)
+     */
+    public String render(Map<String, ?> values) {
+        StringBuilder out = BUFFERS.get();
+        out.setLength(0);
+        out.ensureCapacity(staticLength + keys.length * 32);
+
+        try {
+            for (int i = 0; i < keys.length; i++) {
+                out.append(fragments[i]);
+                Object value = values.get(keys[i]);
+                if (value == null) {
+                    throw new RuntimeException("Falta el valor '" + keys[i] + "' de la plantilla de email " + name);
+                }
+                if (html) {
+                    appendEscaped(out, value.toString());
+                } else {
+                    out.append(value);
+                }
+            }
+            out.append(fragments[keys.length]);
+            return out.toString();
+        } finally {
+            if (out.capacity() > MAX_POOLED_CAPACITY) {
+                BUFFERS.remove();
+            }
+        }
+    }
+
+    private static void appendEscaped(StringBuilder out, String value) {
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            switch (c) {
+                case '&' -> out.append("&amp;");
+                case '<' -> out.append("&lt;");
+                case '>' -> out.append("&gt;");
+                case '"' -> out.append("&quot;");
+                case '\'' -> out.append("&#39;");
+                default -> out.append(c);
+            }
+        }
+    }
+}
@@ -0,0 +1,103 @@
+package com.fantasyfightleague.service;
+
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.core.io.Resource;
+import org.springframework.core.io.support.PathMatchingResourcePatternResolver;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Plantillas de email (classpath:templates/email).
+ * Cada fichero es una plantilla: la primera línea es "subject: ..." y, tras una línea en blanco, el cuerpo;
+ * la extensión indica el formato (.html o .txt). Todas se compilan al arrancar, de modo que una plantilla
+ * mal formada impide el arranque en lugar de fallar al enviar.
+ */
+@Service
+public class EmailTemplateService {
+
+    private static final Logger logger = LoggerFactory.getLogger(EmailTemplateService.class);
+
+    private static final String TEMPLATE_LOCATION = "classpath*:templates/email/*.*";
+    private static final String SUBJECT_PREFIX = "subject:";
+
+    private final Map<String, CompiledEmail> templates = new HashMap<>();
+
+    @PostConstruct
+    public void loadTemplates() throws IOException {
+        Resource[] resources = new PathMatchingResourcePatternResolver().getResources(TEMPLATE_LOCATION);
+        for (Resource resource : resources) {
+            String filename = resource.getFilename();
+            if (filename == null || !(filename.endsWith(".html") || filename.endsWith(".txt"))) {
+                continue;
+            }
+            String name = filename.substring(0, filename.lastIndexOf('.'));
+            String source;
+            try (InputStream in = resource.getInputStream()) {
+                source = new String(in.readAllBytes(), StandardCharsets.UTF_8);
+            }
+            templates.put(name, compile(name, source, filename.endsWith(".html")));
+        }
+        logger.info("Plantillas de email compiladas: {}", templates.keySet());
+    }
+
+    /**
+     * Renderiza una plantilla
+     * @param name Nombre de la plantilla (fichero sin extensión)
+     * @param values Valor de cada clave de la plantilla
+     */
+    public RenderedEmail render(String name, Map<String, ?> values) {
+        CompiledEmail template = get(name);
+        return new RenderedEmail(template.subject().render(values), template.body().render(values), template.body().isHtml());
+    }
+
+    /**
+     * Indica si existe una plantilla
+     */
+    public boolean exists(String name) {
+        return templates.containsKey(name);
+    }
+
+    /**
+     * Claves que usa una plantilla (asunto y cuerpo)
+     */
+    public Set<String> getKeys(String name) {
+        CompiledEmail template = get(name);
+        Set<String> keys = template.subject().getKeys();
+        keys.addAll(template.body().getKeys());
+        return keys;
+    }
+
+    private CompiledEmail get(String name) {
+        CompiledEmail template = templates.get(name);
+        if (template == null) {
+            throw new RuntimeException("Plantilla de email no encontrada: " + name);
+        }
+        return template;
+    }
+
+    private static CompiledEmail compile(String name, String source, boolean html) {
+        String text = source.replace("\r\n", "\n");
+        int endOfSubject = text.indexOf('\n');
+        if (!text.startsWith(SUBJECT_PREFIX) || endOfSubject < 0) {
+            throw new RuntimeException("Plantilla de email " + name + ": la primera línea debe ser 'subject: ...'");
+        }
+        String subject = text.substring(SUBJECT_PREFIX.length(), endOfSubject).trim();
+        String body = text.substring(endOfSubject + 1);
+        if (body.startsWith("\n")) {
+            body = body.substring(1);
+        }
+        return new CompiledEmail(EmailTemplate.compile(name + " (asunto)", subject, false),
+                                 EmailTemplate.compile(name, body, html));
+    }
+
+    private record CompiledEmail(EmailTemplate subject, EmailTemplate body) {
+    }
+}
@@ -1,16 +1,13 @@
 // Actualizar: src/main/java/com/fantasyfightleague/service/EmailVerificationService.java
 package com.fantasyfightleague.service;
 
+import java.util.Map;
 import java.util.UUID;
 
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
-import org.springframework.mail.SimpleMailMessage;
-import org.springframework.mail.javamail.JavaMailSender;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
-import jakarta.mail.internet.MimeMessage;
-import org.springframework.mail.javamail.MimeMessageHelper;
 
 import com.fantasyfightleague.model.User;
 import com.fantasyfightleague.model.VerificationToken;
@@ -20,7 +17,10 @@ import com.fantasyfightleague.repository.VerificationTokenRepository;
 public class EmailVerificationService {
 
     @Autowired
-    private JavaMailSender mailSender;
+    private EmailOutboxService emailOutboxService;
+
+    @Autowired
+    private EmailTemplateService emailTemplateService;
     
     @Autowired
     private VerificationTokenRepository tokenRepository;
@@ -51,25 +51,9 @@ public class EmailVerificationService {
 //        
 //        mailSender.send(email);
         
-        try {
-            MimeMessage message = mailSender.createMimeMessage();
-            MimeMessageHelper helper = new MimeMessageHelper(message, true, "UTF-8");
-
-            helper.setTo(user.getEmail());
-            helper.setSubject("Fantasy Fight League - Confirmación de Email");
-
-            String htmlContent = "<p>Hola <strong>" + user.getUsername() + "</strong>,</p>"
-                    + "<p>¡Gracias por registrarte en Fantasy Fight League! Por favor, confirma tu dirección de correo electrónico haciendo clic en el siguiente enlace:</p>"
-                    + "<p><a href=\"" + confirmationUrl + "\">Confirmar mi correo electrónico</a></p>"
-                    + "<p>Si no te has registrado en nuestra plataforma, por favor ignora este correo.</p>"
-                    + "<p>Saludos,<br>El equipo de Fantasy Fight League</p>";
-
-            helper.setText(htmlContent, true); // true para HTML
-
-            mailSender.send(message);
-        } catch (Exception e) {
-            System.out.println("Error enviando correo: " + e.getMessage());
-        }
+        // Se envía en segundo plano desde la cola de emails
+        emailOutboxService.enqueue(user.getEmail(), emailTemplateService.render("verification",
+                Map.of("username", user.getUsername(), "confirmationUrl", confirmationUrl)));
     }
     
     @Transactional
@@ -98,45 +82,14 @@ public class EmailVerificationService {
 //        
 //        mailSender.send(email);
         
-        try {
-            MimeMessage message = mailSender.createMimeMessage();
-            MimeMessageHelper helper = new MimeMessageHelper(message, true, "UTF-8");
-
-            helper.setTo(user.getEmail()); // Solo se envía al nuevo email
-            helper.setSubject("Fantasy Fight League - Confirmación de Cambio de Email");
-
-            String htmlContent = "<p>Hola <strong>" + user.getUsername() + "</strong>,</p>"
-                    + "<p>Hemos recibido una solicitud para cambiar tu dirección de correo electrónico.</p>"
-                    + "<p>Email anterior: <strong>" + oldEmail + "</strong><br>"
-                    + "Nuevo email: <strong>" + user.getEmail() + "</strong></p>"
-                    + "<p>Para confirmar este cambio, haz clic en el siguiente enlace:</p>"
-                    + "<p><a href=\"" + confirmationUrl + "\">Confirmar cambio de correo electrónico</a></p>"
-                    + "<p>Si no has solicitado este cambio, contacta inmediatamente con nuestro soporte.</p>"
-                    + "<p>Saludos,<br>El equipo de Fantasy Fight League</p>";
-
-            helper.setText(htmlContent, true); // `true` para HTML
-
-            mailSender.send(message);
-        } catch (Exception e) {
-            System.out.println("Error enviando correo de verificación de cambio de email: " + e.getMessage());
-        }
+        // Solo se envía al nuevo email
+        emailOutboxService.enqueue(user.getEmail(), emailTemplateService.render("email-change",
+                Map.of("username", user.getUsername(), "oldEmail", oldEmail,
+                       "newEmail", user.getEmail(), "confirmationUrl", confirmationUrl)));
         
-        // Opcional: Enviar notificación al email anterior
-        try {
-            SimpleMailMessage notificationEmail = new SimpleMailMessage();
-            notificationEmail.setTo(oldEmail);
-            notificationEmail.setSubject("Fantasy Fight League - Cambio de Email Solicitado");
-            notificationEmail.setText("Hola " + user.getUsername() + ",\n\n"
-                    + "Se ha solicitado un cambio de email para tu cuenta.\n\n"
-                    + "Nuevo email: " + user.getEmail() + "\n\n"
-                    + "Si no has sido tú, contacta inmediatamente con nuestro soporte.\n\n"
-                    + "Saludos,\nEl equipo de Fantasy Fight League");
-            
-            mailSender.send(notificationEmail);
-        } catch (Exception e) {
-            // Si falla el envío al email anterior, continuar sin error
-            System.out.println("No se pudo enviar notificación al email anterior: " + e.getMessage());
-        }
+        // Notificación al email anterior
+        emailOutboxService.enqueue(oldEmail, emailTemplateService.render("email-change-notice",
+                Map.of("username", user.getUsername(), "newEmail", user.getEmail())));
     }
     
     /**
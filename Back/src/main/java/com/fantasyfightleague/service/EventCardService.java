@@ -0,0 +1,217 @@
+package com.fantasyfightleague.service;
+
+import com.fantasyfightleague.dto.CreateFightDTO;
+import com.fantasyfightleague.model.Event;
+import com.fantasyfightleague.model.Fight;
+import com.fantasyfightleague.model.Fighter;
+import com.fantasyfightleague.repository.EventRepository;
+import com.fantasyfightleague.repository.FightRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Cartelera de los eventos: una fila en fights por combate, con sus dos luchadores.
+ * Los IDs de los luchadores de cada evento se cachean en un Set inmutable, de forma que comprobar si un
+ * luchador participa (al guardar un pick o un resultado) no carga entidades ni la colección del evento.
+ * La caché se invalida tras el commit al añadir peleas y cada entrada caduca al cumplir el TTL, de forma
+ * que las peleas añadidas desde otro nodo se ven como mucho tras el TTL. Las carteleras vacías no se cachean
+ * (se consultan hasta que tengan peleas). Los eventos creados antes de la cartelera, sin peleas, siguen
+ * resolviéndose con su lista de luchadores (event_fighters).
+ */
+@Service
+public class EventCardService {
+
+    private static final Logger logger = LoggerFactory.getLogger(EventCardService.class);
+
+    private final Map<Long, Entry> fighterIdsByEvent = new ConcurrentHashMap<>();
+
+    @Autowired
+    private FightRepository fightRepository;
+
+    @Autowired
+    private EventRepository eventRepository;
+
+    @Autowired
+    private FighterService fighterService;
+
+    @Value("${ffl.events.card-cache.max-events:500}")
+    private int maxEvents;
+
+    @Value("${ffl.events.card-cache.ttl-seconds:60}")
+    private long ttlSeconds;
+
+    /**
+     * IDs de los luchadores de la cartelera de un evento
+     */
+    public Set<Long> getFighterIds(Long eventId) {
+        long now = System.currentTimeMillis();
+        Entry entry = fighterIdsByEvent.get(eventId);
+        if (entry != null && entry.expiresAt > now) {
+            return entry.fighterIds;
+        }
+        if (fighterIdsByEvent.size() >= maxEvents) {
+            fighterIdsByEvent.values().removeIf(expired -> expired.expiresAt <= now);
+        }
+
+        Set<Long> fighterIds = load(eventId);
+        if (fighterIds.isEmpty() || fighterIdsByEvent.size() >= maxEvents) {
+            fighterIdsByEvent.remove(eventId);
+            return fighterIds;
+        }
+        fighterIdsByEvent.put(eventId, new Entry(fighterIds, now + ttlSeconds * 1000));
+        return fighterIds;
+    }
+
+    /**
+     * Indica si un luchador participa en un evento
+     */
+    public boolean isOnCard(Long eventId, Long fighterId) {
+        return fighterId != null && getFighterIds(eventId).contains(fighterId);
+    }
+
+    /**
+     * Luchadores de la cartelera de un evento
+     */
+    public List<Fighter> getFighters(Long eventId) {
+        Set<Long> fighterIds = getFighterIds(eventId);
+        return fighterIds.isEmpty() ? List.of() : fighterService.findAllByIds(fighterIds);
+    }
+
+    /**
+     * Peleas de un evento, con sus luchadores
+     */
+    public List<Fight> getCard(Long eventId) {
+        return fightRepository.findCardByEventId(eventId);
+    }
+
+    /**
+     * Valida una cartelera y resuelve sus luchadores, sin guardarla (así se puede validar antes de crear el evento)
+     * @return Peleas sin evento asignado
+     */
+    public List<Fight> buildCard(List<CreateFightDTO> fights) {
+        Set<Long> requestedIds = new HashSet<>();
+        for (CreateFightDTO fight : fights) {
+            if (fight.getFighter1Id() == null || fight.getFighter2Id() == null) {
+                throw new RuntimeException("Cada pelea necesita dos luchadores");
+            }
+            if (fight.getFighter1Id().equals(fight.getFighter2Id())) {
+                throw new RuntimeException("Un luchador no puede pelear contra sí mismo: " + fight.getFighter1Id());
+            }
+            for (Long fighterId : List.of(fight.getFighter1Id(), fight.getFighter2Id())) {
+                if (!requestedIds.add(fighterId)) {
+                    throw new RuntimeException("El luchador " + fighterId + " aparece en más de una pelea");
+                }
+            }
+        }
+
+        Map<Long, Fighter> fightersById = fighterService.findAllByIds(requestedIds).stream()
+                .collect(Collectors.toMap(Fighter::getId, Function.identity()));
+
+        List<Fight> card = new ArrayList<>();
+        for (CreateFightDTO dto : fights) {
+            Fight fight = new Fight(findFighter(fightersById, dto.getFighter1Id()),
+                                    findFighter(fightersById, dto.getFighter2Id()), null);
+            fight.setMainEvent(dto.isMainEvent());
+            fight.setTitleFight(dto.isTitleFight());
+            if (dto.getWeightClass() != null) {
+                fight.setWeightClass(dto.getWeightClass());
+            }
+            if (dto.getNumberOfRounds() != null) {
+                fight.setNumberOfRounds(dto.getNumberOfRounds());
+            } else if (dto.isMainEvent() || dto.isTitleFight()) {
+                fight.setNumberOfRounds(5);
+            }
+            fight.setStatus("SCHEDULED");
+            card.add(fight);
+        }
+        return card;
+    }
+
+    /**
+     * Añade peleas a la cartelera de un evento
+     * @param fights Peleas validadas con buildCard
+     * @return Peleas guardadas
+     */
+    @Transactional
+    public List<Fight> addFights(Event event, List<Fight> fights) {
+        Set<Long> onCard = new HashSet<>(fightRepository.findCardFighterIds(event.getId()));
+        for (Fight fight : fights) {
+            for (Fighter fighter : List.of(fight.getFighter1(), fight.getFighter2())) {
+                if (onCard.contains(fighter.getId())) {
+                    throw new RuntimeException("El luchador " + fighter.getName() + " ya tiene una pelea en este evento");
+                }
+            }
+            fight.setEvent(event);
+        }
+
+        List<Fight> saved = fightRepository.saveAll(fights);
+        TransactionCallbacks.afterCommit(() -> evict(event.getId()));
+        logger.info("Cartelera del evento {}: {} peleas añadidas", event.getId(), saved.size());
+        return saved;
+    }
+
+    /**
+     * Borra la cartelera de un evento (antes de borrar el evento)
+     */
+    @Transactional
+    public int deleteCard(Long eventId) {
+        int deleted = fightRepository.deleteByEventId(eventId);
+        TransactionCallbacks.afterCommit(() -> evict(eventId));
+        return deleted;
+    }
+
+    /**
+     * Descarta los luchadores cacheados de un evento
+     */
+    public void evict(Long eventId) {
+        fighterIdsByEvent.remove(eventId);
+    }
+
+    /**
+     * Libera la caché de los eventos que ya no admiten picks
+     */
+    @EventListener
+    public void onEventStatusChanged(EventStatusChangedEvent event) {
+        if ("COMPLETED".equals(event.newStatus()) || "CANCELLED".equals(event.newStatus())) {
+            TransactionCallbacks.afterCommit(() -> evict(event.eventId()));
+        }
+    }
+
+    private Set<Long> load(Long eventId) {
+        List<Long> fighterIds = fightRepository.findCardFighterIds(eventId);
+        if (fighterIds.isEmpty()) {
+            // Evento anterior a la cartelera
+            fighterIds = eventRepository.findFighterIdsByEventId(eventId);
+        }
+        logger.debug("Cartelera del evento {} cargada: {} luchadores", eventId, fighterIds.size());
+        return Set.copyOf(fighterIds);
+    }
+
+    private static Fighter findFighter(Map<Long, Fighter> fightersById, Long fighterId) {
+        Fighter fighter = fightersById.get(fighterId);
+        if (fighter == null) {
+            throw new RuntimeException("Luchador no encontrado: " + fighterId);
+        }
+        return fighter;
+    }
+
+    /**
+     * Luchadores de la cartelera de un evento y el momento en que caducan
+     */
+    private record Entry(Set<Long> fighterIds, long expiresAt) {
+    }
+}
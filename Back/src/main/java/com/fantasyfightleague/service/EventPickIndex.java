@@ -0,0 +1,241 @@
+package com.fantasyfightleague.service;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Índice invertido luchador -> picks de un evento.
+ * Cada luchador tiene un array ordenado de IDs de pick (int primitivo); los arrays no se modifican
+ * nunca en sitio: un cambio de pick copia solo los arrays de los luchadores afectados, de forma que
+ * las lecturas no necesitan bloqueo y las escrituras (poco frecuentes) se serializan entre sí.
+ */
+public class EventPickIndex {
+
+    private static final int[] EMPTY = new int[0];
+
+    private final Long eventId;
+    private final Map<Long, int[]> picksByFighter = new ConcurrentHashMap<>();
+    private final Map<Integer, PickEntry> picks = new ConcurrentHashMap<>();
+
+    public EventPickIndex(Long eventId) {
+        this.eventId = eventId;
+    }
+
+    /**
+     * Construye el índice de un evento a partir de las filas (pick, luchador)
+     */
+    public static Builder builder(Long eventId) {
+        return new Builder(eventId);
+    }
+
+    public Long getEventId() {
+        return eventId;
+    }
+
+    /**
+     * IDs de los picks que contienen a un luchador, ordenados de menor a mayor.
+     * El array es compartido y no debe modificarse.
+     */
+    public int[] picksWith(long fighterId) {
+        return picksByFighter.getOrDefault(fighterId, EMPTY);
+    }
+
+    /**
+     * Número de picks que contienen a un luchador
+     */
+    public int countPicksWith(long fighterId) {
+        return picksWith(fighterId).length;
+    }
+
+    /**
+     * Indica si un pick contiene a un luchador (búsqueda binaria)
+     */
+    public boolean contains(long fighterId, int pickId) {
+        return Arrays.binarySearch(picksWith(fighterId), pickId) >= 0;
+    }
+
+    /**
+     * Recorre los picks que contienen alguno de los luchadores indicados
+     * @param handler Recibe pick, liga, usuario y luchador de cada coincidencia
+     */
+    public void forEachPick(Collection<Long> fighterIds, PickHandler handler) {
+        for (Long fighterId : fighterIds) {
+            for (int pickId : picksWith(fighterId)) {
+                PickEntry entry = picks.get(pickId);
+                if (entry != null) {
+                    handler.handle(pickId, entry.leagueId, entry.userId, fighterId);
+                }
+            }
+        }
+    }
+
+    /**
+     * Número de picks del evento con al menos un luchador
+     */
+    public int size() {
+        return picks.size();
+    }
+
+    /**
+     * Añade un pick o sustituye sus luchadores
+     */
+    public synchronized void put(int pickId, long leagueId, long userId, long[] fighterIds) {
+        long[] fighters = fighterIds.clone();
+        Arrays.sort(fighters);
+
+        PickEntry previous = picks.get(pickId);
+        long[] oldFighters = previous != null ? previous.fighterIds : new long[0];
+
+        for (long fighterId : oldFighters) {
+            if (Arrays.binarySearch(fighters, fighterId) < 0) {
+                picksByFighter.computeIfPresent(fighterId, (id, current) -> without(current, pickId));
+            }
+        }
+        for (long fighterId : fighters) {
+            if (Arrays.binarySearch(oldFighters, fighterId) < 0) {
+                picksByFighter.compute(fighterId, (id, current) -> with(current != null ? current : EMPTY, pickId));
+            }
+        }
+
+        if (fighters.length > 0) {
+            picks.put(pickId, new PickEntry(leagueId, userId, fighters));
+        } else {
+            picks.remove(pickId);
+        }
+    }
+
+    /**
+     * Elimina un pick del índice
+     */
+    public synchronized void remove(int pickId) {
+        PickEntry previous = picks.remove(pickId);
+        if (previous == null) {
+            return;
+        }
+        for (long fighterId : previous.fighterIds) {
+            picksByFighter.computeIfPresent(fighterId, (id, current) -> without(current, pickId));
+        }
+    }
+
+    private static int[] with(int[] current, int pickId) {
+        int index = Arrays.binarySearch(current, pickId);
+        if (index >= 0) {
+            return current;
+        }
+        int insertAt = -index - 1;
+        int[] updated = new int[current.length + 1];
+        System.arraycopy(current, 0, updated, 0, insertAt);
+        updated[insertAt] = pickId;
+        System.arraycopy(current, insertAt, updated, insertAt + 1, current.length - insertAt);
+        return updated;
+    }
+
+    private static int[] without(int[] current, int pickId) {
+        int index = Arrays.binarySearch(current, pickId);
+        if (index < 0) {
+            return current;
+        }
+        if (current.length == 1) {
+            // Devolver null elimina la entrada del luchador
+            return null;
+        }
+        int[] updated = new int[current.length - 1];
+        System.arraycopy(current, 0, updated, 0, index);
+        System.arraycopy(current, index + 1, updated, index, current.length - index - 1);
+        return updated;
+    }
+
+    /**
+     * Recibe cada coincidencia (pick, luchador)
+     */
+    @FunctionalInterface
+    public interface PickHandler {
+        void handle(int pickId, long leagueId, long userId, long fighterId);
+    }
+
+    /**
+     * Liga, usuario y luchadores de un pick
+     */
+    private static class PickEntry {
+        private final long leagueId;
+        private final long userId;
+        private final long[] fighterIds;
+
+        private PickEntry(long leagueId, long userId, long[] fighterIds) {
+            this.leagueId = leagueId;
+            this.userId = userId;
+            this.fighterIds = fighterIds;
+        }
+    }
+
+    /**
+     * Construcción en bloque: acumula las filas y ordena cada array una sola vez al final
+     */
+    public static class Builder {
+        private final Long eventId;
+        private final Map<Long, IntList> picksByFighter = new HashMap<>();
+        private final Map<Integer, PickEntry> picks = new HashMap<>();
+        private final Map<Integer, LongList> fightersByPick = new HashMap<>();
+
+        private Builder(Long eventId) {
+            this.eventId = eventId;
+        }
+
+        public Builder add(int pickId, long leagueId, long userId, long fighterId) {
+            picksByFighter.computeIfAbsent(fighterId, id -> new IntList()).add(pickId);
+            fightersByPick.computeIfAbsent(pickId, id -> new LongList()).add(fighterId);
+            picks.putIfAbsent(pickId, new PickEntry(leagueId, userId, null));
+            return this;
+        }
+
+        public EventPickIndex build() {
+            EventPickIndex index = new EventPickIndex(eventId);
+            for (Map.Entry<Long, IntList> entry : picksByFighter.entrySet()) {
+                int[] pickIds = entry.getValue().toArray();
+                Arrays.sort(pickIds);
+                index.picksByFighter.put(entry.getKey(), pickIds);
+            }
+            for (Map.Entry<Integer, PickEntry> entry : picks.entrySet()) {
+                long[] fighterIds = fightersByPick.get(entry.getKey()).toArray();
+                Arrays.sort(fighterIds);
+                index.picks.put(entry.getKey(), new PickEntry(entry.getValue().leagueId, entry.getValue().userId, fighterIds));
+            }
+            return index;
+        }
+    }
+
+    private static class IntList {
+        private int[] values = new int[8];
+        private int size;
+
+        void add(int value) {
+            if (size == values.length) {
+                values = Arrays.copyOf(values, size * 2);
+            }
+            values[size++] = value;
+        }
+
+        int[] toArray() {
+            return Arrays.copyOf(values, size);
+        }
+    }
+
+    private static class LongList {
+        private long[] values = new long[3];
+        private int size;
+
+        void add(long value) {
+            if (size == values.length) {
+                values = Arrays.copyOf(values, size * 2);
+            }
+            values[size++] = value;
+        }
+
+        long[] toArray() {
+            return Arrays.copyOf(values, size);
+        }
+    }
+}
@@ -0,0 +1,120 @@
+package com.fantasyfightleague.service;
+
+import com.fantasyfightleague.model.Fighter;
+import com.fantasyfightleague.model.Pick;
+import com.fantasyfightleague.repository.PickJdbcRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+
+import java.util.Collection;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Índices invertidos luchador -> picks de los eventos.
+ * El índice de un evento se construye desde pick_fighters al bloquear sus picks (o la primera vez
+ * que se necesita, p. ej. tras un reinicio) y, mientras existe, se mantiene al día con las altas,
+ * cambios y borrados de picks. Responde a "qué picks llevan al luchador X en el evento E"
+ * sin recorrer los picks ni sus luchadores.
+ */
+@Service
+public class EventPickIndexService {
+
+    private static final Logger logger = LoggerFactory.getLogger(EventPickIndexService.class);
+
+    private final Map<Long, EventPickIndex> indexes = new ConcurrentHashMap<>();
+
+    @Autowired
+    private PickJdbcRepository pickJdbcRepository;
+
+    /**
+     * Índice de un evento, construyéndolo si todavía no está en memoria
+     */
+    public EventPickIndex getIndex(Long eventId) {
+        return indexes.computeIfAbsent(eventId, this::load);
+    }
+
+    /**
+     * Índice de un evento, solo si ya está en memoria
+     */
+    public Optional<EventPickIndex> findLoaded(Long eventId) {
+        return Optional.ofNullable(indexes.get(eventId));
+    }
+
+    /**
+     * Recorre los picks de un evento que contienen alguno de los luchadores indicados
+     */
+    public void forEachPickWithFighters(Long eventId, Collection<Long> fighterIds, EventPickIndex.PickHandler handler) {
+        if (!fighterIds.isEmpty()) {
+            getIndex(eventId).forEachPick(fighterIds, handler);
+        }
+    }
+
+    /**
+     * Número de picks de un evento que contienen a un luchador
+     */
+    public int countPicksWith(Long eventId, Long fighterId) {
+        return getIndex(eventId).countPicksWith(fighterId);
+    }
+
+    /**
+     * (Re)construye el índice de un evento con los datos confirmados (tras el commit si hay transacción)
+     */
+    public void rebuild(Long eventId) {
+        TransactionCallbacks.afterCommit(() -> indexes.put(eventId, load(eventId)));
+    }
+
+    /**
+     * Refleja en el índice del evento (si está en memoria) el alta o cambio de un pick
+     */
+    public void onPickSaved(Pick pick) {
+        Long eventId = pick.getEvent().getId();
+        int pickId = Math.toIntExact(pick.getId());
+        long leagueId = pick.getLeague().getId();
+        long userId = pick.getUser().getId();
+        long[] fighterIds = pick.getSelectedFighters().stream().mapToLong(Fighter::getId).toArray();
+
+        TransactionCallbacks.afterCommit(() -> findLoaded(eventId).ifPresent(index -> index.put(pickId, leagueId, userId, fighterIds)));
+    }
+
+    /**
+     * Quita un pick borrado del índice del evento (si está en memoria)
+     */
+    public void onPickDeleted(Long eventId, Long pickId) {
+        int id = Math.toIntExact(pickId);
+        TransactionCallbacks.afterCommit(() -> findLoaded(eventId).ifPresent(index -> index.remove(id)));
+    }
+
+    /**
+     * Descarta el índice de un evento (p. ej. al completarlo)
+     */
+    public void evict(Long eventId) {
+        indexes.remove(eventId);
+    }
+
+    /**
+     * Descarta el índice cuando el evento termina o se cancela
+     */
+    @EventListener
+    public void onEventStatusChanged(EventStatusChangedEvent event) {
+        if ("COMPLETED".equals(event.newStatus()) || "CANCELLED".equals(event.newStatus())) {
+            TransactionCallbacks.afterCommit(() -> evict(event.eventId()));
+        }
+    }
+
+    private EventPickIndex load(Long eventId) {
+        long start = System.currentTimeMillis();
+        EventPickIndex.Builder builder = EventPickIndex.builder(eventId);
+        pickJdbcRepository.forEachPickFighter(eventId, (pickId, leagueId, userId, fighterId) ->
+                builder.add(Math.toIntExact(pickId), leagueId, userId, fighterId));
+
+        EventPickIndex index = builder.build();
+        logger.info("Índice de picks del evento {} construido: {} picks en {} ms",
+                   eventId, index.size(), System.currentTimeMillis() - start);
+        return index;
+    }
+}
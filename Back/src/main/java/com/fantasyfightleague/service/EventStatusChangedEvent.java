@@ -0,0 +1,12 @@
+package com.fantasyfightleague.service;
+
+/**
+ * Evento de aplicación publicado cuando un evento UFC cambia de estado
+ * (automáticamente por el ciclo de vida o manualmente por un administrador).
+ *
+ * @param eventId ID del evento UFC
+ * @param previousStatus Estado anterior
+ * @param newStatus Estado nuevo
+ */
+public record EventStatusChangedEvent(Long eventId, String previousStatus, String newStatus) {
+}
@@ -0,0 +1,75 @@
+package com.fantasyfightleague.service;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+
+/**
+ * Rueda de tiempo (hashed timing wheel) para caducar entradas por su instante de expiración.
+ * Cada entrada se guarda en la ranura de su tick de expiración; al avanzar la rueda solo se
+ * recorren las ranuras de los ticks transcurridos, y las entradas que caducan más allá de una
+ * vuelta completa permanecen en su ranura hasta la vuelta correspondiente.
+ * No es thread-safe: el llamante sincroniza el acceso.
+ */
+class ExpiryTimingWheel {
+
+    private final long tickMs;
+    private final List<ArrayDeque<Timeout>> slots;
+    private long lastTick;
+
+    ExpiryTimingWheel(int slotCount, long tickMs, long now) {
+        this.tickMs = tickMs;
+        this.slots = new ArrayList<>(slotCount);
+        for (int i = 0; i < slotCount; i++) {
+            slots.add(new ArrayDeque<>());
+        }
+        this.lastTick = now / tickMs;
+    }
+
+    /**
+     * Programa la caducidad de una entrada
+     */
+    void schedule(String key, long expiresAt) {
+        // Nunca en una ranura ya recorrida: como pronto, en el siguiente tick
+        long tick = Math.max(expiresAt / tickMs, lastTick + 1);
+        slots.get((int) (tick % slots.size())).add(new Timeout(key, expiresAt));
+    }
+
+    /**
+     * Avanza la rueda hasta el instante indicado
+     * @return Entradas caducadas en las ranuras recorridas
+     */
+    List<String> advance(long now) {
+        List<String> expired = new ArrayList<>();
+        long currentTick = now / tickMs;
+        if (currentTick <= lastTick) {
+            return expired;
+        }
+
+        // Si ha pasado más de una vuelta basta con recorrer cada ranura una vez
+        long ticks = Math.min(currentTick - lastTick, slots.size());
+        for (long tick = currentTick - ticks + 1; tick <= currentTick; tick++) {
+            Iterator<Timeout> iterator = slots.get((int) (tick % slots.size())).iterator();
+            while (iterator.hasNext()) {
+                Timeout timeout = iterator.next();
+                if (timeout.expiresAt <= now) {
+                    expired.add(timeout.key);
+                    iterator.remove();
+                }
+            }
+        }
+        lastTick = currentTick;
+        return expired;
+    }
+
+    private static final class Timeout {
+        private final String key;
+        private final long expiresAt;
+
+        private Timeout(String key, long expiresAt) {
+            this.key = key;
+            this.expiresAt = expiresAt;
+        }
+    }
+}
@@ -3,20 +3,33 @@ package com.fantasyfightleague.service;
 
 import com.fantasyfightleague.dto.EventResultsDTO;
 import com.fantasyfightleague.dto.FightResultDTO;
+import com.fantasyfightleague.dto.LiveFightScoringDTO;
+import com.fantasyfightleague.dto.PointsBreakdownDTO;
 import com.fantasyfightleague.model.Event;
 import com.fantasyfightleague.model.Fighter;
 import com.fantasyfightleague.model.FighterStats;
 import com.fantasyfightleague.model.Pick;
+import com.fantasyfightleague.model.ResultMethod;
+import com.fantasyfightleague.repository.EventRepository;
 import com.fantasyfightleague.repository.FighterStatsRepository;
+import com.fantasyfightleague.repository.PickJdbcRepository;
 import com.fantasyfightleague.repository.PickRepository;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.Collection;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Collectors;
 
 /**
  * Servicio para procesar y guardar resultados de eventos UFC
@@ -26,21 +39,42 @@ public class FightResultsService {
     
     private static final Logger logger = LoggerFactory.getLogger(FightResultsService.class);
     
+    // Número de picks procesados por página al puntuar un evento
+    private static final int SCORING_PAGE_SIZE = 1000;
+    
     @Autowired
     private EventService eventService;
     
     @Autowired
     private FighterService fighterService;
     
+    @Autowired
+    private EventCardService eventCardService;
+    
     @Autowired
     private ScoringService scoringService;
     
     @Autowired
     private FighterStatsRepository fighterStatsRepository;
     
+    @Autowired
+    private EventRepository eventRepository;
+    
     @Autowired
     private PickRepository pickRepository;
     
+    @Autowired
+    private PickJdbcRepository pickJdbcRepository;
+    
+    @Autowired
+    private EventPickIndexService eventPickIndexService;
+    
+    @Autowired
+    private LeagueStandingService leagueStandingService;
+    
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+    
     /**
      * Procesa los resultados de un evento completo
      * @param eventResults Resultados del evento
@@ -57,6 +91,7 @@ public class FightResultsService {
         }
         
         Event event = eventOpt.get();
+        eventRepository.lockById(event.getId());
         
         // 2. Procesar cada resultado individual
         int processedFighters = 0;
@@ -65,7 +100,7 @@ public class FightResultsService {
         
         for (FightResultDTO result : eventResults.getResultados()) {
             try {
-                processingLog.append(processFighterResult(event, result)).append("\n");
+                processingLog.append(processFighterResult(event, result).log()).append("\n");
                 processedFighters++;
             } catch (Exception e) {
                 logger.error("Error procesando resultado para {}: {}", result.getNombre(), e.getMessage());
@@ -76,9 +111,13 @@ public class FightResultsService {
         // 3. Actualizar puntuaciones de picks después de procesar todos los resultados
         updatePickScores(event);
         
-        // 4. Marcar evento como completado
+        // 4. Recalcular las clasificaciones materializadas de las ligas afectadas
+        leagueStandingService.refreshStandingsForEvent(event);
+        
+        // 5. Marcar evento como completado
         event.setStatus("COMPLETED");
         eventService.saveEvent(event);
+        eventPickIndexService.evict(event.getId());
         
         logger.info("Resultados procesados exitosamente. Luchadores procesados: {}", processedFighters);
         logger.info("Log detallado:\n{}", processingLog.toString());
@@ -86,10 +125,78 @@ public class FightResultsService {
         return processedFighters;
     }
     
+    /**
+     * Procesa en directo los resultados de una pelea mientras el evento está LIVE.
+     * Solo se tocan los picks que contienen a alguno de los luchadores de la pelea: se calcula
+     * la diferencia entre los puntos nuevos y los que ya tenía cada luchador (lo que permite
+     * corregir un resultado enviado dos veces), se suma a esos picks con un update aditivo
+     * y se traslada a las clasificaciones de sus ligas.
+     * Los envíos de un mismo evento se serializan con el bloqueo de su fila: si dos envíos del mismo
+     * resultado llegan a la vez, el segundo lee los puntos que guardó el primero y su diferencia es 0.
+     *
+     * @param eventId ID del evento en directo
+     * @param results Resultados de los luchadores de la pelea
+     * @return Resumen del procesamiento
+     */
+    @Transactional
+    public LiveFightScoringDTO processLiveFightResults(Long eventId, List<FightResultDTO> results) {
+        if (results == null || results.isEmpty()) {
+            throw new RuntimeException("No se han recibido resultados para la pelea");
+        }
+        
+        // Bloquear el evento antes de cualquier lectura
+        if (eventRepository.lockById(eventId) == null) {
+            throw new RuntimeException("Evento no encontrado con ID: " + eventId);
+        }
+        Event event = eventService.findById(eventId)
+                .orElseThrow(() -> new RuntimeException("Evento no encontrado con ID: " + eventId));
+        if (!event.isLive()) {
+            throw new RuntimeException("El evento " + event.getName() + " no está en directo (estado: " + event.getStatus() + ")");
+        }
+        
+        long start = System.currentTimeMillis();
+        StringBuilder processingLog = new StringBuilder();
+        
+        // 1. Guardar las estadísticas y calcular la diferencia de puntos de cada luchador
+        Map<Long, Integer> deltaByFighter = new HashMap<>();
+        for (FightResultDTO result : results) {
+            FighterScore score = processFighterResult(event, result);
+            processingLog.append(score.log()).append("\n");
+            int delta = score.points() - score.previousPoints();
+            if (delta != 0) {
+                deltaByFighter.merge(score.fighterId(), delta, Integer::sum);
+            }
+        }
+        
+        // 2. Diferencia por pick y por (liga, usuario), recorriendo con el índice invertido solo los picks de esos luchadores
+        Map<Long, Integer> deltaByPick = new HashMap<>();
+        Map<Long, Map<Long, Integer>> deltaByLeagueUser = new HashMap<>();
+        eventPickIndexService.forEachPickWithFighters(event.getId(), deltaByFighter.keySet(), (pickId, leagueId, userId, fighterId) -> {
+            int delta = deltaByFighter.get(fighterId);
+            deltaByPick.merge((long) pickId, delta, Integer::sum);
+            deltaByLeagueUser.computeIfAbsent(leagueId, id -> new HashMap<>()).merge(userId, delta, Integer::sum);
+        });
+        
+        // 3. Aplicar la diferencia a los picks y a las clasificaciones
+        int updatedPicks = pickJdbcRepository.addEventPoints(deltaByPick);
+        leagueStandingService.applyLiveDeltas(deltaByLeagueUser);
+        
+        // 4. Avisar a los streams de clasificación en directo (se envía tras el commit)
+        if (!deltaByLeagueUser.isEmpty()) {
+            eventPublisher.publishEvent(new LiveScoresChangedEvent(event.getId(), deltaByLeagueUser));
+        }
+        
+        logger.info("Pelea procesada en directo en el evento {}: {} luchadores, {} picks y {} ligas actualizadas en {} ms",
+                   event.getName(), results.size(), updatedPicks, deltaByLeagueUser.size(), System.currentTimeMillis() - start);
+        
+        return new LiveFightScoringDTO(event.getId(), results.size(), updatedPicks,
+                                       deltaByLeagueUser.size(), processingLog.toString());
+    }
+    
     /**
      * Procesa el resultado de un luchador individual
      */
-    private String processFighterResult(Event event, FightResultDTO result) {
+    private FighterScore processFighterResult(Event event, FightResultDTO result) {
         // 1. Buscar el luchador por nombre
         List<Fighter> fighters = fighterService.findByName(result.getNombre());
         if (fighters.isEmpty()) {
@@ -99,21 +206,30 @@ public class FightResultsService {
         Fighter fighter = fighters.get(0); // Tomar el primero si hay varios
         
         // 2. Verificar que el luchador participa en este evento
-        if (!event.getFighters().contains(fighter)) {
+        if (!eventCardService.isOnCard(event.getId(), fighter.getId())) {
             throw new RuntimeException("El luchador " + result.getNombre() + " no participa en este evento");
         }
         
-        // 3. Calcular puntos fantasy
-        int fantasyPoints = scoringService.calculateFantasyPoints(result);
+        // 3. Calcular puntos fantasy (total y desglose en una sola pasada)
+        PointsBreakdownDTO pointsBreakdown = scoringService.score(result);
+        int fantasyPoints = pointsBreakdown.getTotalPoints();
         
-        // 4. Crear y guardar las estadísticas del luchador
-        FighterStats stats = new FighterStats();
+        // 4. Crear o actualizar las estadísticas del luchador en este evento (una fila por evento y luchador)
+        // Lectura bloqueante: los puntos previos son los últimos confirmados, no los de la instantánea de la transacción
+        FighterStats stats = fighterStatsRepository.findForUpdateByEventAndFighter(event, fighter)
+                .orElseGet(FighterStats::new);
+        int previousPoints = stats.getPoints() != null ? stats.getPoints() : 0;
         stats.setFighter(fighter);
-        stats.setFight(null); // No tenemos la pelea específica, solo el evento
+        stats.setEvent(event); // No tenemos la pelea específica, solo el evento
         
-        // Mapear las estadísticas
+        // Mapear las estadísticas (y los datos brutos del resultado para poder volver a puntuar)
+        stats.setResult(result.getResultado());
+        stats.setMethod(result.getMetodo());
+        stats.setDecisionType(result.getTipoDecision());
+        stats.setEndRound(result.getRound());
         stats.setSignificantStrikes(result.getGolpesSignificantes());
         stats.setTotalStrikes(result.getGolpesTotales());
+        stats.setLandedStrikes(result.getGolpesAcertados());
         stats.setTakedowns(result.getTakedownsAcertados());
         stats.setSubmissions(result.getIntentosDeSumision());
         stats.setKnockdowns(result.getKnockdowns());
@@ -122,8 +238,8 @@ public class FightResultsService {
         // Calcular minutos luchados basado en el round
         if (result.getRound() != null) {
             int minutesFought = (result.getRound() - 1) * 5; // 5 minutos por round completo
-            if ("Win".equalsIgnoreCase(result.getResultado()) && 
-                !result.getMetodo().toLowerCase().contains("decision")) {
+            if (result.isWinner() && result.getResultMethod() != null &&
+                result.getResultMethod() != ResultMethod.DECISION) {
                 // Si ganó por finish, agregar tiempo parcial del último round (estimado)
                 minutesFought += 3; // Estimación promedio
             } else if (result.getRound() >= 3) {
@@ -136,61 +252,134 @@ public class FightResultsService {
         fighterStatsRepository.save(stats);
         
         // 5. Generar log detallado
-        String breakdown = scoringService.generatePointsBreakdown(result, fantasyPoints);
+        String breakdown = scoringService.formatBreakdown(result, pointsBreakdown);
         
-        return String.format("✅ %s - %d puntos\n%s", 
+        String log = String.format("✅ %s - %d puntos\n%s", 
                             fighter.getName(), fantasyPoints, breakdown);
+        return new FighterScore(fighter.getId(), previousPoints, fantasyPoints, log);
+    }
+    
+    /**
+     * Puntos de un luchador antes y después de procesar su resultado
+     */
+    private record FighterScore(Long fighterId, int previousPoints, int points, String log) {
     }
     
     /**
-     * Actualiza las puntuaciones de todos los picks del evento
+     * Actualiza las puntuaciones de todos los picks del evento.
+     * Carga una sola vez los puntos de cada luchador en el evento y recorre los picks
+     * por páginas, escribiendo los puntos con batch updates de JDBC.
      */
     private void updatePickScores(Event event) {
         logger.info("Actualizando puntuaciones de picks para el evento: {}", event.getName());
         
-        // Obtener TODOS los picks de TODAS las ligas para este evento
-        List<Pick> eventPicks = pickRepository.findByLeagueAndEvent(null, event);
+        long start = System.currentTimeMillis();
+        Map<Long, Integer> pointsByFighter = getEventFighterPoints(event);
+        int updatedPicks = pickJdbcRepository.updateEventPoints(event.getId(), pointsByFighter, SCORING_PAGE_SIZE);
+        
+        logger.info("Picks actualizados en el evento {}: {} ({} luchadores con puntos) en {} ms",
+                   event.getName(), updatedPicks, pointsByFighter.size(), System.currentTimeMillis() - start);
+    }
+    
+    /**
+     * Mapa luchador -> puntos del evento.
+     * Los registros antiguos sin evento se resuelven con la primera estadística creada después del inicio del evento.
+     */
+    public Map<Long, Integer> getEventFighterPoints(Event event) {
+        Map<Long, Integer> pointsByFighter = new HashMap<>();
         
-        // Si no encuentra picks con liga null, buscar todos los picks del evento
-        if (eventPicks.isEmpty()) {
-            eventPicks = pickRepository.findAll().stream()
-                .filter(pick -> pick.getEvent().getId().equals(event.getId()))
-                .collect(java.util.stream.Collectors.toList());
+        for (Object[] row : fighterStatsRepository.sumPointsByEventGroupByFighter(event)) {
+            Number points = (Number) row[1];
+            pointsByFighter.put((Long) row[0], points != null ? points.intValue() : 0);
         }
         
-        logger.info("Encontrados {} picks para actualizar en el evento {}", eventPicks.size(), event.getName());
+        if (pointsByFighter.isEmpty()) {
+            for (Object[] row : fighterStatsRepository.findLegacyFighterPointsCreatedAfter(getEventStart(event))) {
+                Integer points = (Integer) row[1];
+                pointsByFighter.putIfAbsent((Long) row[0], points != null ? points : 0);
+            }
+        }
         
-        for (Pick pick : eventPicks) {
-            int totalEventPoints = 0;
+        return pointsByFighter;
+    }
+    
+    /**
+     * Estadísticas de varios luchadores en un evento, indexadas por ID de luchador
+     */
+    public Map<Long, FighterStats> getEventFighterStats(Event event, Collection<Fighter> fighters) {
+        Map<Long, FighterStats> statsByFighter = new HashMap<>();
+        if (fighters.isEmpty()) {
+            return statsByFighter;
+        }
+        
+        for (FighterStats stats : fighterStatsRepository.findByEventAndFighterIn(event, fighters)) {
+            statsByFighter.put(stats.getFighter().getId(), stats);
+        }
+        
+        // Registros antiguos sin evento para los luchadores que faltan
+        if (statsByFighter.size() < fighters.size()) {
+            List<Fighter> missing = fighters.stream()
+                    .filter(fighter -> !statsByFighter.containsKey(fighter.getId()))
+                    .collect(Collectors.toList());
             
-            // Calcular puntos sumando las estadísticas de cada luchador seleccionado
-            for (Fighter selectedFighter : pick.getSelectedFighters()) {
-                // Buscar las estadísticas más recientes de este luchador para este evento
-                Optional<FighterStats> statsOpt = fighterStatsRepository
-                    .findByFighter(selectedFighter)
-                    .stream()
-                    .filter(stats -> stats.getCreatedAt().after(event.getStartDate()))
-                    .findFirst();
-                
-                if (statsOpt.isPresent()) {
-                    totalEventPoints += statsOpt.get().getPoints();
-                    logger.debug("Luchador {} contribuye con {} puntos al pick del usuario {} en liga {}", 
-                               selectedFighter.getName(), 
-                               statsOpt.get().getPoints(), 
-                               pick.getUser().getUsername(),
-                               pick.getLeague().getName());
-                }
+            for (FighterStats stats : fighterStatsRepository.findLegacyByFightersCreatedAfter(missing, getEventStart(event))) {
+                statsByFighter.putIfAbsent(stats.getFighter().getId(), stats);
+            }
+        }
+        
+        return statsByFighter;
+    }
+    
+    /**
+     * Estadísticas de los luchadores de varios picks, indexadas por ID de evento y de luchador.
+     * Las estadísticas enlazadas al evento se cargan en una sola consulta; los registros antiguos
+     * sin evento solo se buscan para eventos completados a los que les faltan luchadores.
+     */
+    public Map<Long, Map<Long, FighterStats>> getFighterStatsForPicks(Collection<Pick> picks) {
+        Map<Long, Map<Long, FighterStats>> statsByEvent = new HashMap<>();
+        if (picks.isEmpty()) {
+            return statsByEvent;
+        }
+        
+        Map<Long, Event> events = new HashMap<>();
+        Map<Long, Set<Fighter>> fightersByEvent = new HashMap<>();
+        Set<Fighter> fighters = new HashSet<>();
+        for (Pick pick : picks) {
+            events.putIfAbsent(pick.getEvent().getId(), pick.getEvent());
+            fightersByEvent.computeIfAbsent(pick.getEvent().getId(), id -> new HashSet<>())
+                    .addAll(pick.getSelectedFighters());
+            fighters.addAll(pick.getSelectedFighters());
+        }
+        if (fighters.isEmpty()) {
+            return statsByEvent;
+        }
+        
+        for (FighterStats stats : fighterStatsRepository.findByEventInAndFighterIn(events.values(), fighters)) {
+            statsByEvent.computeIfAbsent(stats.getEvent().getId(), id -> new HashMap<>())
+                    .put(stats.getFighter().getId(), stats);
+        }
+        
+        // Registros antiguos sin evento
+        for (Map.Entry<Long, Set<Fighter>> entry : fightersByEvent.entrySet()) {
+            Event event = events.get(entry.getKey());
+            Map<Long, FighterStats> eventStats = statsByEvent.computeIfAbsent(entry.getKey(), id -> new HashMap<>());
+            if (!"COMPLETED".equals(event.getStatus()) || eventStats.size() >= entry.getValue().size()) {
+                continue;
             }
             
-            // Actualizar los puntos del pick
-            pick.setEventPoints(totalEventPoints);
-            pickRepository.save(pick);
-            
-            logger.info("Pick actualizado - Usuario: {}, Liga: {}, Puntos: {}", 
-                       pick.getUser().getUsername(), 
-                       pick.getLeague().getName(),
-                       totalEventPoints);
+            List<Fighter> missing = entry.getValue().stream()
+                    .filter(fighter -> !eventStats.containsKey(fighter.getId()))
+                    .collect(Collectors.toList());
+            for (FighterStats stats : fighterStatsRepository.findLegacyByFightersCreatedAfter(missing, getEventStart(event))) {
+                eventStats.putIfAbsent(stats.getFighter().getId(), stats);
+            }
         }
+        
+        return statsByEvent;
+    }
+    
+    private Date getEventStart(Event event) {
+        return event.getStartDate() != null ? event.getStartDate() : event.getDate();
     }
     
     /**
@@ -0,0 +1,236 @@
+package com.fantasyfightleague.service;
+
+import com.fantasyfightleague.dto.CompleteFighterDTO;
+import com.fantasyfightleague.dto.FighterDTO;
+import com.fantasyfightleague.dto.FighterImportResultDTO;
+import com.fantasyfightleague.dto.FighterPriceDTO;
+import com.fantasyfightleague.repository.FighterJdbcRepository;
+import com.fantasyfightleague.repository.FighterJdbcRepository.ImportRow;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.function.Function;
+
+/**
+ * Importación de luchadores en streaming.
+ * El JSON se lee elemento a elemento con el parser de Jackson y se procesa por bloques:
+ * los luchadores existentes se resuelven con un mapa nombre -> id cargado en una sola consulta,
+ * las altas y actualizaciones se escriben en batches de JDBC y, al terminar, los luchadores
+ * que no aparecen en la importación se desactivan con un único UPDATE.
+ */
+@Service
+public class FighterImportService {
+    
+    private static final Logger logger = LoggerFactory.getLogger(FighterImportService.class);
+    
+    // Número de luchadores escritos por batch
+    private static final int CHUNK_SIZE = 500;
+    
+    // Precio por defecto para luchadores sin precio
+    private static final int DEFAULT_PRICE = 60;
+    
+    @Autowired
+    private FighterJdbcRepository fighterJdbcRepository;
+    
+    @Autowired
+    private FighterPricingService fighterPricingService;
+    
+    @Autowired
+    private ObjectMapper objectMapper;
+    
+    /**
+     * Importa un array JSON de FighterDTO
+     * @param body Cuerpo de la petición
+     * @return Resumen de la importación
+     */
+    @Transactional
+    public FighterImportResultDTO importFighters(InputStream body) throws IOException {
+        return importStream(body, FighterDTO.class, FighterDTO::getName, null, (dto, existing, log) ->
+            new ImportRow(dto.getName(), dto.getRecord(), dto.getNationality(), dto.getWeightClass(), null, null));
+    }
+    
+    /**
+     * Importa un array JSON de CompleteFighterDTO (con imagen y datos de precio)
+     * @param body Cuerpo de la petición
+     * @return Resumen de la importación, con el detalle de cada luchador
+     */
+    @Transactional
+    public FighterImportResultDTO importCompleteFighters(InputStream body) throws IOException {
+        StringBuilder details = new StringBuilder("Resultados de la importación:\n");
+        
+        return importStream(body, CompleteFighterDTO.class, CompleteFighterDTO::getName, details, (dto, existing, log) -> {
+            log.append(existing != null ? "- Actualizado: " : "- Creado: ").append(dto.getName()).append("\n");
+            
+            // Establecer la imagen si se proporciona
+            String imageUrl = null;
+            if (dto.getImageUrl() != null && !dto.getImageUrl().isEmpty()) {
+                imageUrl = dto.getImageUrl();
+                log.append("   Imagen: ").append(imageUrl).append("\n");
+            }
+            
+            // Calcular el precio
+            Integer price;
+            if (dto.getPrice() != null) {
+                // Si se proporciona un precio explícito, lo usamos
+                price = dto.getPrice();
+                log.append("   Precio explícito: ").append(price).append("\n");
+            } else if (dto.getPosition() != null) {
+                // Si no hay precio pero sí datos para calcularlo, usamos el servicio de cálculo
+                FighterPriceDTO priceDTO = new FighterPriceDTO();
+                priceDTO.setPosition(dto.getPosition());
+                priceDTO.setIsFavorite(dto.getIsFavorite());
+                priceDTO.setRanking(dto.getRanking());
+                
+                price = fighterPricingService.calculatePriceFromDTO(priceDTO);
+                log.append("   Precio calculado: ").append(price)
+                   .append(" (Posición: ").append(dto.getPosition())
+                   .append(", Favorito: ").append(dto.getIsFavorite())
+                   .append(", Ranking: ").append(dto.getRanking()).append(")\n");
+            } else if (existing == null) {
+                // Nuevo luchador sin datos de precio: valor por defecto
+                price = DEFAULT_PRICE;
+                log.append("   Precio por defecto: ").append(price).append("\n");
+            } else {
+                // Luchador existente sin datos de precio: se mantiene el actual
+                price = existing.price != null ? existing.price : DEFAULT_PRICE;
+                log.append("   Precio mantenido: ").append(price).append("\n");
+            }
+            
+            return new ImportRow(dto.getName(), dto.getRecord(), dto.getNationality(), dto.getWeightClass(), imageUrl, price);
+        });
+    }
+    
+    /**
+     * Lee el array JSON elemento a elemento y escribe los luchadores por bloques
+     */
+    private <T> FighterImportResultDTO importStream(InputStream body, Class<T> type, Function<T, String> nameExtractor,
+                                                    StringBuilder details, RowMapper<T> mapper) throws IOException {
+        long start = System.currentTimeMillis();
+        
+        // Identificador de la importación (import_batch) e instante guardado en created_at/updated_at
+        String importBatch = UUID.randomUUID().toString();
+        Timestamp importMarker = new Timestamp(start);
+        
+        // Mapa nombre normalizado -> luchador existente (una sola consulta)
+        Map<String, ExistingFighter> existingByName = new HashMap<>();
+        fighterJdbcRepository.forEachIdNameAndPrice((id, name, price) -> {
+            if (name != null) {
+                existingByName.putIfAbsent(normalize(name), new ExistingFighter(id, price));
+            }
+        });
+        
+        FighterImportResultDTO result = new FighterImportResultDTO();
+        StringBuilder log = details != null ? details : new StringBuilder(0);
+        Map<Long, ImportRow> updates = new LinkedHashMap<>();
+        Map<String, ImportRow> inserts = new LinkedHashMap<>();
+        
+        try (JsonParser parser = objectMapper.getFactory().createParser(body)) {
+            if (parser.nextToken() != JsonToken.START_ARRAY) {
+                throw new RuntimeException("Se esperaba un array JSON de luchadores");
+            }
+            
+            while (parser.nextToken() == JsonToken.START_OBJECT) {
+                T dto = objectMapper.readValue(parser, type);
+                String name = nameExtractor.apply(dto);
+                
+                if (name == null || name.trim().isEmpty()) {
+                    result.setSkipped(result.getSkipped() + 1);
+                    continue;
+                }
+                
+                String key = normalize(name);
+                ExistingFighter existing = existingByName.get(key);
+                ImportRow row = mapper.map(dto, existing, log);
+                
+                if (existing != null) {
+                    updates.put(existing.id, row);
+                } else {
+                    inserts.put(key, row);
+                }
+                result.setImported(result.getImported() + 1);
+                
+                if (updates.size() + inserts.size() >= CHUNK_SIZE) {
+                    flush(updates, inserts, existingByName, importBatch, importMarker, result);
+                }
+            }
+        }
+        
+        flush(updates, inserts, existingByName, importBatch, importMarker, result);
+        
+        // Desactivar en una sola sentencia los luchadores que no vienen en la importación
+        result.setDeactivated(fighterJdbcRepository.deactivateNotImported(importBatch));
+        
+        if (details != null) {
+            result.setDetails(details.toString());
+        }
+        
+        logger.info("Importación de luchadores completada en {} ms: {} importados ({} nuevos, {} actualizados), {} desactivados, {} omitidos",
+                   System.currentTimeMillis() - start, result.getImported(), result.getCreated(),
+                   result.getUpdated(), result.getDeactivated(), result.getSkipped());
+        
+        return result;
+    }
+    
+    /**
+     * Escribe el bloque actual: actualizaciones e inserciones en batch.
+     * Los IDs generados se añaden al mapa para que una repetición posterior del mismo nombre sea una actualización.
+     */
+    private void flush(Map<Long, ImportRow> updates, Map<String, ImportRow> inserts,
+                       Map<String, ExistingFighter> existingByName, String importBatch, Timestamp importMarker,
+                       FighterImportResultDTO result) {
+        fighterJdbcRepository.batchUpdateImported(updates, importBatch, importMarker, DEFAULT_PRICE);
+        result.setUpdated(result.getUpdated() + updates.size());
+        
+        List<ImportRow> newRows = new ArrayList<>(inserts.values());
+        List<Long> newIds = fighterJdbcRepository.batchInsertImported(newRows, importBatch, importMarker, DEFAULT_PRICE);
+        for (int i = 0; i < newIds.size(); i++) {
+            ImportRow row = newRows.get(i);
+            existingByName.put(normalize(row.getName()),
+                    new ExistingFighter(newIds.get(i), row.getPrice() != null ? row.getPrice() : DEFAULT_PRICE));
+        }
+        result.setCreated(result.getCreated() + newRows.size());
+        
+        updates.clear();
+        inserts.clear();
+    }
+    
+    private static String normalize(String name) {
+        return name.trim().toLowerCase();
+    }
+    
+    /**
+     * Convierte un DTO recibido en la fila a escribir, añadiendo su detalle al log
+     */
+    @FunctionalInterface
+    private interface RowMapper<T> {
+        ImportRow map(T dto, ExistingFighter existing, StringBuilder log);
+    }
+    
+    /**
+     * Luchador ya existente en la base de datos
+     */
+    private static class ExistingFighter {
+        private final Long id;
+        private final Integer price;
+        
+        private ExistingFighter(Long id, Integer price) {
+            this.id = id;
+            this.price = price;
+        }
+    }
+}
@@ -1,24 +1,66 @@
 package com.fantasyfightleague.service;
 
+import com.fantasyfightleague.config.PricingTable;
 import com.fantasyfightleague.dto.FighterPriceDTO;
-import com.fantasyfightleague.model.Fighter;
+import com.fantasyfightleague.repository.FighterJdbcRepository;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
 
 /**
  * Servicio para calcular precios de luchadores basado en varios factores
  * Ajustado para equipos de 1-3 luchadores con presupuesto de 100,000
- * Los precios coinciden exactamente con la tabla de referencia
+ * Los precios se leen de una tabla de referencia cargada desde configuración (ver PricingTable)
  */
 @Service
 public class FighterPricingService {
     
     private static final Logger logger = LoggerFactory.getLogger(FighterPricingService.class);
     
-    // Constantes para el cálculo de precios ajustados para 1-3 luchadores por equipo
-    private static final int BASE_PRICE = 20000; // Precio base mayor para ajustar a menos luchadores
-    private static final int MAX_PRICE = 75000; // Precio máximo posible (75% del presupuesto total)
+    public static final String DEFAULT_TABLE_LOCATION = "classpath:pricing/price-table.properties";
+    
+    private final String tableLocation;
+    
+    // Tabla inmutable; al recargar se sustituye completa
+    private volatile PricingTable table;
+    
+    @Autowired
+    private EventCardService eventCardService;
+    
+    @Autowired
+    private FighterJdbcRepository fighterJdbcRepository;
+    
+    /**
+     * Servicio con la tabla por defecto (uso fuera de Spring, p. ej. benchmarks)
+     */
+    public FighterPricingService() {
+        this(DEFAULT_TABLE_LOCATION);
+    }
+    
+    @Autowired
+    public FighterPricingService(@Value("${ffl.pricing.table-location:" + DEFAULT_TABLE_LOCATION + "}") String tableLocation) {
+        this.tableLocation = tableLocation;
+        this.table = PricingTable.load(tableLocation);
+    }
+    
+    /**
+     * Vuelve a cargar la tabla de precios desde su ubicación sin reiniciar la aplicación.
+     * Si el fichero no es válido se mantiene la tabla actual.
+     * @return Ubicación de la tabla cargada
+     */
+    public String reloadTable() {
+        table = PricingTable.load(tableLocation);
+        logger.info("Tabla de precios recargada desde {}", tableLocation);
+        return tableLocation;
+    }
     
     /**
      * Calcula el precio basado en un DTO con información de ranking específica
@@ -31,13 +73,10 @@ public class FighterPricingService {
             return priceDTO.getPrice();
         }
         
-        // Obtenemos los valores del DTO o valores predeterminados si son nulos
-        String position = priceDTO.getPosition() != null ? priceDTO.getPosition().toUpperCase() : "PRELIMS";
-        String ranking = priceDTO.getRanking();
+        // Valores predeterminados si son nulos: PRELIMS y no favorito
         boolean isFavorite = priceDTO.getIsFavorite() != null ? priceDTO.getIsFavorite() : false;
         
-        // Utilizamos la tabla de precios exactos
-        return getPriceFromTable(position, ranking, isFavorite);
+        return getPriceFromTable(priceDTO.getPosition(), priceDTO.getRanking(), isFavorite);
     }
     
     /**
@@ -52,159 +91,60 @@ public class FighterPricingService {
     }
     
     /**
-     * Obtiene el precio directamente de la tabla de referencia
-     * @param position Posición en la cartelera
-     * @param ranking Ranking específico
-     * @param isFavorite Si es favorito
-     * @return Precio según la tabla
+     * Recalcula y guarda los precios de los luchadores de un evento en una sola transacción,
+     * con una única actualización en lote
+     * @param eventId ID del evento
+     * @param pricesList Datos de precio de cada luchador (posición, ranking, favorito o precio directo)
+     * @return Precio aplicado a cada luchador, en el orden recibido
      */
-    private int getPriceFromTable(String position, String ranking, boolean isFavorite) {
-        position = position.toUpperCase();
-        
-        // Determinamos la categoría de ranking
-        String rankCategory = getRankingCategory(ranking);
-        
-        // Buscamos el precio en la tabla
-        int price = BASE_PRICE; // Valor predeterminado
+    @Transactional
+    public Map<Long, Integer> repriceEventFighters(Long eventId, List<FighterPriceDTO> pricesList) {
+        Set<Long> eventFighterIds = eventCardService.getFighterIds(eventId);
+        if (eventFighterIds.isEmpty()) {
+            throw new RuntimeException("El evento no existe o no tiene luchadores asociados");
+        }
         
-        switch (position) {
-            case "MAIN_EVENT":
-                if ("C".equals(rankCategory)) {
-                    price = isFavorite ? 75000 : 70000;
-                } else if ("1-3".equals(rankCategory)) {
-                    price = isFavorite ? 70000 : 65000;
-                } else if ("4-5".equals(rankCategory)) {
-                    price = isFavorite ? 65000 : 60000;
-                } else if ("6-10".equals(rankCategory)) {
-                    price = isFavorite ? 63000 : 55000;
-                } else if ("11-15".equals(rankCategory)) {
-                    price = isFavorite ? 58000 : 50000;
-                } else { // Sin ranking
-                    price = isFavorite ? 53000 : 45000;
-                }
-                break;
-                
-            case "CO_MAIN":
-                if ("C".equals(rankCategory)) {
-                    price = isFavorite ? 70000 : 65000;
-                } else if ("1-3".equals(rankCategory)) {
-                    price = isFavorite ? 65000 : 60000;
-                } else if ("4-5".equals(rankCategory)) {
-                    price = isFavorite ? 60000 : 55000;
-                } else if ("6-10".equals(rankCategory)) {
-                    price = isFavorite ? 55000 : 50000;
-                } else if ("11-15".equals(rankCategory)) {
-                    price = isFavorite ? 50000 : 45000;
-                } else { // Sin ranking
-                    price = isFavorite ? 45000 : 40000;
-                }
-                break;
-                
-            case "MAIN_CARD":
-                if ("C".equals(rankCategory)) {
-                    price = isFavorite ? 65000 : 60000;
-                } else if ("1-3".equals(rankCategory)) {
-                    price = isFavorite ? 58000 : 53000;
-                } else if ("4-5".equals(rankCategory)) {
-                    price = isFavorite ? 53000 : 48000;
-                } else if ("6-10".equals(rankCategory)) {
-                    price = isFavorite ? 48000 : 43000;
-                } else if ("11-15".equals(rankCategory)) {
-                    price = isFavorite ? 43000 : 38000;
-                } else { // Sin ranking
-                    price = isFavorite ? 38000 : 33000;
-                }
-                break;
-                
-            case "PRELIMS":
-                if ("C".equals(rankCategory)) {
-                    price = isFavorite ? 55000 : 50000;
-                } else if ("1-3".equals(rankCategory)) {
-                    price = isFavorite ? 50000 : 45000;
-                } else if ("4-5".equals(rankCategory)) {
-                    price = isFavorite ? 45000 : 40000;
-                } else if ("6-10".equals(rankCategory)) {
-                    price = isFavorite ? 40000 : 35000;
-                } else if ("11-15".equals(rankCategory)) {
-                    price = isFavorite ? 35000 : 30000;
-                } else { // Sin ranking
-                    price = isFavorite ? 30000 : 25000;
-                }
-                break;
-                
-            case "EARLY_PRELIMS":
-                if ("C".equals(rankCategory)) {
-                    price = isFavorite ? 50000 : 45000;
-                } else if ("1-3".equals(rankCategory)) {
-                    price = isFavorite ? 45000 : 40000;
-                } else if ("4-5".equals(rankCategory)) {
-                    price = isFavorite ? 40000 : 35000;
-                } else if ("6-10".equals(rankCategory)) {
-                    price = isFavorite ? 35000 : 30000;
-                } else if ("11-15".equals(rankCategory)) {
-                    price = isFavorite ? 30000 : 25000;
-                } else { // Sin ranking
-                    price = isFavorite ? 25000 : 20000;
-                }
-                break;
-                
-            default:
-                // Si no reconocemos la posición, usamos PRELIMS como predeterminado
-                if ("C".equals(rankCategory)) {
-                    price = isFavorite ? 55000 : 50000;
-                } else if ("1-3".equals(rankCategory)) {
-                    price = isFavorite ? 50000 : 45000;
-                } else if ("4-5".equals(rankCategory)) {
-                    price = isFavorite ? 45000 : 40000;
-                } else if ("6-10".equals(rankCategory)) {
-                    price = isFavorite ? 40000 : 35000;
-                } else if ("11-15".equals(rankCategory)) {
-                    price = isFavorite ? 35000 : 30000;
-                } else { // Sin ranking
-                    price = isFavorite ? 30000 : 25000;
-                }
+        Map<Long, Integer> pricesByFighter = new LinkedHashMap<>();
+        for (FighterPriceDTO priceDTO : pricesList) {
+            if (!eventFighterIds.contains(priceDTO.getFighterId())) {
+                throw new RuntimeException("El luchador con ID " + priceDTO.getFighterId() + " no participa en este evento");
+            }
+            pricesByFighter.put(priceDTO.getFighterId(), calculatePriceFromDTO(priceDTO));
         }
         
-        // Log para debug
-        logger.debug("Cálculo de precio para luchador: posición={}, ranking={}, favorito={}, precio final={}",
-                position, ranking, isFavorite, price);
+        int updated = fighterJdbcRepository.updatePrices(pricesByFighter);
+        logger.info("Precios del evento {} actualizados: {} luchadores", eventId, updated);
         
-        return price;
+        return pricesByFighter;
     }
     
     /**
-     * Determina la categoría de ranking para buscar en la tabla
-     * @param ranking Valor del ranking
-     * @return Categoría de ranking ("C", "1-3", "4-5", "6-10", "11-15", o null)
+     * Guarda precios ya calculados en una sola actualización en lote
+     * @param pricesByFighter Precio de cada luchador
+     * @return Número de luchadores actualizados
      */
-    private String getRankingCategory(String ranking) {
-        if (ranking == null || ranking.trim().isEmpty()) {
-            return null; // Sin ranking
-        }
-        
-        // Para campeón
-        if ("C".equalsIgnoreCase(ranking.trim())) {
-            return "C";
-        }
+    @Transactional
+    public int savePrices(Map<Long, Integer> pricesByFighter) {
+        return fighterJdbcRepository.updatePrices(pricesByFighter);
+    }
+    
+    /**
+     * Obtiene el precio directamente de la tabla de referencia
+     * @param position Posición en la cartelera
+     * @param ranking Ranking específico
+     * @param isFavorite Si es favorito
+     * @return Precio según la tabla
+     */
+    private int getPriceFromTable(String position, String ranking, boolean isFavorite) {
+        int price = table.price(position, ranking, isFavorite);
         
-        // Para rankings numéricos
-        try {
-            int rankNum = Integer.parseInt(ranking.trim());
-            if (rankNum >= 1 && rankNum <= 3) {
-                return "1-3";
-            } else if (rankNum >= 4 && rankNum <= 5) {
-                return "4-5";
-            } else if (rankNum >= 6 && rankNum <= 10) {
-                return "6-10";
-            } else if (rankNum >= 11 && rankNum <= 15) {
-                return "11-15";
-            }
-        } catch (NumberFormatException e) {
-            // No es un número válido
-            return null;
+        // Log para debug
+        if (logger.isDebugEnabled()) {
+            logger.debug("Cálculo de precio para luchador: posición={}, ranking={}, favorito={}, precio final={}",
+                    position, ranking, isFavorite, price);
         }
         
-        return null; // Si el ranking no se reconoce
+        return price;
     }
     
     /**
@@ -223,4 +163,4 @@ public class FighterPricingService {
         // En lugar de la lógica compleja, usamos la tabla
         return getPriceFromTable(position, ranking, isFavorite);
     }
-}
\ No newline at end of file
+}
@@ -2,6 +2,7 @@ package com.fantasyfightleague.service;
 
 import com.fantasyfightleague.model.Fighter;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -13,6 +14,9 @@ public interface FighterService {
     // Buscar un luchador por su ID
     Optional<Fighter> findById(Long id);
     
+    // Buscar varios luchadores por sus IDs en una sola consulta
+    List<Fighter> findAllByIds(Collection<Long> ids);
+    
     // Buscar luchadores por categoría de peso
     List<Fighter> findByWeightClass(String weightClass);
     
@@ -36,4 +40,7 @@ public interface FighterService {
     
     // Marcar un luchador como inactivo
     Fighter deactivateFighter(Long id);
+    
+    // Marcar todos los luchadores activos como inactivos (una sola sentencia)
+    int deactivateAllFighters();
 }
\ No newline at end of file
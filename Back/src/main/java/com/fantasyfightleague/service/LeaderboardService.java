@@ -0,0 +1,159 @@
+package com.fantasyfightleague.service;
+
+import com.fantasyfightleague.dto.EventLeaderboardEntryDTO;
+import com.fantasyfightleague.dto.EventSummaryDTO;
+import com.fantasyfightleague.dto.LeaderboardEntryDTO;
+import com.fantasyfightleague.dto.LeaderboardPageDTO;
+import com.fantasyfightleague.dto.LeagueSummaryDTO;
+import com.fantasyfightleague.dto.PickFighterDTO;
+import com.fantasyfightleague.model.Event;
+import com.fantasyfightleague.model.League;
+import com.fantasyfightleague.model.User;
+import com.fantasyfightleague.repository.LeagueRepository;
+import com.fantasyfightleague.repository.PickRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Lectura paginada de clasificaciones.
+ * Las entradas se proyectan directamente a DTOs en las consultas JPQL y solo se lee la página pedida,
+ * de forma que el tamaño de la respuesta no depende del número de miembros de la liga.
+ * La clasificación global de las ligas activas se lee de la clasificación en memoria.
+ */
+@Service
+public class LeaderboardService {
+    
+    public static final int DEFAULT_PAGE_SIZE = 50;
+    public static final int MAX_PAGE_SIZE = 200;
+    
+    @Autowired
+    private LeagueStandingService leagueStandingService;
+    
+    @Autowired
+    private LiveLeaderboardService liveLeaderboardService;
+    
+    @Autowired
+    private LeagueRepository leagueRepository;
+    
+    @Autowired
+    private PickRepository pickRepository;
+    
+    @Autowired
+    private FightResultsService fightResultsService;
+    
+    /**
+     * Página de la clasificación global de una liga
+     * @param aroundUser Si es true, se devuelve la página en la que está el usuario (ignora page)
+     */
+    @Transactional(readOnly = true)
+    public LeaderboardPageDTO<LeaderboardEntryDTO> getGlobalLeaderboard(League league, User user, int page, int size,
+                                                                         boolean aroundUser) {
+        size = normalizeSize(size);
+        page = Math.max(page, 0);
+        
+        // Liga activa: lectura de la clasificación en memoria
+        Optional<LiveLeaderboard> live = liveLeaderboardService.getLeaderboard(league);
+        if (live.isPresent()) {
+            LiveLeaderboard leaderboard = live.get();
+            if (aroundUser && leaderboard.getScore(user.getId()) != null) {
+                page = (leaderboard.position(user.getId()) - 1) / size;
+            }
+            
+            List<LeaderboardEntryDTO> entries = leagueStandingService.getLiveEntries(
+                    league, user.getId(), leaderboard.page(page * size + 1, size));
+            long total = leaderboard.size();
+            
+            return new LeaderboardPageDTO<>(getLeagueSummary(league), null, entries, total,
+                                            page, size, totalPages(total, size), null);
+        }
+        
+        if (aroundUser) {
+            Optional<Integer> position = leagueStandingService.getPosition(league, user);
+            if (position.isPresent()) {
+                page = (position.get() - 1) / size;
+            }
+        }
+        
+        int fromPosition = page * size + 1;
+        List<LeaderboardEntryDTO> entries = leagueStandingService
+                .getStandingEntries(league, user.getId(), fromPosition, fromPosition + size - 1);
+        long total = leagueStandingService.countParticipants(league);
+        
+        return new LeaderboardPageDTO<>(getLeagueSummary(league), null, entries, total,
+                                        page, size, totalPages(total, size), null);
+    }
+    
+    /**
+     * Página de la clasificación de un evento en una liga
+     * @param aroundUser Si es true, se devuelve la página en la que está el pick del usuario (ignora page)
+     */
+    @Transactional(readOnly = true)
+    public LeaderboardPageDTO<EventLeaderboardEntryDTO> getEventLeaderboard(League league, Event event, User user,
+                                                                              int page, int size, boolean aroundUser) {
+        size = normalizeSize(size);
+        page = Math.max(page, 0);
+        
+        if (aroundUser) {
+            List<Object[]> userPick = pickRepository.findPickScore(league.getId(), event.getId(), user.getId());
+            if (!userPick.isEmpty()) {
+                Long pickId = (Long) userPick.get(0)[0];
+                Integer points = (Integer) userPick.get(0)[1];
+                long ahead = pickRepository.countPicksAhead(league.getId(), event.getId(),
+                                                            points != null ? points : 0, pickId);
+                page = (int) (ahead / size);
+            }
+        }
+        
+        List<EventLeaderboardEntryDTO> rows = pickRepository.findEventLeaderboardEntries(
+                league.getId(), event.getId(), PageRequest.of(page, size));
+        long total = pickRepository.countByLeagueIdAndEventId(league.getId(), event.getId());
+        
+        // Luchadores de los picks de la página (una consulta) y puntos de cada luchador en el evento
+        Map<Long, List<PickFighterDTO>> fightersByPick = new HashMap<>();
+        if (!rows.isEmpty()) {
+            Map<Long, Integer> pointsByFighter = fightResultsService.getEventFighterPoints(event);
+            List<Long> pickIds = rows.stream().map(EventLeaderboardEntryDTO::pickId).toList();
+            
+            for (Object[] row : pickRepository.findFighterRowsByPickIds(pickIds)) {
+                Long fighterId = (Long) row[1];
+                Integer points = pointsByFighter.get(fighterId);
+                fightersByPick.computeIfAbsent((Long) row[0], id -> new ArrayList<>())
+                        .add(new PickFighterDTO(fighterId, (String) row[2], (String) row[3], (Integer) row[4],
+                                                points != null ? points : 0, points != null));
+            }
+        }
+        
+        List<EventLeaderboardEntryDTO> entries = new ArrayList<>(rows.size());
+        int position = page * size + 1;
+        for (EventLeaderboardEntryDTO row : rows) {
+            entries.add(row.withRanking(position++, fightersByPick.getOrDefault(row.pickId(), List.of())));
+        }
+        
+        return new LeaderboardPageDTO<>(getLeagueSummary(league), EventSummaryDTO.from(event), entries, total,
+                                        page, size, totalPages(total, size), "COMPLETED".equals(event.getStatus()));
+    }
+    
+    private LeagueSummaryDTO getLeagueSummary(League league) {
+        return leagueRepository.findSummaryById(league.getId())
+                .orElseThrow(() -> new RuntimeException("Liga no encontrada"));
+    }
+    
+    private int normalizeSize(int size) {
+        if (size <= 0) {
+            return DEFAULT_PAGE_SIZE;
+        }
+        return Math.min(size, MAX_PAGE_SIZE);
+    }
+    
+    private int totalPages(long total, int size) {
+        return (int) ((total + size - 1) / size);
+    }
+}
@@ -0,0 +1,274 @@
+package com.fantasyfightleague.service;
+
+import com.fantasyfightleague.dto.LeaderboardUpdateDTO;
+import com.fantasyfightleague.dto.LiveStandingDTO;
+import com.fantasyfightleague.model.League;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.task.AsyncTaskExecutor;
+import org.springframework.http.MediaType;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter.SseEventBuilder;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+
+/**
+ * Stream SSE de la clasificación en directo de cada liga.
+ * Los cambios de puntos de las peleas puntuadas en directo se acumulan por liga y se envían
+ * agrupados cada pocos cientos de milisegundos: la actualización se calcula y serializa una
+ * sola vez por liga y el mismo mensaje se reparte a todos sus suscriptores desde el executor de
+ * tareas de la aplicación (hilos virtuales en el perfil virtual-threads), sin consultas a la base
+ * de datos por cada espectador.
+ */
+@Service
+public class LeaderboardStreamService {
+
+    private static final Logger logger = LoggerFactory.getLogger(LeaderboardStreamService.class);
+
+    // Suscriptores atendidos por cada tarea del reparto
+    private static final int FAN_OUT_BATCH_SIZE = 500;
+
+    private final Map<Long, LeagueChannel> channels = new ConcurrentHashMap<>();
+    private final AsyncTaskExecutor fanOutExecutor;
+    private final long timeoutMs;
+    private final int topSize;
+    private final int maxChanges;
+
+    @Autowired
+    private LiveLeaderboardService liveLeaderboardService;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    public LeaderboardStreamService(@Qualifier("applicationTaskExecutor") AsyncTaskExecutor fanOutExecutor,
+                                    @Value("${ffl.leaderboard.stream.timeout-ms:1800000}") long timeoutMs,
+                                    @Value("${ffl.leaderboard.stream.top-size:10}") int topSize,
+                                    @Value("${ffl.leaderboard.stream.max-changes:1000}") int maxChanges) {
+        this.fanOutExecutor = fanOutExecutor;
+        this.timeoutMs = timeoutMs;
+        this.topSize = topSize;
+        this.maxChanges = maxChanges;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        for (LeagueChannel channel : channels.values()) {
+            channel.subscribers.forEach(SseEmitter::complete);
+        }
+        channels.clear();
+    }
+
+    /**
+     * Abre un stream de la clasificación de una liga
+     * @param league Liga (debe estar activa)
+     * @param userId Usuario que se suscribe
+     * @return Emisor SSE del suscriptor
+     */
+    public SseEmitter subscribe(League league, Long userId) {
+        if (liveLeaderboardService.getLeaderboard(league).isEmpty()) {
+            throw new RuntimeException("La liga no está activa");
+        }
+
+        SseEmitter emitter = new SseEmitter(timeoutMs);
+        // El alta se hace dentro de compute para que heartbeat() no retire el canal entre su creación y el alta
+        LeagueChannel channel = channels.compute(league.getId(), (leagueId, current) -> {
+            LeagueChannel joined = current != null ? current : new LeagueChannel(leagueId);
+            joined.subscribers.add(emitter);
+            return joined;
+        });
+
+        emitter.onCompletion(() -> channel.subscribers.remove(emitter));
+        emitter.onTimeout(() -> channel.subscribers.remove(emitter));
+        emitter.onError(e -> channel.subscribers.remove(emitter));
+
+        try {
+            emitter.send(SseEmitter.event().name("connected")
+                    .data(Map.of("leagueId", league.getId(), "userId", userId), MediaType.APPLICATION_JSON));
+        } catch (IOException e) {
+            channel.subscribers.remove(emitter);
+            emitter.completeWithError(e);
+        }
+
+        logger.debug("Nuevo suscriptor en la liga {} ({} conectados)", league.getId(), channel.subscribers.size());
+        return emitter;
+    }
+
+    /**
+     * Acumula los puntos de una pelea puntuada en directo, una vez confirmada la transacción.
+     * Solo se guardan para las ligas con algún suscriptor.
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onLiveScoresChanged(LiveScoresChangedEvent event) {
+        for (Map.Entry<Long, Map<Long, Integer>> league : event.deltas().entrySet()) {
+            LeagueChannel channel = channels.get(league.getKey());
+            if (channel != null && !channel.subscribers.isEmpty()) {
+                channel.record(event.eventId(), league.getValue());
+            }
+        }
+    }
+
+    /**
+     * Envía los cambios acumulados de cada liga.
+     * Si el envío anterior de una liga sigue en curso, sus cambios siguen acumulándose para el siguiente.
+     */
+    @Scheduled(fixedDelayString = "${ffl.leaderboard.stream.flush-interval-ms:500}")
+    public void flush() {
+        for (LeagueChannel channel : channels.values()) {
+            if (channel.sendsInFlight.get() > 0) {
+                continue;
+            }
+            PendingUpdate pending = channel.drain();
+            if (pending == null || channel.subscribers.isEmpty()) {
+                continue;
+            }
+
+            liveLeaderboardService.findLoaded(channel.leagueId).ifPresent(leaderboard -> {
+                LeaderboardUpdateDTO update = buildUpdate(channel.leagueId, pending, leaderboard);
+                try {
+                    String json = objectMapper.writeValueAsString(update);
+                    broadcast(channel, SseEmitter.event().name("leaderboard")
+                            .id(String.valueOf(pending.sequence())).data(json, MediaType.APPLICATION_JSON));
+                } catch (JsonProcessingException e) {
+                    logger.error("Error al serializar la actualización de la liga {}: {}", channel.leagueId, e.getMessage());
+                }
+            });
+        }
+    }
+
+    /**
+     * Mantiene vivas las conexiones y detecta los suscriptores desconectados
+     */
+    @Scheduled(fixedDelayString = "${ffl.leaderboard.stream.heartbeat-ms:15000}")
+    public void heartbeat() {
+        for (Long leagueId : channels.keySet()) {
+            // Retira el canal sin suscriptores de forma atómica respecto a las altas de subscribe()
+            LeagueChannel channel = channels.computeIfPresent(leagueId,
+                    (id, current) -> current.subscribers.isEmpty() ? null : current);
+            if (channel != null && channel.sendsInFlight.get() == 0) {
+                broadcast(channel, SseEmitter.event().comment("ping"));
+            }
+        }
+    }
+
+    /**
+     * Número de suscriptores conectados a una liga
+     */
+    public int countSubscribers(Long leagueId) {
+        LeagueChannel channel = channels.get(leagueId);
+        return channel != null ? channel.subscribers.size() : 0;
+    }
+
+    private LeaderboardUpdateDTO buildUpdate(Long leagueId, PendingUpdate pending, LiveLeaderboard leaderboard) {
+        List<LiveStandingDTO> changes = new ArrayList<>(Math.min(pending.deltas().size(), maxChanges));
+        boolean truncated = false;
+
+        for (Map.Entry<Long, Integer> entry : pending.deltas().entrySet()) {
+            if (entry.getValue() == 0) {
+                continue;
+            }
+            if (changes.size() >= maxChanges) {
+                truncated = true;
+                break;
+            }
+            Integer points = leaderboard.getScore(entry.getKey());
+            if (points != null) {
+                changes.add(new LiveStandingDTO(entry.getKey(), points, leaderboard.position(entry.getKey()), entry.getValue()));
+            }
+        }
+        changes.sort(Comparator.comparingInt(LiveStandingDTO::position));
+
+        List<LiveStandingDTO> top = leaderboard.page(1, topSize).stream()
+                .map(standing -> new LiveStandingDTO(standing.userId(), standing.points(), standing.position(), null))
+                .collect(Collectors.toList());
+
+        return new LeaderboardUpdateDTO(leagueId, pending.eventId(), pending.sequence(), leaderboard.size(),
+                                        changes, truncated, top);
+    }
+
+    /**
+     * Reparte el mismo mensaje a todos los suscriptores de una liga, por bloques en el executor de tareas
+     */
+    private void broadcast(LeagueChannel channel, SseEventBuilder event) {
+        Set<SseEmitter.DataWithMediaType> message = event.build();
+        List<SseEmitter> subscribers = new ArrayList<>(channel.subscribers);
+
+        for (int from = 0; from < subscribers.size(); from += FAN_OUT_BATCH_SIZE) {
+            List<SseEmitter> batch = subscribers.subList(from, Math.min(from + FAN_OUT_BATCH_SIZE, subscribers.size()));
+            channel.sendsInFlight.incrementAndGet();
+            try {
+                fanOutExecutor.execute(() -> {
+                    try {
+                        send(channel, batch, message);
+                    } finally {
+                        channel.sendsInFlight.decrementAndGet();
+                    }
+                });
+            } catch (RejectedExecutionException e) {
+                channel.sendsInFlight.decrementAndGet();
+            }
+        }
+    }
+
+    private void send(LeagueChannel channel, List<SseEmitter> batch, Set<SseEmitter.DataWithMediaType> message) {
+        for (SseEmitter emitter : batch) {
+            try {
+                emitter.send(message);
+            } catch (IOException | IllegalStateException e) {
+                // Cliente desconectado o stream ya cerrado
+                channel.subscribers.remove(emitter);
+            }
+        }
+    }
+
+    /**
+     * Suscriptores y cambios pendientes de una liga
+     */
+    private static class LeagueChannel {
+        private final Long leagueId;
+        private final Set<SseEmitter> subscribers = ConcurrentHashMap.newKeySet();
+        private final AtomicInteger sendsInFlight = new AtomicInteger();
+        private Map<Long, Integer> pendingDeltas = new HashMap<>();
+        private Long pendingEventId;
+        private long sequence;
+
+        private LeagueChannel(Long leagueId) {
+            this.leagueId = leagueId;
+        }
+
+        private synchronized void record(Long eventId, Map<Long, Integer> deltas) {
+            deltas.forEach((userId, delta) -> pendingDeltas.merge(userId, delta, Integer::sum));
+            pendingEventId = eventId;
+        }
+
+        private synchronized PendingUpdate drain() {
+            if (pendingDeltas.isEmpty()) {
+                return null;
+            }
+            PendingUpdate pending = new PendingUpdate(pendingEventId, pendingDeltas, ++sequence);
+            pendingDeltas = new HashMap<>();
+            return pending;
+        }
+    }
+
+    private record PendingUpdate(Long eventId, Map<Long, Integer> deltas, long sequence) {
+    }
+}
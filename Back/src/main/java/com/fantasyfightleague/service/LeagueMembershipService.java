@@ -0,0 +1,147 @@
+package com.fantasyfightleague.service;
+
+import com.fantasyfightleague.repository.LeagueRepository;
+import org.roaringbitmap.RoaringBitmap;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Índice de miembros de las ligas.
+ * Cada liga cacheada guarda los IDs de sus miembros en un bitmap comprimido (Roaring), de forma que
+ * comprobar si un usuario es miembro no carga entidades ni la colección de miembros. Los bitmaps no
+ * se modifican en sitio: las altas y bajas sustituyen el bitmap por una copia actualizada tras el commit,
+ * así que las lecturas concurrentes no necesitan bloqueo. Si la caché está llena o el ID no cabe en
+ * el bitmap, la comprobación se resuelve con la consulta EXISTS sobre la clave de league_members.
+ * Las altas y bajas hechas en otro nodo no llegan a este bitmap: un "no" se confirma siempre con EXISTS
+ * (las altas se ven al momento) y cada bitmap caduca al cumplir el TTL (las bajas se ven como mucho tras el TTL).
+ */
+@Service
+public class LeagueMembershipService {
+
+    private static final Logger logger = LoggerFactory.getLogger(LeagueMembershipService.class);
+
+    private final Map<Long, Entry> membersByLeague = new ConcurrentHashMap<>();
+
+    @Autowired
+    private LeagueRepository leagueRepository;
+
+    @Value("${ffl.leagues.membership-cache.max-leagues:5000}")
+    private int maxLeagues;
+
+    @Value("${ffl.leagues.membership-cache.ttl-seconds:60}")
+    private long ttlSeconds;
+
+    /**
+     * Indica si un usuario es miembro de una liga
+     */
+    public boolean isMember(Long leagueId, Long userId) {
+        if (leagueId == null || userId == null) {
+            return false;
+        }
+        if (userId < 0 || userId > Integer.MAX_VALUE) {
+            return leagueRepository.existsByIdAndMembersId(leagueId, userId);
+        }
+
+        long now = System.currentTimeMillis();
+        Entry entry = membersByLeague.get(leagueId);
+        if (entry == null || entry.expiresAt <= now) {
+            if (membersByLeague.size() >= maxLeagues) {
+                evictExpired(now);
+                if (membersByLeague.size() >= maxLeagues) {
+                    return leagueRepository.existsByIdAndMembersId(leagueId, userId);
+                }
+            }
+            entry = membersByLeague.compute(leagueId, (id, current) ->
+                    current != null && current.expiresAt > now ? current : new Entry(load(id), now + ttlSeconds * 1000));
+        }
+        if (entry.members.contains(userId.intValue())) {
+            return true;
+        }
+
+        // El alta puede haberse hecho en otro nodo: confirmar con la base de datos
+        if (!leagueRepository.existsByIdAndMembersId(leagueId, userId)) {
+            return false;
+        }
+        TransactionCallbacks.afterCommit(() -> update(leagueId, userId, true));
+        return true;
+    }
+
+    /**
+     * Número de miembros de una liga (desde el bitmap si está cacheado y no ha caducado)
+     */
+    public long countMembers(Long leagueId) {
+        Entry entry = membersByLeague.get(leagueId);
+        return entry != null && entry.expiresAt > System.currentTimeMillis()
+                ? entry.members.getLongCardinality()
+                : leagueRepository.countMembers(leagueId);
+    }
+
+    /**
+     * Añade un miembro al bitmap de la liga (si está cacheado) tras el commit
+     */
+    public void onMemberJoined(Long leagueId, Long userId) {
+        TransactionCallbacks.afterCommit(() -> update(leagueId, userId, true));
+    }
+
+    /**
+     * Quita un miembro del bitmap de la liga (si está cacheado) tras el commit
+     */
+    public void onMemberLeft(Long leagueId, Long userId) {
+        TransactionCallbacks.afterCommit(() -> update(leagueId, userId, false));
+    }
+
+    /**
+     * Descarta el bitmap de una liga
+     */
+    public void evict(Long leagueId) {
+        membersByLeague.remove(leagueId);
+    }
+
+    private void update(Long leagueId, Long userId, boolean member) {
+        if (userId < 0 || userId > Integer.MAX_VALUE) {
+            return;
+        }
+        membersByLeague.computeIfPresent(leagueId, (id, current) -> {
+            if (current.members.contains(userId.intValue()) == member) {
+                return current;
+            }
+            RoaringBitmap updated = current.members.clone();
+            if (member) {
+                updated.add(userId.intValue());
+            } else {
+                updated.remove(userId.intValue());
+            }
+            updated.runOptimize();
+            return new Entry(updated, current.expiresAt);
+        });
+    }
+
+    private void evictExpired(long now) {
+        membersByLeague.values().removeIf(entry -> entry.expiresAt <= now);
+    }
+
+    private RoaringBitmap load(Long leagueId) {
+        RoaringBitmap members = new RoaringBitmap();
+        for (Long userId : leagueRepository.findMemberIds(leagueId)) {
+            if (userId >= 0 && userId <= Integer.MAX_VALUE) {
+                members.add(userId.intValue());
+            }
+        }
+        members.runOptimize();
+        logger.debug("Índice de miembros de la liga {} cargado: {} miembros ({} bytes)",
+                    leagueId, members.getCardinality(), members.getSizeInBytes());
+        return members;
+    }
+
+    /**
+     * Bitmap de miembros de una liga y el momento en que caduca
+     */
+    private record Entry(RoaringBitmap members, long expiresAt) {
+    }
+}
@@ -1,6 +1,7 @@
 // Crear: src/main/java/com/fantasyfightleague/service/LeagueService.java
 package com.fantasyfightleague.service;
 
+import com.fantasyfightleague.dto.LeagueSummaryDTO;
 import com.fantasyfightleague.model.Event;
 import com.fantasyfightleague.model.League;
 import com.fantasyfightleague.model.User;
@@ -16,6 +17,7 @@ public interface LeagueService {
     
     // Buscar ligas
     Optional<League> findById(Long id);
+    Optional<LeagueSummaryDTO> findSummaryById(Long id);
     List<League> findPublicLeagues();
     List<League> findActivePublicLeagues();
     List<League> findPrivateLeaguesByCreator(User creator);
@@ -0,0 +1,264 @@
+package com.fantasyfightleague.service;
+
+import com.fantasyfightleague.dto.LeaderboardEntryDTO;
+import com.fantasyfightleague.model.Event;
+import com.fantasyfightleague.model.League;
+import com.fantasyfightleague.model.LeagueStanding;
+import com.fantasyfightleague.model.User;
+import com.fantasyfightleague.repository.LeagueRepository;
+import com.fantasyfightleague.repository.LeagueStandingJdbcRepository;
+import com.fantasyfightleague.repository.LeagueStandingRepository;
+import com.fantasyfightleague.repository.PickRepository;
+import com.fantasyfightleague.repository.UserRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.stream.Collectors;
+
+/**
+ * Servicio que mantiene la tabla materializada league_standings.
+ * La clasificación de una liga se construye al crearla, se amplía con cada alta, se recalcula
+ * después de puntuar un evento o tras una baja, y se lee directamente desde la tabla en los
+ * endpoints de clasificación. Las lecturas no escriben nunca: todas las escrituras de una liga
+ * se serializan con un bloqueo sobre su fila en leagues.
+ */
+@Service
+public class LeagueStandingService {
+
+    private static final Logger logger = LoggerFactory.getLogger(LeagueStandingService.class);
+
+    @Autowired
+    private LeagueStandingRepository standingRepository;
+
+    @Autowired
+    private LeagueStandingJdbcRepository standingJdbcRepository;
+
+    @Autowired
+    private PickRepository pickRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private LeagueRepository leagueRepository;
+
+    @Autowired
+    private LiveLeaderboardService liveLeaderboardService;
+
+    private final TransactionTemplate transactionTemplate;
+
+    public LeagueStandingService(PlatformTransactionManager transactionManager) {
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    /**
+     * Al arrancar, construye la clasificación de las ligas que todavía no la tienen
+     * (ligas creadas antes de materializarla al crear la liga). Cada liga en su propia transacción.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void materializeMissingStandings() {
+        List<Long> leagueIds = standingRepository.findLeagueIdsWithoutStandings();
+        int built = 0;
+        for (Long leagueId : leagueIds) {
+            try {
+                Boolean created = transactionTemplate.execute(status -> {
+                    leagueRepository.lockById(leagueId);
+                    if (standingRepository.existsByLeagueId(leagueId)) {
+                        return false;
+                    }
+                    rebuild(leagueId);
+                    return true;
+                });
+                if (Boolean.TRUE.equals(created)) {
+                    built++;
+                }
+            } catch (Exception e) {
+                logger.error("Error al construir la clasificación de la liga {}: {}", leagueId, e.getMessage());
+            }
+        }
+        if (built > 0) {
+            logger.info("Clasificaciones construidas para {} ligas sin clasificación", built);
+        }
+    }
+
+    /**
+     * Recalcula las clasificaciones de todas las ligas con picks en un evento
+     * @param event Evento recién puntuado
+     * @return Número de ligas actualizadas
+     */
+    @Transactional
+    public int refreshStandingsForEvent(Event event) {
+        // En orden de ID para tomar los bloqueos de las ligas siempre en el mismo orden
+        List<Long> leagueIds = pickRepository.findLeagueIdsByEvent(event).stream().sorted().collect(Collectors.toList());
+
+        for (Long leagueId : leagueIds) {
+            refreshLeague(leagueId);
+        }
+
+        logger.info("Clasificaciones actualizadas para {} ligas tras el evento {}", leagueIds.size(), event.getName());
+        return leagueIds.size();
+    }
+
+    /**
+     * Recalcula la clasificación completa de una liga
+     */
+    @Transactional
+    public void refreshLeague(Long leagueId) {
+        leagueRepository.lockById(leagueId);
+        rebuild(leagueId);
+    }
+
+    /**
+     * Construye la clasificación de una liga recién creada
+     */
+    @Transactional
+    public void onLeagueCreated(League league) {
+        refreshLeague(league.getId());
+    }
+
+    private void rebuild(Long leagueId) {
+        standingRepository.deleteByLeagueId(leagueId);
+        int rows = standingRepository.insertComputedStandings(leagueId);
+        logger.debug("Clasificación de la liga {} recalculada: {} participantes", leagueId, rows);
+        liveLeaderboardService.reloadLeague(leagueId);
+    }
+
+    /**
+     * Suma los puntos de un resultado en directo a las clasificaciones afectadas.
+     * Los totales de league_standings se actualizan de forma aditiva y la clasificación
+     * en memoria recibe los mismos puntos tras el commit; las posiciones y medias de la
+     * tabla se consolidan al recalcular las clasificaciones cuando termina el evento.
+     *
+     * @param deltas Puntos a sumar, por ID de liga y de usuario
+     */
+    @Transactional
+    public void applyLiveDeltas(Map<Long, Map<Long, Integer>> deltas) {
+        if (deltas.isEmpty()) {
+            return;
+        }
+        standingJdbcRepository.addTotalPoints(deltas);
+        liveLeaderboardService.addPoints(deltas);
+    }
+
+    /**
+     * Añade un nuevo miembro al final de la clasificación de la liga.
+     * Si la liga todavía no tiene clasificación, se construye completa (incluido el nuevo miembro).
+     */
+    @Transactional
+    public void onMemberJoined(League league, User user) {
+        leagueRepository.lockById(league.getId());
+        if (standingRepository.appendMember(league.getId(), user.getId()) == 0
+                && !standingRepository.existsByLeagueId(league.getId())) {
+            rebuild(league.getId());
+            return;
+        }
+        liveLeaderboardService.onMemberJoined(league.getId(), user.getId());
+    }
+
+    /**
+     * Recalcula la clasificación tras la salida de un miembro para cerrar el hueco en las posiciones
+     */
+    @Transactional
+    public void onMemberLeft(League league, User user) {
+        refreshLeague(league.getId());
+    }
+
+    /**
+     * Obtiene la clasificación de una liga ordenada por posición
+     */
+    @Transactional(readOnly = true)
+    public List<LeagueStanding> getStandings(League league) {
+        return standingRepository.findByLeagueIdOrderByPosition(league.getId());
+    }
+
+    /**
+     * Obtiene la entrada de un usuario en la clasificación de una liga
+     */
+    @Transactional(readOnly = true)
+    public Optional<LeagueStanding> getStanding(League league, User user) {
+        return standingRepository.findByLeagueIdAndUserId(league.getId(), user.getId());
+    }
+
+    /**
+     * Entradas de la clasificación de una liga entre dos posiciones (ambas incluidas)
+     * @param currentUserId Usuario que consulta, marcado con isCurrentUser
+     */
+    @Transactional(readOnly = true)
+    public List<LeaderboardEntryDTO> getStandingEntries(League league, Long currentUserId, int fromPosition, int toPosition) {
+        return standingRepository.findEntriesByPositionRange(league.getId(), currentUserId, fromPosition, toPosition);
+    }
+
+    /**
+     * Entradas de la clasificación para participantes de la clasificación en memoria.
+     * Los datos de usuario y de participación salen de league_standings en una sola consulta;
+     * la posición y los puntos son los de la clasificación en memoria.
+     */
+    @Transactional(readOnly = true)
+    public List<LeaderboardEntryDTO> getLiveEntries(League league, Long currentUserId, List<LiveLeaderboard.Standing> live) {
+        List<LeaderboardEntryDTO> entries = new ArrayList<>(live.size());
+        if (live.isEmpty()) {
+            return entries;
+        }
+
+        List<Long> userIds = live.stream().map(LiveLeaderboard.Standing::userId).collect(Collectors.toList());
+        Map<Long, LeaderboardEntryDTO> stored = new HashMap<>();
+        for (LeaderboardEntryDTO entry : standingRepository.findEntriesByUserIds(league.getId(), currentUserId, userIds)) {
+            stored.put(entry.userId(), entry);
+        }
+
+        // Participantes todavía sin fila en league_standings (p. ej. ligas pendientes de construir al arrancar)
+        Map<Long, User> missingUsers = new HashMap<>();
+        if (stored.size() < userIds.size()) {
+            List<Long> missing = userIds.stream().filter(id -> !stored.containsKey(id)).collect(Collectors.toList());
+            for (User user : userRepository.findAllById(missing)) {
+                missingUsers.put(user.getId(), user);
+            }
+        }
+
+        for (LiveLeaderboard.Standing standing : live) {
+            LeaderboardEntryDTO entry = stored.get(standing.userId());
+            if (entry != null) {
+                int events = entry.eventsParticipated() != null ? entry.eventsParticipated() : 0;
+                double average = events > 0 ? Math.round((double) standing.points() / events * 100.0) / 100.0 : 0.0;
+                entries.add(new LeaderboardEntryDTO(standing.position(), entry.userId(), entry.username(),
+                        entry.firstName(), entry.lastName(), entry.profileImageUrl(), standing.points(),
+                        entry.eventsParticipated(), average, entry.lastEventPoints(), entry.isCurrentUser()));
+            } else if (missingUsers.containsKey(standing.userId())) {
+                User user = missingUsers.get(standing.userId());
+                entries.add(new LeaderboardEntryDTO(standing.position(), user.getId(), user.getUsername(),
+                        user.getFirstName() != null ? user.getFirstName() : "",
+                        user.getLastName() != null ? user.getLastName() : "",
+                        user.getProfileImageUrl(), standing.points(), 0, 0.0, 0,
+                        user.getId().equals(currentUserId)));
+            }
+        }
+        return entries;
+    }
+
+    /**
+     * Posición de un usuario en la clasificación de una liga
+     */
+    @Transactional(readOnly = true)
+    public Optional<Integer> getPosition(League league, User user) {
+        return standingRepository.findPositionByLeagueIdAndUserId(league.getId(), user.getId());
+    }
+
+    /**
+     * Número de participantes en la clasificación de una liga
+     */
+    public long countParticipants(League league) {
+        return standingRepository.countByLeagueId(league.getId());
+    }
+}
@@ -0,0 +1,336 @@
+package com.fantasyfightleague.service;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Clasificación en memoria de una liga.
+ * Cada participante se guarda como una clave long que codifica (puntos descendentes, id de usuario ascendente)
+ * en un árbol de estadísticos de orden (treap con el tamaño de cada subárbol), de forma que el orden del árbol
+ * es el de la clasificación y el número de claves menores que una dada se calcula en O(log n).
+ * Así el rango, la posición y el inicio de una página cuestan O(log n) con cualquier puntuación
+ * (también negativa) y cualquier número de empates; leer k participantes cuesta O(log n + k).
+ * Los árboles son persistentes: una escritura copia solo el camino que modifica (O(log n)) y publica una
+ * instantánea inmutable en un campo volatile. Las escrituras se serializan con un lock por liga; las lecturas
+ * no toman ningún lock y cada llamada ve una instantánea consistente de toda la clasificación.
+ */
+public class LiveLeaderboard {
+
+    private final Long leagueId;
+    private final ReentrantLock writeLock = new ReentrantLock();
+
+    // Prioridades del treap (solo se usa con el lock de escritura)
+    private final SplittableRandom random = new SplittableRandom();
+
+    private volatile Snapshot snapshot = new Snapshot(null, null);
+
+    public LiveLeaderboard(Long leagueId) {
+        this.leagueId = leagueId;
+    }
+
+    public Long getLeagueId() {
+        return leagueId;
+    }
+
+    /**
+     * Establece los puntos de un participante (lo añade si no existe)
+     */
+    public void setScore(long userId, int points) {
+        long key = encode(userId, points);
+        writeLock.lock();
+        try {
+            Snapshot current = snapshot;
+            Node previous = find(current.scores, userId);
+            Node order = current.order;
+            if (previous != null) {
+                order = delete(order, encode(userId, previous.value));
+            }
+            int priority = random.nextInt();
+            snapshot = new Snapshot(insert(order, new Node(key, 0, priority, null, null)),
+                                    insert(delete(current.scores, userId), new Node(userId, points, priority, null, null)));
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    /**
+     * Suma puntos a un participante (lo añade con 0 puntos si no existe)
+     * @return Puntos después de la suma
+     */
+    public int addPoints(long userId, int delta) {
+        writeLock.lock();
+        try {
+            Integer current = getScore(userId);
+            int points = (current != null ? current : 0) + delta;
+            setScore(userId, points);
+            return points;
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    /**
+     * Añade un participante con 0 puntos si todavía no está en la clasificación
+     */
+    public void addParticipant(long userId) {
+        writeLock.lock();
+        try {
+            if (getScore(userId) == null) {
+                setScore(userId, 0);
+            }
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    /**
+     * Elimina un participante
+     */
+    public void remove(long userId) {
+        writeLock.lock();
+        try {
+            Snapshot current = snapshot;
+            Node previous = find(current.scores, userId);
+            if (previous != null) {
+                snapshot = new Snapshot(delete(current.order, encode(userId, previous.value)),
+                                        delete(current.scores, userId));
+            }
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    /**
+     * Puntos de un participante, o null si no está en la clasificación
+     */
+    public Integer getScore(long userId) {
+        Node node = find(snapshot.scores, userId);
+        return node != null ? node.value : null;
+    }
+
+    /**
+     * Número de participantes
+     */
+    public int size() {
+        return size(snapshot.order);
+    }
+
+    /**
+     * Rango con empates: 1 + número de participantes con más puntos
+     */
+    public int rank(long userId) {
+        Snapshot current = snapshot;
+        Node node = find(current.scores, userId);
+        // encode(0, puntos) es la menor clave con esos puntos: las menores son las de más puntos
+        return node != null ? countLess(current.order, encode(0L, node.value)) + 1 : 0;
+    }
+
+    /**
+     * Posición en la clasificación ordenada (sin empates: a igualdad de puntos, por id de usuario)
+     */
+    public int position(long userId) {
+        Snapshot current = snapshot;
+        Node node = find(current.scores, userId);
+        return node != null ? countLess(current.order, encode(userId, node.value)) + 1 : 0;
+    }
+
+    /**
+     * Participantes a partir de una posición
+     * @param fromPosition Primera posición (desde 1)
+     * @param count Número máximo de participantes
+     */
+    public List<Standing> page(int fromPosition, int count) {
+        return standings(snapshot.order, Math.max(fromPosition, 1) - 1, count);
+    }
+
+    /**
+     * Participantes por encima de un usuario, del más cercano al más lejano
+     */
+    public List<Standing> above(long userId, int count) {
+        Snapshot current = snapshot;
+        Node node = find(current.scores, userId);
+        if (node == null || count <= 0) {
+            return new ArrayList<>();
+        }
+        int index = countLess(current.order, encode(userId, node.value));
+        int from = Math.max(0, index - count);
+        List<Standing> above = standings(current.order, from, index - from);
+        Collections.reverse(above);
+        return above;
+    }
+
+    /**
+     * Participantes por debajo de un usuario, del más cercano al más lejano
+     */
+    public List<Standing> below(long userId, int count) {
+        Snapshot current = snapshot;
+        Node node = find(current.scores, userId);
+        if (node == null || count <= 0) {
+            return new ArrayList<>();
+        }
+        return standings(current.order, countLess(current.order, encode(userId, node.value)) + 1, count);
+    }
+
+    /**
+     * Clave de ordenación: puntos descendentes en los 32 bits altos e id de usuario en los bajos
+     */
+    static long encode(long userId, int points) {
+        if (userId < 0 || userId > 0xFFFFFFFFL) {
+            throw new IllegalArgumentException("ID de usuario fuera de rango para la clasificación en memoria: " + userId);
+        }
+        if (points == Integer.MIN_VALUE) {
+            throw new IllegalArgumentException("Puntuación fuera de rango para la clasificación en memoria: " + points);
+        }
+        return (-(long) points << 32) | userId;
+    }
+
+    static long userIdOf(long key) {
+        return key & 0xFFFFFFFFL;
+    }
+
+    static int pointsOf(long key) {
+        return (int) -(key >> 32);
+    }
+
+    // ---- Treap persistente: los nodos no se modifican, cada escritura crea copias del camino ----
+
+    /**
+     * Estado publicado: la clasificación ordenada (claves codificadas) y los puntos por usuario (clave = id de usuario)
+     */
+    private record Snapshot(Node order, Node scores) {
+    }
+
+    private static final class Node {
+        final long key;
+        final int value;
+        final int priority;
+        final int size;
+        final Node left;
+        final Node right;
+
+        Node(long key, int value, int priority, Node left, Node right) {
+            this.key = key;
+            this.value = value;
+            this.priority = priority;
+            this.left = left;
+            this.right = right;
+            this.size = size(left) + size(right) + 1;
+        }
+
+        Node with(Node left, Node right) {
+            return new Node(key, value, priority, left, right);
+        }
+    }
+
+    private record Split(Node left, Node right) {
+    }
+
+    private static int size(Node node) {
+        return node != null ? node.size : 0;
+    }
+
+    private static Node find(Node node, long key) {
+        while (node != null && node.key != key) {
+            node = key < node.key ? node.left : node.right;
+        }
+        return node;
+    }
+
+    private static Node insert(Node root, Node inserted) {
+        Split split = split(root, inserted.key);
+        return merge(merge(split.left, inserted), split.right);
+    }
+
+    private static Node delete(Node node, long key) {
+        if (node == null) {
+            return null;
+        }
+        if (key < node.key) {
+            return node.with(delete(node.left, key), node.right);
+        }
+        if (key > node.key) {
+            return node.with(node.left, delete(node.right, key));
+        }
+        return merge(node.left, node.right);
+    }
+
+    // Divide un treap en las claves menores que key y las mayores o iguales
+    private static Split split(Node node, long key) {
+        if (node == null) {
+            return new Split(null, null);
+        }
+        if (node.key < key) {
+            Split right = split(node.right, key);
+            return new Split(node.with(node.left, right.left), right.right);
+        }
+        Split left = split(node.left, key);
+        return new Split(left.left, node.with(left.right, node.right));
+    }
+
+    // Une dos treaps en los que todas las claves de left son menores que las de right
+    private static Node merge(Node left, Node right) {
+        if (left == null) {
+            return right;
+        }
+        if (right == null) {
+            return left;
+        }
+        if (left.priority > right.priority) {
+            return left.with(left.left, merge(left.right, right));
+        }
+        return right.with(merge(left, right.left), right.right);
+    }
+
+    private static int countLess(Node node, long key) {
+        int count = 0;
+        while (node != null) {
+            if (node.key < key) {
+                count += size(node.left) + 1;
+                node = node.right;
+            } else {
+                node = node.left;
+            }
+        }
+        return count;
+    }
+
+    // Participantes desde el índice from (desde 0), en orden de clasificación
+    private static List<Standing> standings(Node root, int from, int count) {
+        List<Long> keys = new ArrayList<>(Math.max(0, Math.min(count, size(root))));
+        if (count > 0) {
+            collect(root, from, count, keys);
+        }
+        List<Standing> standings = new ArrayList<>(keys.size());
+        for (int i = 0; i < keys.size(); i++) {
+            long key = keys.get(i);
+            standings.add(new Standing(userIdOf(key), pointsOf(key), from + i + 1));
+        }
+        return standings;
+    }
+
+    // Recorrido en orden que salta los subárboles anteriores a skip: O(log n + count)
+    private static void collect(Node node, int skip, int count, List<Long> keys) {
+        if (node == null || keys.size() >= count) {
+            return;
+        }
+        int leftSize = size(node.left);
+        if (skip < leftSize) {
+            collect(node.left, skip, count, keys);
+        }
+        if (skip <= leftSize && keys.size() < count) {
+            keys.add(node.key);
+        }
+        if (keys.size() < count) {
+            collect(node.right, Math.max(0, skip - leftSize - 1), count, keys);
+        }
+    }
+
+    /**
+     * Participante en la clasificación en memoria
+     */
+    public record Standing(long userId, int points, int position) {
+    }
+}
@@ -0,0 +1,180 @@
+package com.fantasyfightleague.service;
+
+import com.fantasyfightleague.model.League;
+import com.fantasyfightleague.repository.LeagueRepository;
+import com.fantasyfightleague.repository.PickRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Clasificaciones en memoria de las ligas activas.
+ * Se construyen al arrancar a partir de los picks y los miembros de cada liga, se actualizan
+ * punto a punto durante los eventos en directo y se recargan cuando se recalcula la clasificación
+ * materializada de una liga. Los endpoints de clasificación global leen de aquí.
+ * Cada nodo tiene su copia: los puntos en directo solo se aplican al momento en el nodo que procesa
+ * la pelea (y solo sus streams los envían), y el resto de nodos los recogen al reconstruir todas las
+ * clasificaciones cada ffl.leaderboard.live.refresh-interval-ms.
+ */
+@Service
+public class LiveLeaderboardService {
+    
+    private static final Logger logger = LoggerFactory.getLogger(LiveLeaderboardService.class);
+    
+    private final Map<Long, LiveLeaderboard> leaderboards = new ConcurrentHashMap<>();
+    
+    @Autowired
+    private PickRepository pickRepository;
+    
+    @Autowired
+    private LeagueRepository leagueRepository;
+    
+    /**
+     * Construye las clasificaciones de todas las ligas activas al arrancar
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuildAll() {
+        long start = System.currentTimeMillis();
+        int leagues = replaceAll();
+        logger.info("Clasificaciones en memoria construidas para {} ligas en {} ms",
+                   leagues, System.currentTimeMillis() - start);
+    }
+    
+    /**
+     * Reconstrucción periódica: recoge los puntos, altas y bajas aplicados en otros nodos
+     */
+    @Scheduled(fixedDelayString = "${ffl.leaderboard.live.refresh-interval-ms:60000}",
+               initialDelayString = "${ffl.leaderboard.live.refresh-interval-ms:60000}")
+    public void refreshAll() {
+        try {
+            long start = System.currentTimeMillis();
+            int leagues = replaceAll();
+            logger.debug("Clasificaciones en memoria recargadas para {} ligas en {} ms",
+                        leagues, System.currentTimeMillis() - start);
+        } catch (Exception e) {
+            logger.error("Error al recargar las clasificaciones en memoria: {}", e.getMessage(), e);
+        }
+    }
+    
+    /**
+     * Clasificación en memoria de una liga activa (se construye la primera vez que se pide)
+     * @return Vacío si la liga no está activa
+     */
+    public Optional<LiveLeaderboard> getLeaderboard(League league) {
+        if (!league.isActive()) {
+            leaderboards.remove(league.getId());
+            return Optional.empty();
+        }
+        return Optional.of(leaderboards.computeIfAbsent(league.getId(), this::load));
+    }
+    
+    /**
+     * Clasificación en memoria de una liga, solo si ya está cargada
+     */
+    public Optional<LiveLeaderboard> findLoaded(Long leagueId) {
+        return Optional.ofNullable(leaderboards.get(leagueId));
+    }
+    
+    /**
+     * Suma puntos a un usuario en una liga (solo si su clasificación ya está en memoria)
+     * @return Puntos totales después de la suma, o null si la liga no está cargada
+     */
+    public Integer addPoints(Long leagueId, Long userId, int delta) {
+        LiveLeaderboard leaderboard = leaderboards.get(leagueId);
+        return leaderboard != null ? leaderboard.addPoints(userId, delta) : null;
+    }
+    
+    /**
+     * Suma puntos a varios usuarios de varias ligas.
+     * Dentro de una transacción, los puntos se aplican después del commit para no
+     * adelantar en memoria cambios que todavía pueden deshacerse.
+     *
+     * @param deltas Puntos a sumar, por ID de liga y de usuario
+     */
+    public void addPoints(Map<Long, Map<Long, Integer>> deltas) {
+        TransactionCallbacks.afterCommit(() -> {
+            for (Map.Entry<Long, Map<Long, Integer>> league : deltas.entrySet()) {
+                LiveLeaderboard leaderboard = leaderboards.get(league.getKey());
+                if (leaderboard == null) {
+                    continue;
+                }
+                for (Map.Entry<Long, Integer> user : league.getValue().entrySet()) {
+                    leaderboard.addPoints(user.getKey(), user.getValue());
+                }
+            }
+        });
+    }
+    
+    /**
+     * Añade un nuevo miembro con 0 puntos
+     */
+    public void onMemberJoined(Long leagueId, Long userId) {
+        LiveLeaderboard leaderboard = leaderboards.get(leagueId);
+        if (leaderboard != null) {
+            leaderboard.addParticipant(userId);
+        }
+    }
+    
+    /**
+     * Recarga la clasificación de una liga desde la base de datos.
+     * Dentro de una transacción, la recarga se hace después del commit para leer los datos confirmados.
+     */
+    public void reloadLeague(Long leagueId) {
+        TransactionCallbacks.afterCommit(() -> doReload(leagueId));
+    }
+    
+    /**
+     * Descarta la clasificación en memoria de una liga (p. ej. al desactivarla)
+     */
+    public void evict(Long leagueId) {
+        leaderboards.remove(leagueId);
+    }
+    
+    
+    // Construye las clasificaciones de las ligas activas con dos consultas y las sustituye sin vaciar el mapa
+    private int replaceAll() {
+        Map<Long, LiveLeaderboard> rebuilt = new HashMap<>();
+        
+        for (Object[] row : leagueRepository.findActiveLeagueMemberIds()) {
+            rebuilt.computeIfAbsent((Long) row[0], LiveLeaderboard::new).addParticipant((Long) row[1]);
+        }
+        for (Object[] row : pickRepository.sumPointsByActiveLeagueAndUser()) {
+            Number points = (Number) row[2];
+            rebuilt.computeIfAbsent((Long) row[0], LiveLeaderboard::new)
+                   .setScore((Long) row[1], points != null ? points.intValue() : 0);
+        }
+        
+        leaderboards.keySet().retainAll(rebuilt.keySet());
+        leaderboards.putAll(rebuilt);
+        return rebuilt.size();
+    }
+    
+    private void doReload(Long leagueId) {
+        // Solo se recargan las ligas que ya están en memoria; el resto se construye al pedirlas
+        if (leaderboards.containsKey(leagueId)) {
+            leaderboards.put(leagueId, load(leagueId));
+        }
+    }
+    
+    private LiveLeaderboard load(Long leagueId) {
+        LiveLeaderboard leaderboard = new LiveLeaderboard(leagueId);
+        for (Long userId : leagueRepository.findMemberIds(leagueId)) {
+            leaderboard.addParticipant(userId);
+        }
+        for (Object[] row : pickRepository.sumPointsByUserInLeague(leagueId)) {
+            Number points = (Number) row[1];
+            leaderboard.setScore((Long) row[0], points != null ? points.intValue() : 0);
+        }
+        logger.debug("Clasificación en memoria de la liga {} cargada: {} participantes", leagueId, leaderboard.size());
+        return leaderboard;
+    }
+}
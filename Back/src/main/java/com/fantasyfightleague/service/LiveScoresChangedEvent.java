@@ -0,0 +1,13 @@
+package com.fantasyfightleague.service;
+
+import java.util.Map;
+
+/**
+ * Evento de aplicación publicado al puntuar en directo una pelea.
+ * Lleva los puntos sumados a cada usuario en cada liga afectada.
+ *
+ * @param eventId ID del evento UFC en directo
+ * @param deltas Puntos sumados, por ID de liga y de usuario
+ */
+public record LiveScoresChangedEvent(Long eventId, Map<Long, Map<Long, Integer>> deltas) {
+}
@@ -0,0 +1,178 @@
+package com.fantasyfightleague.service;
+
+import com.fantasyfightleague.dto.EventOwnershipDTO;
+import com.fantasyfightleague.dto.FighterOwnershipDTO;
+import com.fantasyfightleague.model.Event;
+import com.fantasyfightleague.model.League;
+import com.fantasyfightleague.model.PickOwnership;
+import com.fantasyfightleague.repository.PickOwnershipJdbcRepository;
+import com.fantasyfightleague.repository.PickOwnershipRepository;
+import com.fantasyfightleague.repository.PickRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.stream.Collectors;
+
+/**
+ * Popularidad de los luchadores (porcentaje de managers que los han elegido) por evento y liga.
+ * Cada alta, cambio o borrado de pick suma o resta en contadores en memoria (un ConcurrentHashMap por
+ * evento, liga y luchador, cuyos bloqueos por celda reparten la concurrencia entre contadores); periódicamente
+ * las variaciones acumuladas se vuelcan a la tabla pick_ownership con un único batch. Al bloquear los picks
+ * de un evento (o a petición de un administrador) los contadores del evento se recalculan desde los picks, y
+ * a partir de ese momento los volcados de cualquier nodo descartan las variaciones de ese evento.
+ */
+@Service
+public class PickOwnershipService {
+
+    private static final Logger logger = LoggerFactory.getLogger(PickOwnershipService.class);
+
+    // Variaciones pendientes de volcar; un contador que vuelve a 0 se elimina del mapa
+    private final Map<OwnershipKey, Long> pending = new ConcurrentHashMap<>();
+
+    // Serializa volcados y recálculos. ReentrantLock y no synchronized: ambos esperan a MySQL con el
+    // bloqueo tomado y, con hilos virtuales, un monitor fijaría el hilo a su portador durante la espera
+    private final ReentrantLock writeLock = new ReentrantLock();
+
+    @Autowired
+    private PickOwnershipRepository ownershipRepository;
+
+    @Autowired
+    private PickOwnershipJdbcRepository ownershipJdbcRepository;
+
+    @Autowired
+    private PickRepository pickRepository;
+
+    @Autowired
+    private EventCardService eventCardService;
+
+    /**
+     * Registra el cambio de luchadores de un pick (tras el commit).
+     * Un pick nuevo no tiene luchadores anteriores y uno borrado no tiene luchadores nuevos.
+     */
+    public void onPickChanged(Long eventId, Long leagueId, Collection<Long> previousFighterIds, Collection<Long> newFighterIds) {
+        Set<Long> removed = new HashSet<>(previousFighterIds);
+        removed.removeAll(newFighterIds);
+        Set<Long> added = new HashSet<>(newFighterIds);
+        added.removeAll(previousFighterIds);
+        if (removed.isEmpty() && added.isEmpty()) {
+            return;
+        }
+
+        TransactionCallbacks.afterCommit(() -> {
+            for (Long fighterId : removed) {
+                add(new OwnershipKey(eventId, leagueId, fighterId), -1L);
+            }
+            for (Long fighterId : added) {
+                add(new OwnershipKey(eventId, leagueId, fighterId), 1L);
+            }
+        });
+    }
+
+    /**
+     * Vuelca a pick_ownership las variaciones acumuladas desde el último volcado.
+     * Si la escritura falla, las variaciones se devuelven a los contadores para el siguiente intento.
+     */
+    @Scheduled(fixedDelayString = "${ffl.ownership.flush-interval-ms:10000}")
+    public void flush() {
+        writeLock.lock();
+        try {
+            flushPending();
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    private void flushPending() {
+        List<Object[]> rows = new ArrayList<>();
+        Map<OwnershipKey, Long> drained = new HashMap<>();
+
+        // remove() lee y quita cada contador de forma atómica: lo que se sume después crea una entrada nueva
+        for (OwnershipKey key : pending.keySet()) {
+            Long delta = pending.remove(key);
+            if (delta != null && delta != 0) {
+                rows.add(new Object[] { key.eventId(), key.leagueId(), key.fighterId(), delta });
+                drained.put(key, delta);
+            }
+        }
+        if (rows.isEmpty()) {
+            return;
+        }
+
+        try {
+            ownershipJdbcRepository.addPickCounts(rows);
+            logger.debug("Popularidad de luchadores: {} contadores volcados", rows.size());
+        } catch (Exception e) {
+            drained.forEach(this::add);
+            logger.error("Error al volcar la popularidad de luchadores ({} contadores): {}", rows.size(), e.getMessage());
+        }
+    }
+
+    /**
+     * Recalcula desde los picks los contadores de un evento, descartando las variaciones pendientes.
+     * Con los picks del evento cerrados, las variaciones que otros nodos vuelquen después se descartan al
+     * escribirlas; en un evento abierto, las que ya estaban pendientes en otros nodos se suman al recálculo
+     * hasta que se cierren los picks.
+     * @return Número de filas (liga, luchador) generadas
+     */
+    @Transactional
+    public int rebuild(Long eventId) {
+        writeLock.lock();
+        try {
+            pending.keySet().removeIf(key -> key.eventId().equals(eventId));
+            ownershipRepository.deleteByEventId(eventId);
+            int rows = ownershipRepository.insertComputedOwnership(eventId);
+            logger.info("Popularidad de luchadores del evento {} recalculada: {} filas", eventId, rows);
+            return rows;
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    /**
+     * Porcentaje de picks de la liga que llevan a cada luchador del evento.
+     * Refleja los picks hasta el último volcado (como mucho el intervalo de volcado de retraso).
+     */
+    @Transactional(readOnly = true)
+    public EventOwnershipDTO getOwnership(League league, Event event) {
+        long totalPicks = pickRepository.countByLeagueIdAndEventId(league.getId(), event.getId());
+
+        Map<Long, Long> picksByFighter = new HashMap<>();
+        for (PickOwnership row : ownershipRepository.findByEventIdAndLeagueId(event.getId(), league.getId())) {
+            // Un contador puede quedar negativo un momento si un nodo vuelca la baja de un pick antes que otro su alta
+            picksByFighter.put(row.getFighterId(), Math.max(0L, row.getPickCount()));
+        }
+
+        List<FighterOwnershipDTO> fighters = eventCardService.getFighters(event.getId()).stream()
+                .map(fighter -> {
+                    long picks = picksByFighter.getOrDefault(fighter.getId(), 0L);
+                    double percentage = totalPicks > 0 ? Math.round(picks * 1000.0 / totalPicks) / 10.0 : 0.0;
+                    return new FighterOwnershipDTO(fighter.getId(), fighter.getName(), fighter.getImageUrl(), picks, percentage);
+                })
+                .sorted(Comparator.comparingLong(FighterOwnershipDTO::picks).reversed()
+                        .thenComparing(FighterOwnershipDTO::name, Comparator.nullsLast(Comparator.naturalOrder())))
+                .collect(Collectors.toList());
+
+        return new EventOwnershipDTO(league.getId(), event.getId(), totalPicks, fighters);
+    }
+
+    private void add(OwnershipKey key, long delta) {
+        pending.merge(key, delta, (current, added) -> current + added != 0 ? current + added : null);
+    }
+
+    private record OwnershipKey(Long eventId, Long leagueId, Long fighterId) {
+    }
+}
@@ -14,6 +14,7 @@ public interface PickService {
     
     // Buscar picks
     Optional<Pick> findById(Long id);
+    Optional<Pick> findByIdWithFighters(Long id);
     Optional<Pick> findByUserLeagueAndEvent(User user, League league, Event event);
     List<Pick> findByUserAndLeague(User user, League league);
     List<Pick> findByLeagueAndEvent(League league, Event event);
@@ -0,0 +1,10 @@
+package com.fantasyfightleague.service;
+
+/**
+ * Evento de aplicación publicado cuando se alcanza el deadline de picks de un evento UFC.
+ * Se publica una sola vez por evento, en la transacción que marca sus picks como cerrados.
+ *
+ * @param eventId ID del evento UFC
+ */
+public record PicksDeadlineReachedEvent(Long eventId) {
+}
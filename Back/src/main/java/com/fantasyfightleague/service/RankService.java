@@ -0,0 +1,113 @@
+package com.fantasyfightleague.service;
+
+import com.fantasyfightleague.dto.LeaderboardEntryDTO;
+import com.fantasyfightleague.dto.UserRankDTO;
+import com.fantasyfightleague.model.League;
+import com.fantasyfightleague.model.LeagueStanding;
+import com.fantasyfightleague.model.User;
+import com.fantasyfightleague.repository.LeagueStandingRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Posición de un usuario en la clasificación de una liga sin leer la clasificación completa.
+ * El rango se calcula con un COUNT sobre el índice (liga, puntos) y los vecinos con una lectura
+ * por rango sobre el índice (liga, posición), de forma que el coste es logarítmico en el número
+ * de participantes más el número de vecinos pedidos. En las ligas activas se usa la clasificación en memoria.
+ */
+@Service
+public class RankService {
+    
+    public static final int DEFAULT_NEIGHBOURS = 2;
+    public static final int MAX_NEIGHBOURS = 50;
+    
+    @Autowired
+    private LeagueStandingService leagueStandingService;
+    
+    @Autowired
+    private LeagueStandingRepository standingRepository;
+    
+    @Autowired
+    private LiveLeaderboardService liveLeaderboardService;
+    
+    /**
+     * Posición del usuario y sus vecinos por encima y por debajo
+     * @param neighbours Número de vecinos a cada lado
+     * @return Vacío si el usuario no está en la clasificación de la liga
+     */
+    @Transactional(readOnly = true)
+    public Optional<UserRankDTO> getRankAround(League league, User user, int neighbours) {
+        neighbours = Math.max(0, Math.min(neighbours, MAX_NEIGHBOURS));
+        
+        // Liga activa: rango y vecinos de la clasificación en memoria
+        Optional<LiveLeaderboard> live = liveLeaderboardService.getLeaderboard(league);
+        if (live.isPresent()) {
+            return getLiveRankAround(league, user, live.get(), neighbours);
+        }
+        
+        Optional<LeagueStanding> standingOpt = leagueStandingService.getStanding(league, user);
+        if (!standingOpt.isPresent()) {
+            return Optional.empty();
+        }
+        
+        LeagueStanding standing = standingOpt.get();
+        int position = standing.getPosition();
+        int rank = (int) standingRepository.countByLeagueIdAndTotalPointsGreaterThan(
+                league.getId(), standing.getTotalPoints()) + 1;
+        long totalParticipants = leagueStandingService.countParticipants(league);
+        
+        List<LeaderboardEntryDTO> window = leagueStandingService.getStandingEntries(
+                league, user.getId(), Math.max(1, position - neighbours), position + neighbours);
+        
+        LeaderboardEntryDTO entry = null;
+        List<LeaderboardEntryDTO> above = new ArrayList<>(neighbours);
+        List<LeaderboardEntryDTO> below = new ArrayList<>(neighbours);
+        for (LeaderboardEntryDTO candidate : window) {
+            if (candidate.position() < position) {
+                above.add(candidate);
+            } else if (candidate.position() > position) {
+                below.add(candidate);
+            } else {
+                entry = candidate;
+            }
+        }
+        
+        return Optional.of(new UserRankDTO(rank, position, totalParticipants, entry, above, below));
+    }
+    
+    private Optional<UserRankDTO> getLiveRankAround(League league, User user, LiveLeaderboard leaderboard, int neighbours) {
+        long userId = user.getId();
+        if (leaderboard.getScore(userId) == null) {
+            return Optional.empty();
+        }
+        
+        int rank = leaderboard.rank(userId);
+        int position = leaderboard.position(userId);
+        
+        List<LiveLeaderboard.Standing> window = new ArrayList<>(leaderboard.above(userId, neighbours));
+        Collections.reverse(window);
+        window.add(new LiveLeaderboard.Standing(userId, leaderboard.getScore(userId), position));
+        window.addAll(leaderboard.below(userId, neighbours));
+        
+        LeaderboardEntryDTO entry = null;
+        List<LeaderboardEntryDTO> above = new ArrayList<>(neighbours);
+        List<LeaderboardEntryDTO> below = new ArrayList<>(neighbours);
+        for (LeaderboardEntryDTO candidate : leagueStandingService.getLiveEntries(league, userId, window)) {
+            if (candidate.position() < position) {
+                above.add(candidate);
+            } else if (candidate.position() > position) {
+                below.add(candidate);
+            } else {
+                entry = candidate;
+            }
+        }
+        
+        return Optional.of(new UserRankDTO(rank, position, leaderboard.size(), entry, above, below));
+    }
+}
@@ -0,0 +1,7 @@
+package com.fantasyfightleague.service;
+
+/**
+ * Asunto y cuerpo de un email renderizado desde una plantilla
+ */
+public record RenderedEmail(String subject, String body, boolean html) {
+}
@@ -0,0 +1,387 @@
+package com.fantasyfightleague.service;
+
+import com.fantasyfightleague.dto.FightResultDTO;
+import com.fantasyfightleague.model.Event;
+import com.fantasyfightleague.model.FighterStats;
+import com.fantasyfightleague.model.RescoreJob;
+import com.fantasyfightleague.model.SchedulerLock;
+import com.fantasyfightleague.repository.EventRepository;
+import com.fantasyfightleague.repository.FighterStatsRepository;
+import com.fantasyfightleague.repository.PickJdbcRepository;
+import com.fantasyfightleague.repository.PickRepository;
+import com.fantasyfightleague.repository.RescoreJobRepository;
+import com.fantasyfightleague.repository.SchedulerLockRepository;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Servicio de re-puntuación de temporadas completas.
+ * Vuelve a calcular FighterStats.points a partir de los datos brutos guardados y
+ * los event_points de todos los picks, repartiendo los eventos en un ForkJoinPool propio.
+ * Cada evento se procesa en su propia transacción y queda registrado como completado
+ * en esa misma transacción, de forma que un trabajo interrumpido se puede reanudar.
+ * Con varias instancias, solo se ejecuta un trabajo a la vez: el nodo que lo lanza toma el bloqueo "rescore"
+ * de scheduler_locks y lo renueva, junto con el latido del trabajo, mientras se ejecuta. Un trabajo RUNNING
+ * sin latido durante lease-ms se marca como interrumpido (su nodo se ha caído) y el bloqueo queda libre.
+ */
+@Service
+public class RescoreService {
+    
+    private static final Logger logger = LoggerFactory.getLogger(RescoreService.class);
+    
+    // Número de picks procesados por página al re-puntuar un evento
+    private static final int PICKS_PAGE_SIZE = 1000;
+    
+    private static final String RESCORE_LOCK = "rescore";
+    
+    @Autowired
+    private RescoreJobRepository rescoreJobRepository;
+    
+    @Autowired
+    private EventRepository eventRepository;
+    
+    @Autowired
+    private FighterStatsRepository fighterStatsRepository;
+    
+    @Autowired
+    private PickRepository pickRepository;
+    
+    @Autowired
+    private PickJdbcRepository pickJdbcRepository;
+    
+    @Autowired
+    private SchedulerLockRepository schedulerLockRepository;
+    
+    @Autowired
+    private ScoringService scoringService;
+    
+    @Autowired
+    private FightResultsService fightResultsService;
+    
+    @Autowired
+    private LeagueStandingService leagueStandingService;
+    
+    private final TransactionTemplate transactionTemplate;
+    private final ForkJoinPool pool;
+    private final String nodeId;
+    private final long leaseMs;
+    // Trabajo en ejecución en este nodo (como mucho uno)
+    private final AtomicBoolean running = new AtomicBoolean(false);
+    private volatile Long currentJobId;
+    
+    public RescoreService(PlatformTransactionManager transactionManager,
+                          @Value("${ffl.rescore.parallelism:4}") int parallelism,
+                          @Value("${ffl.rescore.lease-ms:60000}") long leaseMs) {
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.pool = new ForkJoinPool(Math.max(1, parallelism));
+        this.nodeId = SchedulerLock.newOwnerId();
+        this.leaseMs = leaseMs;
+    }
+    
+    /**
+     * Marca como interrumpidos los trabajos en ejecución cuyo nodo lleva lease-ms sin dar señales,
+     * para poder reanudarlos. Los trabajos que otro nodo sigue ejecutando no se tocan.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void markInterruptedJobs() {
+        Date expiredBefore = new Date(System.currentTimeMillis() - leaseMs);
+        Integer interrupted = transactionTemplate.execute(status -> rescoreJobRepository.markExpiredAsInterrupted(expiredBefore));
+        if (interrupted != null && interrupted > 0) {
+            logger.warn("{} trabajos de re-puntuación marcados como interrumpidos", interrupted);
+        }
+    }
+    
+    /**
+     * Latido: renueva el bloqueo y el latido del trabajo que se ejecuta en este nodo y
+     * marca como interrumpidos los trabajos de nodos caídos
+     */
+    @Scheduled(fixedDelayString = "${ffl.rescore.heartbeat-ms:15000}", initialDelayString = "${ffl.rescore.heartbeat-ms:15000}")
+    public void heartbeat() {
+        try {
+            // Sincronizado con release() para no renovar un bloqueo que el trabajo acaba de liberar
+            synchronized (this) {
+                Long jobId = currentJobId;
+                if (jobId != null) {
+                    Date now = new Date();
+                    Integer renewed = transactionTemplate.execute(status ->
+                            schedulerLockRepository.acquire(RESCORE_LOCK, nodeId, now, new Date(now.getTime() + leaseMs)));
+                    if (renewed == null || renewed == 0) {
+                        logger.warn("Nodo {} ha perdido el bloqueo del trabajo de re-puntuación {}", nodeId, jobId);
+                    }
+                    transactionTemplate.execute(status -> rescoreJobRepository.heartbeat(jobId, nodeId, now));
+                }
+            }
+            markInterruptedJobs();
+        } catch (Exception e) {
+            logger.error("Error en el latido de los trabajos de re-puntuación: {}", e.getMessage());
+        }
+    }
+    
+    @PreDestroy
+    public void shutdown() {
+        pool.shutdownNow();
+    }
+    
+    /**
+     * Inicia un trabajo de re-puntuación para los eventos completados en un rango de fechas
+     * @param from Fecha inicial (null = sin límite)
+     * @param to Fecha final (null = sin límite)
+     * @return Trabajo creado (se ejecuta en segundo plano)
+     */
+    public RescoreJob startJob(Date from, Date to) {
+        Date fromDate = from != null ? from : new Date(0L);
+        Date toDate = to != null ? to : new Date(Long.MAX_VALUE / 2);
+        
+        List<Long> eventIds = eventRepository.findCompletedEventIdsBetween(fromDate, toDate);
+        if (eventIds.isEmpty()) {
+            throw new RuntimeException("No hay eventos completados en el rango indicado");
+        }
+        
+        acquire();
+        try {
+            RescoreJob job = new RescoreJob();
+            job.setStatus("RUNNING");
+            job.setFromDate(from);
+            job.setToDate(to);
+            job.setEventIds(new ArrayList<>(eventIds));
+            job.setTotalEvents(eventIds.size());
+            job.setStartedAt(new Date());
+            job.setOwnerNode(nodeId);
+            job.setHeartbeatAt(job.getStartedAt());
+            job = rescoreJobRepository.save(job);
+            
+            logger.info("Iniciado trabajo de re-puntuación {} con {} eventos (nodo {})", job.getId(), eventIds.size(), nodeId);
+            launch(job.getId(), eventIds, eventIds);
+            return job;
+        } catch (RuntimeException e) {
+            release();
+            throw e;
+        }
+    }
+    
+    /**
+     * Reanuda un trabajo interrumpido o fallido procesando solo los eventos pendientes
+     * @param jobId ID del trabajo
+     * @return Trabajo reanudado
+     */
+    public RescoreJob resumeJob(Long jobId) {
+        RescoreJob job = rescoreJobRepository.findById(jobId)
+                .orElseThrow(() -> new RuntimeException("Trabajo de re-puntuación no encontrado"));
+        
+        if ("COMPLETED".equals(job.getStatus())) {
+            throw new RuntimeException("El trabajo de re-puntuación ya está completado");
+        }
+        
+        acquire();
+        try {
+            Integer restarted = transactionTemplate.execute(status -> rescoreJobRepository.restart(jobId, new Date(), nodeId));
+            if (restarted == null || restarted == 0) {
+                throw new RuntimeException("El trabajo de re-puntuación ya está en ejecución");
+            }
+            
+            List<Long> eventIds = rescoreJobRepository.findEventIds(jobId);
+            Set<Long> completed = new HashSet<>(rescoreJobRepository.findCompletedEventIds(jobId));
+            List<Long> pending = new ArrayList<>();
+            for (Long eventId : eventIds) {
+                if (!completed.contains(eventId)) {
+                    pending.add(eventId);
+                }
+            }
+            
+            logger.info("Reanudado trabajo de re-puntuación {}: {} eventos pendientes de {} (nodo {})",
+                       jobId, pending.size(), eventIds.size(), nodeId);
+            launch(jobId, eventIds, pending);
+            return rescoreJobRepository.findById(jobId).orElse(job);
+        } catch (RuntimeException e) {
+            release();
+            throw e;
+        }
+    }
+    
+    /**
+     * Obtiene el progreso de un trabajo de re-puntuación
+     */
+    public Optional<RescoreJob> findJob(Long jobId) {
+        return rescoreJobRepository.findById(jobId);
+    }
+    
+    /**
+     * Reserva la ejecución de un trabajo en este nodo y toma el bloqueo compartido entre instancias
+     */
+    private void acquire() {
+        if (!running.compareAndSet(false, true)) {
+            throw new RuntimeException("Ya hay un trabajo de re-puntuación en ejecución");
+        }
+        try {
+            // Los trabajos de nodos caídos dejan de figurar en ejecución (y se pueden reanudar)
+            markInterruptedJobs();
+            if (!tryAcquireLock()) {
+                throw new RuntimeException("Ya hay un trabajo de re-puntuación en ejecución");
+            }
+        } catch (RuntimeException e) {
+            running.set(false);
+            throw e;
+        }
+    }
+    
+    private boolean tryAcquireLock() {
+        Date now = new Date();
+        Date until = new Date(now.getTime() + leaseMs);
+        
+        if (!schedulerLockRepository.existsById(RESCORE_LOCK)) {
+            try {
+                transactionTemplate.executeWithoutResult(status ->
+                        schedulerLockRepository.saveAndFlush(new SchedulerLock(RESCORE_LOCK, nodeId, until)));
+                return true;
+            } catch (DataIntegrityViolationException e) {
+                // Otra instancia lo ha creado a la vez: se compite por él con el UPDATE
+            }
+        }
+        Integer acquired = transactionTemplate.execute(status -> schedulerLockRepository.acquire(RESCORE_LOCK, nodeId, now, until));
+        return acquired != null && acquired == 1;
+    }
+    
+    /**
+     * Libera el bloqueo compartido y la ejecución en este nodo
+     */
+    private synchronized void release() {
+        currentJobId = null;
+        try {
+            transactionTemplate.execute(status -> schedulerLockRepository.release(RESCORE_LOCK, nodeId, new Date()));
+        } catch (Exception e) {
+            logger.warn("No se pudo liberar el bloqueo de re-puntuación: {}", e.getMessage());
+        } finally {
+            running.set(false);
+        }
+    }
+    
+    private void launch(Long jobId, List<Long> allEventIds, List<Long> pendingEventIds) {
+        currentJobId = jobId;
+        pool.submit(() -> runJob(jobId, allEventIds, pendingEventIds));
+    }
+    
+    /**
+     * Ejecuta el trabajo: reparte los eventos pendientes entre los hilos del pool y,
+     * al terminar, recalcula una sola vez las clasificaciones de las ligas afectadas
+     */
+    private void runJob(Long jobId, List<Long> allEventIds, List<Long> pendingEventIds) {
+        long start = System.currentTimeMillis();
+        try {
+            // El parallelStream se ejecuta dentro de este ForkJoinPool, no en el pool común
+            pendingEventIds.parallelStream().forEach(eventId -> rescoreEventSafely(jobId, eventId));
+            
+            for (Long leagueId : pickRepository.findLeagueIdsByEventIds(allEventIds)) {
+                leagueStandingService.refreshLeague(leagueId);
+            }
+            
+            RescoreJob job = rescoreJobRepository.findById(jobId).orElseThrow();
+            String finalStatus = job.getFailedEvents() > 0 ? "FAILED" : "COMPLETED";
+            transactionTemplate.execute(status -> rescoreJobRepository.updateStatus(jobId, finalStatus, new Date()));
+            
+            logger.info("Trabajo de re-puntuación {} finalizado ({}) en {} ms: {} eventos, {} estadísticas, {} picks",
+                       jobId, finalStatus, System.currentTimeMillis() - start,
+                       job.getCompletedEvents(), job.getStatsRescored(), job.getPicksRescored());
+        } catch (Exception e) {
+            logger.error("Error en el trabajo de re-puntuación {}: {}", jobId, e.getMessage(), e);
+            transactionTemplate.execute(status -> rescoreJobRepository.addFailure(jobId, truncate(e.getMessage())));
+            transactionTemplate.execute(status -> rescoreJobRepository.updateStatus(jobId, "FAILED", new Date()));
+        } finally {
+            release();
+        }
+    }
+    
+    private void rescoreEventSafely(Long jobId, Long eventId) {
+        try {
+            transactionTemplate.executeWithoutResult(status -> rescoreEvent(jobId, eventId));
+        } catch (Exception e) {
+            logger.error("Error re-puntuando el evento {} (trabajo {}): {}", eventId, jobId, e.getMessage(), e);
+            transactionTemplate.execute(status ->
+                rescoreJobRepository.addFailure(jobId, truncate("Evento " + eventId + ": " + e.getMessage())));
+        }
+    }
+    
+    /**
+     * Re-puntúa un evento dentro de la transacción actual: estadísticas, picks y progreso del trabajo
+     */
+    private void rescoreEvent(Long jobId, Long eventId) {
+        Event event = eventRepository.findById(eventId)
+                .orElseThrow(() -> new RuntimeException("Evento no encontrado: " + eventId));
+        
+        List<FighterStats> eventStats = fighterStatsRepository.findByEventId(eventId);
+        Map<Long, Integer> pointsByFighter = new HashMap<>();
+        int rescored = 0;
+        int skipped = 0;
+        
+        for (FighterStats stats : eventStats) {
+            if (stats.getResult() != null) {
+                // Las entidades modificadas se escriben en lote al confirmar la transacción
+                stats.setPoints(scoringService.score(toFightResult(stats)).getTotalPoints());
+                rescored++;
+            } else {
+                // Registro sin datos brutos: se conservan sus puntos
+                skipped++;
+            }
+            int points = stats.getPoints() != null ? stats.getPoints() : 0;
+            pointsByFighter.merge(stats.getFighter().getId(), points, Integer::sum);
+        }
+        
+        // Eventos anteriores a la columna event_id: puntos según la regla antigua
+        if (eventStats.isEmpty()) {
+            pointsByFighter = fightResultsService.getEventFighterPoints(event);
+        }
+        
+        int picks = pickJdbcRepository.updateEventPoints(eventId, pointsByFighter, PICKS_PAGE_SIZE);
+        
+        rescoreJobRepository.markEventCompleted(jobId, eventId);
+        rescoreJobRepository.addProgress(jobId, rescored, skipped, picks);
+        
+        logger.debug("Evento {} re-puntuado: {} estadísticas, {} sin datos brutos, {} picks", event.getName(), rescored, skipped, picks);
+    }
+    
+    /**
+     * Reconstruye el resultado de la pelea a partir de los datos brutos guardados
+     */
+    private FightResultDTO toFightResult(FighterStats stats) {
+        FightResultDTO result = new FightResultDTO();
+        result.setNombre(stats.getFighter().getName());
+        result.setResultado(stats.getResult());
+        result.setMetodo(stats.getMethod());
+        result.setTipoDecision(stats.getDecisionType());
+        result.setRound(stats.getEndRound());
+        result.setGolpesTotales(stats.getTotalStrikes());
+        result.setGolpesAcertados(stats.getLandedStrikes());
+        result.setGolpesSignificantes(stats.getSignificantStrikes());
+        result.setTakedownsAcertados(stats.getTakedowns());
+        result.setIntentosDeSumision(stats.getSubmissions());
+        result.setKnockdowns(stats.getKnockdowns());
+        return result;
+    }
+    
+    private static String truncate(String message) {
+        if (message == null) {
+            return null;
+        }
+        return message.length() > 1000 ? message.substring(0, 1000) : message;
+    }
+}
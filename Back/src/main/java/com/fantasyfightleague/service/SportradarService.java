@@ -1,13 +1,10 @@
 package com.fantasyfightleague.service;
 
-import com.fantasyfightleague.model.Fighter;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 
-import java.util.List;
-
 @Service
 public class SportradarService {
 
@@ -25,14 +22,8 @@ public class SportradarService {
      * @return Número de luchadores desactivados
      */
     public int deactivateAllFighters() {
-        List<Fighter> activeFighters = fighterService.findAllActiveFighters();
-        logger.info("Desactivando {} luchadores activos", activeFighters.size());
-        
-        for (Fighter fighter : activeFighters) {
-            fighter.setActive(false);
-            fighterService.saveFighter(fighter);
-        }
-        
-        return activeFighters.size();
+        int deactivated = fighterService.deactivateAllFighters();
+        logger.info("Desactivados {} luchadores activos", deactivated);
+        return deactivated;
     }
 }
\ No newline at end of file
@@ -6,12 +6,12 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
-import org.springframework.mail.SimpleMailMessage;
-import org.springframework.mail.javamail.JavaMailSender;
 import org.springframework.stereotype.Service;
 
 import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
+import java.util.HashMap;
+import java.util.Map;
 import java.util.Random;
 
 /**
@@ -23,7 +23,10 @@ public class SupportService {
     private static final Logger logger = LoggerFactory.getLogger(SupportService.class);
     
     @Autowired
-    private JavaMailSender mailSender;
+    private EmailOutboxService emailOutboxService;
+    
+    @Autowired
+    private EmailTemplateService emailTemplateService;
     
     @Value("${app.support.email:jexuxgta69@gmail.com}")
     private String supportEmail;
@@ -69,93 +72,36 @@ public class SupportService {
     }
     
     /**
-     * Envía notificación al equipo de soporte
+     * Encola la notificación al equipo de soporte
      */
     private void sendSupportNotification(SupportTicketDTO ticket, String ticketReference) {
-        SimpleMailMessage message = new SimpleMailMessage();
-        message.setTo(supportEmail);
-        message.setSubject("[SOPORTE FFL #" + ticketReference + "] " + ticket.getSubject());
-        
-        StringBuilder body = new StringBuilder();
-        body.append("🎫 NUEVO TICKET DE SOPORTE\n");
-        body.append("═══════════════════════════════════════\n\n");
-        body.append("📋 INFORMACIÓN DEL TICKET:\n");
-        body.append("• Referencia: #").append(ticketReference).append("\n");
-        body.append("• Fecha: ").append(LocalDateTime.now().format(DateTimeFormatter.ofPattern("dd/MM/yyyy HH:mm:ss"))).append("\n");
-        body.append("• Categoría: ").append(ticket.getCategory() != null ? ticket.getCategory() : "GENERAL").append("\n\n");
-        
-        body.append("👤 INFORMACIÓN DEL USUARIO:\n");
-        body.append("• Email: ").append(ticket.getEmail()).append("\n");
-        body.append("• Username: ").append(ticket.getUsername() != null ? ticket.getUsername() : "No registrado").append("\n");
-        if (ticket.getUserAgent() != null) {
-            body.append("• Navegador: ").append(ticket.getUserAgent()).append("\n");
-        }
-        body.append("\n");
-        
-        body.append("📝 ASUNTO:\n");
-        body.append(ticket.getSubject()).append("\n\n");
-        
-        body.append("💬 MENSAJE:\n");
-        body.append(ticket.getMessage()).append("\n\n");
-        
-        body.append("═══════════════════════════════════════\n");
-        body.append("Para responder, usa la referencia: #").append(ticketReference).append("\n");
-        body.append("Fantasy Fight League - Sistema de Soporte\n");
-        
-        message.setText(body.toString());
+        Map<String, String> values = new HashMap<>();
+        values.put("ticketReference", ticketReference);
+        values.put("ticketSubject", ticket.getSubject());
+        values.put("date", LocalDateTime.now().format(DateTimeFormatter.ofPattern("dd/MM/yyyy HH:mm:ss")));
+        values.put("category", ticket.getCategory() != null ? ticket.getCategory() : "GENERAL");
+        values.put("email", ticket.getEmail());
+        values.put("username", ticket.getUsername() != null ? ticket.getUsername() : "No registrado");
+        values.put("userAgentLine", ticket.getUserAgent() != null ? "• Navegador: " + ticket.getUserAgent() + "\n" : "");
+        values.put("message", ticket.getMessage());
         
         // Responder al email del usuario por defecto
-        message.setReplyTo(ticket.getEmail());
-        
-        mailSender.send(message);
-        logger.info("Email de notificación enviado al soporte para ticket: {}", ticketReference);
+        emailOutboxService.enqueue(supportEmail, ticket.getEmail(), emailTemplateService.render("support-notification", values));
+        logger.info("Email de notificación encolado para el soporte, ticket: {}", ticketReference);
     }
     
     /**
-     * Envía respuesta automática al usuario
+     * Encola la respuesta automática al usuario
      */
     private void sendAutoReply(SupportTicketDTO ticket, String ticketReference) {
-        SimpleMailMessage message = new SimpleMailMessage();
-        message.setTo(ticket.getEmail());
-        message.setSubject("Confirmación de ticket - Fantasy Fight League #" + ticketReference);
-        
-        StringBuilder body = new StringBuilder();
-        body.append("##- Por favor, escriba su respuesta por encima de esta línea -##\n\n");
-        
-        body.append("¡Hola fighter!\n\n");
-        
-        body.append("Confirmamos haber recibido tu solicitud con la referencia (#").append(ticketReference).append("). ");
-        body.append("Nuestro equipo de soporte se pondrá en contacto contigo a la mayor brevedad posible para darte una respuesta. ");
-        body.append("En cualquier caso, si deseas enviarnos nueva información por correo electrónico, puedes hacerlo respondiendo a este mensaje.\n\n");
-        
-        body.append("📋 RESUMEN DE TU CONSULTA:\n");
-        body.append("• Asunto: ").append(ticket.getSubject()).append("\n");
-        body.append("• Categoría: ").append(ticket.getCategory() != null ? ticket.getCategory() : "General").append("\n");
-        body.append("• Fecha: ").append(LocalDateTime.now().format(DateTimeFormatter.ofPattern("dd/MM/yyyy HH:mm"))).append("\n\n");
-        
-        body.append("💡 CONSEJOS ÚTILES:\n");
-        body.append("* Te recomendamos que revises nuestro centro de ayuda disponible en la aplicación.\n");
-        body.append("* Si tu consulta es sobre puntuaciones, recuerda que se actualizan después de cada evento.\n");
-        body.append("* Para problemas de acceso, verifica que tu email esté confirmado.\n\n");
-        
-        body.append("¡Gracias por contactar con nosotros!\n");
-        body.append("Fantasy Fight League\n\n");
-        
-        body.append("═══════════════════════════════════════\n\n");
-        
-        body.append("Hey fighter!\n\n");
-        
-        body.append("We confirm that we have received your request with the reference (#").append(ticketReference).append("). ");
-        body.append("Our support team will contact you as soon as possible to give you an answer. ");
-        body.append("In any case, if you wish to send us new information by email, you can do so by replying to this message.\n\n");
-        
-        body.append("Cheers!\n");
-        body.append("Fantasy Fight League\n");
-        
-        message.setText(body.toString());
-        
-        mailSender.send(message);
-        logger.info("Email de confirmación automática enviado a: {} para ticket: {}", ticket.getEmail(), ticketReference);
+        Map<String, String> values = new HashMap<>();
+        values.put("ticketReference", ticketReference);
+        values.put("ticketSubject", ticket.getSubject());
+        values.put("category", ticket.getCategory() != null ? ticket.getCategory() : "General");
+        values.put("date", LocalDateTime.now().format(DateTimeFormatter.ofPattern("dd/MM/yyyy HH:mm")));
+        
+        emailOutboxService.enqueue(ticket.getEmail(), emailTemplateService.render("support-auto-reply", values));
+        logger.info("Email de confirmación automática encolado para: {} para ticket: {}", ticket.getEmail(), ticketReference);
     }
     
     /**
@@ -1,36 +1,163 @@
 // Back/src/main/java/com/fantasyfightleague/service/TokenBlacklistService.java
 package com.fantasyfightleague.service;
 
+import com.fantasyfightleague.model.RevokedToken;
+import com.fantasyfightleague.security.jwt.AuthenticationCache;
+import com.fantasyfightleague.security.jwt.JwtUtils;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
-import java.util.Set;
+
+import java.util.Date;
+import java.util.List;
+import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
 
+/**
+ * Lista negra de tokens JWT revocados.
+ * Cada token se identifica por el hash SHA-256 y permanece en la lista solo hasta su expiración (claim exp).
+ * Las revocaciones se guardan en un almacén compartido (TokenBlacklistStore) y cada nodo mantiene una copia
+ * en memoria, que sincroniza periódicamente y caduca con una rueda de tiempo.
+ */
 @Service
 public class TokenBlacklistService {
     
-    // En memoria - para producción usar Redis o base de datos
-    private final Set<String> blacklistedTokens = ConcurrentHashMap.newKeySet();
+    private static final Logger logger = LoggerFactory.getLogger(TokenBlacklistService.class);
+    
+    // Duración de cada ranura de la rueda y número de ranuras (una vuelta = 24 horas)
+    private static final long WHEEL_TICK_MS = 60_000L;
+    private static final int WHEEL_SLOTS = 1440;
+    
+    // Hash del token -> expiración (ms)
+    private final Map<String, Long> blacklistedTokens = new ConcurrentHashMap<>();
+    
+    private final ExpiryTimingWheel expiryWheel = new ExpiryTimingWheel(WHEEL_SLOTS, WHEEL_TICK_MS, System.currentTimeMillis());
+    
+    // Instante de la última sincronización con el almacén compartido
+    private volatile long lastSyncMs = System.currentTimeMillis();
+    
+    @Autowired
+    private TokenBlacklistStore tokenBlacklistStore;
+    
+    @Autowired
+    private AuthenticationCache authenticationCache;
+    
+    @Autowired
+    private JwtUtils jwtUtils;
+    
+    @Value("${ffl.security.blacklist.sync-interval-ms:30000}")
+    private long syncIntervalMs;
     
     /**
-     * Agregar token a la lista negra
+     * Agregar token a la lista negra (hasta su expiración)
      */
     public void blacklistToken(String token) {
-        blacklistedTokens.add(token);
+        Date expiration = jwtUtils.getExpirationDate(token);
+        if (expiration == null || expiration.getTime() <= System.currentTimeMillis()) {
+            // Token inválido o ya expirado: el filtro ya lo rechaza
+            return;
+        }
+        
+        String tokenHash = JwtUtils.hashToken(token);
+        tokenBlacklistStore.revoke(tokenHash, expiration);
+        add(tokenHash, expiration.getTime());
+        authenticationCache.invalidate(tokenHash);
     }
     
     /**
      * Verificar si un token está en la lista negra
      */
     public boolean isTokenBlacklisted(String token) {
-        return blacklistedTokens.contains(token);
+        return isHashBlacklisted(JwtUtils.hashToken(token));
     }
     
     /**
-     * Limpiar tokens expirados (llamar periódicamente)
+     * Verificar si un token está en la lista negra a partir de su hash
      */
+    public boolean isHashBlacklisted(String tokenHash) {
+        Long expiresAt = blacklistedTokens.get(tokenHash);
+        return expiresAt != null && expiresAt > System.currentTimeMillis();
+    }
+    
+    /**
+     * Carga las revocaciones vigentes al arrancar
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void loadBlacklist() {
+        long now = System.currentTimeMillis();
+        List<RevokedToken> active = tokenBlacklistStore.findActive(new Date(now));
+        for (RevokedToken revoked : active) {
+            add(revoked.getTokenHash(), revoked.getExpiresAt().getTime());
+        }
+        lastSyncMs = now;
+        logger.info("Lista negra de tokens cargada: {} tokens revocados vigentes", active.size());
+    }
+    
+    /**
+     * Incorpora las revocaciones registradas por otros nodos y caduca las entradas expiradas
+     */
+    @Scheduled(fixedDelayString = "${ffl.security.blacklist.sync-interval-ms:30000}",
+               initialDelayString = "${ffl.security.blacklist.sync-interval-ms:30000}")
+    public void syncBlacklist() {
+        long now = System.currentTimeMillis();
+        // Margen de un intervalo para no perder revocaciones con relojes ligeramente desfasados
+        Date since = new Date(lastSyncMs - syncIntervalMs);
+        
+        for (RevokedToken revoked : tokenBlacklistStore.findRevokedSince(since, new Date(now))) {
+            if (!blacklistedTokens.containsKey(revoked.getTokenHash())) {
+                add(revoked.getTokenHash(), revoked.getExpiresAt().getTime());
+                authenticationCache.invalidate(revoked.getTokenHash());
+            }
+        }
+        lastSyncMs = now;
+        
+        evictExpired(now);
+    }
+    
+    /**
+     * Limpiar tokens expirados: solo se eliminan las revocaciones de tokens que ya han expirado
+     */
+    @Scheduled(cron = "${ffl.security.blacklist.cleanup-cron:0 15 * * * *}")
     public void cleanupExpiredTokens() {
-        // Implementar lógica para limpiar tokens expirados
-        // Por ahora, limpiar todo cada cierto tiempo
-        blacklistedTokens.clear();
+        long now = System.currentTimeMillis();
+        int removed = evictExpired(now);
+        int deleted = tokenBlacklistStore.deleteExpired(new Date(now));
+        logger.info("Lista negra de tokens: {} expirados eliminados de memoria, {} del almacén, {} vigentes",
+                   removed, deleted, blacklistedTokens.size());
+    }
+    
+    /**
+     * Número de tokens revocados vigentes en memoria
+     */
+    public int size() {
+        return blacklistedTokens.size();
+    }
+    
+    private void add(String tokenHash, long expiresAt) {
+        if (blacklistedTokens.putIfAbsent(tokenHash, expiresAt) == null) {
+            synchronized (expiryWheel) {
+                expiryWheel.schedule(tokenHash, expiresAt);
+            }
+        }
+    }
+    
+    private int evictExpired(long now) {
+        List<String> expired;
+        synchronized (expiryWheel) {
+            expired = expiryWheel.advance(now);
+        }
+        int removed = 0;
+        for (String tokenHash : expired) {
+            Long expiresAt = blacklistedTokens.get(tokenHash);
+            if (expiresAt != null && expiresAt <= now && blacklistedTokens.remove(tokenHash, expiresAt)) {
+                removed++;
+            }
+        }
+        return removed;
     }
-}
\ No newline at end of file
+}
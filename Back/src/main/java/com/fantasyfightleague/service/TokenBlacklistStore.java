@@ -0,0 +1,37 @@
+package com.fantasyfightleague.service;
+
+import com.fantasyfightleague.model.RevokedToken;
+
+import java.util.Date;
+import java.util.List;
+
+/**
+ * Almacenamiento compartido de la lista negra de tokens.
+ * Todos los nodos de la aplicación escriben y leen del mismo almacén; cada nodo mantiene
+ * además una copia en memoria que sincroniza periódicamente.
+ */
+public interface TokenBlacklistStore {
+
+    /**
+     * Registra la revocación de un token
+     * @param tokenHash Hash SHA-256 del token
+     * @param expiresAt Expiración del token
+     */
+    void revoke(String tokenHash, Date expiresAt);
+
+    /**
+     * Revocaciones todavía vigentes
+     */
+    List<RevokedToken> findActive(Date now);
+
+    /**
+     * Revocaciones vigentes registradas desde un instante
+     */
+    List<RevokedToken> findRevokedSince(Date since, Date now);
+
+    /**
+     * Elimina las revocaciones de tokens ya expirados
+     * @return Número de revocaciones eliminadas
+     */
+    int deleteExpired(Date now);
+}
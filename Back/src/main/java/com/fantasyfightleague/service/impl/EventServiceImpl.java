@@ -3,9 +3,13 @@ package com.fantasyfightleague.service.impl;
 import com.fantasyfightleague.controller.AdminController;
 import com.fantasyfightleague.model.Event;
 import com.fantasyfightleague.repository.EventRepository;
+import com.fantasyfightleague.scheduler.UFCSyncScheduler;
+import com.fantasyfightleague.service.EventCardService;
 import com.fantasyfightleague.service.EventService;
+import com.fantasyfightleague.service.EventStatusChangedEvent;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 
 import org.slf4j.Logger;
@@ -16,23 +20,39 @@ import java.util.Date;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
 
 @Service
 public class EventServiceImpl implements EventService {
     
     private final EventRepository eventRepository;
+    private final EventCardService eventCardService;
+    private final UFCSyncScheduler lifecycleScheduler;
+    private final ApplicationEventPublisher eventPublisher;
     
     private static final Logger logger = LoggerFactory.getLogger(AdminController.class);
     
     @Autowired
-    public EventServiceImpl(EventRepository eventRepository) {
+    public EventServiceImpl(EventRepository eventRepository, EventCardService eventCardService,
+                            UFCSyncScheduler lifecycleScheduler, ApplicationEventPublisher eventPublisher) {
         this.eventRepository = eventRepository;
+        this.eventCardService = eventCardService;
+        this.lifecycleScheduler = lifecycleScheduler;
+        this.eventPublisher = eventPublisher;
     }
     
     @Override
     public Event saveEvent(Event event) {
-        return eventRepository.save(event);
+        // Un deadline movido al futuro vuelve a abrir los picks (el ciclo de vida los cerrará en la nueva fecha)
+        if (event.isPicksLocked() && "UPCOMING".equals(event.getStatus())
+                && event.getPicksDeadline() != null && event.getPicksDeadline().after(new Date())) {
+            event.setPicksLocked(false);
+            logger.info("Picks del evento {} reabiertos: nuevo deadline {}", event.getId(), event.getPicksDeadline());
+        }
+        Event saved = eventRepository.save(event);
+        lifecycleScheduler.schedule(saved);
+        return saved;
     }
     
     @Override
@@ -79,15 +99,23 @@ public class EventServiceImpl implements EventService {
     
     @Override
     public void deleteEvent(Long id) {
+        eventCardService.deleteCard(id);
         eventRepository.deleteById(id);
+        lifecycleScheduler.cancel(id);
     }
     
     @Override
     public Event updateStatus(Long id, String status) {
         Event event = eventRepository.findById(id)
                 .orElseThrow(() -> new RuntimeException("Event not found with id: " + id));
+        String previousStatus = event.getStatus();
         event.setStatus(status);
-        return eventRepository.save(event);
+        Event saved = eventRepository.save(event);
+        lifecycleScheduler.schedule(saved);
+        if (!Objects.equals(previousStatus, status)) {
+            eventPublisher.publishEvent(new EventStatusChangedEvent(id, previousStatus, status));
+        }
+        return saved;
     }
     
     @Override
@@ -5,7 +5,9 @@ import com.fantasyfightleague.repository.FighterRepository;
 import com.fantasyfightleague.service.FighterService;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -29,6 +31,11 @@ public class FighterServiceImpl implements FighterService {
         return fighterRepository.findById(id);
     }
     
+    @Override
+    public List<Fighter> findAllByIds(Collection<Long> ids) {
+        return fighterRepository.findAllById(ids);
+    }
+    
     @Override
     public List<Fighter> findByWeightClass(String weightClass) {
         return fighterRepository.findByWeightClass(weightClass);
@@ -74,4 +81,10 @@ public class FighterServiceImpl implements FighterService {
         fighter.setActive(false);
         return fighterRepository.save(fighter);
     }
-}
\ No newline at end of file
+    
+    @Override
+    @Transactional
+    public int deactivateAllFighters() {
+        return fighterRepository.deactivateAllActive();
+    }
+}
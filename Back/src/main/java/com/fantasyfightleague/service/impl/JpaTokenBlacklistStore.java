@@ -0,0 +1,44 @@
+package com.fantasyfightleague.service.impl;
+
+import com.fantasyfightleague.model.RevokedToken;
+import com.fantasyfightleague.repository.RevokedTokenRepository;
+import com.fantasyfightleague.service.TokenBlacklistStore;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+
+import java.util.Date;
+import java.util.List;
+
+/**
+ * Lista negra de tokens almacenada en la tabla revoked_tokens
+ */
+@Service
+public class JpaTokenBlacklistStore implements TokenBlacklistStore {
+
+    private final RevokedTokenRepository revokedTokenRepository;
+
+    @Autowired
+    public JpaTokenBlacklistStore(RevokedTokenRepository revokedTokenRepository) {
+        this.revokedTokenRepository = revokedTokenRepository;
+    }
+
+    @Override
+    public void revoke(String tokenHash, Date expiresAt) {
+        revokedTokenRepository.insertIgnore(tokenHash, expiresAt, new Date());
+    }
+
+    @Override
+    public List<RevokedToken> findActive(Date now) {
+        return revokedTokenRepository.findByExpiresAtAfter(now);
+    }
+
+    @Override
+    public List<RevokedToken> findRevokedSince(Date since, Date now) {
+        return revokedTokenRepository.findByRevokedAtAfterAndExpiresAtAfter(since, now);
+    }
+
+    @Override
+    public int deleteExpired(Date now) {
+        return revokedTokenRepository.deleteExpired(now);
+    }
+}
@@ -1,11 +1,14 @@
 // Actualizar: src/main/java/com/fantasyfightleague/service/impl/LeagueServiceImpl.java
 package com.fantasyfightleague.service.impl;
 
+import com.fantasyfightleague.dto.LeagueSummaryDTO;
 import com.fantasyfightleague.model.Event;
 import com.fantasyfightleague.model.League;
 import com.fantasyfightleague.model.User;
 import com.fantasyfightleague.repository.LeagueRepository;
+import com.fantasyfightleague.service.LeagueMembershipService;
 import com.fantasyfightleague.service.LeagueService;
+import com.fantasyfightleague.service.LeagueStandingService;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -24,13 +27,19 @@ public class LeagueServiceImpl implements LeagueService {
     private static final Logger logger = LoggerFactory.getLogger(LeagueServiceImpl.class);
     
     private final LeagueRepository leagueRepository;
+    private final LeagueStandingService leagueStandingService;
+    private final LeagueMembershipService leagueMembershipService;
     
     @Autowired
-    public LeagueServiceImpl(LeagueRepository leagueRepository) {
+    public LeagueServiceImpl(LeagueRepository leagueRepository, LeagueStandingService leagueStandingService,
+                             LeagueMembershipService leagueMembershipService) {
         this.leagueRepository = leagueRepository;
+        this.leagueStandingService = leagueStandingService;
+        this.leagueMembershipService = leagueMembershipService;
     }
     
     @Override
+    @Transactional
     public League createPublicLeague(String name, String description, Event event, User creator) {
         League league = new League();
         league.setName(name);
@@ -48,10 +57,13 @@ public class LeagueServiceImpl implements LeagueService {
         // El creador se une automáticamente
         league.addMember(creator);
         
-        return leagueRepository.save(league);
+        League saved = leagueRepository.save(league);
+        leagueStandingService.onLeagueCreated(saved);
+        return saved;
     }
     
     @Override
+    @Transactional
     public League createPrivateLeague(String name, String description, User creator) {
         League league = new League();
         league.setName(name);
@@ -63,7 +75,9 @@ public class LeagueServiceImpl implements LeagueService {
         // El creador se une automáticamente
         league.addMember(creator);
         
-        return leagueRepository.save(league);
+        League saved = leagueRepository.save(league);
+        leagueStandingService.onLeagueCreated(saved);
+        return saved;
     }
     
     @Override
@@ -71,6 +85,11 @@ public class LeagueServiceImpl implements LeagueService {
         return leagueRepository.findById(id);
     }
     
+    @Override
+    public Optional<LeagueSummaryDTO> findSummaryById(Long id) {
+        return leagueRepository.findSummaryById(id);
+    }
+    
     @Override
     public List<League> findPublicLeagues() {
         return leagueRepository.findByTypeAndActiveTrue("PUBLIC");
@@ -97,10 +116,15 @@ public class LeagueServiceImpl implements LeagueService {
     }
     
     @Override
+    @Transactional
     public League joinLeague(League league, User user) {
-        if (!isUserInLeague(league, user)) {
-            league.addMember(user);
-            return leagueRepository.save(league);
+        // Bloqueo de la liga antes del alta: serializa las altas y la clasificación de la liga
+        leagueRepository.lockById(league.getId());
+        
+        // Alta directa en league_members, sin cargar la colección de miembros
+        if (!isUserInLeague(league, user) && leagueRepository.addMember(league.getId(), user.getId()) > 0) {
+            leagueMembershipService.onMemberJoined(league.getId(), user.getId());
+            leagueStandingService.onMemberJoined(league, user);
         }
         return league;
     }
@@ -113,11 +137,14 @@ public class LeagueServiceImpl implements LeagueService {
             logger.info("Usuario {} saliendo de la liga {} ({})", 
                        user.getUsername(), league.getName(), league.getType());
             
-            // Remover el usuario de la liga
-            league.removeMember(user);
+            // Remover el usuario de la liga (con la liga bloqueada, como en las altas)
+            leagueRepository.lockById(league.getId());
+            leagueRepository.removeMember(league.getId(), user.getId());
+            leagueMembershipService.onMemberLeft(league.getId(), user.getId());
+            long remainingMembers = leagueRepository.countMembers(league.getId());
             
             // 🔥 NUEVO: Verificar si la liga privada se quedó sin miembros
-            if ("PRIVATE".equals(league.getType()) && league.getMembers().isEmpty()) {
+            if ("PRIVATE".equals(league.getType()) && remainingMembers == 0) {
                 logger.info("Liga privada {} se quedó sin miembros, eliminando...", league.getName());
                 
                 // Marcar como inactiva en lugar de eliminar físicamente por integridad referencial
@@ -127,16 +154,17 @@ public class LeagueServiceImpl implements LeagueService {
                 // leagueRepository.delete(league);
                 
                 League savedLeague = leagueRepository.save(league);
+                leagueMembershipService.evict(league.getId());
                 logger.info("Liga privada {} marcada como inactiva", league.getName());
                 
                 return savedLeague;
             } else {
-                // Liga aún tiene miembros, solo guardar
-                League savedLeague = leagueRepository.save(league);
+                // Liga aún tiene miembros
+                leagueStandingService.onMemberLeft(league, user);
                 logger.info("Usuario {} removido de la liga {}. Miembros restantes: {}", 
-                           user.getUsername(), league.getName(), savedLeague.getMembers().size());
+                           user.getUsername(), league.getName(), remainingMembers);
                 
-                return savedLeague;
+                return league;
             }
         }
         return league;
@@ -144,7 +172,7 @@ public class LeagueServiceImpl implements LeagueService {
     
     @Override
     public boolean isUserInLeague(League league, User user) {
-        return league.getMembers().contains(user);
+        return leagueMembershipService.isMember(league.getId(), user.getId());
     }
     
     @Override
@@ -158,6 +186,7 @@ public class LeagueServiceImpl implements LeagueService {
         for (League league : expiredLeagues) {
             league.setActive(false);
             leagueRepository.save(league);
+            leagueMembershipService.evict(league.getId());
         }
     }
     
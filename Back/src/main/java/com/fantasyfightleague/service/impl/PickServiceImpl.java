@@ -2,9 +2,15 @@ package com.fantasyfightleague.service.impl;
 
 import com.fantasyfightleague.model.*;
 import com.fantasyfightleague.repository.PickRepository;
+import com.fantasyfightleague.service.EventCardService;
+import com.fantasyfightleague.service.EventPickIndexService;
 import com.fantasyfightleague.service.FighterService;
+import com.fantasyfightleague.service.LeagueMembershipService;
+import com.fantasyfightleague.service.PickOwnershipService;
 import com.fantasyfightleague.service.PickService;
+import com.fantasyfightleague.service.PicksDeadlineReachedEvent;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.event.EventListener;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -20,17 +26,30 @@ public class PickServiceImpl implements PickService {
     @Autowired
     private FighterService fighterService;
     
+    @Autowired
+    private EventCardService eventCardService;
+    
+    @Autowired
+    private EventPickIndexService eventPickIndexService;
+    
+    @Autowired
+    private LeagueMembershipService leagueMembershipService;
+    
+    @Autowired
+    private PickOwnershipService pickOwnershipService;
+    
     @Override
     @Transactional
     public Pick createOrUpdatePick(User user, League league, Event event, List<Long> fighterIds) {
         // Validar luchadores
         List<Fighter> fighters = new ArrayList<>();
+        Set<Long> cardFighterIds = eventCardService.getFighterIds(event.getId());
         for (Long fighterId : fighterIds) {
             Fighter fighter = fighterService.findById(fighterId)
                     .orElseThrow(() -> new RuntimeException("Luchador no encontrado: " + fighterId));
             
-            // Verificar que el luchador está en el evento
-            if (!event.getFighters().contains(fighter)) {
+            // Verificar que el luchador está en la cartelera del evento
+            if (!cardFighterIds.contains(fighterId)) {
                 throw new RuntimeException("El luchador " + fighter.getName() + " no participa en este evento");
             }
             
@@ -52,12 +71,17 @@ public class PickServiceImpl implements PickService {
         }
         
         // Limpiar luchadores anteriores y agregar los nuevos
+        List<Long> previousFighterIds = pick.getSelectedFighters().stream().map(Fighter::getId).collect(Collectors.toList());
         pick.getSelectedFighters().clear();
         for (Fighter fighter : fighters) {
             pick.addFighter(fighter);
         }
         
-        return pickRepository.save(pick);
+        Pick saved = pickRepository.save(pick);
+        eventPickIndexService.onPickSaved(saved);
+        pickOwnershipService.onPickChanged(event.getId(), league.getId(), previousFighterIds,
+                fighters.stream().map(Fighter::getId).collect(Collectors.toList()));
+        return saved;
     }
     
     @Override
@@ -65,6 +89,11 @@ public class PickServiceImpl implements PickService {
         return pickRepository.findById(id);
     }
     
+    @Override
+    public Optional<Pick> findByIdWithFighters(Long id) {
+        return pickRepository.findWithFightersById(id);
+    }
+    
     @Override
     public Optional<Pick> findByUserLeagueAndEvent(User user, League league, Event event) {
         return pickRepository.findByUserAndLeagueAndEvent(user, league, event);
@@ -72,7 +101,7 @@ public class PickServiceImpl implements PickService {
     
     @Override
     public List<Pick> findByUserAndLeague(User user, League league) {
-        return pickRepository.findByUserAndLeague(user, league);
+        return pickRepository.findWithFightersByUserAndLeague(user, league);
     }
     
     @Override
@@ -82,7 +111,7 @@ public class PickServiceImpl implements PickService {
     
     @Override
     public List<Pick> getEventLeaderboard(League league, Event event) {
-        return pickRepository.findByLeagueAndEventOrderByEventPointsDesc(league, event);
+        return pickRepository.findWithFightersByLeagueAndEventOrderByEventPointsDesc(league, event);
     }
     
     @Override
@@ -100,40 +129,53 @@ public class PickServiceImpl implements PickService {
     @Override
     @Transactional
     public void deletePick(Long pickId) {
-        pickRepository.deleteById(pickId);
+        pickRepository.findById(pickId).ifPresent(pick -> {
+            List<Long> fighterIds = pick.getSelectedFighters().stream().map(Fighter::getId).collect(Collectors.toList());
+            pickRepository.delete(pick);
+            eventPickIndexService.onPickDeleted(pick.getEvent().getId(), pickId);
+            pickOwnershipService.onPickChanged(pick.getEvent().getId(), pick.getLeague().getId(), fighterIds, List.of());
+        });
     }
     
     @Override
     @Transactional
     public int lockPicksForEvent(Event event) {
-        List<Pick> picksToLock = pickRepository.findByLeagueAndEvent(null, event)
-                .stream()
-                .filter(pick -> !pick.isLocked())
-                .collect(Collectors.toList());
-        
-        for (Pick pick : picksToLock) {
-            pick.setLocked(true);
-            pickRepository.save(pick);
-        }
-        
-        return picksToLock.size();
+        return lockEventPicks(event.getId());
     }
     
     @Override
     @Transactional
     public void lockExpiredPicks() {
-        List<Pick> expiredPicks = pickRepository.findPicksToLock();
+        for (Long eventId : pickRepository.findEventIdsWithPicksToLock()) {
+            lockEventPicks(eventId);
+        }
+    }
+    
+    /**
+     * Cierra los picks de un evento al alcanzar su deadline (dentro de la transacción del ciclo de vida)
+     */
+    @EventListener
+    @Transactional
+    public void onPicksDeadlineReached(PicksDeadlineReachedEvent event) {
+        lockEventPicks(event.eventId());
+    }
+    
+    private int lockEventPicks(Long eventId) {
+        int locked = pickRepository.lockByEventId(eventId);
         
-        for (Pick pick : expiredPicks) {
-            pick.setLocked(true);
-            pickRepository.save(pick);
+        // Con los picks cerrados, el índice luchador -> picks y la popularidad del evento ya no cambian
+        if (locked > 0) {
+            eventPickIndexService.rebuild(eventId);
+            pickOwnershipService.rebuild(eventId);
         }
+        
+        return locked;
     }
     
     @Override
     public boolean canUserMakePick(User user, League league, Event event) {
         // Verificar que es miembro de la liga
-        if (!league.getMembers().contains(user)) {
+        if (!leagueMembershipService.isMember(league.getId(), user.getId())) {
             return false;
         }
         
@@ -3,6 +3,7 @@ package com.fantasyfightleague.service.impl;
 
 import com.fantasyfightleague.model.User;
 import com.fantasyfightleague.repository.UserRepository;
+import com.fantasyfightleague.security.jwt.AuthenticationCache;
 import com.fantasyfightleague.service.UserService;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.security.crypto.password.PasswordEncoder;
@@ -16,11 +17,14 @@ public class UserServiceImpl implements UserService {
     
     private final UserRepository userRepository;
     private final PasswordEncoder passwordEncoder;
+    private final AuthenticationCache authenticationCache;
     
     @Autowired
-    public UserServiceImpl(UserRepository userRepository, PasswordEncoder passwordEncoder) {
+    public UserServiceImpl(UserRepository userRepository, PasswordEncoder passwordEncoder,
+                           AuthenticationCache authenticationCache) {
         this.userRepository = userRepository;
         this.passwordEncoder = passwordEncoder;
+        this.authenticationCache = authenticationCache;
     }
     
     @Override
@@ -29,7 +33,11 @@ public class UserServiceImpl implements UserService {
         if (user.getPassword() != null && !isPasswordEncrypted(user.getPassword())) {
             user.setPassword(passwordEncoder.encode(user.getPassword()));
         }
-        return userRepository.save(user);
+        User savedUser = userRepository.save(user);
+        
+        // Roles, contraseña o email verificado pueden haber cambiado: los tokens cacheados se vuelven a verificar
+        authenticationCache.invalidateUser(savedUser.getId());
+        return savedUser;
     }
     
     /**
@@ -78,5 +86,6 @@ public class UserServiceImpl implements UserService {
     @Override
     public void deleteUser(Long id) {
         userRepository.deleteById(id);
+        authenticationCache.invalidateUser(id);
     }
 }
\ No newline at end of file
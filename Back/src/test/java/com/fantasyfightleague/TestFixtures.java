@@ -0,0 +1,91 @@
+package com.fantasyfightleague;
+
+import com.fantasyfightleague.model.Event;
+import com.fantasyfightleague.model.Fighter;
+import com.fantasyfightleague.model.League;
+import com.fantasyfightleague.model.Pick;
+import com.fantasyfightleague.model.User;
+import com.fantasyfightleague.repository.EventRepository;
+import com.fantasyfightleague.repository.FighterRepository;
+import com.fantasyfightleague.repository.LeagueRepository;
+import com.fantasyfightleague.repository.PickRepository;
+import com.fantasyfightleague.repository.UserRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.TestComponent;
+
+import java.util.Date;
+import java.util.List;
+
+/**
+ * Datos de prueba compartidos por los tests de integración (se añade con @Import(TestFixtures.class)).
+ * Cada método guarda la entidad y la devuelve con su ID.
+ */
+@TestComponent
+public class TestFixtures {
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private FighterRepository fighterRepository;
+
+    @Autowired
+    private EventRepository eventRepository;
+
+    @Autowired
+    private LeagueRepository leagueRepository;
+
+    @Autowired
+    private PickRepository pickRepository;
+
+    /**
+     * Usuario con el email confirmado (contraseña "password", email username@test.com)
+     */
+    public User createUser(String username) {
+        User user = new User(username, "password", username + "@test.com");
+        user.setEmailConfirmed(true);
+        return userRepository.save(user);
+    }
+
+    /**
+     * Luchador activo
+     */
+    public Fighter createFighter(String name, int price) {
+        Fighter fighter = new Fighter();
+        fighter.setName(name);
+        fighter.setPrice(price);
+        fighter.setActive(true);
+        return fighterRepository.save(fighter);
+    }
+
+    /**
+     * Evento con los luchadores de su cartelera
+     */
+    public Event createEvent(String name, Date startDate, String status, List<Fighter> fighters) {
+        Event event = new Event(name, startDate, null);
+        event.setStatus(status);
+        fighters.forEach(event::addFighter);
+        return eventRepository.save(event);
+    }
+
+    /**
+     * Liga privada con el propietario y los miembros indicados
+     */
+    public League createLeague(String name, String invitationCode, User owner, List<User> members) {
+        League league = new League(name, "PRIVATE", owner);
+        league.setInvitationCode(invitationCode);
+        league.addMember(owner);
+        members.forEach(league::addMember);
+        return leagueRepository.save(league);
+    }
+
+    /**
+     * Pick de un usuario para un evento con los luchadores y puntos indicados
+     */
+    public Pick createPick(User user, League league, Event event, List<Fighter> fighters, int eventPoints) {
+        Pick pick = new Pick(user, league, event);
+        fighters.forEach(pick::addFighter);
+        pick.setEventPoints(eventPoints);
+        return pickRepository.save(pick);
+    }
+}
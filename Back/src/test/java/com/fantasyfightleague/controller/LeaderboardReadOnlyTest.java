@@ -0,0 +1,222 @@
+package com.fantasyfightleague.controller;
+
+import com.fantasyfightleague.TestFixtures;
+import com.fantasyfightleague.model.League;
+import com.fantasyfightleague.model.User;
+import com.fantasyfightleague.repository.LeagueStandingRepository;
+import com.fantasyfightleague.service.LeagueService;
+import com.fantasyfightleague.service.LeagueStandingService;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.List;
+import java.util.Locale;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.user;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Los endpoints de clasificación se ejecutan en transacciones de solo lectura y no deben escribir.
+ * H2 ignora el modo de solo lectura, así que el DataSource del test rechaza INSERT/UPDATE/DELETE
+ * en las conexiones marcadas con setReadOnly(true), igual que MySQL.
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+@AutoConfigureMockMvc
+@Import({ TestFixtures.class, LeaderboardReadOnlyTest.ReadOnlyDataSourceConfig.class })
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class LeaderboardReadOnlyTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private TestFixtures fixtures;
+
+    @Autowired
+    private LeagueStandingRepository standingRepository;
+
+    @Autowired
+    private LeagueService leagueService;
+
+    @Autowired
+    private LeagueStandingService leagueStandingService;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    private League newLeague;
+    private League legacyLeague;
+
+    @BeforeAll
+    void seed() {
+        User owner = fixtures.createUser("owner");
+
+        // Liga creada con el servicio y dos altas posteriores
+        newLeague = leagueService.createPrivateLeague("New", null, owner);
+        leagueService.joinLeague(newLeague, fixtures.createUser("first"));
+        leagueService.joinLeague(newLeague, fixtures.createUser("second"));
+
+        // Liga anterior a la clasificación materializada: sin filas en league_standings
+        legacyLeague = fixtures.createLeague("Legacy", "LEGACY01", owner, List.of(fixtures.createUser("legacy-member")));
+    }
+
+    @Test
+    void readOnlyConnectionsRejectWrites() {
+        TransactionTemplate readOnly = new TransactionTemplate(transactionManager);
+        readOnly.setReadOnly(true);
+
+        assertThrows(Exception.class, () -> readOnly.executeWithoutResult(status ->
+                entityManager.createNativeQuery("DELETE FROM league_standings WHERE league_id = -1").executeUpdate()));
+    }
+
+    @Test
+    void newLeagueHasStandingsAfterCreateAndJoin() throws Exception {
+        assertEquals(3, standingRepository.countByLeagueId(newLeague.getId()));
+
+        mockMvc.perform(get("/api/leaderboard/global/" + newLeague.getId() + "?aroundUser=true").with(user("second")))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.totalParticipants").value(3))
+                .andExpect(jsonPath("$.leaderboard.length()").value(3));
+
+        mockMvc.perform(get("/api/leaderboard/my-position/" + newLeague.getId()).with(user("second")))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.position").isNumber());
+    }
+
+    @Test
+    void aroundMeIsReadWithoutWriting() throws Exception {
+        // Todos empatan a 0 puntos: mismo rango, posiciones distintas
+        mockMvc.perform(get("/api/leaderboard/around-me/" + newLeague.getId() + "?neighbours=1").with(user("first")))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.rank").value(1))
+                .andExpect(jsonPath("$.position").isNumber())
+                .andExpect(jsonPath("$.totalParticipants").value(3))
+                .andExpect(jsonPath("$.entry.userId").isNumber());
+
+        mockMvc.perform(get("/api/leaderboard/around-me/" + legacyLeague.getId()).with(user("legacy-member")))
+                .andExpect(status().isOk());
+    }
+
+    @Test
+    void legacyLeagueIsReadWithoutWriting() throws Exception {
+        mockMvc.perform(get("/api/leaderboard/global/" + legacyLeague.getId()).with(user("owner")))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.totalParticipants").value(2));
+
+        mockMvc.perform(get("/api/leaderboard/my-position/" + legacyLeague.getId()).with(user("owner")))
+                .andExpect(status().isOk());
+
+        // Las clasificaciones que faltan se construyen en una transacción de escritura
+        leagueStandingService.materializeMissingStandings();
+        assertTrue(standingRepository.existsByLeagueId(legacyLeague.getId()));
+    }
+
+    /**
+     * DataSource que rechaza las sentencias de escritura en conexiones de solo lectura
+     */
+    @TestConfiguration
+    static class ReadOnlyDataSourceConfig {
+
+        @Bean
+        static BeanPostProcessor readOnlyDataSourcePostProcessor() {
+            return new BeanPostProcessor() {
+                @Override
+                public Object postProcessAfterInitialization(Object bean, String beanName) {
+                    return bean instanceof DataSource dataSource && !(bean instanceof ReadOnlyEnforcingDataSource)
+                            ? new ReadOnlyEnforcingDataSource(dataSource)
+                            : bean;
+                }
+            };
+        }
+    }
+
+    static class ReadOnlyEnforcingDataSource extends DelegatingDataSource {
+
+        ReadOnlyEnforcingDataSource(DataSource target) {
+            super(target);
+        }
+
+        @Override
+        public Connection getConnection() throws SQLException {
+            return wrap(super.getConnection());
+        }
+
+        @Override
+        public Connection getConnection(String username, String password) throws SQLException {
+            return wrap(super.getConnection(username, password));
+        }
+
+        private static Connection wrap(Connection target) {
+            boolean[] readOnly = { false };
+            return (Connection) Proxy.newProxyInstance(Connection.class.getClassLoader(), new Class<?>[] { Connection.class },
+                    (proxy, method, args) -> {
+                        if (method.getName().equals("setReadOnly")) {
+                            readOnly[0] = (Boolean) args[0];
+                        }
+                        if (readOnly[0] && (method.getName().equals("prepareStatement") || method.getName().equals("prepareCall"))) {
+                            checkWrite((String) args[0]);
+                        }
+                        Object result = invoke(target, method, args);
+                        if (result instanceof Statement statement && method.getName().equals("createStatement")) {
+                            return wrapStatement(statement, readOnly);
+                        }
+                        return result;
+                    });
+        }
+
+        private static Statement wrapStatement(Statement target, boolean[] readOnly) {
+            return (Statement) Proxy.newProxyInstance(Statement.class.getClassLoader(), new Class<?>[] { Statement.class },
+                    (proxy, method, args) -> {
+                        if (readOnly[0] && method.getName().startsWith("execute") && args != null && args[0] instanceof String sql) {
+                            checkWrite(sql);
+                        }
+                        return invoke(target, method, args);
+                    });
+        }
+
+        private static void checkWrite(String sql) throws SQLException {
+            String statement = sql.trim().toUpperCase(Locale.ROOT);
+            if (statement.startsWith("INSERT") || statement.startsWith("UPDATE") || statement.startsWith("DELETE")
+                    || statement.startsWith("MERGE") || statement.startsWith("REPLACE")) {
+                throw new SQLException("Cannot execute statement in a READ ONLY transaction.", "25006");
+            }
+        }
+
+        private static Object invoke(Object target, java.lang.reflect.Method method, Object[] args) throws Throwable {
+            try {
+                return method.invoke(target, args);
+            } catch (InvocationTargetException e) {
+                throw e.getTargetException();
+            }
+        }
+    }
+}
@@ -0,0 +1,230 @@
+package com.fantasyfightleague.controller;
+
+import com.fantasyfightleague.TestFixtures;
+import com.fantasyfightleague.model.Event;
+import com.fantasyfightleague.model.Fighter;
+import com.fantasyfightleague.model.FighterStats;
+import com.fantasyfightleague.model.League;
+import com.fantasyfightleague.model.Pick;
+import com.fantasyfightleague.model.User;
+import com.fantasyfightleague.repository.FighterStatsRepository;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.user;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Comprueba con las estadísticas de Hibernate que los endpoints con muchos picks
+ * ejecutan un número fijo de consultas, independiente del número de picks, miembros y luchadores.
+ * Cada escenario se ejecuta sobre una liga pequeña y otra grande y el número de sentencias debe coincidir.
+ */
+@SpringBootTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@ActiveProfiles("test")
+@AutoConfigureMockMvc
+@Import(TestFixtures.class)
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class PickFetchPlanQueryCountTest {
+
+    // Límite de sentencias por petición (usuario, liga, datos del endpoint y serialización de la respuesta)
+    private static final long MAX_STATEMENTS = 12;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private TestFixtures fixtures;
+
+    @Autowired
+    private FighterStatsRepository fighterStatsRepository;
+
+    private League smallLeague;
+    private League largeLeague;
+    private Event firstEvent;
+    private Pick smallPick;
+    private Pick largePick;
+
+    @BeforeAll
+    void seed() {
+        User owner = fixtures.createUser("owner");
+
+        List<Fighter> fighters = new ArrayList<>();
+        for (int i = 0; i < 6; i++) {
+            fighters.add(fixtures.createFighter("Fighter " + i, 50 + i));
+        }
+
+        List<Event> events = new ArrayList<>();
+        for (int i = 0; i < 4; i++) {
+            Event event = fixtures.createEvent("Event " + i, new Date(System.currentTimeMillis() - (4 - i) * 86_400_000L),
+                                               "COMPLETED", fighters);
+            events.add(event);
+
+            for (Fighter fighter : fighters) {
+                FighterStats stats = new FighterStats();
+                stats.setEvent(event);
+                stats.setFighter(fighter);
+                stats.setPoints(10 + i);
+                fighterStatsRepository.save(stats);
+            }
+        }
+        firstEvent = events.get(0);
+
+        // Liga pequeña: 2 miembros, el propietario con un pick de un luchador en un evento
+        smallLeague = createLeague("Small", owner, 2);
+        smallPick = createPick(owner, smallLeague, firstEvent, fighters.subList(0, 1));
+        for (User member : smallLeague.getMembers()) {
+            if (!member.getId().equals(owner.getId())) {
+                createPick(member, smallLeague, firstEvent, fighters.subList(1, 2));
+            }
+        }
+
+        // Liga grande: 15 miembros, picks de tres luchadores y el propietario con picks en los cuatro eventos
+        largeLeague = createLeague("Large", owner, 15);
+        for (Event event : events) {
+            Pick pick = createPick(owner, largeLeague, event, fighters.subList(0, 3));
+            if (event.getId().equals(firstEvent.getId())) {
+                largePick = pick;
+            }
+        }
+        for (User member : largeLeague.getMembers()) {
+            if (!member.getId().equals(owner.getId())) {
+                createPick(member, largeLeague, firstEvent, fighters.subList(2, 5));
+            }
+        }
+    }
+
+    @Test
+    void eventLeaderboardRunsFixedNumberOfQueries() throws Exception {
+        long small = countStatements("/api/leaderboard/event/" + smallLeague.getId() + "/" + firstEvent.getId());
+        long large = countStatements("/api/leaderboard/event/" + largeLeague.getId() + "/" + firstEvent.getId());
+
+        assertEquals(small, large, "El número de consultas no debe depender del número de picks");
+        assertTrue(large <= MAX_STATEMENTS, "Demasiadas consultas: " + large);
+    }
+
+    @Test
+    void globalLeaderboardPageRunsFixedNumberOfQueries() throws Exception {
+        // Primera lectura: carga las cachés (las lecturas no materializan clasificaciones)
+        countStatements("/api/leaderboard/global/" + smallLeague.getId());
+        countStatements("/api/leaderboard/global/" + largeLeague.getId());
+
+        long small = countStatements("/api/leaderboard/global/" + smallLeague.getId() + "?size=5&aroundUser=true");
+        long large = countStatements("/api/leaderboard/global/" + largeLeague.getId() + "?size=5&aroundUser=true");
+
+        assertEquals(small, large, "El número de consultas no debe depender del número de miembros");
+        assertTrue(large <= MAX_STATEMENTS, "Demasiadas consultas: " + large);
+    }
+
+    @Test
+    void aroundMeRunsFixedNumberOfQueries() throws Exception {
+        // Primera lectura: carga las cachés (las lecturas no materializan clasificaciones)
+        countStatements("/api/leaderboard/around-me/" + smallLeague.getId());
+        countStatements("/api/leaderboard/around-me/" + largeLeague.getId());
+
+        long small = countStatements("/api/leaderboard/around-me/" + smallLeague.getId() + "?neighbours=3");
+        long large = countStatements("/api/leaderboard/around-me/" + largeLeague.getId() + "?neighbours=3");
+
+        assertEquals(small, large, "El número de consultas no debe depender del número de miembros");
+        assertTrue(large <= MAX_STATEMENTS, "Demasiadas consultas: " + large);
+
+        mockMvc.perform(get("/api/leaderboard/around-me/" + largeLeague.getId() + "?neighbours=3").with(user("owner")))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.entry.username").value("owner"))
+                .andExpect(jsonPath("$.rank").value(1))
+                .andExpect(jsonPath("$.above.length()").value(0))
+                .andExpect(jsonPath("$.below.length()").value(3));
+    }
+
+    @Test
+    void leaderboardPagesOnlyContainRequestedEntries() throws Exception {
+        mockMvc.perform(get("/api/leaderboard/event/" + largeLeague.getId() + "/" + firstEvent.getId() + "?page=1&size=4")
+                        .with(user("owner")))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.leaderboard.length()").value(4))
+                .andExpect(jsonPath("$.leaderboard[0].position").value(5))
+                .andExpect(jsonPath("$.totalParticipants").value(15))
+                .andExpect(jsonPath("$.totalPages").value(4))
+                .andExpect(jsonPath("$.league.memberCount").value(15))
+                .andExpect(jsonPath("$.league.members").doesNotExist());
+
+        mockMvc.perform(get("/api/leaderboard/global/" + largeLeague.getId() + "?size=4&aroundUser=true")
+                        .with(user("owner")))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.leaderboard.length()").value(4))
+                .andExpect(jsonPath("$.leaderboard[?(@.isCurrentUser == true)].username").value("owner"));
+    }
+
+    @Test
+    void myHistoryDetailedRunsFixedNumberOfQueries() throws Exception {
+        long small = countStatements("/api/leaderboard/my-history-detailed/" + smallLeague.getId());
+        long large = countStatements("/api/leaderboard/my-history-detailed/" + largeLeague.getId());
+
+        assertEquals(small, large, "El número de consultas no debe depender del número de picks");
+        assertTrue(large <= MAX_STATEMENTS, "Demasiadas consultas: " + large);
+    }
+
+    @Test
+    void pickScoringDetailsRunsFixedNumberOfQueries() throws Exception {
+        long small = countStatements("/api/scoring/pick-details/" + smallPick.getId());
+        long large = countStatements("/api/scoring/pick-details/" + largePick.getId());
+
+        assertEquals(small, large, "El número de consultas no debe depender del número de luchadores ni de miembros");
+        assertTrue(large <= MAX_STATEMENTS, "Demasiadas consultas: " + large);
+    }
+
+    @Test
+    void historyAndPickDetailsReturnLeagueSummary() throws Exception {
+        for (String url : List.of("/api/leaderboard/my-history/" + largeLeague.getId(),
+                                  "/api/leaderboard/my-history-detailed/" + largeLeague.getId(),
+                                  "/api/scoring/pick-details/" + largePick.getId())) {
+            mockMvc.perform(get(url).with(user("owner")))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.league.id").value(largeLeague.getId()))
+                    .andExpect(jsonPath("$.league.memberCount").value(15))
+                    .andExpect(jsonPath("$.league.members").doesNotExist());
+        }
+    }
+
+    private long countStatements(String url) throws Exception {
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+
+        mockMvc.perform(get(url).with(user("owner")))
+                .andExpect(status().isOk());
+
+        return statistics.getPrepareStatementCount();
+    }
+
+    private League createLeague(String name, User owner, int members) {
+        List<User> others = new ArrayList<>();
+        for (int i = 1; i < members; i++) {
+            others.add(fixtures.createUser(name.toLowerCase() + "-member-" + i));
+        }
+        return fixtures.createLeague(name, name.toUpperCase(), owner, others);
+    }
+
+    private Pick createPick(User user, League league, Event event, List<Fighter> fighters) {
+        return fixtures.createPick(user, league, event, fighters, 10 * fighters.size());
+    }
+}
@@ -0,0 +1,121 @@
+package com.fantasyfightleague.service;
+
+import com.fantasyfightleague.dto.EmailOutboxStatsDTO;
+import com.fantasyfightleague.model.EmailOutbox;
+import com.fantasyfightleague.repository.EmailOutboxRepository;
+import com.icegreen.greenmail.junit5.GreenMailExtension;
+import com.icegreen.greenmail.util.ServerSetupTest;
+import jakarta.mail.internet.MimeMessage;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.RegisterExtension;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.Date;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Envío de la cola de emails contra un servidor SMTP local (GreenMail):
+ * lotes enviados, reintento con espera tras un fallo y descarte al agotar los intentos.
+ */
+@SpringBootTest(properties = {
+        "spring.mail.host=localhost",
+        "spring.mail.port=3025",
+        "spring.mail.username=",
+        "spring.mail.password=",
+        "spring.mail.properties.mail.smtp.auth=false",
+        "spring.mail.properties.mail.smtp.starttls.enable=false",
+        "ffl.email.outbox.max-attempts=2",
+        "ffl.email.outbox.initial-backoff-ms=60000"
+})
+@ActiveProfiles("test")
+class EmailOutboxServiceTest {
+
+    @RegisterExtension
+    static GreenMailExtension greenMail = new GreenMailExtension(ServerSetupTest.SMTP);
+
+    @Autowired
+    private EmailOutboxService emailOutboxService;
+
+    @Autowired
+    private EmailOutboxRepository outboxRepository;
+
+    @BeforeEach
+    void clearOutbox() {
+        outboxRepository.deleteAll();
+    }
+
+    @Test
+    void enqueuedEmailsAreSentInBackground() throws Exception {
+        emailOutboxService.enqueue("fighter1@example.com", "Confirmación", "<p>Hola</p>", true);
+        emailOutboxService.enqueue("fighter2@example.com", "Recuperar contraseña", "<p>Hola</p>", true);
+        emailOutboxService.enqueue("support@example.com", "fighter3@example.com", "[SOPORTE FFL #1] Ayuda", "Mensaje", false);
+
+        // Encolar no envía nada
+        assertEquals(0, greenMail.getReceivedMessages().length);
+
+        emailOutboxService.dispatch();
+
+        MimeMessage[] received = greenMail.getReceivedMessages();
+        assertEquals(3, received.length);
+        assertEquals("fighter3@example.com", received[2].getReplyTo()[0].toString());
+
+        EmailOutboxStatsDTO stats = emailOutboxService.getStats();
+        assertEquals(0, stats.pending());
+        assertEquals(3, stats.sent());
+        for (EmailOutbox email : outboxRepository.findAll()) {
+            assertEquals("SENT", email.getStatus());
+            assertEquals(1, email.getAttempts());
+            assertNotNull(email.getSentAt());
+        }
+    }
+
+    @Test
+    void failedSendIsRetriedAfterBackoff() {
+        greenMail.stop();
+        EmailOutbox email = emailOutboxService.enqueue("fighter@example.com", "Confirmación", "<p>Hola</p>", true);
+
+        assertEquals(1, emailOutboxService.dispatchBatch());
+
+        EmailOutbox failed = outboxRepository.findById(email.getId()).orElseThrow();
+        assertEquals("PENDING", failed.getStatus());
+        assertEquals(1, failed.getAttempts());
+        assertNotNull(failed.getLastError());
+        assertTrue(failed.getNextAttemptAt().getTime() > System.currentTimeMillis() + 30_000);
+
+        // Todavía no toca reintentarlo
+        greenMail.start();
+        assertEquals(0, emailOutboxService.dispatchBatch());
+
+        failed.setNextAttemptAt(new Date());
+        outboxRepository.save(failed);
+        assertEquals(1, emailOutboxService.dispatchBatch());
+        assertEquals(1, greenMail.getReceivedMessages().length);
+        assertEquals("SENT", outboxRepository.findById(email.getId()).orElseThrow().getStatus());
+    }
+
+    @Test
+    void emailIsDiscardedAfterMaxAttempts() {
+        greenMail.stop();
+        EmailOutbox email = emailOutboxService.enqueue("fighter@example.com", "Confirmación", "<p>Hola</p>", true);
+
+        emailOutboxService.dispatchBatch();
+        EmailOutbox pending = outboxRepository.findById(email.getId()).orElseThrow();
+        pending.setNextAttemptAt(new Date());
+        outboxRepository.save(pending);
+        emailOutboxService.dispatchBatch();
+
+        EmailOutbox failed = outboxRepository.findById(email.getId()).orElseThrow();
+        assertEquals("FAILED", failed.getStatus());
+        assertEquals(2, failed.getAttempts());
+        assertEquals(1, emailOutboxService.getStats().failed());
+
+        assertEquals(1, emailOutboxService.requeueFailed());
+        assertEquals("PENDING", outboxRepository.findById(email.getId()).orElseThrow().getStatus());
+    }
+}
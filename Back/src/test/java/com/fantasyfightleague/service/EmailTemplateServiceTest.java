@@ -0,0 +1,77 @@
+package com.fantasyfightleague.service;
+
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Compilación y renderizado de las plantillas de email
+ */
+class EmailTemplateServiceTest {
+
+    private static EmailTemplateService templateService;
+
+    @BeforeAll
+    static void loadTemplates() throws Exception {
+        templateService = new EmailTemplateService();
+        templateService.loadTemplates();
+    }
+
+    @Test
+    void rendersFragmentsAndValuesInOrder() {
+        EmailTemplate template = EmailTemplate.compile("test", "Hola {{ username }}, tu liga es {{leagueName}}.", false);
+
+        assertEquals("Hola Ana, tu liga es Liga <1>.", template.render(Map.of("username", "Ana", "leagueName", "Liga <1>")));
+        assertEquals("Hola Luis, tu liga es Otra.", template.render(Map.of("username", "Luis", "leagueName", "Otra")));
+    }
+
+    @Test
+    void escapesValuesInHtmlTemplates() {
+        EmailTemplate template = EmailTemplate.compile("test", "<a href='{{url}}'>{{name}}</a>", true);
+
+        assertEquals("<a href='https://x.com/?a=1&amp;b=&#39;2&#39;'>&lt;b&gt;&quot;Ana&quot;&lt;/b&gt;</a>",
+                     template.render(Map.of("url", "https://x.com/?a=1&b='2'", "name", "<b>\"Ana\"</b>")));
+    }
+
+    @Test
+    void rejectsMalformedTemplatesAndMissingValues() {
+        assertThrows(RuntimeException.class, () -> EmailTemplate.compile("test", "Hola {{username", false));
+        assertThrows(RuntimeException.class, () -> EmailTemplate.compile("test", "Hola {{user name}}", false));
+
+        EmailTemplate template = EmailTemplate.compile("test", "Hola {{username}}", false);
+        assertThrows(RuntimeException.class, () -> template.render(Map.of()));
+    }
+
+    @Test
+    void allTemplatesRenderWithTheirKeys() {
+        for (String name : new String[] { "verification", "email-change", "email-change-notice", "password-reset",
+                                          "password-changed", "support-notification", "support-auto-reply", "event-results" }) {
+            assertTrue(templateService.exists(name), name);
+
+            Map<String, String> values = new HashMap<>();
+            templateService.getKeys(name).forEach(key -> values.put(key, "valor-" + key));
+            RenderedEmail email = templateService.render(name, values);
+
+            assertFalse(email.subject().isBlank(), name);
+            assertFalse(email.body().contains("{{"), name);
+            assertEquals(!(name.endsWith("-notice") || name.startsWith("support-")), email.html(), name);
+        }
+    }
+
+    @Test
+    void subjectIsRenderedWithValues() {
+        RenderedEmail email = templateService.render("event-results", Map.of(
+                "username", "ana", "eventName", "UFC 300", "leagueName", "Amigos", "leagueId", "7", "appUrl", "http://app"));
+
+        assertEquals("Fantasy Fight League - Resultados de UFC 300", email.subject());
+        assertTrue(email.body().contains("http://app/league/7"));
+        assertTrue(email.html());
+    }
+}
@@ -0,0 +1,149 @@
+package com.fantasyfightleague.service;
+
+import com.fantasyfightleague.TestFixtures;
+import com.fantasyfightleague.dto.FightResultDTO;
+import com.fantasyfightleague.model.Event;
+import com.fantasyfightleague.model.Fighter;
+import com.fantasyfightleague.model.League;
+import com.fantasyfightleague.model.Pick;
+import com.fantasyfightleague.model.User;
+import com.fantasyfightleague.repository.FighterStatsRepository;
+import com.fantasyfightleague.repository.PickRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Puntuación en directo de las peleas: un resultado reenviado o corregido solo aplica la diferencia
+ * de puntos a los picks, también cuando dos envíos llegan a la vez.
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+@Import(TestFixtures.class)
+class FightResultsServiceTest {
+
+    @Autowired
+    private FightResultsService fightResultsService;
+
+    @Autowired
+    private ScoringService scoringService;
+
+    @Autowired
+    private PickRepository pickRepository;
+
+    @Autowired
+    private FighterStatsRepository fighterStatsRepository;
+
+    @Autowired
+    private TestFixtures fixtures;
+
+    private Event event;
+    private Fighter winner;
+    private Fighter loser;
+    private Pick winnerPick;
+    private Pick loserPick;
+
+    private static int sequence;
+
+    @BeforeEach
+    void seed() {
+        String suffix = String.valueOf(++sequence);
+        winner = fixtures.createFighter("Winner " + suffix, 50);
+        loser = fixtures.createFighter("Loser " + suffix, 50);
+        event = fixtures.createEvent("Live " + suffix, new Date(), "LIVE", List.of(winner, loser));
+
+        User first = fixtures.createUser("first-" + suffix);
+        User second = fixtures.createUser("second-" + suffix);
+        League league = fixtures.createLeague("League " + suffix, "LIVE" + suffix, first, List.of(second));
+
+        winnerPick = fixtures.createPick(first, league, event, List.of(winner), 0);
+        loserPick = fixtures.createPick(second, league, event, List.of(loser), 0);
+    }
+
+    @Test
+    void resentResultAppliesPointsOnce() {
+        FightResultDTO win = result(winner, "Win", 30);
+        int points = scoringService.score(win).getTotalPoints();
+
+        fightResultsService.processLiveFightResults(event.getId(), List.of(win));
+        fightResultsService.processLiveFightResults(event.getId(), List.of(result(winner, "Win", 30)));
+
+        assertEquals(points, eventPoints(winnerPick));
+        assertEquals(1, fighterStatsRepository.findByEventId(event.getId()).size());
+    }
+
+    @Test
+    void correctedResultAppliesDifference() {
+        fightResultsService.processLiveFightResults(event.getId(), List.of(result(loser, "Loss", 10)));
+
+        FightResultDTO corrected = result(loser, "Loss", 45);
+        fightResultsService.processLiveFightResults(event.getId(), List.of(corrected));
+
+        assertEquals(scoringService.score(corrected).getTotalPoints(), eventPoints(loserPick));
+    }
+
+    @Test
+    void concurrentResendsAreSerialized() throws Exception {
+        FightResultDTO win = result(winner, "Win", 30);
+        int points = scoringService.score(win).getTotalPoints();
+
+        int senders = 4;
+        CountDownLatch ready = new CountDownLatch(senders);
+        ExecutorService executor = Executors.newFixedThreadPool(senders);
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int i = 0; i < senders; i++) {
+                Callable<Object> send = () -> {
+                    ready.countDown();
+                    ready.await();
+                    return fightResultsService.processLiveFightResults(event.getId(), List.of(result(winner, "Win", 30)));
+                };
+                futures.add(executor.submit(send));
+            }
+            for (Future<?> future : futures) {
+                future.get(30, TimeUnit.SECONDS);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        assertEquals(points, eventPoints(winnerPick));
+        assertTrue(points != 0);
+    }
+
+    private FightResultDTO result(Fighter fighter, String outcome, int significantStrikes) {
+        FightResultDTO result = new FightResultDTO();
+        result.setNombre(fighter.getName());
+        result.setResultado(outcome);
+        result.setMetodo("Decision");
+        result.setTipoDecision("Unanimous");
+        result.setRound(3);
+        result.setGolpesSignificantes(significantStrikes);
+        result.setGolpesTotales(significantStrikes * 2);
+        result.setGolpesAcertados(significantStrikes);
+        result.setTakedownsAcertados(1);
+        result.setIntentosDeSumision(0);
+        result.setKnockdowns(0);
+        return result;
+    }
+
+    private int eventPoints(Pick pick) {
+        return pickRepository.findById(pick.getId()).orElseThrow().getEventPoints();
+    }
+}
@@ -0,0 +1,148 @@
+package com.fantasyfightleague.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Rango, posición, páginas y vecinos de la clasificación en memoria
+ */
+class LiveLeaderboardTest {
+
+    @Test
+    void tiesShareRankAndAreOrderedByUserId() {
+        LiveLeaderboard leaderboard = new LiveLeaderboard(1L);
+        leaderboard.setScore(30, 10);
+        leaderboard.setScore(10, 10);
+        leaderboard.setScore(20, 10);
+        leaderboard.setScore(40, 25);
+
+        assertEquals(1, leaderboard.rank(40));
+        assertEquals(1, leaderboard.position(40));
+        for (long userId : new long[] { 10, 20, 30 }) {
+            assertEquals(2, leaderboard.rank(userId));
+        }
+        assertEquals(2, leaderboard.position(10));
+        assertEquals(3, leaderboard.position(20));
+        assertEquals(4, leaderboard.position(30));
+    }
+
+    @Test
+    void negativePointsRankBelowZero() {
+        LiveLeaderboard leaderboard = new LiveLeaderboard(1L);
+        leaderboard.setScore(1, 0);
+        leaderboard.setScore(2, -5);
+        leaderboard.setScore(3, -1);
+        leaderboard.setScore(4, -5);
+
+        assertEquals(1, leaderboard.rank(1));
+        assertEquals(2, leaderboard.rank(3));
+        assertEquals(3, leaderboard.rank(2));
+        assertEquals(3, leaderboard.rank(4));
+        assertEquals(4, leaderboard.position(4));
+
+        assertEquals(-6, leaderboard.addPoints(1, -6));
+        assertEquals(4, leaderboard.rank(1));
+        assertEquals(1, leaderboard.position(3));
+    }
+
+    @Test
+    void pageStartsAtAnyPosition() {
+        LiveLeaderboard leaderboard = new LiveLeaderboard(1L);
+        for (long userId = 1; userId <= 10; userId++) {
+            leaderboard.setScore(userId, (int) userId * 10);
+        }
+
+        List<LiveLeaderboard.Standing> page = leaderboard.page(4, 3);
+        assertEquals(List.of(new LiveLeaderboard.Standing(7, 70, 4),
+                             new LiveLeaderboard.Standing(6, 60, 5),
+                             new LiveLeaderboard.Standing(5, 50, 6)), page);
+        assertEquals(1, leaderboard.page(10, 5).size());
+        assertTrue(leaderboard.page(11, 5).isEmpty());
+        assertTrue(leaderboard.page(1, 0).isEmpty());
+    }
+
+    @Test
+    void neighboursAreClosestFirst() {
+        LiveLeaderboard leaderboard = new LiveLeaderboard(1L);
+        for (long userId = 1; userId <= 5; userId++) {
+            leaderboard.setScore(userId, 100 - (int) userId);
+        }
+
+        assertEquals(List.of(new LiveLeaderboard.Standing(2, 98, 2),
+                             new LiveLeaderboard.Standing(1, 99, 1)), leaderboard.above(3, 5));
+        assertEquals(List.of(new LiveLeaderboard.Standing(4, 96, 4)), leaderboard.below(3, 1));
+        assertTrue(leaderboard.above(1, 2).isEmpty());
+        assertTrue(leaderboard.below(5, 2).isEmpty());
+        assertTrue(leaderboard.below(99, 2).isEmpty());
+    }
+
+    @Test
+    void removeAndAddParticipant() {
+        LiveLeaderboard leaderboard = new LiveLeaderboard(1L);
+        leaderboard.setScore(1, 5);
+        leaderboard.addParticipant(2);
+        leaderboard.addParticipant(1);
+
+        assertEquals(5, leaderboard.getScore(1));
+        assertEquals(0, leaderboard.getScore(2));
+        assertEquals(2, leaderboard.size());
+
+        leaderboard.remove(1);
+        assertNull(leaderboard.getScore(1));
+        assertEquals(0, leaderboard.position(1));
+        assertEquals(1, leaderboard.position(2));
+        assertEquals(1, leaderboard.size());
+    }
+
+    @Test
+    void matchesSortedOrderAfterManyUpdates() {
+        LiveLeaderboard leaderboard = new LiveLeaderboard(1L);
+        Map<Long, Integer> expected = new HashMap<>();
+        Random random = new Random(42);
+
+        // Puntuaciones muy por encima y por debajo de cero, con muchos empates
+        for (int i = 0; i < 20000; i++) {
+            long userId = random.nextInt(3000);
+            int operation = random.nextInt(10);
+            if (operation == 0) {
+                leaderboard.remove(userId);
+                expected.remove(userId);
+            } else if (operation < 4) {
+                int points = random.nextInt(200_000) - 100_000;
+                leaderboard.setScore(userId, points);
+                expected.put(userId, points);
+            } else {
+                int delta = random.nextInt(41) - 20;
+                leaderboard.addPoints(userId, delta);
+                expected.merge(userId, delta, Integer::sum);
+            }
+        }
+
+        List<Map.Entry<Long, Integer>> sorted = new ArrayList<>(expected.entrySet());
+        sorted.sort(Comparator.<Map.Entry<Long, Integer>>comparingInt(entry -> -entry.getValue())
+                            .thenComparing(Map.Entry::getKey));
+
+        assertEquals(sorted.size(), leaderboard.size());
+        List<LiveLeaderboard.Standing> all = leaderboard.page(1, sorted.size());
+        int rank = 1;
+        for (int i = 0; i < sorted.size(); i++) {
+            Map.Entry<Long, Integer> entry = sorted.get(i);
+            if (i > 0 && !entry.getValue().equals(sorted.get(i - 1).getValue())) {
+                rank = i + 1;
+            }
+            assertEquals(new LiveLeaderboard.Standing(entry.getKey(), entry.getValue(), i + 1), all.get(i));
+            assertEquals(i + 1, leaderboard.position(entry.getKey()));
+            assertEquals(rank, leaderboard.rank(entry.getKey()));
+        }
+    }
+}
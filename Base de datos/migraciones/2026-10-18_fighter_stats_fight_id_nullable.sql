@@ -0,0 +1,8 @@
+-- Estadísticas de luchadores sin pelea concreta
+--
+-- Los resultados importados solo identifican el evento, así que fighter_stats.fight_id pasa a ser opcional.
+-- spring.jpa.hibernate.ddl-auto=update añade las columnas nuevas (event_id y los datos brutos del resultado)
+-- pero no quita el NOT NULL de una columna existente: hay que aplicar esta migración en las bases de datos
+-- creadas con el volcado anterior antes de desplegar.
+
+ALTER TABLE `fighter_stats` MODIFY `fight_id` bigint NULL;
@@ -57,6 +57,7 @@ export const endpoints = {
     create: '/picks',
     myPick: '/picks/my-pick',
     myPicks: (leagueId) => `/picks/my-picks/${leagueId}`,
+    ownership: (leagueId, eventId) => `/picks/ownership/${leagueId}/${eventId}`,
     leaderboard: '/picks/leaderboard'
   },
 
@@ -84,7 +85,8 @@ export const endpoints = {
     myPosition: (leagueId) => `/leaderboard/my-position/${leagueId}`,
     global: (leagueId) => `/leaderboard/global/${leagueId}`,
     event: (leagueId, eventId) => `/leaderboard/event/${leagueId}/${eventId}`,
-    myHistory: (leagueId) => `/leaderboard/my-history/${leagueId}`
+    myHistory: (leagueId) => `/leaderboard/my-history/${leagueId}`,
+    stream: (leagueId) => `/leaderboard/stream/${leagueId}`
   },
   
   // Admin (solo para administradores)
@@ -149,6 +149,66 @@ class HttpService {
     }
   }
 
+  // Abrir un stream SSE con el token en la cabecera (EventSource no permite cabeceras)
+  // onClose se llama si el servidor cierra el stream o falla la conexión (no al cerrarlo nosotros)
+  // Devuelve una función para cerrar el stream
+  stream(url, onEvent, onClose = () => {}) {
+    const token = this.getAuthToken()
+    const controller = new AbortController()
+
+    const read = async () => {
+      const response = await fetch(`${this.baseURL}${url}`, {
+        headers: {
+          'Accept': 'text/event-stream',
+          ...(token && { 'Authorization': `Bearer ${token}` })
+        },
+        signal: controller.signal
+      })
+
+      if (!response.ok || !response.body) {
+        throw new Error(`Error ${response.status}: ${response.statusText}`)
+      }
+
+      const reader = response.body.pipeThrough(new TextDecoderStream()).getReader()
+      let buffer = ''
+
+      while (true) {
+        const { value, done } = await reader.read()
+        if (done) break
+        buffer += value
+
+        // Los mensajes SSE se separan con una línea en blanco
+        let separator
+        while ((separator = buffer.indexOf('\n\n')) !== -1) {
+          const raw = buffer.slice(0, separator)
+          buffer = buffer.slice(separator + 2)
+
+          let name = 'message'
+          const data = []
+          for (const line of raw.split('\n')) {
+            if (line.startsWith('event:')) name = line.slice(6).trim()
+            else if (line.startsWith('data:')) data.push(line.slice(5).trim())
+          }
+          if (data.length > 0) {
+            onEvent(name, JSON.parse(data.join('\n')))
+          }
+        }
+      }
+    }
+
+    read()
+      .then(() => {
+        if (!controller.signal.aborted) onClose()
+      })
+      .catch(error => {
+        if (error.name === 'AbortError') return
+        console.error('Error en el stream:', error)
+        onClose(error)
+      })
+
+    return () => controller.abort()
+  }
+
   // Métodos específicos (sin cambios)
   async get(url) {
     return this.request(url, { method: 'GET' })
@@ -19,10 +19,11 @@ export const leaderboardService = {
     }
   },
 
-  // Obtener clasificación global de una liga
-  async getGlobalLeaderboard(leagueId) {
+  // Obtener una página de la clasificación global de una liga
+  // Con aroundUser el servidor devuelve la página en la que está el usuario (ignora page)
+  async getGlobalLeaderboard(leagueId, { page = 0, aroundUser = false } = {}) {
     try {
-      const response = await httpService.get(endpoints.leaderboard.global(leagueId))
+      const response = await httpService.get(`${endpoints.leaderboard.global(leagueId)}?page=${page}&aroundUser=${aroundUser}`)
       return response
     } catch (error) {
       console.error(`Error al obtener clasificación global de liga ${leagueId}:`, error)
@@ -41,6 +42,17 @@ export const leaderboardService = {
     }
   },
 
+  // Suscribirse a los cambios en directo de la clasificación de una liga
+  // onClose se llama cuando el servidor cierra el stream o se pierde la conexión
+  // Devuelve una función para cerrar la suscripción
+  subscribeToLeague(leagueId, onUpdate, onClose) {
+    return httpService.stream(endpoints.leaderboard.stream(leagueId), (name, data) => {
+      if (name === 'leaderboard') {
+        onUpdate(data)
+      }
+    }, onClose)
+  },
+
   // Obtener historial completo de picks de un usuario en una liga
   async getMyHistory(leagueId) {
     try {
@@ -43,6 +43,17 @@ export const picksService = {
     }
   },
 
+  // Obtener el porcentaje de picks que llevan a cada luchador de un evento en una liga
+  async getOwnership(leagueId, eventId) {
+    try {
+      const response = await httpService.get(endpoints.picks.ownership(leagueId, eventId))
+      return response
+    } catch (error) {
+      console.error(`Error al obtener la popularidad del evento ${eventId} en liga ${leagueId}:`, error)
+      throw new Error(error.message || 'Error al obtener la popularidad de los luchadores')
+    }
+  },
+
   // Eliminar un pick
   async deletePick(pickId) {
     try {
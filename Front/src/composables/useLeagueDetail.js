@@ -1,5 +1,5 @@
 // Front/src/composables/useLeagueDetail.js
-import { ref, reactive, computed, onMounted } from 'vue'
+import { ref, reactive, computed, onMounted, onUnmounted } from 'vue'
 import { useRouter } from 'vue-router'
 import { useAuthStore } from '../store/auth.js'
 import { useDateFormatter } from './useDateFormatter.js'
@@ -15,6 +15,9 @@ export function useLeagueDetail(leagueId) {
   const currentEvent = ref(null)
   const previousEvent = ref(null) // 🆕 Evento anterior
   const globalLeaderboard = ref([])
+  const globalPage = ref(0)
+  const globalTotalPages = ref(0)
+  const globalTotalParticipants = ref(0)
   const currentEventLeaderboard = ref([])
   const previousEventLeaderboard = ref([]) // 🆕 Clasificación del evento anterior
   const currentUserPicks = ref([])
@@ -197,14 +200,19 @@ export function useLeagueDetail(leagueId) {
     }
   }
 
-  async function loadGlobalLeaderboard() {
+  // Sin página se carga la página en la que está el usuario
+  async function loadGlobalLeaderboard(page = null) {
     if (!currentLeague.value || isPublicLeague.value) return
     
     isLoadingGlobal.value = true
     try {
       console.log('🏆 Cargando clasificación global...')
       
-      const response = await leaderboardService.getGlobalLeaderboard(leagueId)
+      const response = await leaderboardService.getGlobalLeaderboard(
+        leagueId,
+        page === null ? { aroundUser: true } : { page }
+      )
+      const firstPosition = response.page * response.size + 1
       
       // Procesar los datos para incluir toda la información de miembros
       const processedLeaderboard = response.leaderboard.map((entry, index) => ({
@@ -218,20 +226,30 @@ export function useLeagueDetail(leagueId) {
         eventsParticipated: entry.eventsParticipated || 0,
         averagePointsPerEvent: entry.averagePointsPerEvent || 0,
         isCurrentUser: entry.userId === user.value?.id,
-        position: index + 1
+        position: entry.position || firstPosition + index
       }))
       
       globalLeaderboard.value = processedLeaderboard
-      console.log('✅ Clasificación global cargada:', processedLeaderboard.length, 'participantes')
+      globalPage.value = response.page
+      globalTotalPages.value = response.totalPages
+      globalTotalParticipants.value = response.totalParticipants
+      console.log('✅ Clasificación global cargada:', processedLeaderboard.length, 'de', response.totalParticipants, 'participantes')
       
     } catch (error) {
       console.error('❌ Error al cargar clasificación global:', error)
       globalLeaderboard.value = []
+      globalTotalPages.value = 0
+      globalTotalParticipants.value = 0
     } finally {
       isLoadingGlobal.value = false
     }
   }
 
+  async function goToGlobalPage(page) {
+    if (page < 0 || page >= globalTotalPages.value || page === globalPage.value) return
+    await loadGlobalLeaderboard(page)
+  }
+
   async function loadCurrentEventLeaderboard() {
     if (!currentLeague.value || !currentEvent.value) return
     
@@ -254,7 +272,7 @@ export function useLeagueDetail(leagueId) {
         remainingBudget: entry.remainingBudget || 0,
         selectedFighters: entry.selectedFighters || [],
         isCurrentUser: entry.userId === user.value?.id,
-        position: index + 1
+        position: entry.position || index + 1
       }))
       
       currentEventLeaderboard.value = processedLeaderboard
@@ -294,7 +312,7 @@ export function useLeagueDetail(leagueId) {
         remainingBudget: entry.remainingBudget || 0,
         selectedFighters: entry.selectedFighters || [],
         isCurrentUser: entry.userId === user.value?.id,
-        position: index + 1
+        position: entry.position || index + 1
       }))
       
       previousEventLeaderboard.value = processedLeaderboard
@@ -540,19 +558,112 @@ async function loadPicksForEvent(event, eventType) {
       
       console.log('✅ Todos los datos de la liga cargados correctamente')
       
+      // 4. Durante un evento en directo, recibir los cambios por stream en lugar de recargar
+      startLiveUpdates()
+      
     } catch (error) {
       console.error('💥 Error al cargar datos de la liga:', error)
       displayNotification('Error al cargar los datos de la liga')
     }
   }
 
+  // Stream de la clasificación en directo (solo mientras el evento actual está LIVE)
+  const LIVE_RECONNECT_DELAY_MS = 5000
+  let closeLiveStream = null
+  let lastLiveSequence = 0
+  let reconnectTimer = null
+  let liveUpdatesStopped = false
+
+  function startLiveUpdates() {
+    if (liveUpdatesStopped || closeLiveStream || currentEvent.value?.status !== 'LIVE') return
+
+    // Cada stream numera sus actualizaciones desde el principio
+    lastLiveSequence = 0
+    closeLiveStream = leaderboardService.subscribeToLeague(leagueId, applyLiveUpdate, onLiveStreamClosed)
+  }
+
+  function stopLiveUpdates() {
+    liveUpdatesStopped = true
+    clearTimeout(reconnectTimer)
+    if (closeLiveStream) {
+      closeLiveStream()
+      closeLiveStream = null
+    }
+  }
+
+  // El servidor cerró el stream (timeout, reinicio) o se perdió la conexión: recargar lo que muestra
+  // la página, porque los cambios enviados mientras tanto se han perdido, y reconectar si el evento sigue LIVE
+  function onLiveStreamClosed() {
+    closeLiveStream = null
+    if (liveUpdatesStopped) return
+
+    clearTimeout(reconnectTimer)
+    reconnectTimer = setTimeout(async () => {
+      try {
+        await loadEvents()
+        await Promise.all([
+          loadGlobalLeaderboard(globalPage.value),
+          loadCurrentEventLeaderboard(),
+          loadMyPosition()
+        ])
+      } catch (error) {
+        console.error('❌ Error al recargar la clasificación en directo:', error)
+      }
+      startLiveUpdates()
+    }, LIVE_RECONNECT_DELAY_MS)
+  }
+
+  function applyLiveUpdate(update) {
+    // Descartar actualizaciones repetidas o fuera de orden
+    if (update.sequence <= lastLiveSequence) return
+    lastLiveSequence = update.sequence
+
+    // Había más cambios de los enviados: la página actual ya no se puede corregir localmente
+    if (update.truncated) {
+      loadGlobalLeaderboard(globalPage.value)
+    }
+
+    const changes = new Map(update.changes.map(change => [change.userId, change]))
+    const points = new Map([...(update.top || []), ...update.changes].map(standing => [standing.userId, standing.points]))
+
+    // Solo llegan los usuarios que cambian: reordenar la página por puntos y renumerar desde su primera posición
+    if (globalLeaderboard.value.length > 0) {
+      const firstPosition = Math.min(...globalLeaderboard.value.map(entry => entry.position))
+      globalLeaderboard.value = globalLeaderboard.value
+        .map(entry => points.has(entry.id) ? { ...entry, totalPoints: points.get(entry.id) } : entry)
+        .sort((a, b) => b.totalPoints - a.totalPoints || a.id - b.id)
+        .map((entry, index) => ({ ...entry, position: firstPosition + index }))
+    }
+
+    if (currentEvent.value && update.eventId === currentEvent.value.id) {
+      currentEventLeaderboard.value = currentEventLeaderboard.value
+        .map(entry => {
+          const change = changes.get(entry.id)
+          return change ? { ...entry, eventPoints: entry.eventPoints + change.delta } : entry
+        })
+        .sort((a, b) => b.eventPoints - a.eventPoints)
+        .map((entry, index) => ({ ...entry, position: index + 1 }))
+    }
+
+    // Mi posición: la del servidor si he cambiado, si no la recalculada en la página
+    const myChange = changes.get(user.value?.id)
+    const myEntry = globalLeaderboard.value.find(entry => entry.isCurrentUser)
+    if (myChange && myPosition.value) {
+      myPosition.value = { ...myPosition.value, position: myChange.position, totalPoints: myChange.points }
+    } else if (myEntry && myPosition.value) {
+      myPosition.value = { ...myPosition.value, position: myEntry.position }
+    }
+  }
+
+  onUnmounted(stopLiveUpdates)
+
   // 🔥 FUNCIÓN MEJORADA: Recargar datos específicos según la pestaña activa
   async function refreshTabData(tabName) {
     console.log('🔄 Recargando datos para pestaña:', tabName)
     
     switch (tabName) {
       case 'global':
-        await loadGlobalLeaderboard()
+        await loadGlobalLeaderboard(globalPage.value)
         break
       case 'current':
         await loadCurrentEventLeaderboard()
@@ -569,6 +680,9 @@ async function loadPicksForEvent(event, eventType) {
     currentEvent,
     previousEvent, // 🆕
     globalLeaderboard,
+    globalPage,
+    globalTotalPages,
+    globalTotalParticipants,
     currentEventLeaderboard,
     previousEventLeaderboard, // 🆕
     currentUserPicks,
@@ -603,6 +717,7 @@ async function loadPicksForEvent(event, eventType) {
     // Funciones
     loadAllData,
     refreshTabData,
+    goToGlobalPage,
     leaveLeague,
     copyInvitationCode,
     getPositionClass,